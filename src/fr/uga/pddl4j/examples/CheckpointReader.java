@@ -0,0 +1,220 @@
+package fr.uga.pddl4j.examples;
+
+import fr.uga.pddl4j.util.BitSet;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class reads the checkpoints written by {@link CheckpointWriter}. The file is read sequentially through a
+ * direct buffer of {@link #BUFFER_SIZE} bytes, so that the size of a checkpoint is not bounded by the size of a
+ * buffer.
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+public final class CheckpointReader implements Closeable {
+
+    /**
+     * The size of the read buffer in bytes.
+     */
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    /**
+     * The channel of the checkpoint file.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The read buffer.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Opens a checkpoint and checks its header.
+     *
+     * @param path        the checkpoint file.
+     * @param planner     the name of the planner expected.
+     * @param fingerprint the fingerprint of the problem expected.
+     * @throws IOException if the file cannot be read or if it is not a checkpoint of the planner for the problem.
+     */
+    public CheckpointReader(final Path path, final String planner, final String fingerprint) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.buffer = ByteBuffer.allocateDirect(CheckpointReader.BUFFER_SIZE);
+        this.buffer.flip();
+        try {
+            if (this.getInt() != CheckpointWriter.MAGIC) {
+                throw new IOException(path + " is not a checkpoint");
+            }
+            if (this.getInt() != CheckpointWriter.VERSION) {
+                throw new IOException(path + " has an unsupported checkpoint version");
+            }
+            if (!this.getString().equals(planner)) {
+                throw new IOException(path + " is not a checkpoint of " + planner);
+            }
+            if (!this.getString().equals(fingerprint)) {
+                throw new IOException(path + " is a checkpoint of another problem");
+            }
+        } catch (IOException e) {
+            this.channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads an integer.
+     *
+     * @return the integer.
+     * @throws IOException if the checkpoint is truncated.
+     */
+    public int getInt() throws IOException {
+        return this.require(Integer.BYTES).getInt();
+    }
+
+    /**
+     * Reads a long.
+     *
+     * @return the long.
+     * @throws IOException if the checkpoint is truncated.
+     */
+    public long getLong() throws IOException {
+        return this.require(Long.BYTES).getLong();
+    }
+
+    /**
+     * Reads a double.
+     *
+     * @return the double.
+     * @throws IOException if the checkpoint is truncated.
+     */
+    public double getDouble() throws IOException {
+        return this.require(Double.BYTES).getDouble();
+    }
+
+    /**
+     * Reads a string encoded in UTF-8.
+     *
+     * @return the string.
+     * @throws IOException if the checkpoint is truncated.
+     */
+    public String getString() throws IOException {
+        return new String(this.getBytes(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads an array of bytes.
+     *
+     * @return the array of bytes.
+     * @throws IOException if the checkpoint is truncated.
+     */
+    public byte[] getBytes() throws IOException {
+        final byte[] bytes = new byte[this.getInt()];
+        int offset = 0;
+        while (offset < bytes.length) {
+            final ByteBuffer b = this.require(1);
+            final int length = Math.min(b.remaining(), bytes.length - offset);
+            b.get(bytes, offset, length);
+            offset += length;
+        }
+        return bytes;
+    }
+
+    /**
+     * Reads a serializable object written by {@link CheckpointWriter#putObject(java.io.Serializable)}.
+     *
+     * @return the object.
+     * @throws IOException if the checkpoint is truncated or if the object cannot be deserialized.
+     */
+    public Object getObject() throws IOException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(this.getBytes()))) {
+            return in.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Reads a set of fluents into a set, e.g., a state.
+     *
+     * @param bits the set, assumed to be empty.
+     * @return <code>false</code> if the set written was <code>null</code>, <code>true</code> otherwise.
+     * @throws IOException if the checkpoint is truncated or corrupted.
+     */
+    public boolean getBits(final BitSet bits) throws IOException {
+        final byte tag = this.require(1).get();
+        switch (tag) {
+            case CheckpointWriter.NULL:
+                return false;
+            case CheckpointWriter.INDICES:
+                final int cardinality = this.getInt();
+                for (int i = 0; i < cardinality; i++) {
+                    bits.set(this.getInt());
+                }
+                return true;
+            case CheckpointWriter.WORDS:
+                final int length = this.getInt();
+                for (int w = 0; w < length; w++) {
+                    long word = this.getLong();
+                    while (word != 0) {
+                        bits.set(w * Long.SIZE + Long.numberOfTrailingZeros(word));
+                        word &= word - 1;
+                    }
+                }
+                return true;
+            default:
+                throw new IOException("Corrupted checkpoint");
+        }
+    }
+
+    /**
+     * Reads an array of longs.
+     *
+     * @return the array of longs.
+     * @throws IOException if the checkpoint is truncated.
+     */
+    public long[] getLongs() throws IOException {
+        final long[] words = new long[this.getInt()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = this.getLong();
+        }
+        return words;
+    }
+
+    /**
+     * Closes the checkpoint file.
+     *
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    /**
+     * Returns the read buffer after filling it with at least a specified number of bytes.
+     *
+     * @param bytes the number of bytes.
+     * @return the read buffer.
+     * @throws IOException if the checkpoint is truncated.
+     */
+    private ByteBuffer require(final int bytes) throws IOException {
+        if (this.buffer.remaining() < bytes) {
+            this.buffer.compact();
+            while (this.buffer.position() < bytes) {
+                if (this.channel.read(this.buffer) < 0) {
+                    throw new EOFException("Truncated checkpoint");
+                }
+            }
+            this.buffer.flip();
+        }
+        return this.buffer;
+    }
+}
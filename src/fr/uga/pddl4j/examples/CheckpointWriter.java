@@ -0,0 +1,348 @@
+package fr.uga.pddl4j.examples;
+
+import fr.uga.pddl4j.util.BitSet;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This class writes the checkpoints of a search, i.e., snapshots of its state from which the search can be
+ * resumed by {@link CheckpointReader}. A checkpoint is encoded in memory by the search thread in a list of
+ * buffers of {@link #CHUNK_SIZE} bytes, reused from one checkpoint to the next, and written to the file by a
+ * background thread, so that the search only stops for the encoding. The file is written next to the checkpoint
+ * file then atomically renamed: a checkpoint interrupted by the end of the process never replaces the previous
+ * one.
+ * <p>
+ * A checkpoint starts with a header made of a magic number, the version of the format, the name of the planner
+ * and the fingerprint of the problem (see {@link ProblemFingerprint}). The content is then defined by the
+ * planner. The sets of fluents are encoded as the indices of their fluents or as words of 64 bits, whichever is
+ * smaller.
+ * </p>
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+public final class CheckpointWriter implements Closeable {
+
+    /**
+     * The magic number of the checkpoints.
+     */
+    static final int MAGIC = 0x50444B43;
+
+    /**
+     * The version of the format of the checkpoints.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * The tag of a null set of fluents.
+     */
+    static final byte NULL = 0;
+
+    /**
+     * The tag of a set of fluents encoded as words of 64 bits.
+     */
+    static final byte WORDS = 1;
+
+    /**
+     * The tag of a set of fluents encoded as indices.
+     */
+    static final byte INDICES = 2;
+
+    /**
+     * The size of the buffers in bytes.
+     */
+    private static final int CHUNK_SIZE = 1 << 24;
+
+    /**
+     * The checkpoint file.
+     */
+    private final Path path;
+
+    /**
+     * The temporary file written before being renamed as the checkpoint file.
+     */
+    private final Path temporary;
+
+    /**
+     * The thread writing the checkpoints.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * The buffers of the checkpoint.
+     */
+    private final List<ByteBuffer> chunks;
+
+    /**
+     * The index of the buffer currently filled.
+     */
+    private int current;
+
+    /**
+     * The pending write or <code>null</code> if there is no pending write.
+     */
+    private Future<?> pending;
+
+    /**
+     * Creates a new checkpoint writer.
+     *
+     * @param path the checkpoint file.
+     */
+    public CheckpointWriter(final Path path) {
+        this.path = path;
+        this.temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            final Thread thread = new Thread(r, "checkpoint-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.chunks = new ArrayList<>();
+    }
+
+    /**
+     * Returns the checkpoint file.
+     *
+     * @return the checkpoint file.
+     */
+    public Path getPath() {
+        return this.path;
+    }
+
+    /**
+     * Starts a new checkpoint and writes its header. The method waits for the pending write, if any, since its
+     * buffers are reused.
+     *
+     * @param planner     the name of the planner.
+     * @param fingerprint the fingerprint of the problem.
+     * @throws IOException if the pending write failed.
+     */
+    public void begin(final String planner, final String fingerprint) throws IOException {
+        this.await();
+        for (ByteBuffer chunk : this.chunks) {
+            chunk.clear();
+        }
+        this.current = 0;
+        this.putInt(CheckpointWriter.MAGIC);
+        this.putInt(CheckpointWriter.VERSION);
+        this.putString(planner);
+        this.putString(fingerprint);
+    }
+
+    /**
+     * Writes an integer.
+     *
+     * @param value the integer.
+     */
+    public void putInt(final int value) {
+        this.reserve(Integer.BYTES).putInt(value);
+    }
+
+    /**
+     * Writes a long.
+     *
+     * @param value the long.
+     */
+    public void putLong(final long value) {
+        this.reserve(Long.BYTES).putLong(value);
+    }
+
+    /**
+     * Writes a double.
+     *
+     * @param value the double.
+     */
+    public void putDouble(final double value) {
+        this.reserve(Double.BYTES).putDouble(value);
+    }
+
+    /**
+     * Writes a string encoded in UTF-8.
+     *
+     * @param value the string.
+     */
+    public void putString(final String value) {
+        this.putBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes an array of bytes.
+     *
+     * @param bytes the array of bytes.
+     */
+    public void putBytes(final byte[] bytes) {
+        this.putInt(bytes.length);
+        int offset = 0;
+        while (offset < bytes.length) {
+            final ByteBuffer chunk = this.reserve(1);
+            final int length = Math.min(chunk.remaining(), bytes.length - offset);
+            chunk.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    /**
+     * Writes a serializable object, e.g., a random generator, as an array of bytes.
+     *
+     * @param object the object.
+     * @throws IOException if the object cannot be serialized.
+     */
+    public void putObject(final Serializable object) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        this.putBytes(bytes.toByteArray());
+    }
+
+    /**
+     * Writes a set of fluents, e.g., a state.
+     *
+     * @param bits the set of fluents or <code>null</code>.
+     */
+    public void putBits(final BitSet bits) {
+        if (bits == null) {
+            this.reserve(1).put(CheckpointWriter.NULL);
+            return;
+        }
+        final long[] words = bits.toLongArray();
+        final int cardinality = bits.cardinality();
+        if ((long) cardinality * Integer.BYTES < (long) words.length * Long.BYTES) {
+            this.reserve(1).put(CheckpointWriter.INDICES);
+            this.putInt(cardinality);
+            for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+                this.putInt(i);
+            }
+        } else {
+            this.reserve(1).put(CheckpointWriter.WORDS);
+            this.putLongs(words);
+        }
+    }
+
+    /**
+     * Writes an array of longs.
+     *
+     * @param words the array of longs.
+     */
+    public void putLongs(final long[] words) {
+        this.putInt(words.length);
+        for (long word : words) {
+            this.putLong(word);
+        }
+    }
+
+    /**
+     * Writes the checkpoint to the file in the background. The checkpoint file is replaced once the checkpoint
+     * is completely written.
+     *
+     * @param wait <code>true</code> to wait for the end of the write.
+     * @return the size of the checkpoint in bytes.
+     * @throws IOException if the write failed.
+     */
+    public long commit(final boolean wait) throws IOException {
+        final List<ByteBuffer> buffers = new ArrayList<>(this.current + 1);
+        long size = 0;
+        for (int i = 0; i <= this.current && i < this.chunks.size(); i++) {
+            final ByteBuffer buffer = this.chunks.get(i).duplicate();
+            buffer.flip();
+            size += buffer.remaining();
+            buffers.add(buffer);
+        }
+        this.pending = this.executor.submit(() -> {
+            try (FileChannel channel = FileChannel.open(this.temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (ByteBuffer buffer : buffers) {
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                }
+                channel.force(true);
+            }
+            Files.move(this.temporary, this.path, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+            return null;
+        });
+        if (wait) {
+            this.await();
+        }
+        return size;
+    }
+
+    /**
+     * Deletes the checkpoint file, e.g., when the search is over.
+     *
+     * @throws IOException if the pending write failed or if the file cannot be deleted.
+     */
+    public void delete() throws IOException {
+        this.await();
+        Files.deleteIfExists(this.path);
+    }
+
+    /**
+     * Waits for the pending write and stops the thread writing the checkpoints.
+     *
+     * @throws IOException if the pending write failed.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            this.await();
+        } finally {
+            this.executor.shutdown();
+        }
+    }
+
+    /**
+     * Waits for the pending write.
+     *
+     * @throws IOException if the pending write failed.
+     */
+    private void await() throws IOException {
+        if (this.pending == null) {
+            return;
+        }
+        try {
+            this.pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Checkpoint write interrupted", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException ? (IOException) e.getCause()
+                : new IOException(e.getCause());
+        } finally {
+            this.pending = null;
+        }
+    }
+
+    /**
+     * Returns a buffer with at least a specified number of free bytes.
+     *
+     * @param bytes the number of bytes.
+     * @return the buffer.
+     */
+    private ByteBuffer reserve(final int bytes) {
+        if (this.current < this.chunks.size() && this.chunks.get(this.current).remaining() < bytes) {
+            this.current++;
+        }
+        if (this.current == this.chunks.size()) {
+            this.chunks.add(ByteBuffer.allocate(CheckpointWriter.CHUNK_SIZE));
+        }
+        return this.chunks.get(this.current);
+    }
+}
@@ -0,0 +1,395 @@
+package fr.uga.pddl4j.examples;
+
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.Condition;
+import fr.uga.pddl4j.problem.operator.ConditionalEffect;
+import fr.uga.pddl4j.util.BitVector;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * This class implements a store of the dead ends met by the planners, i.e., the states from which the goal
+ * cannot be reached. The store can be shared by several searches of the same problem, e.g., by the restarts of
+ * MCP or by the planners of a portfolio, and is thread-safe.
+ * <p>
+ * The store records the 64-bit fingerprint of each dead end in an open-addressing hash set. In addition, when
+ * the actions and the goal of the problem have no negative condition, a dead end whose goal is not reachable
+ * in the relaxed problem (no delete effects) is generalized into a nogood: a set <code>R</code> of fluents
+ * closed under the relaxed actions and not containing the goal. Every state whose fluents are included in
+ * <code>R</code> is a dead end. The set <code>R</code> is first the relaxed closure of the state, then it is
+ * extended with the fluents that no action requires and greedily with the other fluents as long as the goal
+ * remains unreachable, within a small budget of reachability computations.
+ * </p>
+ * <p>
+ * Two different states have the same fingerprint with a probability of about <code>2^-64</code>, so a state
+ * reported as a dead end by its fingerprint is a dead end in practice.
+ * </p>
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+public final class DeadEndStore {
+
+    /**
+     * The maximum number of nogoods stored.
+     */
+    private static final int MAX_NOGOODS = 256;
+
+    /**
+     * The maximum number of reachability computations used to generalize a nogood.
+     */
+    private static final int GENERALIZATION_BUDGET = 16;
+
+    /**
+     * The fingerprints of the dead ends. The empty slots contain 0.
+     */
+    private long[] table;
+
+    /**
+     * The number of fingerprints stored.
+     */
+    private int size;
+
+    /**
+     * The nogoods, i.e., the words of the sets of fluents closed under the relaxed actions without the goal.
+     */
+    private final List<long[]> nogoods;
+
+    /**
+     * The precondition of each relaxed action, i.e., of each conditional effect with a positive effect.
+     */
+    private final int[][] unitPre;
+
+    /**
+     * The positive effect of each relaxed action.
+     */
+    private final int[][] unitAdd;
+
+    /**
+     * The relaxed actions requiring each fluent.
+     */
+    private final int[][] consumers;
+
+    /**
+     * The positive fluents of the goal.
+     */
+    private final BitVector goal;
+
+    /**
+     * The fluents required by no relaxed action and not in the goal.
+     */
+    private final BitVector irrelevant;
+
+    /**
+     * <code>true</code> if the dead ends can be generalized into nogoods.
+     */
+    private final boolean generalize;
+
+    /**
+     * The number of lookups answered by a fingerprint.
+     */
+    private long fingerprintHits;
+
+    /**
+     * The number of lookups answered by a nogood.
+     */
+    private long nogoodHits;
+
+    /**
+     * Creates a new empty dead-end store for a specified problem.
+     *
+     * @param problem the problem.
+     */
+    public DeadEndStore(final Problem problem) {
+        this(problem, problem.getGoal());
+    }
+
+    /**
+     * Creates a new empty dead-end store for a specified problem and a specified goal, e.g., the goal of a
+     * replanning. The dead ends of the store are the states from which this goal cannot be reached.
+     *
+     * @param problem the problem.
+     * @param goal    the goal.
+     */
+    public DeadEndStore(final Problem problem, final Condition goal) {
+        this.table = new long[1024];
+        this.nogoods = new ArrayList<>();
+        final int nbFluents = problem.getFluents().size();
+        boolean positive = goal.getNegativeFluents().isEmpty();
+        final List<int[]> pre = new ArrayList<>();
+        final List<int[]> add = new ArrayList<>();
+        final int[] nbConsumers = new int[nbFluents];
+        for (Action a : problem.getActions()) {
+            positive &= a.getPrecondition().getNegativeFluents().isEmpty();
+            for (ConditionalEffect ce : a.getConditionalEffects()) {
+                positive &= ce.getCondition().getNegativeFluents().isEmpty();
+                if (ce.getEffect().getPositiveFluents().isEmpty()) {
+                    continue;
+                }
+                final BitVector p = new BitVector(a.getPrecondition().getPositiveFluents());
+                p.or(ce.getCondition().getPositiveFluents());
+                final int[] fluents = p.stream().toArray();
+                for (int f : fluents) {
+                    nbConsumers[f]++;
+                }
+                pre.add(fluents);
+                add.add(ce.getEffect().getPositiveFluents().stream().toArray());
+            }
+        }
+        this.unitPre = pre.toArray(new int[0][]);
+        this.unitAdd = add.toArray(new int[0][]);
+        this.consumers = new int[nbFluents][];
+        for (int f = 0; f < nbFluents; f++) {
+            this.consumers[f] = new int[nbConsumers[f]];
+        }
+        Arrays.fill(nbConsumers, 0);
+        for (int u = 0; u < this.unitPre.length; u++) {
+            for (int f : this.unitPre[u]) {
+                this.consumers[f][nbConsumers[f]++] = u;
+            }
+        }
+        this.goal = new BitVector(goal.getPositiveFluents());
+        this.irrelevant = new BitVector();
+        for (int f = 0; f < nbFluents; f++) {
+            if (this.consumers[f].length == 0 && !this.goal.get(f)) {
+                this.irrelevant.set(f);
+            }
+        }
+        this.generalize = positive;
+    }
+
+    /**
+     * Returns if a state is a known dead end, i.e., if its fingerprint is stored or if it is included in a
+     * nogood.
+     *
+     * @param state the state.
+     * @return <code>true</code> if the state is a known dead end, <code>false</code> otherwise.
+     */
+    public synchronized boolean contains(final State state) {
+        final long[] words = state.toLongArray();
+        if (this.lookup(StateHash.fingerprint(words)) >= 0) {
+            this.fingerprintHits++;
+            return true;
+        }
+        for (long[] nogood : this.nogoods) {
+            if (DeadEndStore.isIncluded(words, nogood)) {
+                this.nogoodHits++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Records a dead end. The dead end is generalized into a nogood if the goal is not reachable from the state
+     * in the relaxed problem.
+     *
+     * @param state the dead end.
+     */
+    public synchronized void add(final State state) {
+        final long[] words = state.toLongArray();
+        final long fingerprint = StateHash.fingerprint(words);
+        final int slot = this.lookup(fingerprint);
+        if (slot >= 0) {
+            return;
+        }
+        this.table[-slot - 1] = fingerprint;
+        this.size++;
+        if (2 * this.size > this.table.length) {
+            this.resize();
+        }
+        if (this.generalize && this.nogoods.size() < DeadEndStore.MAX_NOGOODS) {
+            for (long[] nogood : this.nogoods) {
+                if (DeadEndStore.isIncluded(words, nogood)) {
+                    return;
+                }
+            }
+            final BitVector nogood = this.generalize(state);
+            if (nogood != null) {
+                final long[] w = nogood.toLongArray();
+                this.nogoods.removeIf(n -> DeadEndStore.isIncluded(n, w));
+                this.nogoods.add(w);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of dead ends recorded.
+     *
+     * @return the number of dead ends recorded.
+     */
+    public synchronized int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the number of nogoods stored.
+     *
+     * @return the number of nogoods stored.
+     */
+    public synchronized int getNumberOfNogoods() {
+        return this.nogoods.size();
+    }
+
+    /**
+     * Returns the number of lookups answered by a fingerprint.
+     *
+     * @return the number of lookups answered by a fingerprint.
+     */
+    public synchronized long getFingerprintHits() {
+        return this.fingerprintHits;
+    }
+
+    /**
+     * Returns the number of lookups answered by a nogood.
+     *
+     * @return the number of lookups answered by a nogood.
+     */
+    public synchronized long getNogoodHits() {
+        return this.nogoodHits;
+    }
+
+    /**
+     * Returns a nogood generalizing a dead end or <code>null</code> if the goal is reachable from the dead end
+     * in the relaxed problem.
+     *
+     * @param state the dead end.
+     * @return the fluents of the nogood or <code>null</code>.
+     */
+    private BitVector generalize(final State state) {
+        BitVector closure = this.closure(state);
+        if (this.isReached(closure)) {
+            return null;
+        }
+        closure.or(this.irrelevant);
+        int budget = DeadEndStore.GENERALIZATION_BUDGET;
+        for (int f = closure.nextClearBit(0); f < this.consumers.length && budget > 0;
+             f = closure.nextClearBit(f + 1)) {
+            if (this.goal.get(f)) {
+                continue;
+            }
+            final BitVector extended = new BitVector(closure);
+            extended.set(f);
+            final BitVector next = this.closure(extended);
+            budget--;
+            if (!this.isReached(next)) {
+                closure = next;
+            }
+        }
+        return closure;
+    }
+
+    /**
+     * Returns the fluents reachable from a set of fluents in the relaxed problem.
+     *
+     * @param fluents the set of fluents.
+     * @return the fluents reachable.
+     */
+    private BitVector closure(final BitVector fluents) {
+        final BitVector reached = new BitVector(fluents);
+        final int[] missing = new int[this.unitPre.length];
+        final Deque<Integer> queue = new ArrayDeque<>();
+        for (int u = 0; u < this.unitPre.length; u++) {
+            missing[u] = this.unitPre[u].length;
+            for (int f : this.unitPre[u]) {
+                if (reached.get(f)) {
+                    missing[u]--;
+                }
+            }
+            if (missing[u] == 0) {
+                this.fire(u, reached, queue);
+            }
+        }
+        while (!queue.isEmpty()) {
+            final int f = queue.poll();
+            for (int u : this.consumers[f]) {
+                if (--missing[u] == 0) {
+                    this.fire(u, reached, queue);
+                }
+            }
+        }
+        return reached;
+    }
+
+    /**
+     * Adds the positive effect of a relaxed action to the reached fluents.
+     *
+     * @param unit    the relaxed action.
+     * @param reached the fluents reached.
+     * @param queue   the fluents reached and not yet propagated.
+     */
+    private void fire(final int unit, final BitVector reached, final Deque<Integer> queue) {
+        for (int f : this.unitAdd[unit]) {
+            if (!reached.get(f)) {
+                reached.set(f);
+                queue.add(f);
+            }
+        }
+    }
+
+    /**
+     * Returns if the goal is included in a set of fluents.
+     *
+     * @param fluents the set of fluents.
+     * @return <code>true</code> if the goal is included in the set of fluents.
+     */
+    private boolean isReached(final BitVector fluents) {
+        final BitVector missing = new BitVector(this.goal);
+        missing.andNot(fluents);
+        return missing.isEmpty();
+    }
+
+    /**
+     * Returns the slot of a fingerprint in the table or <code>-(slot + 1)</code> where <code>slot</code> is
+     * the empty slot where the fingerprint would be inserted.
+     *
+     * @param fingerprint the fingerprint.
+     * @return the slot of the fingerprint.
+     */
+    private int lookup(final long fingerprint) {
+        final int mask = this.table.length - 1;
+        int slot = (int) fingerprint & mask;
+        while (this.table[slot] != 0) {
+            if (this.table[slot] == fingerprint) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -slot - 1;
+    }
+
+    /**
+     * Doubles the size of the table.
+     */
+    private void resize() {
+        final long[] old = this.table;
+        this.table = new long[old.length * 2];
+        for (long fingerprint : old) {
+            if (fingerprint != 0) {
+                this.table[-this.lookup(fingerprint) - 1] = fingerprint;
+            }
+        }
+    }
+
+    /**
+     * Returns if a set of words is included in another one.
+     *
+     * @param words the words.
+     * @param in    the words including the others.
+     * @return <code>true</code> if every bit set in <code>words</code> is set in <code>in</code>.
+     */
+    private static boolean isIncluded(final long[] words, final long[] in) {
+        for (int i = 0; i < words.length; i++) {
+            if ((words[i] & ~(i < in.length ? in[i] : 0L)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
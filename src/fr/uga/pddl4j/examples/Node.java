@@ -1,6 +1,7 @@
 package fr.uga.pddl4j.examples;
 
 import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.util.BitVector;
 
 /**
  * This class implements a node of the tree search.
@@ -35,6 +36,11 @@ public final class Node extends State {
      */
     private int depth;
 
+    /**
+     * The landmarks accepted on the path to this node or <code>null</code> if they were not computed.
+     */
+    private BitVector landmarks;
+
     /**
      * Creates a new node from a specified state.
      *
@@ -173,6 +179,24 @@ public final class Node extends State {
         this.depth = depth;
     }
 
+    /**
+     * Returns the landmarks accepted on the path to this node.
+     *
+     * @return the landmarks accepted on the path to this node or <code>null</code> if they were not computed.
+     */
+    public final BitVector getLandmarks() {
+        return this.landmarks;
+    }
+
+    /**
+     * Sets the landmarks accepted on the path to this node.
+     *
+     * @param landmarks the landmarks accepted on the path to this node.
+     */
+    public final void setLandmarks(final BitVector landmarks) {
+        this.landmarks = landmarks;
+    }
+
     /**
      * Returns the value of the heuristic function, i.e.,
      * <code>this.node.getCost() + this.node.getHeuristic()</code>.
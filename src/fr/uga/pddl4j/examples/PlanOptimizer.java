@@ -0,0 +1,281 @@
+package fr.uga.pddl4j.examples;
+
+import fr.uga.pddl4j.plan.Plan;
+import fr.uga.pddl4j.plan.SequentialPlan;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.ConditionalEffect;
+import fr.uga.pddl4j.util.BitVector;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class implements a fast post-optimization of sequential plans. The optimization is done in two steps:
+ * <ol>
+ * <li>the cycles of the plan, i.e., the sequences of actions that lead back to an already visited state, are
+ * removed in a single pass using a hash map from the states of the trajectory to their position;</li>
+ * <li>a greedy action elimination tries to remove each remaining action together with the following actions
+ * that become inapplicable. A removal is validated by simulation, which stops as soon as the simulated state
+ * joins the trajectory of the current plan on the fluents read by the rest of the plan, so most checks only
+ * simulate a few steps. The simulation is bounded by a window of actions and the elimination is repeated while
+ * it removes actions, at most {@link #PASSES} times, so that it runs in linear time in the length of the
+ * plan.</li>
+ * </ol>
+ * The optimized plan is finally validated by simulation; the original plan is returned if the validation fails.
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+public final class PlanOptimizer {
+
+    /**
+     * The maximum number of actions simulated to check the removal of an action.
+     */
+    private static final int WINDOW = 2048;
+
+    /**
+     * The maximum number of passes of the action elimination.
+     */
+    private static final int PASSES = 4;
+
+    /**
+     * The problem of the plans to optimize.
+     */
+    private final Problem problem;
+
+    /**
+     * The number of actions removed by the cycle removal during the last optimization.
+     */
+    private int cycleRemoved;
+
+    /**
+     * The number of actions removed by the action elimination during the last optimization.
+     */
+    private int eliminated;
+
+    /**
+     * Creates a new plan optimizer for a specified problem.
+     *
+     * @param problem the problem.
+     */
+    public PlanOptimizer(final Problem problem) {
+        this.problem = problem;
+    }
+
+    /**
+     * Returns the number of actions removed by the cycle removal during the last optimization.
+     *
+     * @return the number of actions removed by the cycle removal.
+     */
+    public int getCycleRemoved() {
+        return this.cycleRemoved;
+    }
+
+    /**
+     * Returns the number of actions removed by the action elimination during the last optimization.
+     *
+     * @return the number of actions removed by the action elimination.
+     */
+    public int getEliminated() {
+        return this.eliminated;
+    }
+
+    /**
+     * Optimizes a plan solution of the problem.
+     *
+     * @param plan the plan to optimize.
+     * @return the optimized plan, or the plan itself if the optimized plan is not a valid solution.
+     */
+    public Plan optimize(final Plan plan) {
+        this.cycleRemoved = 0;
+        this.eliminated = 0;
+        final State init = new State(this.problem.getInitialState());
+        List<Action> actions = this.removeCycles(init, plan.actions());
+        this.cycleRemoved = plan.size() - actions.size();
+        // We repeat the elimination while it removes actions: the first pass shortens the plan, so that the
+        // window of the next passes covers a larger part of it
+        int size = Integer.MAX_VALUE;
+        for (int pass = 0; pass < PlanOptimizer.PASSES && actions.size() < size; pass++) {
+            size = actions.size();
+            actions = this.eliminateActions(init, actions);
+        }
+        this.eliminated = plan.size() - this.cycleRemoved - actions.size();
+        final Plan optimized = new SequentialPlan();
+        for (int i = 0; i < actions.size(); i++) {
+            optimized.add(i, actions.get(i));
+        }
+        return this.isValid(init, actions) ? optimized : plan;
+    }
+
+    /**
+     * Removes the cycles of a sequence of actions.
+     *
+     * @param init    the initial state.
+     * @param actions the sequence of actions.
+     * @return the sequence of actions without cycles.
+     */
+    private List<Action> removeCycles(final State init, final List<Action> actions) {
+        final List<Action> kept = new ArrayList<>(actions.size());
+        final List<State> states = new ArrayList<>(actions.size() + 1);
+        final Map<State, Integer> position = new HashMap<>();
+        State current = new State(init);
+        states.add(current);
+        position.put(current, 0);
+        for (Action a : actions) {
+            current = Successors.apply(current, a);
+            final Integer p = position.get(current);
+            if (p == null) {
+                kept.add(a);
+                states.add(current);
+                position.put(current, kept.size());
+            } else {
+                // The state was already visited: we cut the cycle and forget the states of the cycle
+                while (kept.size() > p) {
+                    kept.remove(kept.size() - 1);
+                    position.remove(states.remove(states.size() - 1));
+                }
+                current = states.get(p);
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Removes greedily the useless actions of a sequence of actions. The removal of an action is checked by
+     * simulating at most {@link #WINDOW} of the following actions, until the simulated state joins the trajectory
+     * of the plan. The states are only compared on the fluents read by the rest of the plan, i.e., the fluents of
+     * the preconditions and of the conditions of the effects of the next actions and the fluents of the goal:
+     * two states equal on these fluents lead to the goal with the same actions. The removals reaching the goal
+     * through a different trajectory are thus accepted as soon as the trajectories only differ on fluents never
+     * read again. The remaining actions and their states are rewritten in place, so that the elimination runs
+     * in <code>O(n * WINDOW)</code> for a plan of <code>n</code> actions.
+     *
+     * @param init    the initial state.
+     * @param actions the sequence of actions.
+     * @return the sequence of actions without the useless actions found.
+     */
+    private List<Action> eliminateActions(final State init, final List<Action> actions) {
+        final int n = actions.size();
+        final Action[] plan = actions.toArray(new Action[n]);
+        final State[] states = this.simulate(init, actions).toArray(new State[n + 1]);
+        // The states are exact on the fluents read from their position, the only ones compared
+        final BitVector[] read = new BitVector[n + 1];
+        read[n] = new BitVector(this.problem.getGoal().getPositiveFluents());
+        read[n].or(this.problem.getGoal().getNegativeFluents());
+        for (int p = n - 1; p >= 0; p--) {
+            read[p] = PlanOptimizer.read(plan[p], read[p + 1]);
+        }
+        final List<Action> kept = new ArrayList<>(n);
+        final int[] window = new int[PlanOptimizer.WINDOW];
+        final State[] simulated = new State[PlanOptimizer.WINDOW];
+        int i = 0;
+        while (i < n) {
+            // We simulate the plan without the action i and without the actions that become inapplicable, until
+            // the simulated state joins the trajectory of the plan or leaves the window
+            State s = states[i];
+            int j = i + 1;
+            int k = 0;
+            boolean joined = false;
+            while (!joined && j <= n && j - i <= PlanOptimizer.WINDOW) {
+                if (PlanOptimizer.agree(s, states[j], read[j])) {
+                    joined = true;
+                } else {
+                    if (j < n && plan[j].isApplicable(s)) {
+                        s = Successors.apply(s, plan[j]);
+                        window[k] = j;
+                        simulated[k] = s;
+                        k++;
+                    }
+                    j++;
+                }
+            }
+            if (joined) {
+                // The removal is valid: the k actions kept in the window are moved just before j with their
+                // states, from the last one since they only move forward, and the search restarts from the first
+                final int head = j - k;
+                for (int m = k - 1; m >= 0; m--) {
+                    plan[head + m] = plan[window[m]];
+                    states[head + m] = m == 0 ? states[i] : simulated[m - 1];
+                    read[head + m] = PlanOptimizer.read(plan[head + m], read[head + m + 1]);
+                }
+                i = head;
+            } else {
+                kept.add(plan[i]);
+                i++;
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Returns the states visited by a sequence of actions.
+     *
+     * @param init    the initial state.
+     * @param actions the sequence of actions.
+     * @return the states visited, starting with the initial state.
+     */
+    private List<State> simulate(final State init, final List<Action> actions) {
+        final List<State> states = new ArrayList<>(actions.size() + 1);
+        State s = new State(init);
+        states.add(s);
+        for (Action a : actions) {
+            s = Successors.apply(s, a);
+            states.add(s);
+        }
+        return states;
+    }
+
+    /**
+     * Checks that a sequence of actions is a solution plan of the problem.
+     *
+     * @param init    the initial state.
+     * @param actions the sequence of actions.
+     * @return <code>true</code> if the sequence of actions is a solution plan, <code>false</code> otherwise.
+     */
+    private boolean isValid(final State init, final List<Action> actions) {
+        State s = init;
+        for (Action a : actions) {
+            if (!a.isApplicable(s)) {
+                return false;
+            }
+            s = Successors.apply(s, a);
+        }
+        return s.satisfy(this.problem.getGoal());
+    }
+
+    /**
+     * Returns the fluents read by an action followed by actions reading a specified set of fluents.
+     *
+     * @param action the action.
+     * @param next   the fluents read by the next actions.
+     * @return the fluents read by the action and the next actions.
+     */
+    private static BitVector read(final Action action, final BitVector next) {
+        final BitVector read = new BitVector(next);
+        read.or(action.getPrecondition().getPositiveFluents());
+        read.or(action.getPrecondition().getNegativeFluents());
+        for (ConditionalEffect ce : action.getConditionalEffects()) {
+            read.or(ce.getCondition().getPositiveFluents());
+            read.or(ce.getCondition().getNegativeFluents());
+        }
+        return read;
+    }
+
+    /**
+     * Returns if two states are equal on a set of fluents.
+     *
+     * @param s1      the first state.
+     * @param s2      the second state.
+     * @param fluents the fluents.
+     * @return <code>true</code> if the states are equal on the fluents.
+     */
+    private static boolean agree(final State s1, final State s2, final BitVector fluents) {
+        final BitVector diff = new BitVector(s1);
+        diff.xor(s2);
+        return !diff.intersects(fluents);
+    }
+}
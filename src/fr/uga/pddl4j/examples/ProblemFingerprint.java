@@ -0,0 +1,82 @@
+package fr.uga.pddl4j.examples;
+
+import fr.uga.pddl4j.problem.Fluent;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.ConditionalEffect;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * This class computes the fingerprint of an instantiated planning problem. Two problems have the same
+ * fingerprint if they have the same fluents, the same actions, the same initial state and the same goal with
+ * the same indices, i.e., if the data computed on one of them can be reused on the other one.
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+public final class ProblemFingerprint {
+
+    /**
+     * Creates a new fingerprint. This class cannot be instantiated.
+     */
+    private ProblemFingerprint() {
+    }
+
+    /**
+     * Returns the fingerprint of an instantiated problem as an hexadecimal string.
+     *
+     * @param problem the problem.
+     * @return the fingerprint of the problem.
+     */
+    public static String of(final Problem problem) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        final StringBuilder str = new StringBuilder();
+        for (Fluent f : problem.getFluents()) {
+            str.append(f.getSymbol()).append(Arrays.toString(f.getArguments())).append(';');
+        }
+        ProblemFingerprint.update(digest, str);
+        for (Action a : problem.getActions()) {
+            str.append(a.getName()).append(Arrays.toString(a.getInstantiations()))
+                .append(a.getPrecondition().getPositiveFluents())
+                .append(a.getPrecondition().getNegativeFluents());
+            for (ConditionalEffect ce : a.getConditionalEffects()) {
+                str.append(ce.getCondition().getPositiveFluents())
+                    .append(ce.getCondition().getNegativeFluents())
+                    .append(ce.getEffect().getPositiveFluents())
+                    .append(ce.getEffect().getNegativeFluents());
+            }
+            str.append(';');
+            ProblemFingerprint.update(digest, str);
+        }
+        str.append(problem.getInitialState().getPositiveFluents())
+            .append(problem.getGoal().getPositiveFluents())
+            .append(problem.getGoal().getNegativeFluents());
+        ProblemFingerprint.update(digest, str);
+        final byte[] hash = digest.digest();
+        final StringBuilder hex = new StringBuilder();
+        for (int i = 0; i < 16; i++) {
+            hex.append(String.format("%02x", hash[i]));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Updates a digest with the content of a buffer and clears the buffer.
+     *
+     * @param digest the digest.
+     * @param str    the buffer.
+     */
+    private static void update(final MessageDigest digest, final StringBuilder str) {
+        digest.update(str.toString().getBytes(StandardCharsets.UTF_8));
+        str.setLength(0);
+    }
+}
@@ -0,0 +1,80 @@
+package fr.uga.pddl4j.examples;
+
+import fr.uga.pddl4j.problem.State;
+
+/**
+ * This class implements the 64-bit hashes of states shared by the planners: the bitstate sets, the dead-end
+ * stores, the novelty tables, the partition of the states between the workers of the distributed search and the
+ * duplicate detection of the beam search. The hash of a state combines its words with the finalizer of SplitMix64,
+ * so that states differing by a single fluent have unrelated hashes.
+ * <p>
+ * The hashes are stored in checkpoints and exchanged between workers: changing them breaks the files and the
+ * protocol versions written before.
+ * </p>
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+public final class StateHash {
+
+    /**
+     * The default seed of the hashes (the golden ratio, also used as the increment between words).
+     */
+    public static final long SEED = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Creates a new state hash. This class cannot be instantiated.
+     */
+    private StateHash() {
+    }
+
+    /**
+     * Returns the 64-bit hash of a state with the default seed.
+     *
+     * @param state the state.
+     * @return the hash of the state.
+     */
+    public static long hash(final State state) {
+        return StateHash.hash(state.toLongArray(), StateHash.SEED);
+    }
+
+    /**
+     * Returns the 64-bit hash of the words of a state. The words must be trimmed of their trailing zero words, as
+     * returned by <code>toLongArray()</code>, for equal states to have equal hashes.
+     *
+     * @param words the words of the state.
+     * @param seed  the seed of the hash.
+     * @return the hash of the words.
+     */
+    public static long hash(final long[] words, final long seed) {
+        long h = seed;
+        for (long w : words) {
+            h = StateHash.mix(h ^ w) + StateHash.SEED;
+        }
+        return StateHash.mix(h ^ words.length);
+    }
+
+    /**
+     * Returns the non-zero 64-bit fingerprint of the words of a state, i.e., its hash with the default seed where
+     * zero is replaced by one, so that zero can mark the empty slots of a table.
+     *
+     * @param words the words of the state.
+     * @return the fingerprint of the state.
+     */
+    public static long fingerprint(final long[] words) {
+        final long h = StateHash.hash(words, StateHash.SEED);
+        return h == 0 ? 1 : h;
+    }
+
+    /**
+     * Mixes the bits of a 64-bit value (finalizer of SplitMix64).
+     *
+     * @param z the value.
+     * @return the mixed value.
+     */
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
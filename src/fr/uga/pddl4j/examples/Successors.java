@@ -0,0 +1,52 @@
+package fr.uga.pddl4j.examples;
+
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.ConditionalEffect;
+
+/**
+ * This class implements the application of the actions shared by the planners to compute the successors of the
+ * states. The conditions of the conditional effects of an action are evaluated in the state where the action is
+ * applied, before any of its effects, as required by the semantics of PDDL: applying the effects one after the
+ * other to the same state, as <code>State.apply(List)</code> does, can trigger an effect whose condition is made
+ * true by a previous effect of the action.
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+public final class Successors {
+
+    /**
+     * Creates a new successors. This class cannot be instantiated.
+     */
+    private Successors() {
+    }
+
+    /**
+     * Applies an action to a state and returns the successor state.
+     *
+     * @param state  the state.
+     * @param action the action, assumed to be applicable in the state.
+     * @return the successor state.
+     */
+    public static State apply(final State state, final Action action) {
+        final State next = new State(state);
+        Successors.apply(state, action, next);
+        return next;
+    }
+
+    /**
+     * Applies an action to a state and stores the successor state in a copy of the state, e.g., a node.
+     *
+     * @param state  the state.
+     * @param action the action, assumed to be applicable in the state.
+     * @param next   the copy of the state receiving the effects of the action.
+     */
+    public static void apply(final State state, final Action action, final State next) {
+        for (ConditionalEffect ce : action.getConditionalEffects()) {
+            if (state.satisfy(ce.getCondition())) {
+                next.apply(ce.getEffect());
+            }
+        }
+    }
+}
@@ -1,6 +1,15 @@
 package fr.uga.pddl4j.examples.asp;
 
+import fr.uga.pddl4j.examples.CheckpointWriter;
+import fr.uga.pddl4j.examples.DeadEndStore;
 import fr.uga.pddl4j.examples.Node;
+import fr.uga.pddl4j.examples.ProblemFingerprint;
+import fr.uga.pddl4j.examples.Successors;
+import fr.uga.pddl4j.examples.heuristics.HeuristicSelector;
+import fr.uga.pddl4j.examples.heuristics.Heuristics;
+import fr.uga.pddl4j.examples.heuristics.IncrementalRelaxedHeuristic;
+import fr.uga.pddl4j.examples.profiling.SearchProfiler;
+import fr.uga.pddl4j.examples.symmetry.Symmetries;
 import fr.uga.pddl4j.heuristics.state.StateHeuristic;
 import fr.uga.pddl4j.parser.DefaultParsedProblem;
 import fr.uga.pddl4j.parser.RequireKey;
@@ -16,16 +25,23 @@ import fr.uga.pddl4j.problem.DefaultProblem;
 import fr.uga.pddl4j.problem.Problem;
 import fr.uga.pddl4j.problem.State;
 import fr.uga.pddl4j.problem.operator.Action;
-import fr.uga.pddl4j.problem.operator.ConditionalEffect;
+import fr.uga.pddl4j.problem.operator.Condition;
+import fr.uga.pddl4j.util.BitVector;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import picocli.CommandLine;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.HashSet;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.PriorityQueue;
-import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 
 
 /**
@@ -70,6 +86,11 @@ public class ASP extends AbstractPlanner {
      */
     private static final Logger LOGGER = LogManager.getLogger(ASP.class.getName());
 
+    /**
+     * The name of the planner in the profiling events.
+     */
+    private static final String PLANNER = "ASP";
+
     /**
      * The weight of the heuristic.
      */
@@ -78,7 +99,102 @@ public class ASP extends AbstractPlanner {
     /**
      * The name of the heuristic used by the planner.
      */
-    private StateHeuristic.Name heuristic;
+    private Heuristics.Name heuristic;
+
+    /**
+     * The directory used to store the pattern databases.
+     */
+    private File patternDatabaseCache;
+
+    /**
+     * The flag used to enable the incremental evaluation of the heuristic.
+     */
+    private boolean incrementalHeuristic;
+
+    /**
+     * The fraction of the timeout used to select the heuristic when the heuristic is AUTO.
+     */
+    private double autoBudget;
+
+    /**
+     * The flag used to enable the symmetry reduction of the search.
+     */
+    private boolean symmetryReduction;
+
+    /**
+     * The number of threads used to evaluate the children of the expanded nodes.
+     */
+    private int parallelEvaluation;
+
+    /**
+     * The memory in MBytes of the bitstate closed list or 0 to use an exact closed list.
+     */
+    private int bitstateMemory;
+
+    /**
+     * The number of bits set per state in the bitstate closed list.
+     */
+    private int bitstateHashes;
+
+    /**
+     * The flag used to enable the dead-end store.
+     */
+    private boolean deadEnds;
+
+    /**
+     * The dead-end store shared with other searches or <code>null</code> to create one per search.
+     */
+    private DeadEndStore deadEndStore;
+
+    /**
+     * The heuristics of the open lists of the multi-queue search or an empty list for a single open list.
+     */
+    private List<Heuristics.Name> queues;
+
+    /**
+     * The flag used to add an open list of the nodes reached by preferred actions to the multi-queue search.
+     */
+    private boolean preferredOperators;
+
+    /**
+     * The checkpoint file of the search or <code>null</code> if the checkpointing is disabled.
+     */
+    private File checkpoint;
+
+    /**
+     * The interval between two checkpoints in seconds.
+     */
+    private int checkpointInterval;
+
+    /**
+     * The flag used to resume the search from its checkpoint.
+     */
+    private boolean resume;
+
+    /**
+     * The flag used to enable the bidirectional search.
+     */
+    private boolean bidirectional;
+
+    /**
+     * The problem of the heuristics cached, i.e., the problem of the last search.
+     */
+    private Problem cachedProblem;
+
+    /**
+     * The incremental flag of the heuristics cached.
+     */
+    private boolean cachedIncremental;
+
+    /**
+     * The heuristic selected for the problem cached when the AUTO heuristic is used.
+     */
+    private Heuristics.Name cachedSelection;
+
+    /**
+     * The heuristics built for the problem cached and reused by the next searches of the same problem.
+     */
+    private final Map<Heuristics.Name, StateHeuristic> cachedHeuristics = new EnumMap<>(Heuristics.Name.class);
 
     /**
      * The HEURISTIC property used for planner configuration.
@@ -88,7 +204,33 @@ public class ASP extends AbstractPlanner {
     /**
      * The default value of the HEURISTIC property used for planner configuration.
      */
-    public static final StateHeuristic.Name DEFAULT_HEURISTIC = StateHeuristic.Name.FAST_FORWARD;
+    public static final Heuristics.Name DEFAULT_HEURISTIC = Heuristics.Name.FAST_FORWARD;
+
+    /**
+     * The PDB_CACHE property used for planner configuration. The property is not set by default, i.e., the
+     * pattern databases are built at each run.
+     */
+    public static final String PDB_CACHE_SETTING = "PDB_CACHE";
+
+    /**
+     * The INCREMENTAL_HEURISTIC property used for planner configuration.
+     */
+    public static final String INCREMENTAL_HEURISTIC_SETTING = "INCREMENTAL_HEURISTIC";
+
+    /**
+     * The default value of the INCREMENTAL_HEURISTIC property used for planner configuration.
+     */
+    public static final boolean DEFAULT_INCREMENTAL_HEURISTIC = false;
+
+    /**
+     * The AUTO_BUDGET property used for planner configuration.
+     */
+    public static final String AUTO_BUDGET_SETTING = "AUTO_BUDGET";
+
+    /**
+     * The default value of the AUTO_BUDGET property used for planner configuration.
+     */
+    public static final double DEFAULT_AUTO_BUDGET = 0.05;
 
     /**
      * The WEIGHT_HEURISTIC property used for planner configuration.
@@ -100,6 +242,123 @@ public class ASP extends AbstractPlanner {
      */
     public static final double DEFAULT_WEIGHT_HEURISTIC = 1.0;
 
+    /**
+     * The SYMMETRY_REDUCTION property used for planner configuration.
+     */
+    public static final String SYMMETRY_REDUCTION_SETTING = "SYMMETRY_REDUCTION";
+
+    /**
+     * The default value of the SYMMETRY_REDUCTION property used for planner configuration.
+     */
+    public static final boolean DEFAULT_SYMMETRY_REDUCTION = false;
+
+    /**
+     * The PARALLEL_EVALUATION property used for planner configuration.
+     */
+    public static final String PARALLEL_EVALUATION_SETTING = "PARALLEL_EVALUATION";
+
+    /**
+     * The default value of the PARALLEL_EVALUATION property used for planner configuration.
+     */
+    public static final int DEFAULT_PARALLEL_EVALUATION = 1;
+
+    /**
+     * The BITSTATE_MEMORY property used for planner configuration.
+     */
+    public static final String BITSTATE_MEMORY_SETTING = "BITSTATE_MEMORY";
+
+    /**
+     * The default value of the BITSTATE_MEMORY property used for planner configuration.
+     */
+    public static final int DEFAULT_BITSTATE_MEMORY = 0;
+
+    /**
+     * The BITSTATE_HASHES property used for planner configuration.
+     */
+    public static final String BITSTATE_HASHES_SETTING = "BITSTATE_HASHES";
+
+    /**
+     * The default value of the BITSTATE_HASHES property used for planner configuration.
+     */
+    public static final int DEFAULT_BITSTATE_HASHES = 3;
+
+    /**
+     * The DEAD_ENDS property used for planner configuration.
+     */
+    public static final String DEAD_ENDS_SETTING = "DEAD_ENDS";
+
+    /**
+     * The default value of the DEAD_ENDS property used for planner configuration.
+     */
+    public static final boolean DEFAULT_DEAD_ENDS = false;
+
+    /**
+     * The QUEUES property used for planner configuration, i.e., the comma-separated heuristics of the open
+     * lists of the multi-queue search.
+     */
+    public static final String QUEUES_SETTING = "QUEUES";
+
+    /**
+     * The default value of the QUEUES property used for planner configuration: a single open list.
+     */
+    public static final String DEFAULT_QUEUES = "";
+
+    /**
+     * The PREFERRED_OPERATORS property used for planner configuration.
+     */
+    public static final String PREFERRED_OPERATORS_SETTING = "PREFERRED_OPERATORS";
+
+    /**
+     * The default value of the PREFERRED_OPERATORS property used for planner configuration.
+     */
+    public static final boolean DEFAULT_PREFERRED_OPERATORS = false;
+
+    /**
+     * The CHECKPOINT property used for planner configuration. The property is not set by default, i.e., the
+     * checkpointing is disabled.
+     */
+    public static final String CHECKPOINT_SETTING = "CHECKPOINT";
+
+    /**
+     * The CHECKPOINT_INTERVAL property used for planner configuration.
+     */
+    public static final String CHECKPOINT_INTERVAL_SETTING = "CHECKPOINT_INTERVAL";
+
+    /**
+     * The default value of the CHECKPOINT_INTERVAL property used for planner configuration, i.e., 300 seconds.
+     */
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 300;
+
+    /**
+     * The RESUME property used for planner configuration.
+     */
+    public static final String RESUME_SETTING = "RESUME";
+
+    /**
+     * The default value of the RESUME property used for planner configuration.
+     */
+    public static final boolean DEFAULT_RESUME = false;
+
+    /**
+     * The BIDIRECTIONAL property used for planner configuration.
+     */
+    public static final String BIDIRECTIONAL_SETTING = "BIDIRECTIONAL";
+
+    /**
+     * The default value of the BIDIRECTIONAL property used for planner configuration.
+     */
+    public static final boolean DEFAULT_BIDIRECTIONAL = false;
+
+    /**
+     * The priority bonus given to an open list of the multi-queue search when it makes progress.
+     */
+    private static final int BOOST = 1000;
+
+    /**
+     * The minimum number of children evaluated by a task of the parallel evaluation.
+     */
+    private static final int EVALUATION_GRAIN = 4;
+
     /**
      * Sets the weight of the heuristic.
      *
@@ -122,8 +381,9 @@ public class ASP extends AbstractPlanner {
      */
     @CommandLine.Option(names = {"-e", "--heuristic"}, defaultValue = "FAST_FORWARD",
         description = "Set the heuristic : AJUSTED_SUM, AJUSTED_SUM2, AJUSTED_SUM2M, COMBO, "
-            + "MAX, FAST_FORWARD SET_LEVEL, SUM, SUM_MUTEX (preset: FAST_FORWARD)")
-    public void setHeuristic(StateHeuristic.Name heuristic) {
+            + "MAX, FAST_FORWARD SET_LEVEL, SUM, SUM_MUTEX, PATTERN_DATABASE, "
+            + "LANDMARK_COUNT, AUTO (preset: FAST_FORWARD)")
+    public void setHeuristic(Heuristics.Name heuristic) {
         this.heuristic = heuristic;
     }
 
@@ -132,10 +392,78 @@ public class ASP extends AbstractPlanner {
      *
      * @return the name of the heuristic used by the planner to solve a planning problem.
      */
-    public final StateHeuristic.Name getHeuristic() {
+    public final Heuristics.Name getHeuristic() {
         return this.heuristic;
     }
 
+    /**
+     * Sets the directory used to store the pattern databases. The pattern databases built for a problem are
+     * stored in this directory and reused by the next runs on the same problem.
+     *
+     * @param cache the directory or <code>null</code> to build the pattern databases at each run.
+     */
+    @CommandLine.Option(names = {"-pc", "--pdb-cache"}, paramLabel = "<dir>",
+        description = "Set the directory used to store the pattern databases (preset none).")
+    public void setPatternDatabaseCache(final File cache) {
+        this.patternDatabaseCache = cache;
+    }
+
+    /**
+     * Returns the directory used to store the pattern databases.
+     *
+     * @return the directory used to store the pattern databases or <code>null</code> if none is set.
+     */
+    public final File getPatternDatabaseCache() {
+        return this.patternDatabaseCache;
+    }
+
+    /**
+     * Enables or disables the incremental evaluation of the MAX, SUM and FAST_FORWARD heuristics. The
+     * incremental evaluation updates the relaxed planning graph of the last state evaluated instead of
+     * rebuilding it and returns the same values as the heuristics of the library.
+     *
+     * @param incremental <code>true</code> to enable the incremental evaluation.
+     */
+    @CommandLine.Option(names = {"-inc", "--incremental"}, defaultValue = "false", arity = "0..1",
+        description = "Evaluate the MAX, SUM and FAST_FORWARD heuristics incrementally (preset false).")
+    public void setIncrementalHeuristic(final boolean incremental) {
+        this.incrementalHeuristic = incremental;
+    }
+
+    /**
+     * Returns if the incremental evaluation of the heuristic is enabled.
+     *
+     * @return <code>true</code> if the incremental evaluation is enabled, <code>false</code> otherwise.
+     */
+    public final boolean isIncrementalHeuristic() {
+        return this.incrementalHeuristic;
+    }
+
+    /**
+     * Sets the fraction of the timeout used to select the heuristic when the heuristic is AUTO. The heuristic
+     * is then selected at the beginning of the search by sampling random walks (see {@link HeuristicSelector}).
+     *
+     * @param budget the fraction of the timeout. The fraction must be in ]0, 1].
+     * @throws IllegalArgumentException if the fraction is not in ]0, 1].
+     */
+    @CommandLine.Option(names = {"-ab", "--auto-budget"}, defaultValue = "0.05", paramLabel = "<fraction>",
+        description = "Set the fraction of the timeout used by the AUTO heuristic selection (preset 0.05).")
+    public void setAutoBudget(final double budget) {
+        if (budget <= 0.0 || budget > 1.0) {
+            throw new IllegalArgumentException("Budget not in ]0, 1]");
+        }
+        this.autoBudget = budget;
+    }
+
+    /**
+     * Returns the fraction of the timeout used to select the heuristic when the heuristic is AUTO.
+     *
+     * @return the fraction of the timeout used to select the heuristic.
+     */
+    public final double getAutoBudget() {
+        return this.autoBudget;
+    }
+
     /**
      * Returns the weight of the heuristic.
      *
@@ -145,6 +473,287 @@ public class ASP extends AbstractPlanner {
         return this.heuristicWeight;
     }
 
+    /**
+     * Enables or disables the symmetry reduction. When enabled, the object symmetries of the problem are
+     * detected after instantiation and the states of the closed list are stored by their canonical
+     * representative, so that states that are permutations of each other are expanded only once.
+     *
+     * @param symmetryReduction <code>true</code> to enable the symmetry reduction.
+     */
+    @CommandLine.Option(names = {"-sy", "--symmetry"}, defaultValue = "false",
+        description = "Enable the object symmetry reduction (preset false).")
+    public void setSymmetryReduction(final boolean symmetryReduction) {
+        this.symmetryReduction = symmetryReduction;
+    }
+
+    /**
+     * Returns if the symmetry reduction is enabled.
+     *
+     * @return <code>true</code> if the symmetry reduction is enabled, <code>false</code> otherwise.
+     */
+    public final boolean isSymmetryReduction() {
+        return this.symmetryReduction;
+    }
+
+    /**
+     * Sets the number of threads used to evaluate the children of the expanded nodes. With more than one
+     * thread, all the children of a node are generated and filtered first, then their heuristic values are
+     * computed as a batch on a work-stealing pool where each worker owns its heuristic instance, and the
+     * children are finally inserted in the open list in the order of the actions.
+     *
+     * @param threads the number of threads. The number of threads must be greater than 0.
+     * @throws IllegalArgumentException if the number of threads is less than 1.
+     */
+    @CommandLine.Option(names = {"-pe", "--parallel-evaluation"}, defaultValue = "1", paramLabel = "<threads>",
+        description = "Set the number of threads evaluating the children of a node (preset 1).")
+    public void setParallelEvaluation(final int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Threads < 1");
+        }
+        this.parallelEvaluation = threads;
+    }
+
+    /**
+     * Returns the number of threads used to evaluate the children of the expanded nodes.
+     *
+     * @return the number of threads used to evaluate the children of the expanded nodes.
+     */
+    public final int getParallelEvaluation() {
+        return this.parallelEvaluation;
+    }
+
+    /**
+     * Sets the memory of the bitstate closed list. With a positive memory, the closed list only stores a few
+     * hash bits per explored state in a bit array of this size (see {@link BitstateSet}). The closed list is
+     * much smaller but a state never explored can be wrongly pruned, so the search is no longer complete nor
+     * optimal. This mode is intended for satisficing searches with a weight greater than 1.
+     *
+     * @param memory the memory in MBytes of the bitstate closed list or 0 to use an exact closed list.
+     * @throws IllegalArgumentException if the memory is negative.
+     */
+    @CommandLine.Option(names = {"-bs", "--bitstate"}, defaultValue = "0", paramLabel = "<MBytes>",
+        description = "Set the memory of the bitstate closed list, 0 for an exact closed list (preset 0).")
+    public void setBitstateMemory(final int memory) {
+        if (memory < 0) {
+            throw new IllegalArgumentException("Memory < 0");
+        }
+        this.bitstateMemory = memory;
+    }
+
+    /**
+     * Returns the memory in MBytes of the bitstate closed list.
+     *
+     * @return the memory in MBytes of the bitstate closed list or 0 if the closed list is exact.
+     */
+    public final int getBitstateMemory() {
+        return this.bitstateMemory;
+    }
+
+    /**
+     * Sets the number of bits set per state in the bitstate closed list.
+     *
+     * @param hashes the number of bits set per state. The number of bits must be greater than 0.
+     * @throws IllegalArgumentException if the number of bits is less than 1.
+     */
+    @CommandLine.Option(names = {"-bh", "--bitstate-hashes"}, defaultValue = "3", paramLabel = "<k>",
+        description = "Set the number of bits per state of the bitstate closed list (preset 3).")
+    public void setBitstateHashes(final int hashes) {
+        if (hashes < 1) {
+            throw new IllegalArgumentException("Hashes < 1");
+        }
+        this.bitstateHashes = hashes;
+    }
+
+    /**
+     * Returns the number of bits set per state in the bitstate closed list.
+     *
+     * @return the number of bits set per state in the bitstate closed list.
+     */
+    public final int getBitstateHashes() {
+        return this.bitstateHashes;
+    }
+
+    /**
+     * Enables or disables the dead-end store. When enabled, the expanded nodes without applicable action and
+     * the children with an infinite heuristic value are recorded as dead ends and never inserted in the open
+     * list, and the children that are known dead ends are pruned before their evaluation.
+     *
+     * @param deadEnds <code>true</code> to enable the dead-end store.
+     */
+    @CommandLine.Option(names = {"-de", "--dead-ends"}, defaultValue = "false", arity = "0..1",
+        description = "Enable the dead-end store (preset false).")
+    public void setDeadEnds(final boolean deadEnds) {
+        this.deadEnds = deadEnds;
+    }
+
+    /**
+     * Returns if the dead-end store is enabled.
+     *
+     * @return <code>true</code> if the dead-end store is enabled, <code>false</code> otherwise.
+     */
+    public final boolean isDeadEnds() {
+        return this.deadEnds;
+    }
+
+    /**
+     * Sets the dead-end store used by the searches, e.g., to share the dead ends with other planners solving
+     * the same problem. If no store is set, each search creates its own store when the dead-end store is
+     * enabled.
+     *
+     * @param store the dead-end store or <code>null</code>.
+     */
+    public void setDeadEndStore(final DeadEndStore store) {
+        this.deadEndStore = store;
+    }
+
+    /**
+     * Returns the dead-end store shared by the searches.
+     *
+     * @return the dead-end store shared by the searches or <code>null</code>.
+     */
+    public final DeadEndStore getDeadEndStore() {
+        return this.deadEndStore;
+    }
+
+    /**
+     * Sets the heuristics of the open lists of the multi-queue search. With at least one heuristic, each
+     * generated node is inserted in one open list per heuristic, and the expansions alternate between the open
+     * lists, the lists whose heuristic reaches a new best value being boosted. An empty list of heuristics
+     * restores the single open list ordered by the heuristic of the planner.
+     *
+     * @param queues the heuristics of the open lists.
+     */
+    @CommandLine.Option(names = {"-q", "--queues"}, split = ",", paramLabel = "<heuristic>",
+        description = "Set the heuristics of the open lists of the multi-queue search, e.g., "
+            + "FAST_FORWARD,SUM,GOAL_COUNT (preset: single open list).")
+    public void setQueues(final List<Heuristics.Name> queues) {
+        this.queues = queues == null ? new ArrayList<>() : new ArrayList<>(queues);
+    }
+
+    /**
+     * Returns the heuristics of the open lists of the multi-queue search.
+     *
+     * @return the heuristics of the open lists or an empty list if the search uses a single open list.
+     */
+    public final List<Heuristics.Name> getQueues() {
+        return this.queues;
+    }
+
+    /**
+     * Enables or disables the open list of the preferred operators in the multi-queue search. When enabled,
+     * the nodes reached by an action of the relaxed plan of their parent are also inserted in an additional
+     * open list ordered by the first heuristic, which is boosted each time the search makes progress.
+     *
+     * @param preferredOperators <code>true</code> to enable the open list of the preferred operators.
+     */
+    @CommandLine.Option(names = {"-pr", "--preferred"}, defaultValue = "false", arity = "0..1",
+        description = "Add an open list of the preferred operators to the multi-queue search (preset false).")
+    public void setPreferredOperators(final boolean preferredOperators) {
+        this.preferredOperators = preferredOperators;
+    }
+
+    /**
+     * Returns if the open list of the preferred operators is enabled.
+     *
+     * @return <code>true</code> if the open list of the preferred operators is enabled.
+     */
+    public final boolean isPreferredOperators() {
+        return this.preferredOperators;
+    }
+
+    /**
+     * Sets the checkpoint file of the search. When set, the state of the A* search, i.e., its open list, its
+     * closed list, its nodes and its statistics, is periodically written to this file, and written one last time
+     * when the search stops on timeout. The file is deleted when the search is over. The checkpointing is not
+     * supported by the multi-queue search and with the dead-end store.
+     *
+     * @param checkpoint the checkpoint file or <code>null</code> to disable the checkpointing.
+     */
+    @CommandLine.Option(names = {"-ck", "--checkpoint"}, paramLabel = "<file>",
+        description = "Set the checkpoint file of the search (preset none).")
+    public void setCheckpoint(final File checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    /**
+     * Returns the checkpoint file of the search.
+     *
+     * @return the checkpoint file or <code>null</code> if the checkpointing is disabled.
+     */
+    public final File getCheckpoint() {
+        return this.checkpoint;
+    }
+
+    /**
+     * Sets the interval between two checkpoints.
+     *
+     * @param interval the interval in seconds. The interval must be greater than 0.
+     * @throws IllegalArgumentException if the interval is less than 1.
+     */
+    @CommandLine.Option(names = {"-ci", "--checkpoint-interval"}, defaultValue = "300", paramLabel = "<s>",
+        description = "Set the interval between two checkpoints in seconds (preset 300).")
+    public void setCheckpointInterval(final int interval) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("Interval < 1");
+        }
+        this.checkpointInterval = interval;
+    }
+
+    /**
+     * Returns the interval between two checkpoints.
+     *
+     * @return the interval between two checkpoints in seconds.
+     */
+    public final int getCheckpointInterval() {
+        return this.checkpointInterval;
+    }
+
+    /**
+     * Enables or disables the resume of the search from its checkpoint. When enabled and the checkpoint file
+     * exists, the search restarts from the state written in the checkpoint and finds the same plan as an
+     * uninterrupted search. The timeout applies to each run.
+     *
+     * @param resume <code>true</code> to resume the search from its checkpoint.
+     */
+    @CommandLine.Option(names = {"-rs", "--resume"}, defaultValue = "false", arity = "0..1",
+        description = "Resume the search from its checkpoint (preset false).")
+    public void setResume(final boolean resume) {
+        this.resume = resume;
+    }
+
+    /**
+     * Returns if the resume of the search from its checkpoint is enabled.
+     *
+     * @return <code>true</code> if the resume is enabled, <code>false</code> otherwise.
+     */
+    public final boolean isResume() {
+        return this.resume;
+    }
+
+    /**
+     * Enables or disables the bidirectional search. When enabled, the A* search from the initial state alternates
+     * with a breadth-first regression search from the goal, the direction expanded being the one with the
+     * smaller frontier, and the plan is stitched at the best meeting of the two searches. With a weight of 1 and
+     * a consistent heuristic, e.g., MAX or PATTERN_DATABASE, the plan is optimal. The bidirectional search does
+     * not support the conditional effects with a condition, the multi-queue search and the checkpointing.
+     *
+     * @param bidirectional <code>true</code> to enable the bidirectional search.
+     */
+    @CommandLine.Option(names = {"-bd", "--bidirectional"}, defaultValue = "false", arity = "0..1",
+        description = "Search forward from the initial state and backward from the goal (preset false).")
+    public void setBidirectional(final boolean bidirectional) {
+        this.bidirectional = bidirectional;
+    }
+
+    /**
+     * Returns if the bidirectional search is enabled.
+     *
+     * @return <code>true</code> if the bidirectional search is enabled, <code>false</code> otherwise.
+     */
+    public final boolean isBidirectional() {
+        return this.bidirectional;
+    }
+
     /**
      * Returns the configuration of the planner.
      * @return the default arguments of the planner.
@@ -155,6 +764,26 @@ public class ASP extends AbstractPlanner {
         config.setProperty(ASP.HEURISTIC_SETTING, ASP.DEFAULT_HEURISTIC.toString());
         config.setProperty(ASP.WEIGHT_HEURISTIC_SETTING,
             Double.toString(ASP.DEFAULT_WEIGHT_HEURISTIC));
+        config.setProperty(ASP.INCREMENTAL_HEURISTIC_SETTING,
+            Boolean.toString(ASP.DEFAULT_INCREMENTAL_HEURISTIC));
+        config.setProperty(ASP.AUTO_BUDGET_SETTING, Double.toString(ASP.DEFAULT_AUTO_BUDGET));
+        config.setProperty(ASP.SYMMETRY_REDUCTION_SETTING,
+            Boolean.toString(ASP.DEFAULT_SYMMETRY_REDUCTION));
+        config.setProperty(ASP.PARALLEL_EVALUATION_SETTING,
+            Integer.toString(ASP.DEFAULT_PARALLEL_EVALUATION));
+        config.setProperty(ASP.BITSTATE_MEMORY_SETTING,
+            Integer.toString(ASP.DEFAULT_BITSTATE_MEMORY));
+        config.setProperty(ASP.BITSTATE_HASHES_SETTING,
+            Integer.toString(ASP.DEFAULT_BITSTATE_HASHES));
+        config.setProperty(ASP.DEAD_ENDS_SETTING,
+            Boolean.toString(ASP.DEFAULT_DEAD_ENDS));
+        config.setProperty(ASP.QUEUES_SETTING, ASP.DEFAULT_QUEUES);
+        config.setProperty(ASP.PREFERRED_OPERATORS_SETTING,
+            Boolean.toString(ASP.DEFAULT_PREFERRED_OPERATORS));
+        config.setProperty(ASP.CHECKPOINT_INTERVAL_SETTING,
+            Integer.toString(ASP.DEFAULT_CHECKPOINT_INTERVAL));
+        config.setProperty(ASP.RESUME_SETTING, Boolean.toString(ASP.DEFAULT_RESUME));
+        config.setProperty(ASP.BIDIRECTIONAL_SETTING, Boolean.toString(ASP.DEFAULT_BIDIRECTIONAL));
         return config;
     }
 
@@ -169,7 +798,13 @@ public class ASP extends AbstractPlanner {
     public boolean hasValidConfiguration() {
         return super.hasValidConfiguration()
             && this.getHeuristicWeight() > 0.0
-            && this.getHeuristic() != null;
+            && this.getHeuristic() != null
+            && this.getAutoBudget() > 0.0
+            && this.getParallelEvaluation() > 0
+            && this.getBitstateMemory() >= 0
+            && this.getBitstateHashes() > 0
+            && this.getQueues() != null
+            && this.getCheckpointInterval() > 0;
     }
 
     /**
@@ -190,21 +825,107 @@ public class ASP extends AbstractPlanner {
         if (configuration.getProperty(ASP.HEURISTIC_SETTING) == null) {
             this.setHeuristic(ASP.DEFAULT_HEURISTIC);
         } else {
-            this.setHeuristic(StateHeuristic.Name.valueOf(configuration.getProperty(
+            this.setHeuristic(Heuristics.Name.valueOf(configuration.getProperty(
                 ASP.HEURISTIC_SETTING)));
         }
+        if (configuration.getProperty(ASP.INCREMENTAL_HEURISTIC_SETTING) == null) {
+            this.setIncrementalHeuristic(ASP.DEFAULT_INCREMENTAL_HEURISTIC);
+        } else {
+            this.setIncrementalHeuristic(Boolean.parseBoolean(configuration.getProperty(
+                ASP.INCREMENTAL_HEURISTIC_SETTING)));
+        }
+        if (configuration.getProperty(ASP.AUTO_BUDGET_SETTING) == null) {
+            this.setAutoBudget(ASP.DEFAULT_AUTO_BUDGET);
+        } else {
+            this.setAutoBudget(Double.parseDouble(configuration.getProperty(ASP.AUTO_BUDGET_SETTING)));
+        }
+        if (configuration.getProperty(ASP.PDB_CACHE_SETTING) == null) {
+            this.setPatternDatabaseCache(null);
+        } else {
+            this.setPatternDatabaseCache(new File(configuration.getProperty(ASP.PDB_CACHE_SETTING)));
+        }
+        if (configuration.getProperty(ASP.SYMMETRY_REDUCTION_SETTING) == null) {
+            this.setSymmetryReduction(ASP.DEFAULT_SYMMETRY_REDUCTION);
+        } else {
+            this.setSymmetryReduction(Boolean.parseBoolean(configuration.getProperty(
+                ASP.SYMMETRY_REDUCTION_SETTING)));
+        }
+        if (configuration.getProperty(ASP.PARALLEL_EVALUATION_SETTING) == null) {
+            this.setParallelEvaluation(ASP.DEFAULT_PARALLEL_EVALUATION);
+        } else {
+            this.setParallelEvaluation(Integer.parseInt(configuration.getProperty(
+                ASP.PARALLEL_EVALUATION_SETTING)));
+        }
+        if (configuration.getProperty(ASP.BITSTATE_MEMORY_SETTING) == null) {
+            this.setBitstateMemory(ASP.DEFAULT_BITSTATE_MEMORY);
+        } else {
+            this.setBitstateMemory(Integer.parseInt(configuration.getProperty(
+                ASP.BITSTATE_MEMORY_SETTING)));
+        }
+        if (configuration.getProperty(ASP.BITSTATE_HASHES_SETTING) == null) {
+            this.setBitstateHashes(ASP.DEFAULT_BITSTATE_HASHES);
+        } else {
+            this.setBitstateHashes(Integer.parseInt(configuration.getProperty(
+                ASP.BITSTATE_HASHES_SETTING)));
+        }
+        if (configuration.getProperty(ASP.DEAD_ENDS_SETTING) == null) {
+            this.setDeadEnds(ASP.DEFAULT_DEAD_ENDS);
+        } else {
+            this.setDeadEnds(Boolean.parseBoolean(configuration.getProperty(
+                ASP.DEAD_ENDS_SETTING)));
+        }
+        final List<Heuristics.Name> queues = new ArrayList<>();
+        if (configuration.getProperty(ASP.QUEUES_SETTING) != null) {
+            for (String name : configuration.getProperty(ASP.QUEUES_SETTING).split(",")) {
+                if (!name.isBlank()) {
+                    queues.add(Heuristics.Name.valueOf(name.trim()));
+                }
+            }
+        }
+        this.setQueues(queues);
+        if (configuration.getProperty(ASP.PREFERRED_OPERATORS_SETTING) == null) {
+            this.setPreferredOperators(ASP.DEFAULT_PREFERRED_OPERATORS);
+        } else {
+            this.setPreferredOperators(Boolean.parseBoolean(configuration.getProperty(
+                ASP.PREFERRED_OPERATORS_SETTING)));
+        }
+        if (configuration.getProperty(ASP.CHECKPOINT_SETTING) == null) {
+            this.setCheckpoint(null);
+        } else {
+            this.setCheckpoint(new File(configuration.getProperty(ASP.CHECKPOINT_SETTING)));
+        }
+        if (configuration.getProperty(ASP.CHECKPOINT_INTERVAL_SETTING) == null) {
+            this.setCheckpointInterval(ASP.DEFAULT_CHECKPOINT_INTERVAL);
+        } else {
+            this.setCheckpointInterval(Integer.parseInt(configuration.getProperty(
+                ASP.CHECKPOINT_INTERVAL_SETTING)));
+        }
+        if (configuration.getProperty(ASP.RESUME_SETTING) == null) {
+            this.setResume(ASP.DEFAULT_RESUME);
+        } else {
+            this.setResume(Boolean.parseBoolean(configuration.getProperty(ASP.RESUME_SETTING)));
+        }
+        if (configuration.getProperty(ASP.BIDIRECTIONAL_SETTING) == null) {
+            this.setBidirectional(ASP.DEFAULT_BIDIRECTIONAL);
+        } else {
+            this.setBidirectional(Boolean.parseBoolean(configuration.getProperty(ASP.BIDIRECTIONAL_SETTING)));
+        }
     }
 
     /**
-     * Instantiates the planning problem from a parsed problem.
+     * Instantiates the planning problem from a parsed problem. The parse and instantiation times are reported to
+     * the flight recorder when a recording is running.
      *
      * @param problem the problem to instantiate.
      * @return the instantiated planning problem or null if the problem cannot be instantiated.
      */
     @Override
     public Problem instantiate(DefaultParsedProblem problem) {
+        final long begin = System.nanoTime();
         final Problem pb = new DefaultProblem(problem);
         pb.instantiate();
+        SearchProfiler.phase(ASP.PLANNER, SearchProfiler.PARSE, this.getStatistics().getTimeToParse() * 1000000L);
+        SearchProfiler.phase(ASP.PLANNER, SearchProfiler.INSTANTIATE, System.nanoTime() - begin);
         return pb;
     }
 
@@ -259,19 +980,98 @@ public class ASP extends AbstractPlanner {
      * @throws ProblemNotSupportedException if the problem to solve is not supported by the planner.
      */
     public Plan astar(Problem problem) throws ProblemNotSupportedException {
+        return this.astar(problem, new State(problem.getInitialState()), problem.getGoal());
+    }
+
+    /**
+     * Search a solution plan for a planning problem from a specified initial state to a specified goal using an
+     * A* search strategy. The grounded problem and the heuristics built by the previous searches of the same
+     * problem are reused, e.g., to replan after a change of the initial state or of the goal.
+     *
+     * @param problem the problem to solve.
+     * @param init    the initial state of the search.
+     * @param goal    the goal of the search.
+     * @return a plan solution for the problem or null if there is no solution
+     * @throws ProblemNotSupportedException if the problem to solve is not supported by the planner.
+     */
+    public Plan astar(Problem problem, State init, Condition goal) throws ProblemNotSupportedException {
         // Check if the problem is supported by the planner
         if (!this.isSupported(problem)) {
             throw new ProblemNotSupportedException("Problem not supported");
         }
 
-        // First we create an instance of the heuristic to use to guide the search
-        final StateHeuristic heuristic = StateHeuristic.getInstance(this.getHeuristic(), problem);
+        // We run the multi-queue search if several open lists are configured
+        if (!this.getQueues().isEmpty()) {
+            this.warnIgnoredOptions("multi-queue search");
+            return this.multiQueueSearch(problem, init, goal);
+        }
+
+        // We run the bidirectional search if it is enabled and the regression supports the actions
+        if (this.isBidirectional()) {
+            if (BidirectionalSearch.isSupported(problem)) {
+                this.warnIgnoredOptions("bidirectional search");
+                return this.bidirectionalSearch(problem, init, goal);
+            }
+            LOGGER.warn("* Conditional effects not supported by the bidirectional search: A* search used\n");
+        }
+
+        // We profile the phases of the search if a flight recording is running
+        final SearchProfiler profiler = SearchProfiler.start(ASP.PLANNER);
+
+        // We open the checkpoint of the search if the resume is enabled and the checkpoint exists. The dead ends
+        // are not written in the checkpoints: the checkpointing is disabled with the dead-end store
+        CheckpointWriter checkpoint = null;
+        SearchCheckpoint resumed = null;
+        String fingerprint = null;
+        if (this.getCheckpoint() != null && (this.isDeadEnds() || this.getDeadEndStore() != null)) {
+            LOGGER.warn("* Checkpointing not supported with the dead-end store\n");
+        } else if (this.getCheckpoint() != null) {
+            fingerprint = ProblemFingerprint.of(problem);
+            if (this.isResume() && this.getCheckpoint().exists()) {
+                try {
+                    resumed = SearchCheckpoint.open(this.getCheckpoint(), fingerprint, this, init, goal);
+                } catch (IOException e) {
+                    LOGGER.error("* Resume failed: " + e.getMessage() + "\n");
+                    return null;
+                }
+            }
+        }
+
+        // First we get the instance of the heuristic to use to guide the search. The heuristic of a resumed
+        // search is the heuristic written in the checkpoint, e.g., the heuristic selected by AUTO
+        final Heuristics.Name name = resumed != null ? resumed.getHeuristic()
+            : this.resolveHeuristic(this.getHeuristic(), problem, init, goal);
+        final StateHeuristic heuristic = this.getHeuristicInstance(name, problem);
+
+        // We detect the object symmetries of the problem if the symmetry reduction is enabled. The symmetries
+        // must preserve the goal of the search, which may differ from the goal of the problem when replanning
+        Symmetries symmetries = null;
+        if (this.isSymmetryReduction()) {
+            final long begin = System.currentTimeMillis();
+            symmetries = Symmetries.detect(problem, goal);
+            LOGGER.info("* Symmetry detection: " + symmetries.getNumberOfClasses() + " object classes, "
+                + symmetries.getNumberOfGenerators() + " generators ("
+                + (System.currentTimeMillis() - begin) + " ms)\n");
+            if (symmetries.isEmpty()) {
+                symmetries = null;
+            }
+        }
 
-        // We get the initial state from the planning problem
-        final State init = new State(problem.getInitialState());
+        // We get the dead-end store if it is enabled. The dead ends depend on the goal: the shared store is only
+        // used for the goal of the problem and a new store is built for the goal of the search otherwise
+        final DeadEndStore deadEnds = this.getDeadEndStore() != null && goal.equals(problem.getGoal())
+            ? this.getDeadEndStore() : this.isDeadEnds() ? new DeadEndStore(problem, goal) : null;
 
-        // We initialize the closed list of nodes (store the nodes explored)
-        final Set<Node> close = new HashSet<>();
+        // We initialize the closed list of nodes (store the nodes explored). When the symmetry reduction
+        // is enabled, the closed list stores the canonical representative of the explored states. In bitstate
+        // mode, the closed list only stores a few hash bits per explored state
+        final BitstateSet bitstate = this.getBitstateMemory() > 0
+            ? new BitstateSet(this.getBitstateMemory(), this.getBitstateHashes()) : null;
+        final ClosedList close = bitstate == null ? new HashClosedList() : bitstate;
+        if (bitstate != null && this.getHeuristicWeight() <= 1.0) {
+            LOGGER.warn("* Bitstate closed list with weight " + this.getHeuristicWeight()
+                + ": states can be wrongly pruned, the plan found may not be optimal\n");
+        }
 
         // We initialize the opened list to store the pending node according to function f
         final double weight = this.getHeuristicWeight();
@@ -283,59 +1083,536 @@ public class ASP extends AbstractPlanner {
             }
         });
 
-        // We create the root node of the tree search
-        final Node root = new Node(init, null, -1, 0, heuristic.estimate(init, problem.getGoal()));
+        long expanded = 0;
+        long evaluated = 1;
+        long pruned = 0;
+        long dead = 0;
+        long elapsed = 0;
+        if (resumed != null) {
+            // We restore the nodes, the closed list and the open list of the checkpoint
+            try {
+                resumed.restore(open, close);
+            } catch (IOException e) {
+                LOGGER.error("* Resume failed: " + e.getMessage() + "\n");
+                return null;
+            }
+            expanded = resumed.getStatistics()[0];
+            evaluated = resumed.getStatistics()[1];
+            pruned = resumed.getStatistics()[2];
+            elapsed = resumed.getStatistics()[3];
+            LOGGER.info("* Search resumed from " + this.getCheckpoint() + ": " + open.size() + " open nodes, "
+                + close.size() + " closed states, " + expanded + " nodes expanded in " + elapsed + " ms\n");
+        } else {
+            // We create the root node of the tree search
+            final Node root = new Node(init, null, -1, 0, 0);
+            root.setHeuristic(heuristic.estimate(root, goal));
+
+            // We add the root to the list of pending nodes
+            open.add(root);
+        }
+
+        // We open the checkpoint writer once the search is restored, so that a failed resume leaves no thread
+        // running
+        if (fingerprint != null) {
+            checkpoint = new CheckpointWriter(this.getCheckpoint().toPath());
+        }
+
+        // We create the pool evaluating the children in parallel, each worker owns its heuristic instance
+        // since most heuristics are stateful. The immutable ones, e.g., the pattern databases, are shared
+        ForkJoinPool pool = null;
+        ThreadLocal<StateHeuristic> workers = null;
+        long batches = 0;
+        if (this.getParallelEvaluation() > 1) {
+            pool = new ForkJoinPool(this.getParallelEvaluation());
+            workers = Heuristics.isThreadSafe(name) ? ThreadLocal.withInitial(() -> heuristic)
+                : ThreadLocal.withInitial(() -> Heuristics.getInstance(name, problem,
+                    this.getPatternDatabaseCache(), this.isIncrementalHeuristic()));
+        }
 
-        // We add the root to the list of pending nodes
-        open.add(root);
         Plan plan = null;
 
-        // We set the timeout in ms allocated to the search
+        // We set the timeout in ms allocated to the search. The timeout applies to each run of a resumed search
         final int timeout = this.getTimeout() * 1000;
+        final long begin = System.currentTimeMillis();
         long time = 0;
+        long checkpointed = 0;
+        profiler.lap(SearchProfiler.SETUP);
 
-        // We start the search
-        while (!open.isEmpty() && plan == null && time < timeout) {
+        // We start the search. The search also stops when the thread running it is interrupted, e.g.,
+        // when the planner is cancelled by a portfolio
+        while (!open.isEmpty() && plan == null && time < timeout && !Thread.currentThread().isInterrupted()) {
 
-            // We pop the first node in the pending list open
+            // We periodically write the state of the search to its checkpoint
+            if (checkpoint != null && time - checkpointed >= this.getCheckpointInterval() * 1000L) {
+                checkpointed = time;
+                if (!this.saveCheckpoint(checkpoint, fingerprint, name, init, goal,
+                    new long[] {expanded, evaluated, pruned, elapsed + time}, open, close, false)) {
+                    checkpoint = null;
+                }
+                profiler.lap(SearchProfiler.OTHER);
+            }
+
+            // We pop the first node in the pending list open and skip it if its state (or a state
+            // symmetric to it) was already explored from a better or equal node
             final Node current = open.poll();
-            close.add(current);
+            profiler.lap(SearchProfiler.OPEN_LIST);
+            final boolean explored = !close.add(symmetries == null ? current : symmetries.canonical(current));
+            profiler.lap(SearchProfiler.DUPLICATES);
+            if (explored) {
+                time = System.currentTimeMillis() - begin;
+                continue;
+            }
 
             // If the goal is satisfied in the current node then extract the search and return it
-            if (current.satisfy(problem.getGoal())) {
-                return this.extractPlan(current, problem);
+            if (current.satisfy(goal)) {
+                plan = this.extractPlan(current, problem);
             } else { // Else we try to apply the actions of the problem to the current node
+                profiler.lap(SearchProfiler.OTHER);
+                expanded++;
+                // We generate the children of the current node that were not explored yet. The children
+                // reaching the same state are all kept, so that the parallel evaluation expands the same nodes
+                final List<Node> children = new ArrayList<>();
+                int successors = 0;
+                int deadSuccessors = 0;
                 for (int i = 0; i < problem.getActions().size(); i++) {
                     // We get the actions of the problem
                     Action a = problem.getActions().get(i);
                     // If the action is applicable in the current node
                     if (a.isApplicable(current)) {
+                        successors++;
                         Node next = new Node(current);
                         // We apply the effect of the action
-                        final List<ConditionalEffect> effects = a.getConditionalEffects();
-                        for (ConditionalEffect ce : effects) {
-                            if (current.satisfy(ce.getCondition())) {
-                                next.apply(ce.getEffect());
-                            }
-                        }
+                        Successors.apply(current, a, next);
+                        profiler.lap(SearchProfiler.SUCCESSORS);
                         // We set the new child node information
                         final double g = current.getCost() + 1;
-                        if (!close.contains(next)) {
+                        final State key = symmetries == null ? next : symmetries.canonical(next);
+                        final boolean closed = close.contains(key);
+                        if (key != next && closed) {
+                            pruned++;
+                        } else if (deadEnds != null && deadEnds.contains(next)) {
+                            deadSuccessors++;
+                        } else if (!closed) {
                             next.setCost(g);
                             next.setParent(current);
                             next.setAction(i);
-                            next.setHeuristic(heuristic.estimate(next, problem.getGoal()));
-                            open.add(next);
+                            children.add(next);
                         }
+                        profiler.lap(SearchProfiler.DUPLICATES);
                     }
                 }
+                profiler.lap(SearchProfiler.SUCCESSORS);
+                // We evaluate the children, as a batch on the pool if the parallel evaluation is enabled,
+                // and insert them in the open list in the order of the actions
+                if (pool == null || children.size() < 2 * ASP.EVALUATION_GRAIN) {
+                    for (Node child : children) {
+                        child.setHeuristic(heuristic.estimate(child, goal));
+                    }
+                } else {
+                    pool.invoke(new Evaluation(children, 0, children.size(), workers, goal));
+                    batches++;
+                }
+                profiler.lap(SearchProfiler.HEURISTIC);
+                evaluated += children.size();
+                if (deadEnds == null) {
+                    open.addAll(children);
+                } else {
+                    // We record the children detected as dead ends by the heuristic instead of inserting them
+                    // in the open list. The expanded node is also a dead end when all its successors are
+                    // dead ends, e.g., when no action is applicable
+                    for (Node child : children) {
+                        if (child.getHeuristic() == Integer.MAX_VALUE) {
+                            deadEnds.add(child);
+                            deadSuccessors++;
+                        } else {
+                            open.add(child);
+                        }
+                    }
+                    if (deadSuccessors == successors) {
+                        deadEnds.add(current);
+                    }
+                    dead += deadSuccessors;
+                }
+                profiler.lap(SearchProfiler.OPEN_LIST);
+                if (profiler.sample()) {
+                    profiler.expansion(expanded, current.getCost(), current.getHeuristic(),
+                        weight * current.getHeuristic() + current.getCost(), successors);
+                }
+            }
+            time = System.currentTimeMillis() - begin;
+        }
+        profiler.end();
+
+        // We write the state of a search stopped by the timeout to its checkpoint, and delete the checkpoint of a
+        // search over
+        if (checkpoint != null) {
+            try {
+                if (plan == null && !open.isEmpty() && !Thread.currentThread().isInterrupted()) {
+                    this.saveCheckpoint(checkpoint, fingerprint, name, init, goal,
+                        new long[] {expanded, evaluated, pruned, elapsed + time}, open, close, true);
+                } else if (!Thread.currentThread().isInterrupted()) {
+                    checkpoint.delete();
+                }
+                checkpoint.close();
+            } catch (IOException e) {
+                LOGGER.error("* Checkpoint failed: " + e.getMessage() + "\n");
             }
         }
+        time += elapsed;
+
+        if (pool != null) {
+            pool.shutdownNow();
+            LOGGER.info("* " + batches + " batches evaluated in parallel on " + this.getParallelEvaluation()
+                + " threads\n");
+        }
+        if (bitstate != null) {
+            LOGGER.info(String.format("* Bitstate closed list: %d states in %.1f MBytes (%d bits per state), "
+                    + "fill ratio %.4f, omission probability %.2e, %.1f states expected to be omitted%n",
+                bitstate.size(), bitstate.getMemory() / 1048576.0, this.getBitstateHashes(),
+                bitstate.getFillRatio(), bitstate.getOmissionProbability(), bitstate.getExpectedOmissions()));
+        }
+        if (deadEnds != null) {
+            LOGGER.info("* Dead ends: " + deadEnds.size() + " recorded, " + deadEnds.getNumberOfNogoods()
+                + " nogoods, " + dead + " dead-end children pruned (" + deadEnds.getFingerprintHits()
+                + " fingerprint hits, " + deadEnds.getNogoodHits() + " nogood hits)\n");
+        }
+        LOGGER.info("* " + expanded + " nodes expanded, " + evaluated + " nodes evaluated ("
+            + (time > 0 ? evaluated * 1000 / time : evaluated) + " nodes/s)"
+            + (symmetries != null ? ", " + pruned + " symmetric nodes pruned" : "") + "\n");
 
         // Finally, we return the search computed or null if no search was found
         return plan;
     }
 
+    /**
+     * Writes the state of an A* search to its checkpoint and logs the size of the checkpoint and the time the
+     * search was stopped to encode it.
+     *
+     * @param checkpoint  the checkpoint writer.
+     * @param fingerprint the fingerprint of the problem.
+     * @param name        the heuristic of the search.
+     * @param init        the initial state of the search.
+     * @param goal        the goal of the search.
+     * @param statistics  the number of nodes expanded, evaluated and pruned and the time spent in ms.
+     * @param open        the open list of the search.
+     * @param close       the closed list of the search.
+     * @param wait        <code>true</code> to wait for the end of the write.
+     * @return <code>true</code> if the checkpoint was written, <code>false</code> otherwise.
+     */
+    private boolean saveCheckpoint(final CheckpointWriter checkpoint, final String fingerprint,
+                                   final Heuristics.Name name, final State init, final Condition goal,
+                                   final long[] statistics, final PriorityQueue<Node> open, final ClosedList close,
+                                   final boolean wait) {
+        final long begin = System.currentTimeMillis();
+        try {
+            final long size = SearchCheckpoint.write(checkpoint, fingerprint, this, name, init, goal, statistics,
+                open, close, wait);
+            LOGGER.info(String.format("* Checkpoint: %d open nodes, %d closed states, %.1f MBytes (%d ms)%n",
+                open.size(), close.size(), size / 1048576.0, System.currentTimeMillis() - begin));
+            return true;
+        } catch (IOException e) {
+            LOGGER.error("* Checkpoint failed: " + e.getMessage() + ", checkpointing disabled\n");
+            return false;
+        }
+    }
+
+    /**
+     * Resolves the heuristic used to guide a search of a problem towards a goal. The AUTO heuristic is selected
+     * by sampling within a fraction of the timeout, once per problem. The PATTERN_DATABASE and LANDMARK_COUNT
+     * heuristics are built for the initial state and the goal of the problem: for another initial state or goal,
+     * the pattern databases are replaced by the admissible MAX heuristic and the landmarks by FAST_FORWARD.
+     *
+     * @param name    the name of the heuristic.
+     * @param problem the problem.
+     * @param init    the initial state of the search.
+     * @param goal    the goal of the search.
+     * @return the name of the heuristic to use.
+     */
+    private Heuristics.Name resolveHeuristic(Heuristics.Name name, final Problem problem, final State init,
+                                             final Condition goal) {
+        this.checkHeuristicCache(problem);
+        if (name == Heuristics.Name.AUTO) {
+            if (this.cachedSelection == null) {
+                this.cachedSelection = HeuristicSelector.select(problem, this.getPatternDatabaseCache(),
+                    this.isIncrementalHeuristic(), (long) (this.getTimeout() * 1000 * this.getAutoBudget()),
+                    this.getHeuristicWeight());
+            }
+            name = this.cachedSelection;
+        }
+        if ((name == Heuristics.Name.PATTERN_DATABASE || name == Heuristics.Name.LANDMARK_COUNT)
+            && (!goal.equals(problem.getGoal()) || !init.equals(new State(problem.getInitialState())))) {
+            final Heuristics.Name fallback = name == Heuristics.Name.PATTERN_DATABASE
+                ? Heuristics.Name.MAX : Heuristics.Name.FAST_FORWARD;
+            LOGGER.warn("* Heuristic " + name + " built for the initial state and the goal of the problem: "
+                + fallback + " used instead\n");
+            name = fallback;
+        }
+        return name;
+    }
+
+    /**
+     * Returns the instance of a heuristic for a problem. The instances are cached and reused by the next searches
+     * of the same problem, so that the data structures of the heuristics, e.g., the relaxed planning graphs or
+     * the pattern databases, are only built once.
+     *
+     * @param name    the name of the heuristic (not AUTO).
+     * @param problem the problem.
+     * @return the instance of the heuristic.
+     */
+    private StateHeuristic getHeuristicInstance(final Heuristics.Name name, final Problem problem) {
+        this.checkHeuristicCache(problem);
+        return this.cachedHeuristics.computeIfAbsent(name, n -> Heuristics.getInstance(n, problem,
+            this.getPatternDatabaseCache(), this.isIncrementalHeuristic()));
+    }
+
+    /**
+     * Clears the heuristics cached if they were built for another problem or another configuration.
+     *
+     * @param problem the problem of the search.
+     */
+    private void checkHeuristicCache(final Problem problem) {
+        if (problem != this.cachedProblem || this.isIncrementalHeuristic() != this.cachedIncremental) {
+            this.cachedProblem = problem;
+            this.cachedIncremental = this.isIncrementalHeuristic();
+            this.cachedSelection = null;
+            this.cachedHeuristics.clear();
+        }
+    }
+
+    /**
+     * Logs a warning for each option of the A* search that is set but ignored by another search.
+     *
+     * @param search the name of the search run instead of the A* search.
+     */
+    private void warnIgnoredOptions(final String search) {
+        if (this.getCheckpoint() != null) {
+            LOGGER.warn("* Checkpointing not supported by the " + search + "\n");
+        }
+        if (this.isSymmetryReduction()) {
+            LOGGER.warn("* Symmetry reduction not supported by the " + search + "\n");
+        }
+        if (this.getBitstateMemory() > 0) {
+            LOGGER.warn("* Bitstate hashing not supported by the " + search + ": exact closed list used\n");
+        }
+        if (this.isDeadEnds() || this.getDeadEndStore() != null) {
+            LOGGER.warn("* Dead-end store not supported by the " + search + "\n");
+        }
+        if (this.getParallelEvaluation() > 1) {
+            LOGGER.warn("* Parallel evaluation not supported by the " + search + ": children evaluated in "
+                + "sequence\n");
+        }
+        if (SearchProfiler.isRecording()) {
+            LOGGER.warn("* Profiling not supported by the " + search + ": no search event recorded\n");
+        }
+    }
+
+    /**
+     * Search a solution plan for a planning problem using a best-first search alternating between several open
+     * lists. Each open list is ordered by the weighted sum of the cost and of its heuristic, and all the open
+     * lists share the same nodes, so that each state is stored once. The next node to expand is taken from the
+     * open list of lowest priority, the priority of a list being increased by each expansion and decreased by
+     * {@link #BOOST} when its heuristic reaches a new best value. If the preferred operators are enabled, an
+     * additional open list contains the nodes reached by the preferred actions of their parent, i.e., the
+     * actions of the relaxed plan of the parent applicable in the parent, and is boosted each time a heuristic
+     * reaches a new best value. When FAST_FORWARD orders one of the open lists, the preferred actions of each node
+     * are taken from its evaluation by this list; otherwise a dedicated FAST_FORWARD heuristic evaluates each
+     * expanded node.
+     *
+     * @param problem the problem to solve.
+     * @param init    the initial state of the search.
+     * @param goal    the goal of the search.
+     * @return a plan solution for the problem or null if there is no solution.
+     */
+    private Plan multiQueueSearch(final Problem problem, final State init, final Condition goal) {
+        // We get the heuristics of the open lists
+        final int nbHeuristics = this.getQueues().size();
+        final StateHeuristic[] heuristics = new StateHeuristic[nbHeuristics];
+        IncrementalRelaxedHeuristic helpful = null;
+        int shared = -1;
+        for (int i = 0; i < nbHeuristics; i++) {
+            final Heuristics.Name name = this.resolveHeuristic(this.getQueues().get(i), problem, init, goal);
+            heuristics[i] = this.getHeuristicInstance(name, problem);
+            // The open list of FAST_FORWARD computes the preferred actions of the nodes it evaluates. Its values
+            // are identical whether its heuristic is incremental or not
+            if (this.isPreferredOperators() && shared == -1 && name == Heuristics.Name.FAST_FORWARD) {
+                helpful = heuristics[i] instanceof IncrementalRelaxedHeuristic
+                    ? (IncrementalRelaxedHeuristic) heuristics[i]
+                    : new IncrementalRelaxedHeuristic(problem, IncrementalRelaxedHeuristic.Type.FAST_FORWARD);
+                heuristics[i] = helpful;
+                shared = i;
+            }
+        }
+        if (this.isPreferredOperators() && helpful == null) {
+            helpful = new IncrementalRelaxedHeuristic(problem, IncrementalRelaxedHeuristic.Type.FAST_FORWARD);
+        }
+        final int nbQueues = nbHeuristics + (helpful != null ? 1 : 0);
+
+        // We create the open lists: the open list of the preferred operators is ordered by the first heuristic
+        final double weight = this.getHeuristicWeight();
+        final List<PriorityQueue<Entry>> open = new ArrayList<>(nbQueues);
+        for (int q = 0; q < nbQueues; q++) {
+            final int h = q < nbHeuristics ? q : 0;
+            open.add(new PriorityQueue<>(100, Comparator.comparingDouble(
+                (Entry e) -> weight * e.values[h] + e.node.getCost())));
+        }
+        final int[] priority = new int[nbQueues];
+        final long[] expansions = new long[nbQueues];
+        final double[] best = new double[nbHeuristics];
+        final ClosedList close = new HashClosedList();
+
+        // We create the root node and insert it in all the open lists
+        final Node root = new Node(new State(init), null, -1, 0, 0);
+        final double[] rootValues = new double[nbHeuristics];
+        for (int i = 0; i < nbHeuristics; i++) {
+            rootValues[i] = heuristics[i].estimate(root, goal);
+            best[i] = rootValues[i];
+        }
+        root.setHeuristic(rootValues[0]);
+        final Entry rootEntry = new Entry(root, rootValues, shared >= 0 ? ASP.toArray(helpful) : null);
+        for (PriorityQueue<Entry> queue : open) {
+            queue.add(rootEntry);
+        }
+
+        Plan plan = null;
+        final int timeout = this.getTimeout() * 1000;
+        final long begin = System.currentTimeMillis();
+        long time = 0;
+        long expanded = 0;
+        long evaluated = 1;
+        while (plan == null && time < timeout && !Thread.currentThread().isInterrupted()) {
+            // We select the non-empty open list of lowest priority
+            int selected = -1;
+            for (int q = 0; q < nbQueues; q++) {
+                if (!open.get(q).isEmpty() && (selected == -1 || priority[q] < priority[selected])) {
+                    selected = q;
+                }
+            }
+            if (selected == -1) {
+                break;
+            }
+            priority[selected]++;
+            final Entry polled = open.get(selected).poll();
+            final Node current = polled.node;
+            if (!close.add(current)) {
+                time = System.currentTimeMillis() - begin;
+                continue;
+            }
+            if (current.satisfy(goal)) {
+                plan = this.extractPlan(current, problem);
+            } else {
+                expanded++;
+                expansions[selected]++;
+                BitVector preferred = null;
+                if (shared >= 0) {
+                    preferred = new BitVector();
+                    for (int a : polled.preferred) {
+                        preferred.set(a);
+                    }
+                } else if (helpful != null) {
+                    helpful.estimate(current, goal);
+                    preferred = helpful.getPreferredActions();
+                }
+                boolean progress = false;
+                for (int i = 0; i < problem.getActions().size(); i++) {
+                    final Action a = problem.getActions().get(i);
+                    if (!a.isApplicable(current)) {
+                        continue;
+                    }
+                    final Node next = new Node(current);
+                    Successors.apply(current, a, next);
+                    if (close.contains(next)) {
+                        continue;
+                    }
+                    next.setCost(current.getCost() + 1);
+                    next.setParent(current);
+                    next.setAction(i);
+                    // We evaluate the child with all the heuristics and drop it if one detects a dead end
+                    final double[] values = new double[nbHeuristics];
+                    boolean dead = false;
+                    for (int h = 0; h < nbHeuristics && !dead; h++) {
+                        values[h] = heuristics[h].estimate(next, goal);
+                        dead = values[h] == Integer.MAX_VALUE;
+                    }
+                    evaluated++;
+                    if (dead) {
+                        continue;
+                    }
+                    next.setHeuristic(values[0]);
+                    // We boost the open list of each heuristic reaching a new best value
+                    for (int h = 0; h < nbHeuristics; h++) {
+                        if (values[h] < best[h]) {
+                            best[h] = values[h];
+                            priority[h] -= ASP.BOOST;
+                            progress = true;
+                        }
+                    }
+                    final Entry entry = new Entry(next, values, shared >= 0 ? ASP.toArray(helpful) : null);
+                    for (int h = 0; h < nbHeuristics; h++) {
+                        open.get(h).add(entry);
+                    }
+                    if (preferred != null && preferred.get(i)) {
+                        open.get(nbHeuristics).add(entry);
+                    }
+                }
+                // We boost the open list of the preferred operators when a heuristic made progress
+                if (progress && helpful != null) {
+                    priority[nbHeuristics] -= ASP.BOOST;
+                }
+            }
+            time = System.currentTimeMillis() - begin;
+        }
+
+        final StringBuilder str = new StringBuilder();
+        for (int q = 0; q < nbQueues; q++) {
+            str.append(q == 0 ? "" : ", ").append(q < nbHeuristics ? this.getQueues().get(q) : "PREFERRED")
+                .append(" ").append(expansions[q]);
+        }
+        LOGGER.info("* Multi-queue search expansions: " + str + "\n");
+        LOGGER.info("* " + expanded + " nodes expanded, " + evaluated + " nodes evaluated ("
+            + (time > 0 ? evaluated * 1000 / time : evaluated) + " nodes/s)\n");
+        return plan;
+    }
+
+    /**
+     * Returns the preferred actions of the last state evaluated by a FAST_FORWARD heuristic as an array, which is
+     * smaller than a bit vector for the few actions of a relaxed plan.
+     *
+     * @param heuristic the heuristic.
+     * @return the preferred actions of the last state evaluated.
+     */
+    private static int[] toArray(final IncrementalRelaxedHeuristic heuristic) {
+        return heuristic.getPreferredActions().stream().toArray();
+    }
+
+    /**
+     * Search a solution plan for a planning problem using a bidirectional search: an A* search from the initial
+     * state guided by the heuristic of the planner and a breadth-first regression search from the goal. The plan
+     * is stitched at the best meeting of the two searches (see {@link BidirectionalSearch}).
+     *
+     * @param problem the problem to solve.
+     * @param init    the initial state of the search.
+     * @param goal    the goal of the search.
+     * @return a plan solution for the problem or null if there is no solution.
+     */
+    private Plan bidirectionalSearch(final Problem problem, final State init, final Condition goal) {
+        final Heuristics.Name name = this.resolveHeuristic(this.getHeuristic(), problem, init, goal);
+        final BidirectionalSearch search = new BidirectionalSearch(problem, this.getHeuristicInstance(name, problem),
+            this.getHeuristicWeight());
+        final long begin = System.currentTimeMillis();
+        final Plan plan = search.search(init, goal, this.getTimeout() * 1000L);
+        final long time = System.currentTimeMillis() - begin;
+        if (plan == null && search.getBound() < Integer.MAX_VALUE) {
+            LOGGER.error("* Invalid plan stitched at the meeting of the searches\n");
+        }
+        LOGGER.info("* Bidirectional search: " + search.getForwardExpanded() + " forward nodes expanded ("
+            + search.getForwardStates() + " states), " + search.getBackwardExpanded()
+            + " backward nodes expanded (" + search.getBackwardStates() + " partial states), "
+            + search.getMeetings() + " meetings, best meeting " + (plan != null ? search.getBound() : "none")
+            + String.format(", index %.1f KBytes", search.getIndexMemory() / 1024.0)
+            + (search.isSaturated() ? " (full: backward search stopped)" : "") + " (" + time + " ms)\n");
+        return plan;
+    }
+
     /**
      * Search a solution plan to a specified domain and problem using A*.
      *
@@ -380,4 +1657,107 @@ public class ASP extends AbstractPlanner {
             LOGGER.fatal(e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * This class implements the evaluation of a range of children as a fork/join task.
+     */
+    private static final class Evaluation extends RecursiveAction {
+
+        /**
+         * The children to evaluate.
+         */
+        private final List<Node> children;
+
+        /**
+         * The index of the first child of the range.
+         */
+        private final int from;
+
+        /**
+         * The index after the last child of the range.
+         */
+        private final int to;
+
+        /**
+         * The heuristic of each worker.
+         */
+        private final ThreadLocal<StateHeuristic> heuristics;
+
+        /**
+         * The goal of the problem.
+         */
+        private final Condition goal;
+
+        /**
+         * Creates a new evaluation task.
+         *
+         * @param children   the children to evaluate.
+         * @param from       the index of the first child of the range.
+         * @param to         the index after the last child of the range.
+         * @param heuristics the heuristic of each worker.
+         * @param goal       the goal of the problem.
+         */
+        Evaluation(final List<Node> children, final int from, final int to,
+                   final ThreadLocal<StateHeuristic> heuristics, final Condition goal) {
+            this.children = children;
+            this.from = from;
+            this.to = to;
+            this.heuristics = heuristics;
+            this.goal = goal;
+        }
+
+        /**
+         * Evaluates the range of children or splits it in two tasks.
+         */
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= ASP.EVALUATION_GRAIN) {
+                final StateHeuristic heuristic = this.heuristics.get();
+                for (int i = this.from; i < this.to; i++) {
+                    final Node child = this.children.get(i);
+                    child.setHeuristic(heuristic.estimate(child, this.goal));
+                }
+            } else {
+                final int middle = (this.from + this.to) >>> 1;
+                ForkJoinTask.invokeAll(new Evaluation(this.children, this.from, middle, this.heuristics, this.goal),
+                    new Evaluation(this.children, middle, this.to, this.heuristics, this.goal));
+            }
+        }
+    }
+
+    /**
+     * This class implements an entry of the open lists of the multi-queue search: a node with its values for
+     * each heuristic. The same entry is shared by all the open lists.
+     */
+    private static final class Entry {
+
+        /**
+         * The node.
+         */
+        private final Node node;
+
+        /**
+         * The values of the node for each heuristic.
+         */
+        private final double[] values;
+
+        /**
+         * The preferred actions of the node or <code>null</code> if they are computed at the expansion.
+         */
+        private final int[] preferred;
+
+        /**
+         * Creates a new entry.
+         *
+         * @param node      the node.
+         * @param values    the values of the node for each heuristic.
+         * @param preferred the preferred actions of the node or <code>null</code> if they are computed at the
+         *                  expansion.
+         */
+        Entry(final Node node, final double[] values, final int[] preferred) {
+            this.node = node;
+            this.values = values;
+            this.preferred = preferred;
+        }
+    }
+}
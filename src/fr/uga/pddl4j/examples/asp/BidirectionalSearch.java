@@ -0,0 +1,818 @@
+package fr.uga.pddl4j.examples.asp;
+
+import fr.uga.pddl4j.examples.Node;
+import fr.uga.pddl4j.examples.Successors;
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.plan.Plan;
+import fr.uga.pddl4j.plan.SequentialPlan;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.Condition;
+import fr.uga.pddl4j.problem.operator.ConditionalEffect;
+import fr.uga.pddl4j.util.BitVector;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * This class implements the bidirectional search of ASP. A forward A* search from the initial state alternates
+ * with a backward breadth-first search from the goal, the direction expanded being the one with the smaller
+ * frontier. The backward search regresses partial states, i.e., sets of fluents required to be true and false,
+ * through the actions achieving one of their fluents without contradicting another.
+ * <p>
+ * The two searches meet when a state of the forward search satisfies a partial state of the backward search:
+ * the plan reaching the state followed by the actions regressed to the partial state reaches the goal. The
+ * meetings are checked for each state generated: a forward state is checked in a set-trie of the partial states
+ * and a partial state is checked in an inverted index giving, for each fluent, the bit set of the forward states
+ * where it holds. The bit set of a fluent only grows, by doubling, when the fluent holds in a new forward state,
+ * so the index takes less than <code>F.N/4</code> bytes for <code>F</code> fluents and <code>N</code> forward
+ * states, and much less when most fluents hold in few states. The index is capped to {@link #MAX_INDEX_MEMORY}
+ * bytes: beyond, the new forward states are not indexed and the backward search stops, so that no new partial
+ * state has to be checked in the index. The forward states are still checked in the set-trie, so no meeting is
+ * missed. The best meeting is kept and the search stops when its cost <code>C</code> is at most
+ * <code>max(fmin, gmin_b, gmin_f + gmin_b + 1)</code>, where <code>fmin</code> is the lowest priority of the
+ * forward frontier and <code>gmin_f</code> and <code>gmin_b</code> are the lowest costs of the two frontiers.
+ * With a weight of 1 and a consistent heuristic, e.g., MAX or PATTERN_DATABASE, the plan is then optimal.
+ * </p>
+ * <p>
+ * The regression does not support the conditional effects with a condition (see {@link #isSupported(Problem)}).
+ * </p>
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+final class BidirectionalSearch {
+
+    /**
+     * The maximum memory in bytes of the inverted index of the forward states.
+     */
+    static final long MAX_INDEX_MEMORY = 256L << 20;
+
+    /**
+     * The problem to solve.
+     */
+    private final Problem problem;
+
+    /**
+     * The heuristic of the forward search.
+     */
+    private final StateHeuristic heuristic;
+
+    /**
+     * The weight of the heuristic of the forward search.
+     */
+    private final double weight;
+
+    /**
+     * The fluents made true by each action.
+     */
+    private final BitVector[] adds;
+
+    /**
+     * The fluents made false by each action, except the fluents also made true.
+     */
+    private final BitVector[] deletes;
+
+    /**
+     * The actions making each fluent true.
+     */
+    private final int[][] adders;
+
+    /**
+     * The actions making each fluent false.
+     */
+    private final int[][] deleters;
+
+    /**
+     * The identifiers of the states of the forward search.
+     */
+    private final Map<State, Integer> ids;
+
+    /**
+     * The best node of each state of the forward search.
+     */
+    private Node[] nodes;
+
+    /**
+     * The bit set of the states of the forward search where each fluent holds, or <code>null</code> if the fluent
+     * holds in none of them. The bit set of a fluent has no word after the word of the last state where it holds.
+     */
+    private final long[][] postings;
+
+    /**
+     * The memory of the inverted index in bytes.
+     */
+    private long indexMemory;
+
+    /**
+     * The flag set when the inverted index reached its maximum memory. The new forward states are then no
+     * longer indexed and the backward search is stopped.
+     */
+    private boolean saturated;
+
+    /**
+     * The partial states of the backward search.
+     */
+    private final Set<PartialNode> regressed;
+
+    /**
+     * The root of the set-trie of the partial states of the backward search.
+     */
+    private final Trie trie;
+
+    /**
+     * The cost of the best meeting or {@link Integer#MAX_VALUE} if the searches did not meet.
+     */
+    private int bound;
+
+    /**
+     * The forward node of the best meeting.
+     */
+    private Node forwardMeeting;
+
+    /**
+     * The backward node of the best meeting.
+     */
+    private PartialNode backwardMeeting;
+
+    /**
+     * The number of nodes expanded by the forward search.
+     */
+    private long forwardExpanded;
+
+    /**
+     * The number of nodes expanded by the backward search.
+     */
+    private long backwardExpanded;
+
+    /**
+     * The number of meetings improving the best meeting.
+     */
+    private long meetings;
+
+    /**
+     * Creates a new bidirectional search.
+     *
+     * @param problem   the problem to solve.
+     * @param heuristic the heuristic of the forward search.
+     * @param weight    the weight of the heuristic of the forward search.
+     */
+    BidirectionalSearch(final Problem problem, final StateHeuristic heuristic, final double weight) {
+        this.problem = problem;
+        this.heuristic = heuristic;
+        this.weight = weight;
+        final int nbActions = problem.getActions().size();
+        final int nbFluents = problem.getFluents().size();
+        this.adds = new BitVector[nbActions];
+        this.deletes = new BitVector[nbActions];
+        final List<List<Integer>> add = new ArrayList<>(nbFluents);
+        final List<List<Integer>> del = new ArrayList<>(nbFluents);
+        for (int f = 0; f < nbFluents; f++) {
+            add.add(new ArrayList<>());
+            del.add(new ArrayList<>());
+        }
+        for (int a = 0; a < nbActions; a++) {
+            this.adds[a] = new BitVector();
+            this.deletes[a] = new BitVector();
+            for (ConditionalEffect ce : problem.getActions().get(a).getConditionalEffects()) {
+                this.adds[a].or(ce.getEffect().getPositiveFluents());
+                this.deletes[a].or(ce.getEffect().getNegativeFluents());
+            }
+            // We apply the positive effects after the negative ones as State.apply does
+            this.deletes[a].andNot(this.adds[a]);
+            for (int f = this.adds[a].nextSetBit(0); f >= 0; f = this.adds[a].nextSetBit(f + 1)) {
+                add.get(f).add(a);
+            }
+            for (int f = this.deletes[a].nextSetBit(0); f >= 0; f = this.deletes[a].nextSetBit(f + 1)) {
+                del.get(f).add(a);
+            }
+        }
+        this.adders = new int[nbFluents][];
+        this.deleters = new int[nbFluents][];
+        for (int f = 0; f < nbFluents; f++) {
+            this.adders[f] = add.get(f).stream().mapToInt(Integer::intValue).toArray();
+            this.deleters[f] = del.get(f).stream().mapToInt(Integer::intValue).toArray();
+        }
+        this.ids = new HashMap<>();
+        this.nodes = new Node[64];
+        this.postings = new long[nbFluents][];
+        this.regressed = new HashSet<>();
+        this.trie = new Trie(0);
+        this.bound = Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns if a problem is supported by the bidirectional search, i.e., if its actions have no conditional
+     * effect with a condition.
+     *
+     * @param problem the problem.
+     * @return <code>true</code> if the problem is supported.
+     */
+    static boolean isSupported(final Problem problem) {
+        for (Action a : problem.getActions()) {
+            for (ConditionalEffect ce : a.getConditionalEffects()) {
+                if (!ce.getCondition().getPositiveFluents().isEmpty()
+                    || !ce.getCondition().getNegativeFluents().isEmpty()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Searches a plan from a state to a goal.
+     *
+     * @param init    the initial state.
+     * @param goal    the goal.
+     * @param timeout the time allocated to the search in ms.
+     * @return the best plan found or <code>null</code> if the searches did not meet.
+     */
+    Plan search(final State init, final Condition goal, final long timeout) {
+        // We initialize the forward search as ASP
+        final double w = this.weight;
+        final PriorityQueue<Node> open = new PriorityQueue<>(100,
+            Comparator.comparingDouble((Node n) -> w * n.getHeuristic() + n.getCost()));
+        final Set<State> close = new HashSet<>();
+        final Costs costs = new Costs();
+        final Node root = new Node(new State(init), null, -1, 0, 0);
+        root.setHeuristic(this.heuristic.estimate(root, goal));
+        if (root.getHeuristic() < Integer.MAX_VALUE) {
+            open.add(root);
+            costs.add(0);
+        }
+
+        // We initialize the backward search from the goal
+        final ArrayDeque<PartialNode> frontier = new ArrayDeque<>();
+        final PartialNode target = new PartialNode(new BitVector(goal.getPositiveFluents()),
+            new BitVector(goal.getNegativeFluents()), null, -1, 0);
+        if (!target.positive.intersects(target.negative)) {
+            this.regressed.add(target);
+            this.trie.insert(target);
+            frontier.add(target);
+        }
+        this.index(root);
+
+        // We expand the direction with the smaller frontier until no better meeting can be found. The searches
+        // also stop when a frontier is empty: all the meetings were then checked
+        final long begin = System.currentTimeMillis();
+        long time = 0;
+        while (!open.isEmpty() && !frontier.isEmpty() && time < timeout && !Thread.currentThread().isInterrupted()) {
+            if (this.bound < Integer.MAX_VALUE) {
+                final Node best = open.peek();
+                final int gb = frontier.peek().cost;
+                final double lower = Math.max(Math.max(w * best.getHeuristic() + best.getCost(), gb),
+                    costs.min() + gb + 1);
+                if (this.bound <= lower) {
+                    break;
+                }
+            }
+            if (open.size() <= frontier.size() || this.saturated) {
+                this.expandForward(open, close, costs, goal);
+            } else {
+                this.expandBackward(frontier);
+            }
+            time = System.currentTimeMillis() - begin;
+        }
+        return this.bound < Integer.MAX_VALUE ? this.stitch(init, goal) : null;
+    }
+
+    /**
+     * Expands the best node of the forward search.
+     *
+     * @param open  the open list of the forward search.
+     * @param close the closed list of the forward search.
+     * @param costs the costs of the nodes of the open list.
+     * @param goal  the goal.
+     */
+    private void expandForward(final PriorityQueue<Node> open, final Set<State> close, final Costs costs,
+                               final Condition goal) {
+        final Node current = open.poll();
+        costs.remove((int) current.getCost());
+        if (!close.add(current)) {
+            return;
+        }
+        this.forwardExpanded++;
+        for (int i = 0; i < this.problem.getActions().size(); i++) {
+            final Action a = this.problem.getActions().get(i);
+            if (a.isApplicable(current)) {
+                final Node next = new Node(current);
+                Successors.apply(current, a, next);
+                if (close.contains(next)) {
+                    continue;
+                }
+                next.setCost(current.getCost() + 1);
+                next.setParent(current);
+                next.setAction(i);
+                next.setHeuristic(this.heuristic.estimate(next, goal));
+                // We drop the dead ends detected by the heuristic: no partial state of the backward search can
+                // be satisfied by them
+                if (next.getHeuristic() < Integer.MAX_VALUE) {
+                    open.add(next);
+                    costs.add((int) next.getCost());
+                    this.index(next);
+                }
+            }
+        }
+    }
+
+    /**
+     * Expands the first partial state of the backward search. The partial state is regressed through the
+     * actions making true one of its positive fluents or false one of its negative fluents, and contradicting
+     * none of them.
+     *
+     * @param frontier the frontier of the backward search.
+     */
+    private void expandBackward(final ArrayDeque<PartialNode> frontier) {
+        final PartialNode current = frontier.poll();
+        this.backwardExpanded++;
+        final BitVector relevant = new BitVector();
+        for (int f = current.positive.nextSetBit(0); f >= 0; f = current.positive.nextSetBit(f + 1)) {
+            for (int a : this.adders[f]) {
+                relevant.set(a);
+            }
+        }
+        for (int f = current.negative.nextSetBit(0); f >= 0; f = current.negative.nextSetBit(f + 1)) {
+            for (int a : this.deleters[f]) {
+                relevant.set(a);
+            }
+        }
+        for (int a = relevant.nextSetBit(0); a >= 0; a = relevant.nextSetBit(a + 1)) {
+            if (this.deletes[a].intersects(current.positive) || this.adds[a].intersects(current.negative)) {
+                continue;
+            }
+            final Condition pre = this.problem.getActions().get(a).getPrecondition();
+            final BitVector positive = new BitVector(current.positive);
+            positive.andNot(this.adds[a]);
+            positive.or(pre.getPositiveFluents());
+            final BitVector negative = new BitVector(current.negative);
+            negative.andNot(this.deletes[a]);
+            negative.or(pre.getNegativeFluents());
+            if (positive.intersects(negative)) {
+                continue;
+            }
+            // The breadth-first order reaches each partial state first with its lowest cost
+            final PartialNode next = new PartialNode(positive, negative, current, a, current.cost + 1);
+            if (this.regressed.add(next)) {
+                this.trie.insert(next);
+                frontier.add(next);
+                this.meet(next);
+            }
+        }
+    }
+
+    /**
+     * Adds a node to the index of the forward states and checks it against the partial states of the backward
+     * search. The node is ignored if its state was already reached at a lower or equal cost.
+     *
+     * @param node the node.
+     */
+    private void index(final Node node) {
+        final int cost = (int) node.getCost();
+        final Integer id = this.ids.get(node);
+        if (id == null) {
+            final int n = this.ids.size();
+            this.ids.put(node, n);
+            if (n == this.nodes.length) {
+                this.nodes = Arrays.copyOf(this.nodes, 2 * n);
+            }
+            this.nodes[n] = node;
+            if (!this.saturated) {
+                this.post(node, n);
+            }
+        } else if (cost < this.nodes[id].getCost()) {
+            this.nodes[id] = node;
+        } else {
+            return;
+        }
+        this.meet(node, this.trie);
+    }
+
+    /**
+     * Adds a forward state to the bit sets of the fluents holding in it. The bit set of a fluent is doubled
+     * when the state is beyond its last word. The index is saturated instead if it would exceed its maximum
+     * memory.
+     *
+     * @param node the forward state.
+     * @param n    the identifier of the state.
+     */
+    private void post(final Node node, final int n) {
+        final int word = n >>> 6;
+        long growth = 0;
+        for (int f = node.nextSetBit(0); f >= 0; f = node.nextSetBit(f + 1)) {
+            final int length = this.postings[f] == null ? 0 : this.postings[f].length;
+            if (word >= length) {
+                growth += Math.max(2 * length, word + 1) - length;
+            }
+        }
+        if (this.indexMemory + growth * Long.BYTES > BidirectionalSearch.MAX_INDEX_MEMORY) {
+            this.saturated = true;
+            return;
+        }
+        this.indexMemory += growth * Long.BYTES;
+        for (int f = node.nextSetBit(0); f >= 0; f = node.nextSetBit(f + 1)) {
+            if (this.postings[f] == null) {
+                this.postings[f] = new long[word + 1];
+            } else if (word >= this.postings[f].length) {
+                this.postings[f] = Arrays.copyOf(this.postings[f], Math.max(2 * this.postings[f].length, word + 1));
+            }
+            this.postings[f][word] |= 1L << n;
+        }
+    }
+
+    /**
+     * Checks a forward node against the partial states of a subtree of the set-trie, i.e., follows the literals
+     * satisfied by the node.
+     *
+     * @param node the forward node.
+     * @param trie the subtree.
+     */
+    private void meet(final Node node, final Trie trie) {
+        final int cost = (int) node.getCost();
+        if (trie.state != null && cost + trie.state.cost < this.bound) {
+            this.record(node, trie.state);
+        }
+        for (int i = 0; i < trie.size; i++) {
+            final int literal = trie.keys[i];
+            if (cost + trie.children[i].min < this.bound && node.get(literal >>> 1) == ((literal & 1) == 0)) {
+                this.meet(node, trie.children[i]);
+            }
+        }
+    }
+
+    /**
+     * Checks a partial state against the forward states, i.e., intersects the bit sets of its positive fluents
+     * and removes the bit sets of its negative fluents.
+     *
+     * @param state the partial state.
+     */
+    private void meet(final PartialNode state) {
+        final int[] positive = state.positive.stream().toArray();
+        final int[] negative = state.negative.stream().toArray();
+        // The forward states beyond the shortest bit set of the positive fluents satisfy none of them
+        int words = (this.ids.size() + 63) >>> 6;
+        for (int f : positive) {
+            if (this.postings[f] == null) {
+                return;
+            }
+            words = Math.min(words, this.postings[f].length);
+        }
+        final int n = this.ids.size();
+        for (int w = 0; w < words; w++) {
+            long word = n - (w << 6) >= 64 ? -1L : (1L << (n - (w << 6))) - 1;
+            for (int i = 0; i < positive.length && word != 0; i++) {
+                word &= this.postings[positive[i]][w];
+            }
+            for (int i = 0; i < negative.length && word != 0; i++) {
+                final long[] posting = this.postings[negative[i]];
+                if (posting != null && w < posting.length) {
+                    word &= ~posting[w];
+                }
+            }
+            while (word != 0) {
+                final Node node = this.nodes[(w << 6) + Long.numberOfTrailingZeros(word)];
+                if ((int) node.getCost() + state.cost < this.bound) {
+                    this.record(node, state);
+                }
+                word &= word - 1;
+            }
+        }
+    }
+
+    /**
+     * Records a meeting better than the best meeting.
+     *
+     * @param node  the forward node.
+     * @param state the partial state satisfied by the forward node.
+     */
+    private void record(final Node node, final PartialNode state) {
+        this.bound = (int) node.getCost() + state.cost;
+        this.forwardMeeting = node;
+        this.backwardMeeting = state;
+        this.meetings++;
+    }
+
+    /**
+     * Stitches the plan of the best meeting: the actions reaching the forward node followed by the actions
+     * regressed to the partial state. The plan is replayed from the initial state to be checked.
+     *
+     * @param init the initial state.
+     * @param goal the goal.
+     * @return the plan or <code>null</code> if the plan is not valid.
+     */
+    private Plan stitch(final State init, final Condition goal) {
+        final List<Integer> actions = new ArrayList<>();
+        for (Node n = this.forwardMeeting; n.getAction() != -1; n = n.getParent()) {
+            actions.add(0, n.getAction());
+        }
+        for (PartialNode n = this.backwardMeeting; n.action != -1; n = n.parent) {
+            actions.add(n.action);
+        }
+        final Plan plan = new SequentialPlan();
+        State state = new State(init);
+        for (int a : actions) {
+            final Action action = this.problem.getActions().get(a);
+            if (!action.isApplicable(state)) {
+                return null;
+            }
+            state = Successors.apply(state, action);
+            plan.add(plan.size(), action);
+        }
+        return state.satisfy(goal) ? plan : null;
+    }
+
+    /**
+     * Returns the number of nodes expanded by the forward search.
+     *
+     * @return the number of nodes expanded by the forward search.
+     */
+    long getForwardExpanded() {
+        return this.forwardExpanded;
+    }
+
+    /**
+     * Returns the number of partial states expanded by the backward search.
+     *
+     * @return the number of partial states expanded by the backward search.
+     */
+    long getBackwardExpanded() {
+        return this.backwardExpanded;
+    }
+
+    /**
+     * Returns the number of states generated by the forward search.
+     *
+     * @return the number of states generated by the forward search.
+     */
+    int getForwardStates() {
+        return this.ids.size();
+    }
+
+    /**
+     * Returns the number of partial states generated by the backward search.
+     *
+     * @return the number of partial states generated by the backward search.
+     */
+    int getBackwardStates() {
+        return this.regressed.size();
+    }
+
+    /**
+     * Returns the memory of the inverted index of the forward states in bytes.
+     *
+     * @return the memory of the inverted index in bytes.
+     */
+    long getIndexMemory() {
+        return this.indexMemory;
+    }
+
+    /**
+     * Returns if the inverted index reached its maximum memory, in which case the backward search was stopped.
+     *
+     * @return <code>true</code> if the inverted index reached its maximum memory.
+     */
+    boolean isSaturated() {
+        return this.saturated;
+    }
+
+    /**
+     * Returns the number of meetings improving the best meeting.
+     *
+     * @return the number of meetings improving the best meeting.
+     */
+    long getMeetings() {
+        return this.meetings;
+    }
+
+    /**
+     * Returns the cost of the best meeting.
+     *
+     * @return the cost of the best meeting or {@link Integer#MAX_VALUE} if the searches did not meet.
+     */
+    int getBound() {
+        return this.bound;
+    }
+
+    /**
+     * This class implements the multiset of the costs of the nodes of the forward open list. The nodes have
+     * integer costs and the lowest cost never decreases, since a child costs one more than its parent.
+     */
+    private static final class Costs {
+
+        /**
+         * The number of nodes of each cost.
+         */
+        private int[] counts = new int[16];
+
+        /**
+         * The lowest cost, possibly of no node.
+         */
+        private int min;
+
+        /**
+         * Adds the cost of a node.
+         *
+         * @param cost the cost.
+         */
+        private void add(final int cost) {
+            if (cost >= this.counts.length) {
+                this.counts = Arrays.copyOf(this.counts, Math.max(2 * this.counts.length, cost + 1));
+            }
+            this.counts[cost]++;
+        }
+
+        /**
+         * Removes the cost of a node.
+         *
+         * @param cost the cost.
+         */
+        private void remove(final int cost) {
+            this.counts[cost]--;
+        }
+
+        /**
+         * Returns the lowest cost of the nodes.
+         *
+         * @return the lowest cost of the nodes.
+         */
+        private int min() {
+            while (this.min < this.counts.length - 1 && this.counts[this.min] == 0) {
+                this.min++;
+            }
+            return this.min;
+        }
+    }
+
+    /**
+     * This class implements a node of the backward search: a partial state with the action regressed to reach it
+     * and its parent.
+     */
+    private static final class PartialNode {
+
+        /**
+         * The fluents required to be true.
+         */
+        private final BitVector positive;
+
+        /**
+         * The fluents required to be false.
+         */
+        private final BitVector negative;
+
+        /**
+         * The parent node, i.e., the partial state reached by the action.
+         */
+        private final PartialNode parent;
+
+        /**
+         * The action regressed or -1 for the goal.
+         */
+        private final int action;
+
+        /**
+         * The number of actions from the partial state to the goal.
+         */
+        private final int cost;
+
+        /**
+         * Creates a new node of the backward search.
+         *
+         * @param positive the fluents required to be true.
+         * @param negative the fluents required to be false.
+         * @param parent   the parent node.
+         * @param action   the action regressed.
+         * @param cost     the number of actions from the partial state to the goal.
+         */
+        private PartialNode(final BitVector positive, final BitVector negative, final PartialNode parent,
+                            final int action, final int cost) {
+            this.positive = positive;
+            this.negative = negative;
+            this.parent = parent;
+            this.action = action;
+            this.cost = cost;
+        }
+
+        /**
+         * Returns the literals of the partial state in increasing order: <code>2f</code> for a positive fluent
+         * <code>f</code> and <code>2f + 1</code> for a negative one.
+         *
+         * @return the literals of the partial state.
+         */
+        private int[] literals() {
+            final int[] literals = new int[this.positive.cardinality() + this.negative.cardinality()];
+            int i = 0;
+            for (int f = this.positive.nextSetBit(0); f >= 0; f = this.positive.nextSetBit(f + 1)) {
+                literals[i++] = 2 * f;
+            }
+            for (int f = this.negative.nextSetBit(0); f >= 0; f = this.negative.nextSetBit(f + 1)) {
+                literals[i++] = 2 * f + 1;
+            }
+            Arrays.sort(literals);
+            return literals;
+        }
+
+        /**
+         * Returns if this node has the same partial state as another object.
+         *
+         * @param object the object.
+         * @return <code>true</code> if the object is a node with the same partial state.
+         */
+        @Override
+        public boolean equals(final Object object) {
+            if (!(object instanceof PartialNode)) {
+                return false;
+            }
+            final PartialNode other = (PartialNode) object;
+            return this.positive.equals(other.positive) && this.negative.equals(other.negative);
+        }
+
+        /**
+         * Returns the hash code of the partial state.
+         *
+         * @return the hash code of the partial state.
+         */
+        @Override
+        public int hashCode() {
+            return 31 * this.positive.hashCode() + this.negative.hashCode();
+        }
+    }
+
+    /**
+     * This class implements a set-trie of partial states. Each path from the root follows the literals of a
+     * partial state in increasing order. Each subtree stores the lowest cost of its partial states, which is the
+     * cost of the first one inserted since the backward search is breadth-first.
+     */
+    private static final class Trie {
+
+        /**
+         * The literals of the children, in increasing order.
+         */
+        private int[] keys;
+
+        /**
+         * The children.
+         */
+        private Trie[] children;
+
+        /**
+         * The number of children.
+         */
+        private int size;
+
+        /**
+         * The lowest cost of the partial states of the subtree.
+         */
+        private final int min;
+
+        /**
+         * The partial state ending at this node or <code>null</code>.
+         */
+        private PartialNode state;
+
+        /**
+         * Creates a new subtree.
+         *
+         * @param min the lowest cost of the partial states of the subtree.
+         */
+        private Trie(final int min) {
+            this.keys = new int[2];
+            this.children = new Trie[2];
+            this.min = min;
+        }
+
+        /**
+         * Inserts a partial state.
+         *
+         * @param state the partial state.
+         */
+        private void insert(final PartialNode state) {
+            Trie node = this;
+            for (int literal : state.literals()) {
+                int i = Arrays.binarySearch(node.keys, 0, node.size, literal);
+                if (i < 0) {
+                    i = -i - 1;
+                    if (node.size == node.keys.length) {
+                        node.keys = Arrays.copyOf(node.keys, 2 * node.size);
+                        node.children = Arrays.copyOf(node.children, 2 * node.size);
+                    }
+                    System.arraycopy(node.keys, i, node.keys, i + 1, node.size - i);
+                    System.arraycopy(node.children, i, node.children, i + 1, node.size - i);
+                    node.keys[i] = literal;
+                    node.children[i] = new Trie(state.cost);
+                    node.size++;
+                }
+                node = node.children[i];
+            }
+            node.state = state;
+        }
+    }
+}
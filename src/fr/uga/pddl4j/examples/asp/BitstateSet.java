@@ -0,0 +1,218 @@
+package fr.uga.pddl4j.examples.asp;
+
+import fr.uga.pddl4j.examples.CheckpointReader;
+import fr.uga.pddl4j.examples.CheckpointWriter;
+import fr.uga.pddl4j.examples.StateHash;
+import fr.uga.pddl4j.problem.State;
+
+import java.io.IOException;
+
+/**
+ * This class implements an approximate set of states based on bitstate hashing (supertrace). A state is stored
+ * by setting <code>k</code> bits of a fixed-size bit array, chosen by double hashing of two 64-bit hashes of
+ * the fluents of the state. A state is considered in the set when its <code>k</code> bits are set, so a state
+ * never added can be wrongly considered in the set (a false positive), but the set never forgets a state.
+ * <p>
+ * Used as closed list, a false positive prunes a state never explored. The probability of such an omission
+ * for a new state is <code>f^k</code> where <code>f</code> is the fraction of the bits set. The set sums this
+ * probability over the states added to estimate the number of states omitted by the search.
+ * </p>
+ * <p>
+ * The states cannot be enumerated, so the set is not a <code>java.util.Set</code>: it only implements the
+ * operations of a {@link ClosedList}.
+ * </p>
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+public final class BitstateSet implements ClosedList {
+
+    /**
+     * The maximum number of bits of the array.
+     */
+    private static final long MAX_BITS = 1L << 36;
+
+    /**
+     * The bit array.
+     */
+    private final long[] bits;
+
+    /**
+     * The mask used to get the index of a bit from a hash, i.e., the number of bits minus one.
+     */
+    private final long mask;
+
+    /**
+     * The number of bits set per state.
+     */
+    private final int hashes;
+
+    /**
+     * The number of bits set in the array.
+     */
+    private long ones;
+
+    /**
+     * The number of states added.
+     */
+    private int size;
+
+    /**
+     * The expected number of states omitted, i.e., the sum of the false positive probabilities of the states
+     * added.
+     */
+    private double omissions;
+
+    /**
+     * Creates a new bitstate set using a specified amount of memory.
+     *
+     * @param memory the memory of the bit array in MBytes. The number of bits is rounded down to a power of two.
+     * @param hashes the number of bits set per state.
+     * @throws IllegalArgumentException if the memory or the number of hashes is less than 1.
+     */
+    public BitstateSet(final int memory, final int hashes) {
+        if (memory < 1) {
+            throw new IllegalArgumentException("Memory < 1");
+        }
+        if (hashes < 1) {
+            throw new IllegalArgumentException("Hashes < 1");
+        }
+        final long nbBits = Long.highestOneBit(Math.min((long) memory << 23, BitstateSet.MAX_BITS));
+        this.bits = new long[(int) (nbBits >>> 6)];
+        this.mask = nbBits - 1;
+        this.hashes = hashes;
+    }
+
+    /**
+     * Adds a state to the set.
+     *
+     * @param state the state.
+     * @return <code>true</code> if at least one bit of the state was not set, i.e., the state was surely not
+     *     in the set, <code>false</code> otherwise.
+     */
+    @Override
+    public boolean add(final State state) {
+        final long[] words = state.toLongArray();
+        final long h1 = StateHash.hash(words, StateHash.SEED);
+        final long h2 = StateHash.hash(words, 0xC2B2AE3D27D4EB4FL) | 1L;
+        final double probability = this.getOmissionProbability();
+        boolean added = false;
+        for (int i = 0; i < this.hashes; i++) {
+            final long index = (h1 + i * h2) & this.mask;
+            final int word = (int) (index >>> 6);
+            final long bit = 1L << index;
+            if ((this.bits[word] & bit) == 0) {
+                this.bits[word] |= bit;
+                this.ones++;
+                added = true;
+            }
+        }
+        if (added) {
+            this.size++;
+            this.omissions += probability;
+        }
+        return added;
+    }
+
+    /**
+     * Returns if a state is in the set. The answer may be a false positive.
+     *
+     * @param state the state.
+     * @return <code>true</code> if all the bits of the state are set, <code>false</code> otherwise.
+     */
+    @Override
+    public boolean contains(final State state) {
+        final long[] words = state.toLongArray();
+        final long h1 = StateHash.hash(words, StateHash.SEED);
+        final long h2 = StateHash.hash(words, 0xC2B2AE3D27D4EB4FL) | 1L;
+        for (int i = 0; i < this.hashes; i++) {
+            final long index = (h1 + i * h2) & this.mask;
+            if ((this.bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of states added to the set.
+     *
+     * @return the number of states added to the set.
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the memory used by the bit array in bytes.
+     *
+     * @return the memory used by the bit array in bytes.
+     */
+    public long getMemory() {
+        return (long) this.bits.length * Long.BYTES;
+    }
+
+    /**
+     * Returns the fraction of the bits set.
+     *
+     * @return the fraction of the bits set.
+     */
+    public double getFillRatio() {
+        return (double) this.ones / (this.mask + 1);
+    }
+
+    /**
+     * Returns the probability that a new state is wrongly considered in the set.
+     *
+     * @return the probability that a new state is wrongly considered in the set.
+     */
+    public double getOmissionProbability() {
+        return Math.pow(this.getFillRatio(), this.hashes);
+    }
+
+    /**
+     * Returns the expected number of states omitted, i.e., the sum of the probabilities that a new state was
+     * wrongly considered in the set when each state was added.
+     *
+     * @return the expected number of states omitted.
+     */
+    public double getExpectedOmissions() {
+        return this.omissions;
+    }
+
+    /**
+     * Writes the content of the set to a checkpoint.
+     *
+     * @param out the checkpoint writer.
+     */
+    void write(final CheckpointWriter out) {
+        out.putInt(this.hashes);
+        out.putLong(this.ones);
+        out.putInt(this.size);
+        out.putDouble(this.omissions);
+        out.putLongs(this.bits);
+    }
+
+    /**
+     * Restores the content of the set from a checkpoint. The bits are read in place: the set must have been
+     * created with the same memory and the same number of hashes as the set written.
+     *
+     * @param in the checkpoint reader.
+     * @throws IOException if the checkpoint cannot be read or if the set written has another size.
+     */
+    void read(final CheckpointReader in) throws IOException {
+        if (in.getInt() != this.hashes) {
+            throw new IOException("Checkpoint written with another number of bitstate hashes");
+        }
+        this.ones = in.getLong();
+        this.size = in.getInt();
+        this.omissions = in.getDouble();
+        if (in.getInt() != this.bits.length) {
+            throw new IOException("Checkpoint written with another bitstate memory");
+        }
+        for (int i = 0; i < this.bits.length; i++) {
+            this.bits[i] = in.getLong();
+        }
+    }
+}
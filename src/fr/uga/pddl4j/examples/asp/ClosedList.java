@@ -0,0 +1,37 @@
+package fr.uga.pddl4j.examples.asp;
+
+import fr.uga.pddl4j.problem.State;
+
+/**
+ * This interface defines the closed list of the A* search of {@link ASP}, i.e., the set of the states already
+ * explored. The closed list is either exact ({@link HashClosedList}) or approximate ({@link BitstateSet}), in
+ * which case a state never added can be considered explored. The states of a closed list cannot be removed.
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+public interface ClosedList {
+
+    /**
+     * Adds a state to the closed list.
+     *
+     * @param state the state.
+     * @return <code>true</code> if the state was not in the closed list, <code>false</code> otherwise.
+     */
+    boolean add(State state);
+
+    /**
+     * Returns if a state is in the closed list.
+     *
+     * @param state the state.
+     * @return <code>true</code> if the state is in the closed list, <code>false</code> otherwise.
+     */
+    boolean contains(State state);
+
+    /**
+     * Returns the number of states added to the closed list.
+     *
+     * @return the number of states added to the closed list.
+     */
+    int size();
+}
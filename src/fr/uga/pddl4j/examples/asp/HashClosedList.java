@@ -0,0 +1,72 @@
+package fr.uga.pddl4j.examples.asp;
+
+import fr.uga.pddl4j.problem.State;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * This class implements an exact closed list backed by a hash set of states. The states can be enumerated, e.g.,
+ * to write them to a checkpoint.
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+public final class HashClosedList implements ClosedList, Iterable<State> {
+
+    /**
+     * The states of the closed list.
+     */
+    private final Set<State> states;
+
+    /**
+     * Creates a new empty closed list.
+     */
+    public HashClosedList() {
+        this.states = new HashSet<>();
+    }
+
+    /**
+     * Adds a state to the closed list.
+     *
+     * @param state the state.
+     * @return <code>true</code> if the state was not in the closed list, <code>false</code> otherwise.
+     */
+    @Override
+    public boolean add(final State state) {
+        return this.states.add(state);
+    }
+
+    /**
+     * Returns if a state is in the closed list.
+     *
+     * @param state the state.
+     * @return <code>true</code> if the state is in the closed list, <code>false</code> otherwise.
+     */
+    @Override
+    public boolean contains(final State state) {
+        return this.states.contains(state);
+    }
+
+    /**
+     * Returns the number of states of the closed list.
+     *
+     * @return the number of states of the closed list.
+     */
+    @Override
+    public int size() {
+        return this.states.size();
+    }
+
+    /**
+     * Returns an iterator over the states of the closed list. The iterator does not support the removal.
+     *
+     * @return an iterator over the states of the closed list.
+     */
+    @Override
+    public Iterator<State> iterator() {
+        return Collections.unmodifiableSet(this.states).iterator();
+    }
+}
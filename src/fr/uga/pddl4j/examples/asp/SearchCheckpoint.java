@@ -0,0 +1,278 @@
+package fr.uga.pddl4j.examples.asp;
+
+import fr.uga.pddl4j.examples.CheckpointReader;
+import fr.uga.pddl4j.examples.CheckpointWriter;
+import fr.uga.pddl4j.examples.Node;
+import fr.uga.pddl4j.examples.heuristics.Heuristics;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Condition;
+import fr.uga.pddl4j.util.BitVector;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * This class saves and restores the state of the A* search of {@link ASP}: its settings, its statistics, its
+ * nodes, its closed list and its open list. The nodes are written once with the index of their parent, so that
+ * the nodes shared by the open list, the closed list and the paths are shared again after the restoration. The
+ * nodes of the open list are written in the order of the array of the priority queue: inserting them in this
+ * order in an empty priority queue rebuilds the same array, since each node is greater than or equal to its
+ * parent in the heap. The resumed search thus polls the nodes in the same order, ties included, and finds the
+ * same plan as an uninterrupted search.
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+final class SearchCheckpoint {
+
+    /**
+     * The name of the planner written in the header of the checkpoints.
+     */
+    static final String PLANNER = "ASP";
+
+    /**
+     * The reader of the checkpoint.
+     */
+    private final CheckpointReader in;
+
+    /**
+     * The heuristic of the search.
+     */
+    private final Heuristics.Name heuristic;
+
+    /**
+     * The statistics of the search: the number of nodes expanded, evaluated and pruned and the time spent in ms.
+     */
+    private final long[] statistics;
+
+    /**
+     * Opens a checkpoint and reads the settings and the statistics of the search.
+     *
+     * @param in        the reader of the checkpoint.
+     * @param planner   the planner resuming the search.
+     * @param init      the initial state of the search.
+     * @param goal      the goal of the search.
+     * @throws IOException if the checkpoint cannot be read or if it was written by another search.
+     */
+    private SearchCheckpoint(final CheckpointReader in, final ASP planner, final State init, final Condition goal)
+        throws IOException {
+        this.in = in;
+        this.heuristic = Heuristics.Name.valueOf(in.getString());
+        if (in.getDouble() != planner.getHeuristicWeight()) {
+            throw new IOException("Checkpoint written with another heuristic weight");
+        }
+        if ((in.getInt() == 1) != planner.isSymmetryReduction()) {
+            throw new IOException("Checkpoint written with another symmetry reduction setting");
+        }
+        if ((in.getInt() == 1) != planner.getBitstateMemory() > 0) {
+            throw new IOException("Checkpoint written with another closed list");
+        }
+        final State written = new State();
+        in.getBits(written);
+        final BitVector positive = new BitVector();
+        final BitVector negative = new BitVector();
+        in.getBits(positive);
+        in.getBits(negative);
+        if (!written.equals(init) || !positive.equals(goal.getPositiveFluents())
+            || !negative.equals(goal.getNegativeFluents())) {
+            throw new IOException("Checkpoint written for another initial state or goal");
+        }
+        this.statistics = new long[4];
+        for (int i = 0; i < this.statistics.length; i++) {
+            this.statistics[i] = in.getLong();
+        }
+    }
+
+    /**
+     * Opens a checkpoint of the search of a problem and reads the settings and the statistics of the search.
+     *
+     * @param file        the checkpoint file.
+     * @param fingerprint the fingerprint of the problem.
+     * @param planner     the planner resuming the search.
+     * @param init        the initial state of the search.
+     * @param goal        the goal of the search.
+     * @return the checkpoint opened.
+     * @throws IOException if the checkpoint cannot be read or if it was written by another search.
+     */
+    static SearchCheckpoint open(final File file, final String fingerprint, final ASP planner, final State init,
+                                 final Condition goal) throws IOException {
+        final CheckpointReader in = new CheckpointReader(file.toPath(), SearchCheckpoint.PLANNER, fingerprint);
+        try {
+            return new SearchCheckpoint(in, planner, init, goal);
+        } catch (IOException | IllegalArgumentException e) {
+            in.close();
+            throw e instanceof IOException ? (IOException) e : new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the heuristic of the search. The heuristic selected by AUTO is written, so that the resumed search
+     * is guided by the same heuristic.
+     *
+     * @return the heuristic of the search.
+     */
+    Heuristics.Name getHeuristic() {
+        return this.heuristic;
+    }
+
+    /**
+     * Returns the statistics of the search.
+     *
+     * @return the number of nodes expanded, evaluated and pruned and the time spent in ms.
+     */
+    long[] getStatistics() {
+        return this.statistics;
+    }
+
+    /**
+     * Restores the nodes, the closed list and the open list of the search and closes the checkpoint.
+     *
+     * @param open  the empty open list of the search.
+     * @param close the empty closed list of the search.
+     * @throws IOException if the checkpoint cannot be read.
+     */
+    void restore(final PriorityQueue<Node> open, final ClosedList close) throws IOException {
+        try {
+            final int size = this.in.getInt();
+            final Node[] nodes = new Node[size];
+            final int[] parents = new int[size];
+            final State empty = new State();
+            for (int i = 0; i < size; i++) {
+                parents[i] = this.in.getInt();
+                final Node node = new Node(empty);
+                node.setAction(this.in.getInt());
+                node.setCost(this.in.getDouble());
+                node.setHeuristic(this.in.getDouble());
+                node.setDepth(this.in.getInt());
+                this.in.getBits(node);
+                final BitVector landmarks = new BitVector();
+                if (this.in.getBits(landmarks)) {
+                    node.setLandmarks(landmarks);
+                }
+                nodes[i] = node;
+            }
+            for (int i = 0; i < size; i++) {
+                nodes[i].setParent(parents[i] == -1 ? null : nodes[parents[i]]);
+            }
+            if (close instanceof BitstateSet) {
+                ((BitstateSet) close).read(this.in);
+            } else {
+                final int closed = this.in.getInt();
+                for (int i = 0; i < closed; i++) {
+                    final int index = this.in.getInt();
+                    if (index == -1) {
+                        final State state = new State();
+                        this.in.getBits(state);
+                        close.add(state);
+                    } else {
+                        close.add(nodes[index]);
+                    }
+                }
+            }
+            final int opened = this.in.getInt();
+            for (int i = 0; i < opened; i++) {
+                open.add(nodes[this.in.getInt()]);
+            }
+        } finally {
+            this.in.close();
+        }
+    }
+
+    /**
+     * Writes the state of a search to a checkpoint.
+     *
+     * @param out         the checkpoint writer.
+     * @param fingerprint the fingerprint of the problem.
+     * @param planner     the planner.
+     * @param heuristic   the heuristic of the search.
+     * @param init        the initial state of the search.
+     * @param goal        the goal of the search.
+     * @param statistics  the number of nodes expanded, evaluated and pruned and the time spent in ms.
+     * @param open        the open list of the search.
+     * @param close       the closed list of the search.
+     * @param wait        <code>true</code> to wait for the end of the write.
+     * @return the size of the checkpoint in bytes.
+     * @throws IOException if the checkpoint cannot be written.
+     */
+    static long write(final CheckpointWriter out, final String fingerprint, final ASP planner,
+                      final Heuristics.Name heuristic, final State init, final Condition goal,
+                      final long[] statistics, final PriorityQueue<Node> open, final ClosedList close,
+                      final boolean wait) throws IOException {
+        out.begin(SearchCheckpoint.PLANNER, fingerprint);
+        out.putString(heuristic.name());
+        out.putDouble(planner.getHeuristicWeight());
+        out.putInt(planner.isSymmetryReduction() ? 1 : 0);
+        out.putInt(close instanceof BitstateSet ? 1 : 0);
+        out.putBits(init);
+        out.putBits(goal.getPositiveFluents());
+        out.putBits(goal.getNegativeFluents());
+        for (long value : statistics) {
+            out.putLong(value);
+        }
+
+        // We index the nodes of the closed list, of the open list and of their paths
+        final Map<Node, Integer> indices = new IdentityHashMap<>();
+        final List<Node> nodes = new ArrayList<>();
+        if (close instanceof HashClosedList) {
+            for (State state : (HashClosedList) close) {
+                if (state instanceof Node) {
+                    SearchCheckpoint.index((Node) state, indices, nodes);
+                }
+            }
+        }
+        for (Node node : open) {
+            SearchCheckpoint.index(node, indices, nodes);
+        }
+
+        // We write the nodes, then the closed list and the open list as indices of nodes
+        out.putInt(nodes.size());
+        for (Node node : nodes) {
+            out.putInt(node.getParent() == null ? -1 : indices.get(node.getParent()));
+            out.putInt(node.getAction());
+            out.putDouble(node.getCost());
+            out.putDouble(node.getHeuristic());
+            out.putInt(node.getDepth());
+            out.putBits(node);
+            out.putBits(node.getLandmarks());
+        }
+        if (close instanceof BitstateSet) {
+            ((BitstateSet) close).write(out);
+        } else {
+            out.putInt(close.size());
+            for (State state : (HashClosedList) close) {
+                final Integer index = state instanceof Node ? indices.get(state) : null;
+                if (index == null) {
+                    out.putInt(-1);
+                    out.putBits(state);
+                } else {
+                    out.putInt(index);
+                }
+            }
+        }
+        out.putInt(open.size());
+        for (Node node : open) {
+            out.putInt(indices.get(node));
+        }
+        return out.commit(wait);
+    }
+
+    /**
+     * Indexes a node and the nodes of its path not indexed yet.
+     *
+     * @param node    the node.
+     * @param indices the indices of the nodes.
+     * @param nodes   the nodes in the order of their indices.
+     */
+    private static void index(Node node, final Map<Node, Integer> indices, final List<Node> nodes) {
+        while (node != null && !indices.containsKey(node)) {
+            indices.put(node, nodes.size());
+            nodes.add(node);
+            node = node.getParent();
+        }
+    }
+}
@@ -0,0 +1,806 @@
+package fr.uga.pddl4j.examples.bdd;
+
+import fr.uga.pddl4j.util.BitSet;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class implements a manager of reduced ordered binary decision diagrams (BDDs) over a fixed number of
+ * boolean variables, ordered by their index. A BDD is designated by the index of its root node: the index
+ * {@link #FALSE} is the constant false and the index {@link #TRUE} the constant true.
+ * <p>
+ * The nodes are stored in arrays of integers (variable, low child, high child) and made unique by a hash table
+ * chained through a fourth array, so that two equal functions are always represented by the same index. The
+ * results of the operations are memorized in a direct-mapped cache, overwritten on collision. The arrays grow
+ * when they are full, up to a maximum number of nodes. The nodes are never freed during an operation: the
+ * nodes unreachable from a set of roots are collected by {@link #collect(int...)}, which the caller runs
+ * between two operations, e.g., when {@link #isCollectionNeeded()} returns <code>true</code>. The roots
+ * registered by {@link #keep(int)} are never collected.
+ * </p>
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+public final class BDD {
+
+    /**
+     * The index of the constant false.
+     */
+    public static final int FALSE = 0;
+
+    /**
+     * The index of the constant true.
+     */
+    public static final int TRUE = 1;
+
+    /**
+     * The initial number of nodes of the arrays.
+     */
+    private static final int INITIAL_CAPACITY = 1 << 16;
+
+    /**
+     * The minimum number of entries of the operation cache.
+     */
+    private static final int MIN_CACHE_SIZE = 1 << 16;
+
+    /**
+     * The number of live nodes above which a collection is needed, before the first collection.
+     */
+    private static final int INITIAL_COLLECTION_THRESHOLD = 1 << 20;
+
+    /**
+     * The code of the conjunction in the operation cache.
+     */
+    private static final int AND = 1;
+
+    /**
+     * The code of the disjunction in the operation cache.
+     */
+    private static final int OR = 2;
+
+    /**
+     * The code of the negation in the operation cache.
+     */
+    private static final int NOT = 3;
+
+    /**
+     * The code of the existential quantification in the operation cache.
+     */
+    private static final int EXIST = 4;
+
+    /**
+     * The code of the relational product in the operation cache.
+     */
+    private static final int AND_EXIST = 5;
+
+    /**
+     * The number of variables.
+     */
+    private final int variables;
+
+    /**
+     * The maximum number of nodes.
+     */
+    private final int maxNodes;
+
+    /**
+     * The variable of each node. The variable of the constants is the number of variables and the variable of
+     * the free nodes is -1.
+     */
+    private int[] var;
+
+    /**
+     * The low child of each node, i.e., the child when the variable is false.
+     */
+    private int[] low;
+
+    /**
+     * The high child of each node, i.e., the child when the variable is true, or the next free node.
+     */
+    private int[] high;
+
+    /**
+     * The next node of each node in its bucket of the unique table.
+     */
+    private int[] next;
+
+    /**
+     * The first node of each bucket of the unique table.
+     */
+    private int[] buckets;
+
+    /**
+     * The number of nodes used in the arrays, free nodes included.
+     */
+    private int size;
+
+    /**
+     * The first free node or -1 if there is no free node.
+     */
+    private int free;
+
+    /**
+     * The number of live nodes, constants included.
+     */
+    private int live;
+
+    /**
+     * The maximum number of live nodes reached.
+     */
+    private int peak;
+
+    /**
+     * The number of live nodes above which a collection is needed.
+     */
+    private int threshold;
+
+    /**
+     * The number of collections run.
+     */
+    private int collections;
+
+    /**
+     * The roots never collected.
+     */
+    private int[] kept;
+
+    /**
+     * The number of roots never collected.
+     */
+    private int keptSize;
+
+    /**
+     * The operation codes of the entries of the operation cache, 0 for an empty entry.
+     */
+    private int[] cacheOp;
+
+    /**
+     * The first operands of the entries of the operation cache.
+     */
+    private int[] cacheA;
+
+    /**
+     * The second operands of the entries of the operation cache.
+     */
+    private int[] cacheB;
+
+    /**
+     * The third operands of the entries of the operation cache.
+     */
+    private int[] cacheC;
+
+    /**
+     * The results of the entries of the operation cache.
+     */
+    private int[] cacheResult;
+
+    /**
+     * Creates a new manager of BDDs.
+     *
+     * @param variables the number of variables.
+     * @param maxNodes  the maximum number of nodes.
+     * @throws IllegalArgumentException if the number of variables is negative or if the maximum number of nodes
+     *                                  is less than 2.
+     */
+    public BDD(final int variables, final int maxNodes) {
+        if (variables < 0) {
+            throw new IllegalArgumentException("Number of variables < 0");
+        }
+        if (maxNodes < 2) {
+            throw new IllegalArgumentException("Maximum number of nodes < 2");
+        }
+        this.variables = variables;
+        this.maxNodes = maxNodes;
+        final int capacity = Math.min(BDD.INITIAL_CAPACITY, Integer.highestOneBit(Math.max(2, maxNodes)));
+        this.var = new int[capacity];
+        this.low = new int[capacity];
+        this.high = new int[capacity];
+        this.next = new int[capacity];
+        this.buckets = new int[capacity];
+        Arrays.fill(this.buckets, -1);
+        this.var[BDD.FALSE] = variables;
+        this.var[BDD.TRUE] = variables;
+        this.size = 2;
+        this.live = 2;
+        this.peak = 2;
+        this.free = -1;
+        this.threshold = BDD.INITIAL_COLLECTION_THRESHOLD;
+        this.kept = new int[16];
+        this.resizeCache(capacity);
+    }
+
+    /**
+     * Returns the number of variables.
+     *
+     * @return the number of variables.
+     */
+    public int getVariables() {
+        return this.variables;
+    }
+
+    /**
+     * Returns the number of live nodes, i.e., the nodes not collected, constants included.
+     *
+     * @return the number of live nodes.
+     */
+    public int getLiveNodes() {
+        return this.live;
+    }
+
+    /**
+     * Returns the maximum number of live nodes reached.
+     *
+     * @return the maximum number of live nodes reached.
+     */
+    public int getPeakNodes() {
+        return this.peak;
+    }
+
+    /**
+     * Returns the number of collections run.
+     *
+     * @return the number of collections run.
+     */
+    public int getCollections() {
+        return this.collections;
+    }
+
+    /**
+     * Returns the memory used by the nodes, the unique table and the operation cache in bytes.
+     *
+     * @return the memory used in bytes.
+     */
+    public long memory() {
+        return (long) Integer.BYTES * (5L * this.var.length + 5L * this.cacheOp.length);
+    }
+
+    /**
+     * Returns the BDD of a variable.
+     *
+     * @param v the variable.
+     * @return the BDD true when the variable is true.
+     */
+    public int ithVar(final int v) {
+        return this.mk(v, BDD.FALSE, BDD.TRUE);
+    }
+
+    /**
+     * Returns the BDD of the negation of a variable.
+     *
+     * @param v the variable.
+     * @return the BDD true when the variable is false.
+     */
+    public int nithVar(final int v) {
+        return this.mk(v, BDD.TRUE, BDD.FALSE);
+    }
+
+    /**
+     * Returns the conjunction of literals, e.g., a precondition or a set of variables to quantify.
+     *
+     * @param positive the variables true in the conjunction.
+     * @param negative the variables false in the conjunction.
+     * @return the BDD of the conjunction or {@link #FALSE} if a variable is both positive and negative.
+     */
+    public int cube(final BitSet positive, final BitSet negative) {
+        int r = BDD.TRUE;
+        for (int v = this.variables - 1; v >= 0; v--) {
+            final boolean p = positive.get(v);
+            final boolean n = negative.get(v);
+            if (p && n) {
+                return BDD.FALSE;
+            } else if (p) {
+                r = this.mk(v, BDD.FALSE, r);
+            } else if (n) {
+                r = this.mk(v, r, BDD.FALSE);
+            }
+        }
+        return r;
+    }
+
+    /**
+     * Returns the BDD of a single assignment of all the variables, e.g., a state.
+     *
+     * @param assignment the variables true in the assignment.
+     * @return the BDD true only for the assignment.
+     */
+    public int minterm(final BitSet assignment) {
+        int r = BDD.TRUE;
+        for (int v = this.variables - 1; v >= 0; v--) {
+            r = assignment.get(v) ? this.mk(v, BDD.FALSE, r) : this.mk(v, r, BDD.FALSE);
+        }
+        return r;
+    }
+
+    /**
+     * Returns the conjunction of two BDDs.
+     *
+     * @param a the first BDD.
+     * @param b the second BDD.
+     * @return the conjunction.
+     */
+    public int and(int a, int b) {
+        if (a == BDD.FALSE || b == BDD.FALSE) {
+            return BDD.FALSE;
+        } else if (a == BDD.TRUE || a == b) {
+            return b;
+        } else if (b == BDD.TRUE) {
+            return a;
+        }
+        if (a > b) {
+            final int t = a;
+            a = b;
+            b = t;
+        }
+        final int slot = this.slot(BDD.AND, a, b, 0);
+        if (this.cacheOp[slot] == BDD.AND && this.cacheA[slot] == a && this.cacheB[slot] == b) {
+            return this.cacheResult[slot];
+        }
+        final int va = this.var[a];
+        final int vb = this.var[b];
+        final int v = Math.min(va, vb);
+        final int l = this.and(va == v ? this.low[a] : a, vb == v ? this.low[b] : b);
+        final int h = this.and(va == v ? this.high[a] : a, vb == v ? this.high[b] : b);
+        final int r = this.mk(v, l, h);
+        this.store(slot, BDD.AND, a, b, 0, r);
+        return r;
+    }
+
+    /**
+     * Returns the disjunction of two BDDs.
+     *
+     * @param a the first BDD.
+     * @param b the second BDD.
+     * @return the disjunction.
+     */
+    public int or(int a, int b) {
+        if (a == BDD.TRUE || b == BDD.TRUE) {
+            return BDD.TRUE;
+        } else if (a == BDD.FALSE || a == b) {
+            return b;
+        } else if (b == BDD.FALSE) {
+            return a;
+        }
+        if (a > b) {
+            final int t = a;
+            a = b;
+            b = t;
+        }
+        final int slot = this.slot(BDD.OR, a, b, 0);
+        if (this.cacheOp[slot] == BDD.OR && this.cacheA[slot] == a && this.cacheB[slot] == b) {
+            return this.cacheResult[slot];
+        }
+        final int va = this.var[a];
+        final int vb = this.var[b];
+        final int v = Math.min(va, vb);
+        final int l = this.or(va == v ? this.low[a] : a, vb == v ? this.low[b] : b);
+        final int h = this.or(va == v ? this.high[a] : a, vb == v ? this.high[b] : b);
+        final int r = this.mk(v, l, h);
+        this.store(slot, BDD.OR, a, b, 0, r);
+        return r;
+    }
+
+    /**
+     * Returns the negation of a BDD.
+     *
+     * @param a the BDD.
+     * @return the negation.
+     */
+    public int not(final int a) {
+        if (a <= BDD.TRUE) {
+            return BDD.TRUE - a;
+        }
+        final int slot = this.slot(BDD.NOT, a, 0, 0);
+        if (this.cacheOp[slot] == BDD.NOT && this.cacheA[slot] == a) {
+            return this.cacheResult[slot];
+        }
+        final int l = this.not(this.low[a]);
+        final int h = this.not(this.high[a]);
+        final int r = this.mk(this.var[a], l, h);
+        this.store(slot, BDD.NOT, a, 0, 0, r);
+        return r;
+    }
+
+    /**
+     * Returns the conjunction of a BDD and of the negation of another BDD, e.g., the states of a set not
+     * already reached.
+     *
+     * @param a the first BDD.
+     * @param b the second BDD.
+     * @return the difference.
+     */
+    public int diff(final int a, final int b) {
+        return this.and(a, this.not(b));
+    }
+
+    /**
+     * Returns the existential quantification of a BDD over a set of variables.
+     *
+     * @param a    the BDD.
+     * @param cube the conjunction of the variables to quantify, see {@link #cube(BitSet, BitSet)}.
+     * @return the quantification.
+     */
+    public int exist(final int a, int cube) {
+        if (a <= BDD.TRUE) {
+            return a;
+        }
+        final int va = this.var[a];
+        while (this.var[cube] < va) {
+            cube = this.high[cube];
+        }
+        if (cube == BDD.TRUE) {
+            return a;
+        }
+        final int slot = this.slot(BDD.EXIST, a, cube, 0);
+        if (this.cacheOp[slot] == BDD.EXIST && this.cacheA[slot] == a && this.cacheB[slot] == cube) {
+            return this.cacheResult[slot];
+        }
+        final int r;
+        if (this.var[cube] == va) {
+            final int l = this.exist(this.low[a], this.high[cube]);
+            r = l == BDD.TRUE ? BDD.TRUE : this.or(l, this.exist(this.high[a], this.high[cube]));
+        } else {
+            final int l = this.exist(this.low[a], cube);
+            final int h = this.exist(this.high[a], cube);
+            r = this.mk(va, l, h);
+        }
+        this.store(slot, BDD.EXIST, a, cube, 0, r);
+        return r;
+    }
+
+    /**
+     * Returns the existential quantification of the conjunction of two BDDs over a set of variables, i.e., the
+     * relational product, without building the conjunction.
+     *
+     * @param a    the first BDD.
+     * @param b    the second BDD.
+     * @param cube the conjunction of the variables to quantify, see {@link #cube(BitSet, BitSet)}.
+     * @return the relational product.
+     */
+    public int andExist(int a, int b, int cube) {
+        if (a == BDD.FALSE || b == BDD.FALSE) {
+            return BDD.FALSE;
+        } else if (a == BDD.TRUE || a == b) {
+            return this.exist(b, cube);
+        } else if (b == BDD.TRUE) {
+            return this.exist(a, cube);
+        }
+        if (a > b) {
+            final int t = a;
+            a = b;
+            b = t;
+        }
+        final int va = this.var[a];
+        final int vb = this.var[b];
+        final int v = Math.min(va, vb);
+        while (this.var[cube] < v) {
+            cube = this.high[cube];
+        }
+        if (cube == BDD.TRUE) {
+            return this.and(a, b);
+        }
+        final int slot = this.slot(BDD.AND_EXIST, a, b, cube);
+        if (this.cacheOp[slot] == BDD.AND_EXIST && this.cacheA[slot] == a && this.cacheB[slot] == b
+            && this.cacheC[slot] == cube) {
+            return this.cacheResult[slot];
+        }
+        final int r;
+        if (this.var[cube] == v) {
+            final int l = this.andExist(va == v ? this.low[a] : a, vb == v ? this.low[b] : b, this.high[cube]);
+            r = l == BDD.TRUE ? BDD.TRUE
+                : this.or(l, this.andExist(va == v ? this.high[a] : a, vb == v ? this.high[b] : b,
+                this.high[cube]));
+        } else {
+            final int l = this.andExist(va == v ? this.low[a] : a, vb == v ? this.low[b] : b, cube);
+            final int h = this.andExist(va == v ? this.high[a] : a, vb == v ? this.high[b] : b, cube);
+            r = this.mk(v, l, h);
+        }
+        this.store(slot, BDD.AND_EXIST, a, b, cube, r);
+        return r;
+    }
+
+    /**
+     * Chooses an assignment satisfying a BDD. The variables not tested on the path chosen are false.
+     *
+     * @param a          the BDD, not {@link #FALSE}.
+     * @param assignment the set filled with the variables true in the assignment, assumed to be empty.
+     * @throws IllegalArgumentException if the BDD is {@link #FALSE}.
+     */
+    public void satOne(int a, final BitSet assignment) {
+        if (a == BDD.FALSE) {
+            throw new IllegalArgumentException("Unsatisfiable BDD");
+        }
+        while (a != BDD.TRUE) {
+            if (this.low[a] != BDD.FALSE) {
+                a = this.low[a];
+            } else {
+                assignment.set(this.var[a]);
+                a = this.high[a];
+            }
+        }
+    }
+
+    /**
+     * Returns the number of assignments of all the variables satisfying a BDD.
+     *
+     * @param a the BDD.
+     * @return the number of assignments.
+     */
+    public double satCount(final int a) {
+        return this.satCount(a, new HashMap<>()) * Math.pow(2, this.var[a]);
+    }
+
+    /**
+     * Returns the number of assignments of the variables from the variable of the root of a BDD satisfying the
+     * BDD.
+     *
+     * @param a     the BDD.
+     * @param count the number of assignments of the nodes already counted.
+     * @return the number of assignments.
+     */
+    private double satCount(final int a, final Map<Integer, Double> count) {
+        if (a <= BDD.TRUE) {
+            return a;
+        }
+        final Double c = count.get(a);
+        if (c != null) {
+            return c;
+        }
+        final int l = this.low[a];
+        final int h = this.high[a];
+        final double r = this.satCount(l, count) * Math.pow(2, this.var[l] - this.var[a] - 1)
+            + this.satCount(h, count) * Math.pow(2, this.var[h] - this.var[a] - 1);
+        count.put(a, r);
+        return r;
+    }
+
+    /**
+     * Returns the number of nodes of a BDD, constants included.
+     *
+     * @param a the BDD.
+     * @return the number of nodes.
+     */
+    public int nodeCount(final int a) {
+        final boolean[] marks = new boolean[this.size];
+        this.mark(a, marks);
+        int count = 0;
+        for (boolean m : marks) {
+            if (m) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Registers a root never collected, e.g., the BDD of an action.
+     *
+     * @param a the BDD.
+     * @return the BDD.
+     */
+    public int keep(final int a) {
+        if (this.keptSize == this.kept.length) {
+            this.kept = Arrays.copyOf(this.kept, this.kept.length * 2);
+        }
+        this.kept[this.keptSize++] = a;
+        return a;
+    }
+
+    /**
+     * Returns if the number of live nodes exceeds the threshold of collection, which is twice the number of
+     * live nodes after the last collection.
+     *
+     * @return <code>true</code> if a collection is needed.
+     */
+    public boolean isCollectionNeeded() {
+        return this.live > this.threshold;
+    }
+
+    /**
+     * Collects the nodes unreachable from a set of roots and from the roots registered by {@link #keep(int)}.
+     * The entries of the operation cache referring to a collected node are removed. The method must not be called
+     * during an operation.
+     *
+     * @param roots the roots.
+     */
+    public void collect(final int... roots) {
+        final boolean[] marks = new boolean[this.size];
+        marks[BDD.FALSE] = true;
+        marks[BDD.TRUE] = true;
+        for (int i = 0; i < this.keptSize; i++) {
+            this.mark(this.kept[i], marks);
+        }
+        for (int r : roots) {
+            this.mark(r, marks);
+        }
+        Arrays.fill(this.buckets, -1);
+        this.free = -1;
+        this.live = 2;
+        for (int i = this.size - 1; i >= 2; i--) {
+            if (marks[i]) {
+                final int b = this.hash(this.var[i], this.low[i], this.high[i]);
+                this.next[i] = this.buckets[b];
+                this.buckets[b] = i;
+                this.live++;
+            } else {
+                this.var[i] = -1;
+                this.high[i] = this.free;
+                this.free = i;
+            }
+        }
+        // We only invalidate the entries of the cache referring to a collected node
+        for (int i = 0; i < this.cacheOp.length; i++) {
+            if (this.cacheOp[i] != 0 && (!marks[this.cacheA[i]] || !marks[this.cacheB[i]]
+                || !marks[this.cacheC[i]] || !marks[this.cacheResult[i]])) {
+                this.cacheOp[i] = 0;
+            }
+        }
+        this.threshold = Math.max(BDD.INITIAL_COLLECTION_THRESHOLD, 2 * this.live);
+        this.collections++;
+    }
+
+    /**
+     * Marks the nodes of a BDD.
+     *
+     * @param a     the BDD.
+     * @param marks the marks of the nodes.
+     */
+    private void mark(final int a, final boolean[] marks) {
+        // We use an explicit stack since the BDDs can be deep
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = a;
+        while (top > 0) {
+            final int n = stack[--top];
+            if (marks[n]) {
+                continue;
+            }
+            marks[n] = true;
+            if (n > BDD.TRUE) {
+                if (top + 2 > stack.length) {
+                    stack = Arrays.copyOf(stack, stack.length * 2);
+                }
+                stack[top++] = this.low[n];
+                stack[top++] = this.high[n];
+            }
+        }
+    }
+
+    /**
+     * Returns the node of a variable and of two children, creating it if it does not exist.
+     *
+     * @param v the variable.
+     * @param l the low child.
+     * @param h the high child.
+     * @return the node.
+     * @throws IllegalStateException if the maximum number of nodes is reached.
+     */
+    private int mk(final int v, final int l, final int h) {
+        if (l == h) {
+            return l;
+        }
+        int b = this.hash(v, l, h);
+        for (int n = this.buckets[b]; n != -1; n = this.next[n]) {
+            if (this.var[n] == v && this.low[n] == l && this.high[n] == h) {
+                return n;
+            }
+        }
+        final int n;
+        if (this.free != -1) {
+            n = this.free;
+            this.free = this.high[n];
+        } else {
+            if (this.size == this.var.length) {
+                this.grow();
+                b = this.hash(v, l, h);
+            }
+            n = this.size++;
+        }
+        this.var[n] = v;
+        this.low[n] = l;
+        this.high[n] = h;
+        this.next[n] = this.buckets[b];
+        this.buckets[b] = n;
+        this.live++;
+        if (this.live > this.peak) {
+            this.peak = this.live;
+        }
+        return n;
+    }
+
+    /**
+     * Doubles the capacity of the arrays of the nodes and rebuilds the unique table.
+     *
+     * @throws IllegalStateException if the maximum number of nodes is reached.
+     */
+    private void grow() {
+        if (this.var.length >= this.maxNodes) {
+            throw new IllegalStateException("BDD node limit reached (" + this.maxNodes + " nodes)");
+        }
+        final int capacity = (int) Math.min((long) this.var.length * 2, Integer.highestOneBit(Integer.MAX_VALUE));
+        this.var = Arrays.copyOf(this.var, capacity);
+        this.low = Arrays.copyOf(this.low, capacity);
+        this.high = Arrays.copyOf(this.high, capacity);
+        this.next = Arrays.copyOf(this.next, capacity);
+        this.buckets = new int[capacity];
+        Arrays.fill(this.buckets, -1);
+        for (int i = 2; i < this.size; i++) {
+            if (this.var[i] != -1) {
+                final int b = this.hash(this.var[i], this.low[i], this.high[i]);
+                this.next[i] = this.buckets[b];
+                this.buckets[b] = i;
+            }
+        }
+        // We keep the cache valid: the indices of the nodes do not change
+        if (this.cacheOp.length < capacity / 2) {
+            this.resizeCache(capacity);
+        }
+    }
+
+    /**
+     * Resizes the operation cache to half the number of nodes and clears it.
+     *
+     * @param capacity the number of nodes.
+     */
+    private void resizeCache(final int capacity) {
+        final int length = Math.max(BDD.MIN_CACHE_SIZE, capacity / 2);
+        this.cacheOp = new int[length];
+        this.cacheA = new int[length];
+        this.cacheB = new int[length];
+        this.cacheC = new int[length];
+        this.cacheResult = new int[length];
+    }
+
+    /**
+     * Stores the result of an operation in the operation cache.
+     *
+     * @param slot   the entry of the cache.
+     * @param op     the code of the operation.
+     * @param a      the first operand.
+     * @param b      the second operand.
+     * @param c      the third operand.
+     * @param result the result.
+     */
+    private void store(final int slot, final int op, final int a, final int b, final int c, final int result) {
+        // The cache may have been resized by the recursive calls
+        final int s = slot & (this.cacheOp.length - 1);
+        this.cacheOp[s] = op;
+        this.cacheA[s] = a;
+        this.cacheB[s] = b;
+        this.cacheC[s] = c;
+        this.cacheResult[s] = result;
+    }
+
+    /**
+     * Returns the entry of the operation cache of an operation.
+     *
+     * @param op the code of the operation.
+     * @param a  the first operand.
+     * @param b  the second operand.
+     * @param c  the third operand.
+     * @return the entry.
+     */
+    private int slot(final int op, final int a, final int b, final int c) {
+        long h = op * 0x9E3779B97F4A7C15L + a;
+        h = h * 0xC2B2AE3D27D4EB4FL + b;
+        h = h * 0x165667B19E3779F9L + c;
+        h ^= h >>> 31;
+        return (int) h & (this.cacheOp.length - 1);
+    }
+
+    /**
+     * Returns the bucket of the unique table of a node.
+     *
+     * @param v the variable.
+     * @param l the low child.
+     * @param h the high child.
+     * @return the bucket.
+     */
+    private int hash(final int v, final int l, final int h) {
+        long x = v * 0x9E3779B97F4A7C15L + l;
+        x = x * 0xC2B2AE3D27D4EB4FL + h;
+        x ^= x >>> 29;
+        return (int) x & (this.buckets.length - 1);
+    }
+}
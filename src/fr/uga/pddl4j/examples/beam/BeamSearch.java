@@ -0,0 +1,890 @@
+package fr.uga.pddl4j.examples.beam;
+
+import fr.uga.pddl4j.examples.Node;
+import fr.uga.pddl4j.examples.PlanOptimizer;
+import fr.uga.pddl4j.examples.StateHash;
+import fr.uga.pddl4j.examples.Successors;
+import fr.uga.pddl4j.examples.heuristics.Heuristics;
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.parser.DefaultParsedProblem;
+import fr.uga.pddl4j.parser.RequireKey;
+import fr.uga.pddl4j.plan.Plan;
+import fr.uga.pddl4j.plan.SequentialPlan;
+import fr.uga.pddl4j.planners.AbstractPlanner;
+import fr.uga.pddl4j.planners.Planner;
+import fr.uga.pddl4j.planners.PlannerConfiguration;
+import fr.uga.pddl4j.planners.ProblemNotSupportedException;
+import fr.uga.pddl4j.problem.DefaultProblem;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.Condition;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import picocli.CommandLine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * The class implements a beam search planner. The search proceeds layer by layer: the successors of the states
+ * of the current layer are evaluated with the heuristic of the planner and only the <code>width</code> best ones
+ * are kept in the next layer. Each layer can also be seeded with the endpoints of short random walks started from
+ * the states of the current layer, as the walks of MCP, so that the beam can escape the plateaus of the heuristic.
+ * <p>
+ * Only the states of the current layer are kept in memory. The paths are stored as compact parent traces: for
+ * each layer, the index of the parent of each state in the previous layer and the actions leading to it. The
+ * states already kept in a layer are remembered by a hash of 64 bits to avoid the cycles. The memory of the
+ * search is thus in O(width x depth) and does not depend on the number of states generated. Beam search is not
+ * complete: the search fails when all the successors of a layer are dead ends or already visited.
+ * </p>
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+@CommandLine.Command(name = "BeamSearch",
+    version = "BeamSearch 1.0",
+    description = "Solves a specified planning problem using a beam search strategy.",
+    sortOptions = false,
+    mixinStandardHelpOptions = true,
+    headerHeading = "Usage:%n",
+    synopsisHeading = "%n",
+    descriptionHeading = "%nDescription:%n%n",
+    parameterListHeading = "%nParameters:%n",
+    optionListHeading = "%nOptions:%n")
+public class BeamSearch extends AbstractPlanner {
+
+    /**
+     * The class logger.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(BeamSearch.class.getName());
+
+    /**
+     * The name of the heuristic used by the planner.
+     */
+    private Heuristics.Name heuristic;
+
+    /**
+     * The maximum number of states kept in each layer.
+     */
+    private int beamWidth;
+
+    /**
+     * The number of random walks seeding each layer.
+     */
+    private int numWalk;
+
+    /**
+     * The length of the random walks.
+     */
+    private int lengthWalk;
+
+    /**
+     * The seed of the random walks.
+     */
+    private long seed;
+
+    /**
+     * The flag used to enable the post-optimization of the plans found.
+     */
+    private boolean postOptimization;
+
+    /**
+     * The HEURISTIC property used for planner configuration.
+     */
+    public static final String HEURISTIC_SETTING = "HEURISTIC";
+
+    /**
+     * The default value of the HEURISTIC property used for planner configuration.
+     */
+    public static final Heuristics.Name DEFAULT_HEURISTIC = Heuristics.Name.FAST_FORWARD;
+
+    /**
+     * The BEAM_WIDTH property used for planner configuration.
+     */
+    public static final String BEAM_WIDTH_SETTING = "BEAM_WIDTH";
+
+    /**
+     * The default value of the BEAM_WIDTH property used for planner configuration.
+     */
+    public static final int DEFAULT_BEAM_WIDTH = 100;
+
+    /**
+     * The NUM_WALK property used for planner configuration.
+     */
+    public static final String NUM_WALK_SETTING = "NUM_WALK";
+
+    /**
+     * The default value of the NUM_WALK property used for planner configuration.
+     */
+    public static final int DEFAULT_NUM_WALK = 0;
+
+    /**
+     * The LENGTH_WALK property used for planner configuration.
+     */
+    public static final String LENGTH_WALK_SETTING = "LENGTH_WALK";
+
+    /**
+     * The default value of the LENGTH_WALK property used for planner configuration.
+     */
+    public static final int DEFAULT_LENGTH_WALK = 10;
+
+    /**
+     * The SEED property used for planner configuration.
+     */
+    public static final String SEED_SETTING = "SEED";
+
+    /**
+     * The default value of the SEED property used for planner configuration.
+     */
+    public static final long DEFAULT_SEED = 0;
+
+    /**
+     * The POST_OPTIMIZATION property used for planner configuration.
+     */
+    public static final String POST_OPTIMIZATION_SETTING = "POST_OPTIMIZATION";
+
+    /**
+     * The default value of the POST_OPTIMIZATION property used for planner configuration.
+     */
+    public static final boolean DEFAULT_POST_OPTIMIZATION = true;
+
+    /**
+     * Creates a new beam search planner with the default configuration.
+     */
+    public BeamSearch() {
+        this(BeamSearch.getDefaultConfiguration());
+    }
+
+    /**
+     * Creates a new beam search planner with a specified configuration.
+     *
+     * @param configuration the configuration of the planner.
+     */
+    public BeamSearch(final PlannerConfiguration configuration) {
+        super();
+        this.setConfiguration(configuration);
+    }
+
+    /**
+     * Set the name of heuristic used by the planner to solve a planning problem.
+     *
+     * @param heuristic the name of the heuristic.
+     * @throws IllegalArgumentException if the heuristic is AUTO.
+     */
+    @CommandLine.Option(names = {"-e", "--heuristic"}, defaultValue = "FAST_FORWARD",
+        description = "Set the heuristic : AJUSTED_SUM, AJUSTED_SUM2, AJUSTED_SUM2M, COMBO, "
+            + "MAX, FAST_FORWARD SET_LEVEL, SUM, SUM_MUTEX, PATTERN_DATABASE, "
+            + "LANDMARK_COUNT, GOAL_COUNT (preset: FAST_FORWARD)")
+    public void setHeuristic(final Heuristics.Name heuristic) {
+        if (heuristic == Heuristics.Name.AUTO) {
+            throw new IllegalArgumentException("AUTO heuristic not supported by beam search");
+        }
+        this.heuristic = heuristic;
+    }
+
+    /**
+     * Returns the name of the heuristic used by the planner.
+     *
+     * @return the name of the heuristic.
+     */
+    public final Heuristics.Name getHeuristic() {
+        return this.heuristic;
+    }
+
+    /**
+     * Sets the maximum number of states kept in each layer.
+     *
+     * @param beamWidth the maximum number of states kept in each layer.
+     * @throws IllegalArgumentException if the width is not strictly positive.
+     */
+    @CommandLine.Option(names = {"-bw", "--beam-width"}, defaultValue = "100", paramLabel = "<states>",
+        description = "Set the maximum number of states kept in each layer (preset 100).")
+    public void setBeamWidth(final int beamWidth) {
+        if (beamWidth <= 0) {
+            throw new IllegalArgumentException("Beam width <= 0");
+        }
+        this.beamWidth = beamWidth;
+    }
+
+    /**
+     * Returns the maximum number of states kept in each layer.
+     *
+     * @return the maximum number of states kept in each layer.
+     */
+    public final int getBeamWidth() {
+        return this.beamWidth;
+    }
+
+    /**
+     * Sets the number of random walks seeding each layer. The walks are started from states of the current
+     * layer chosen at random and their endpoints compete with the successors of the layer.
+     *
+     * @param numWalk the number of random walks, 0 to disable the seeding.
+     * @throws IllegalArgumentException if the number of walks is negative.
+     */
+    @CommandLine.Option(names = {"-nw", "--num-walk"}, defaultValue = "0", paramLabel = "<walks>",
+        description = "Set the number of random walks seeding each layer, 0 to disable (preset 0).")
+    public void setNumWalk(final int numWalk) {
+        if (numWalk < 0) {
+            throw new IllegalArgumentException("Number of walks < 0");
+        }
+        this.numWalk = numWalk;
+    }
+
+    /**
+     * Returns the number of random walks seeding each layer.
+     *
+     * @return the number of random walks seeding each layer.
+     */
+    public final int getNumWalk() {
+        return this.numWalk;
+    }
+
+    /**
+     * Sets the length of the random walks.
+     *
+     * @param lengthWalk the length of the random walks.
+     * @throws IllegalArgumentException if the length is not strictly positive.
+     */
+    @CommandLine.Option(names = {"-lw", "--length-walk"}, defaultValue = "10", paramLabel = "<steps>",
+        description = "Set the length of the random walks (preset 10).")
+    public void setLengthWalk(final int lengthWalk) {
+        if (lengthWalk <= 0) {
+            throw new IllegalArgumentException("Length of walks <= 0");
+        }
+        this.lengthWalk = lengthWalk;
+    }
+
+    /**
+     * Returns the length of the random walks.
+     *
+     * @return the length of the random walks.
+     */
+    public final int getLengthWalk() {
+        return this.lengthWalk;
+    }
+
+    /**
+     * Sets the seed of the random walks.
+     *
+     * @param seed the seed.
+     */
+    @CommandLine.Option(names = {"-sd", "--seed"}, defaultValue = "0", paramLabel = "<seed>",
+        description = "Set the seed of the random walks (preset 0).")
+    public void setSeed(final long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Returns the seed of the random walks.
+     *
+     * @return the seed of the random walks.
+     */
+    public final long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Enables or disables the post-optimization of the plans found, which removes the detours of the random
+     * walks.
+     *
+     * @param postOptimization <code>true</code> to enable the post-optimization.
+     */
+    @CommandLine.Option(names = {"-po", "--post-optimization"}, defaultValue = "true", arity = "0..1",
+        description = "Enable the post-optimization of the plans found (preset true).")
+    public void setPostOptimization(final boolean postOptimization) {
+        this.postOptimization = postOptimization;
+    }
+
+    /**
+     * Returns if the post-optimization of the plans found is enabled.
+     *
+     * @return <code>true</code> if the post-optimization is enabled.
+     */
+    public final boolean isPostOptimization() {
+        return this.postOptimization;
+    }
+
+    /**
+     * Returns the default configuration of the planner.
+     *
+     * @return the default configuration of the planner.
+     * @see PlannerConfiguration
+     */
+    public static PlannerConfiguration getDefaultConfiguration() {
+        PlannerConfiguration config = Planner.getDefaultConfiguration();
+        config.setProperty(BeamSearch.HEURISTIC_SETTING, BeamSearch.DEFAULT_HEURISTIC.toString());
+        config.setProperty(BeamSearch.BEAM_WIDTH_SETTING, Integer.toString(BeamSearch.DEFAULT_BEAM_WIDTH));
+        config.setProperty(BeamSearch.NUM_WALK_SETTING, Integer.toString(BeamSearch.DEFAULT_NUM_WALK));
+        config.setProperty(BeamSearch.LENGTH_WALK_SETTING, Integer.toString(BeamSearch.DEFAULT_LENGTH_WALK));
+        config.setProperty(BeamSearch.SEED_SETTING, Long.toString(BeamSearch.DEFAULT_SEED));
+        config.setProperty(BeamSearch.POST_OPTIMIZATION_SETTING,
+            Boolean.toString(BeamSearch.DEFAULT_POST_OPTIMIZATION));
+        return config;
+    }
+
+    /**
+     * Checks the planner configuration and returns if the configuration is valid.
+     *
+     * @return <code>true</code> if the configuration is valid <code>false</code> otherwise.
+     */
+    public boolean hasValidConfiguration() {
+        return super.hasValidConfiguration()
+            && this.getHeuristic() != null
+            && this.getHeuristic() != Heuristics.Name.AUTO
+            && this.getBeamWidth() > 0
+            && this.getNumWalk() >= 0
+            && this.getLengthWalk() > 0;
+    }
+
+    /**
+     * Sets the configuration of the planner.
+     *
+     * @param configuration the configuration to set.
+     */
+    @Override
+    public void setConfiguration(final PlannerConfiguration configuration) {
+        super.setConfiguration(configuration);
+        if (configuration.getProperty(BeamSearch.HEURISTIC_SETTING) == null) {
+            this.setHeuristic(BeamSearch.DEFAULT_HEURISTIC);
+        } else {
+            this.setHeuristic(Heuristics.Name.valueOf(configuration.getProperty(BeamSearch.HEURISTIC_SETTING)));
+        }
+        if (configuration.getProperty(BeamSearch.BEAM_WIDTH_SETTING) == null) {
+            this.setBeamWidth(BeamSearch.DEFAULT_BEAM_WIDTH);
+        } else {
+            this.setBeamWidth(Integer.parseInt(configuration.getProperty(BeamSearch.BEAM_WIDTH_SETTING)));
+        }
+        if (configuration.getProperty(BeamSearch.NUM_WALK_SETTING) == null) {
+            this.setNumWalk(BeamSearch.DEFAULT_NUM_WALK);
+        } else {
+            this.setNumWalk(Integer.parseInt(configuration.getProperty(BeamSearch.NUM_WALK_SETTING)));
+        }
+        if (configuration.getProperty(BeamSearch.LENGTH_WALK_SETTING) == null) {
+            this.setLengthWalk(BeamSearch.DEFAULT_LENGTH_WALK);
+        } else {
+            this.setLengthWalk(Integer.parseInt(configuration.getProperty(BeamSearch.LENGTH_WALK_SETTING)));
+        }
+        if (configuration.getProperty(BeamSearch.SEED_SETTING) == null) {
+            this.setSeed(BeamSearch.DEFAULT_SEED);
+        } else {
+            this.setSeed(Long.parseLong(configuration.getProperty(BeamSearch.SEED_SETTING)));
+        }
+        if (configuration.getProperty(BeamSearch.POST_OPTIMIZATION_SETTING) == null) {
+            this.setPostOptimization(BeamSearch.DEFAULT_POST_OPTIMIZATION);
+        } else {
+            this.setPostOptimization(
+                Boolean.parseBoolean(configuration.getProperty(BeamSearch.POST_OPTIMIZATION_SETTING)));
+        }
+    }
+
+    /**
+     * Instantiates the planning problem from a parsed problem.
+     *
+     * @param problem the problem to instantiate.
+     * @return the instantiated planning problem or null if the problem cannot be instantiated.
+     */
+    @Override
+    public Problem instantiate(DefaultParsedProblem problem) {
+        final Problem pb = new DefaultProblem(problem);
+        pb.instantiate();
+        return pb;
+    }
+
+    /**
+     * Returns if a specified problem is supported by the planner.
+     *
+     * @param problem the problem to test.
+     * @return <code>true</code> if the problem is supported <code>false</code> otherwise.
+     */
+    @Override
+    public boolean isSupported(Problem problem) {
+        return (problem.getRequirements().contains(RequireKey.ACTION_COSTS)
+            || problem.getRequirements().contains(RequireKey.CONSTRAINTS)
+            || problem.getRequirements().contains(RequireKey.CONTINOUS_EFFECTS)
+            || problem.getRequirements().contains(RequireKey.DERIVED_PREDICATES)
+            || problem.getRequirements().contains(RequireKey.DURATIVE_ACTIONS)
+            || problem.getRequirements().contains(RequireKey.DURATION_INEQUALITIES)
+            || problem.getRequirements().contains(RequireKey.FLUENTS)
+            || problem.getRequirements().contains(RequireKey.GOAL_UTILITIES)
+            || problem.getRequirements().contains(RequireKey.METHOD_CONSTRAINTS)
+            || problem.getRequirements().contains(RequireKey.NUMERIC_FLUENTS)
+            || problem.getRequirements().contains(RequireKey.OBJECT_FLUENTS)
+            || problem.getRequirements().contains(RequireKey.PREFERENCES)
+            || problem.getRequirements().contains(RequireKey.TIMED_INITIAL_LITERALS)
+            || problem.getRequirements().contains(RequireKey.HIERARCHY))
+            ? false : true;
+    }
+
+    /**
+     * Search a solution plan for a planning problem using a beam search.
+     *
+     * @param problem the problem to solve.
+     * @return a plan solution for the problem or null if no solution was found.
+     * @throws ProblemNotSupportedException if the problem to solve is not supported by the planner.
+     */
+    public Plan beamSearch(final Problem problem) throws ProblemNotSupportedException {
+        // Check if the problem is supported by the planner
+        if (!this.isSupported(problem)) {
+            throw new ProblemNotSupportedException("Problem not supported");
+        }
+        final StateHeuristic heuristic = Heuristics.getInstance(this.getHeuristic(), problem, null, false);
+        final Condition goal = problem.getGoal();
+        final List<Action> actions = problem.getActions();
+        final Random random = new Random(this.getSeed());
+        final long begin = System.currentTimeMillis();
+        final long deadline = begin + this.getTimeout() * 1000L;
+
+        final Node root = new Node(new State(problem.getInitialState()), null, -1, 0, 0, 0);
+        if (root.satisfy(goal)) {
+            return new SequentialPlan();
+        }
+        root.setHeuristic(heuristic.estimate(root, goal));
+        final List<Trace> traces = new ArrayList<>();
+        traces.add(new Trace(new Candidate[] {new Candidate(root, -1, null, StateHash.hash(root), 0)}));
+        final StateHashSet visited = new StateHashSet();
+        final StateHashSet generated = new StateHashSet();
+        visited.add(StateHash.hash(root));
+        List<Node> beam = new ArrayList<>();
+        beam.add(root);
+        double best = root.getHeuristic();
+        long evaluated = 1;
+        long seeded = 0;
+        Plan plan = null;
+
+        // We build the layers one by one and check the goal when the states are generated
+        while (plan == null && !beam.isEmpty() && System.currentTimeMillis() < deadline
+            && !Thread.currentThread().isInterrupted()) {
+            final PriorityQueue<Candidate> layer = new PriorityQueue<>(this.getBeamWidth() + 1,
+                Candidate.ORDER.reversed());
+            generated.clear();
+            long order = 0;
+            for (int i = 0; i < beam.size() && plan == null; i++) {
+                final Node node = beam.get(i);
+                for (int a = 0; a < actions.size() && plan == null; a++) {
+                    if (!actions.get(a).isApplicable(node)) {
+                        continue;
+                    }
+                    final State next = Successors.apply(node, actions.get(a));
+                    if (next.satisfy(goal)) {
+                        plan = this.extractPlan(traces, i, new int[] {a}, 1, problem);
+                        continue;
+                    }
+                    final long key = StateHash.hash(next);
+                    if (visited.contains(key) || !generated.add(key)) {
+                        continue;
+                    }
+                    final Node child = new Node(next, node, a, node.getCost() + 1, node.getDepth() + 1, 0);
+                    child.setHeuristic(heuristic.estimate(child, goal));
+                    evaluated++;
+                    if (child.getHeuristic() != Integer.MAX_VALUE) {
+                        this.offer(layer, new Candidate(child, i, null, key, order++));
+                    }
+                }
+            }
+
+            // We seed the layer with the endpoints of random walks started from states of the current layer
+            final int[] walk = new int[this.getLengthWalk()];
+            for (int w = 0; w < this.getNumWalk() && plan == null; w++) {
+                final int i = random.nextInt(beam.size());
+                final Node start = beam.get(i);
+                State state = start;
+                int length = 0;
+                while (length < walk.length && plan == null) {
+                    final int a = BeamSearch.randomApplicableAction(state, actions, random);
+                    if (a == -1) {
+                        break;
+                    }
+                    state = Successors.apply(state, actions.get(a));
+                    walk[length++] = a;
+                    if (state.satisfy(goal)) {
+                        plan = this.extractPlan(traces, i, walk, length, problem);
+                    }
+                }
+                if (plan != null || length == 0) {
+                    continue;
+                }
+                final long key = StateHash.hash(state);
+                if (visited.contains(key) || !generated.add(key)) {
+                    continue;
+                }
+                final Node end = new Node(state, start, walk[length - 1], start.getCost() + length,
+                    start.getDepth() + length, 0);
+                end.setHeuristic(heuristic.estimate(end, goal));
+                evaluated++;
+                if (end.getHeuristic() != Integer.MAX_VALUE) {
+                    this.offer(layer, new Candidate(end, i, Arrays.copyOf(walk, length), key, order++));
+                }
+            }
+            if (plan != null) {
+                continue;
+            }
+
+            // We keep the best states in the next layer and cut their links to the current layer, so that the
+            // states of the current layer can be garbage collected
+            final Candidate[] kept = layer.toArray(new Candidate[0]);
+            Arrays.sort(kept, Candidate.ORDER);
+            traces.add(new Trace(kept));
+            beam = new ArrayList<>(kept.length);
+            for (Candidate c : kept) {
+                c.node.setParent(null);
+                visited.add(c.key);
+                beam.add(c.node);
+                if (c.walk != null) {
+                    seeded++;
+                }
+            }
+            if (kept.length > 0 && kept[0].node.getHeuristic() < best) {
+                best = kept[0].node.getHeuristic();
+            }
+        }
+
+        final long time = System.currentTimeMillis() - begin;
+        long memory = 0;
+        for (Trace trace : traces) {
+            memory += trace.memory();
+        }
+        if (plan == null && beam.isEmpty()) {
+            LOGGER.info("* Beam exhausted at layer " + (traces.size() - 1) + ", best heuristic value " + best
+                + "\n");
+        }
+        LOGGER.info(String.format("* Beam search (width %d): %d layers, %d states evaluated (%d states/s), "
+                + "%d walk endpoints kept, traces %.2f KBytes, visited states %.2f KBytes%n", this.getBeamWidth(),
+            traces.size() - 1, evaluated, time > 0 ? evaluated * 1000 / time : evaluated, seeded, memory / 1024.0,
+            visited.memory() / 1024.0));
+        if (plan == null || !this.isPostOptimization()) {
+            return plan;
+        }
+        final long optimization = System.nanoTime();
+        final PlanOptimizer optimizer = new PlanOptimizer(problem);
+        final Plan optimized = optimizer.optimize(plan);
+        LOGGER.info(String.format("* Plan post-optimization: %d -> %d actions (%d removed in cycles, "
+                + "%d eliminated) in %.3f ms%n", plan.size(), optimized.size(), optimizer.getCycleRemoved(),
+            optimizer.getEliminated(), (System.nanoTime() - optimization) / 1e6));
+        return optimized;
+    }
+
+    /**
+     * Adds a candidate to the next layer if the layer is not full or if the candidate is better than the worst
+     * candidate of the layer, which is then removed.
+     *
+     * @param layer     the next layer, ordered from the worst candidate to the best one.
+     * @param candidate the candidate.
+     */
+    private void offer(final PriorityQueue<Candidate> layer, final Candidate candidate) {
+        if (layer.size() < this.getBeamWidth()) {
+            layer.add(candidate);
+        } else if (Candidate.ORDER.compare(candidate, layer.peek()) < 0) {
+            layer.poll();
+            layer.add(candidate);
+        }
+    }
+
+    /**
+     * Extracts a plan from the parent traces of the search.
+     *
+     * @param traces  the parent traces of the layers.
+     * @param index   the index of the last state of the plan in the last layer.
+     * @param tail    the actions leading from this state to the goal.
+     * @param length  the number of actions of the tail.
+     * @param problem the problem.
+     * @return the plan extracted.
+     */
+    private Plan extractPlan(final List<Trace> traces, int index, final int[] tail, final int length,
+                             final Problem problem) {
+        final List<Action> actions = problem.getActions();
+        final Plan plan = new SequentialPlan();
+        for (int k = length - 1; k >= 0; k--) {
+            plan.add(0, actions.get(tail[k]));
+        }
+        for (int d = traces.size() - 1; d > 0; d--) {
+            final Trace trace = traces.get(d);
+            for (int k = trace.offsets[index + 1] - 1; k >= trace.offsets[index]; k--) {
+                plan.add(0, actions.get(trace.actions[k]));
+            }
+            index = trace.parents[index];
+        }
+        return plan;
+    }
+
+    /**
+     * Returns an action applicable in a state chosen uniformly at random.
+     *
+     * @param state   the state.
+     * @param actions the actions of the problem.
+     * @param random  the random generator.
+     * @return the index of the action or -1 if no action is applicable.
+     */
+    private static int randomApplicableAction(final State state, final List<Action> actions, final Random random) {
+        // We use a reservoir sampling to choose the action in a single pass over the actions
+        int chosen = -1;
+        int count = 0;
+        for (int a = 0; a < actions.size(); a++) {
+            if (actions.get(a).isApplicable(state) && random.nextInt(++count) == 0) {
+                chosen = a;
+            }
+        }
+        return chosen;
+    }
+
+    /**
+     * Search a solution plan to a specified domain and problem using a beam search.
+     *
+     * @param problem the problem to solve.
+     * @return the plan found or null if no plan was found.
+     */
+    @Override
+    public Plan solve(final Problem problem) {
+        LOGGER.info("* Starting beam search \n");
+        // Search a solution
+        final long begin = System.currentTimeMillis();
+        Plan plan = null;
+        try {
+            plan = this.beamSearch(problem);
+        } catch (ProblemNotSupportedException e) {
+            LOGGER.fatal(e.getMessage());
+        }
+        final long end = System.currentTimeMillis();
+        // If a plan is found update the statistics of the planner
+        // and log search information
+        if (plan != null) {
+            LOGGER.info("* Beam search succeeded\n");
+            this.getStatistics().setTimeToSearch(end - begin);
+        } else {
+            LOGGER.info("* Beam search failed\n");
+        }
+        // Return the plan found or null if the search fails.
+        return plan;
+    }
+
+    /**
+     * The main method of the <code>BeamSearch</code> planner.
+     *
+     * @param args the arguments of the command line.
+     */
+    public static void main(String[] args) {
+        try {
+            final BeamSearch planner = new BeamSearch();
+            CommandLine cmd = new CommandLine(planner);
+            cmd.execute(args);
+        } catch (IllegalArgumentException e) {
+            LOGGER.fatal(e.getMessage());
+        }
+    }
+
+    /**
+     * This class implements a candidate of the next layer: a successor of a state of the current layer or the
+     * endpoint of a random walk.
+     */
+    private static final class Candidate {
+
+        /**
+         * The order of the candidates: by increasing heuristic value, then by order of generation.
+         */
+        private static final Comparator<Candidate> ORDER = Comparator.<Candidate>comparingDouble(
+            c -> c.node.getHeuristic()).thenComparingLong(c -> c.order);
+
+        /**
+         * The node of the candidate.
+         */
+        private final Node node;
+
+        /**
+         * The index of the parent of the candidate in the current layer.
+         */
+        private final int parent;
+
+        /**
+         * The actions of the random walk leading to the candidate or <code>null</code> for a successor.
+         */
+        private final int[] walk;
+
+        /**
+         * The hash of the state of the candidate.
+         */
+        private final long key;
+
+        /**
+         * The order of generation of the candidate in the layer.
+         */
+        private final long order;
+
+        /**
+         * Creates a new candidate.
+         *
+         * @param node   the node of the candidate.
+         * @param parent the index of the parent of the candidate in the current layer.
+         * @param walk   the actions of the random walk leading to the candidate or <code>null</code>.
+         * @param key    the hash of the state of the candidate.
+         * @param order  the order of generation of the candidate in the layer.
+         */
+        private Candidate(final Node node, final int parent, final int[] walk, final long key, final long order) {
+            this.node = node;
+            this.parent = parent;
+            this.walk = walk;
+            this.key = key;
+            this.order = order;
+        }
+    }
+
+    /**
+     * This class implements the parent trace of a layer: for each state of the layer, the index of its parent in
+     * the previous layer and the actions leading from its parent to the state, stored in a single array.
+     */
+    private static final class Trace {
+
+        /**
+         * The indices of the parents of the states of the layer.
+         */
+        private final int[] parents;
+
+        /**
+         * The offsets of the actions of each state in the array of actions: the actions leading to the state
+         * <code>i</code> are stored from <code>offsets[i]</code> to <code>offsets[i + 1]</code> excluded.
+         */
+        private final int[] offsets;
+
+        /**
+         * The actions leading to the states of the layer.
+         */
+        private final int[] actions;
+
+        /**
+         * Creates the parent trace of a layer.
+         *
+         * @param layer the states of the layer in their order in the layer.
+         */
+        private Trace(final Candidate[] layer) {
+            this.parents = new int[layer.length];
+            this.offsets = new int[layer.length + 1];
+            for (int i = 0; i < layer.length; i++) {
+                this.parents[i] = layer[i].parent;
+                final int length = layer[i].walk != null ? layer[i].walk.length
+                    : layer[i].node.getAction() != -1 ? 1 : 0;
+                this.offsets[i + 1] = this.offsets[i] + length;
+            }
+            this.actions = new int[this.offsets[layer.length]];
+            for (int i = 0; i < layer.length; i++) {
+                if (layer[i].walk != null) {
+                    System.arraycopy(layer[i].walk, 0, this.actions, this.offsets[i], layer[i].walk.length);
+                } else if (this.offsets[i + 1] > this.offsets[i]) {
+                    this.actions[this.offsets[i]] = layer[i].node.getAction();
+                }
+            }
+        }
+
+        /**
+         * Returns the memory used by the trace in bytes.
+         *
+         * @return the memory used by the trace in bytes.
+         */
+        private long memory() {
+            return (long) Integer.BYTES * (this.parents.length + this.offsets.length + this.actions.length);
+        }
+    }
+
+    /**
+     * This class implements a set of hashes of states with open addressing. The hash 0 is used to mark the empty
+     * slots and is replaced by 1.
+     */
+    private static final class StateHashSet {
+
+        /**
+         * The initial capacity of the set.
+         */
+        private static final int INITIAL_CAPACITY = 1 << 10;
+
+        /**
+         * The slots of the set.
+         */
+        private long[] slots;
+
+        /**
+         * The number of hashes in the set.
+         */
+        private int size;
+
+        /**
+         * Creates a new empty set.
+         */
+        private StateHashSet() {
+            this.slots = new long[StateHashSet.INITIAL_CAPACITY];
+        }
+
+        /**
+         * Returns if the set contains a hash.
+         *
+         * @param key the hash.
+         * @return <code>true</code> if the set contains the hash.
+         */
+        private boolean contains(final long key) {
+            final long k = key == 0 ? 1 : key;
+            final int mask = this.slots.length - 1;
+            for (int i = (int) k & mask; this.slots[i] != 0; i = (i + 1) & mask) {
+                if (this.slots[i] == k) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Adds a hash to the set.
+         *
+         * @param key the hash.
+         * @return <code>true</code> if the hash was not in the set.
+         */
+        private boolean add(final long key) {
+            final long k = key == 0 ? 1 : key;
+            int mask = this.slots.length - 1;
+            int i = (int) k & mask;
+            while (this.slots[i] != 0) {
+                if (this.slots[i] == k) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            this.slots[i] = k;
+            if (++this.size * 2 > this.slots.length) {
+                // We double the capacity to keep the load factor under 1/2
+                final long[] old = this.slots;
+                this.slots = new long[old.length * 2];
+                mask = this.slots.length - 1;
+                for (long s : old) {
+                    if (s != 0) {
+                        int j = (int) s & mask;
+                        while (this.slots[j] != 0) {
+                            j = (j + 1) & mask;
+                        }
+                        this.slots[j] = s;
+                    }
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Removes all the hashes of the set.
+         */
+        private void clear() {
+            if (this.size > 0) {
+                Arrays.fill(this.slots, 0);
+                this.size = 0;
+            }
+        }
+
+        /**
+         * Returns the memory used by the set in bytes.
+         *
+         * @return the memory used by the set in bytes.
+         */
+        private long memory() {
+            return (long) Long.BYTES * this.slots.length;
+        }
+    }
+}
@@ -0,0 +1,638 @@
+package fr.uga.pddl4j.examples.bfws;
+
+import fr.uga.pddl4j.examples.Node;
+import fr.uga.pddl4j.examples.Successors;
+import fr.uga.pddl4j.parser.DefaultParsedProblem;
+import fr.uga.pddl4j.parser.RequireKey;
+import fr.uga.pddl4j.plan.Plan;
+import fr.uga.pddl4j.plan.SequentialPlan;
+import fr.uga.pddl4j.planners.AbstractPlanner;
+import fr.uga.pddl4j.planners.Planner;
+import fr.uga.pddl4j.planners.PlannerConfiguration;
+import fr.uga.pddl4j.planners.ProblemNotSupportedException;
+import fr.uga.pddl4j.problem.DefaultProblem;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.util.BitVector;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import picocli.CommandLine;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * The class implements a width-based planner. The planner does not evaluate any heuristic: the search is driven
+ * by the novelty of the states (see {@link NoveltyTable}), which is computed in a few operations per fluent of
+ * the state, so that it expands many more nodes per second than ASP.
+ * <ul>
+ * <li>IW: the iterated width search runs a breadth-first search IW(1) that prunes the states of novelty greater
+ * than 1, then IW(2) that prunes the states of novelty greater than 2, up to the width of the planner. IW is
+ * not complete.</li>
+ * <li>BFWS: the best-first width search expands the nodes by increasing novelty, then by increasing number of
+ * unsatisfied goals, then by increasing cost. The novelty of a state is computed with respect to the states with
+ * the same number of unsatisfied goals. The nodes of maximal novelty are kept, so that BFWS is complete.</li>
+ * </ul>
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+@CommandLine.Command(name = "BFWS",
+    version = "BFWS 1.0",
+    description = "Solves a specified planning problem using a width-based search strategy.",
+    sortOptions = false,
+    mixinStandardHelpOptions = true,
+    headerHeading = "Usage:%n",
+    synopsisHeading = "%n",
+    descriptionHeading = "%nDescription:%n%n",
+    parameterListHeading = "%nParameters:%n",
+    optionListHeading = "%nOptions:%n")
+public class BFWS extends AbstractPlanner {
+
+    /**
+     * The search algorithms of the planner.
+     */
+    public enum Algorithm {
+        /**
+         * The iterated width search.
+         */
+        IW,
+        /**
+         * The best-first width search.
+         */
+        BFWS,
+    }
+
+    /**
+     * The class logger.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(BFWS.class.getName());
+
+    /**
+     * The search algorithm of the planner.
+     */
+    private Algorithm algorithm;
+
+    /**
+     * The maximal size of the tuples of fluents of the novelty tables.
+     */
+    private int width;
+
+    /**
+     * The ALGORITHM property used for planner configuration.
+     */
+    public static final String ALGORITHM_SETTING = "ALGORITHM";
+
+    /**
+     * The default value of the ALGORITHM property.
+     */
+    public static final Algorithm DEFAULT_ALGORITHM = Algorithm.BFWS;
+
+    /**
+     * The WIDTH property used for planner configuration.
+     */
+    public static final String WIDTH_SETTING = "WIDTH";
+
+    /**
+     * The default value of the WIDTH property.
+     */
+    public static final int DEFAULT_WIDTH = 2;
+
+    /**
+     * Creates a new BFWS planner with the default configuration.
+     */
+    public BFWS() {
+        this(BFWS.getDefaultConfiguration());
+    }
+
+    /**
+     * Creates a new BFWS planner with a specified configuration.
+     *
+     * @param configuration the configuration of the planner.
+     */
+    public BFWS(final PlannerConfiguration configuration) {
+        super();
+        this.setConfiguration(configuration);
+    }
+
+    /**
+     * Sets the search algorithm of the planner.
+     *
+     * @param algorithm the search algorithm.
+     */
+    @CommandLine.Option(names = {"-a", "--algorithm"}, defaultValue = "BFWS",
+        description = "Set the search algorithm: IW, BFWS (preset: BFWS)")
+    public void setAlgorithm(final Algorithm algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * Returns the search algorithm of the planner.
+     *
+     * @return the search algorithm of the planner.
+     */
+    public final Algorithm getAlgorithm() {
+        return this.algorithm;
+    }
+
+    /**
+     * Sets the maximal size of the tuples of fluents of the novelty tables. IW runs IW(1) up to IW(width).
+     *
+     * @param width the width, i.e., 1 or 2.
+     * @throws IllegalArgumentException if the width is not 1 or 2.
+     */
+    @CommandLine.Option(names = {"-k", "--width"}, defaultValue = "2", paramLabel = "<width>",
+        description = "Set the maximal size of the tuples of fluents: 1 or 2 (preset 2).")
+    public void setWidth(final int width) {
+        if (width < 1 || width > 2) {
+            throw new IllegalArgumentException("Width not in [1, 2]");
+        }
+        this.width = width;
+    }
+
+    /**
+     * Returns the maximal size of the tuples of fluents of the novelty tables.
+     *
+     * @return the maximal size of the tuples of fluents.
+     */
+    public final int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * Returns the default configuration of the planner.
+     *
+     * @return the default configuration of the planner.
+     * @see PlannerConfiguration
+     */
+    public static PlannerConfiguration getDefaultConfiguration() {
+        PlannerConfiguration config = Planner.getDefaultConfiguration();
+        config.setProperty(BFWS.ALGORITHM_SETTING, BFWS.DEFAULT_ALGORITHM.toString());
+        config.setProperty(BFWS.WIDTH_SETTING, Integer.toString(BFWS.DEFAULT_WIDTH));
+        return config;
+    }
+
+    /**
+     * Checks the planner configuration and returns if the configuration is valid.
+     *
+     * @return <code>true</code> if the configuration is valid <code>false</code> otherwise.
+     */
+    public boolean hasValidConfiguration() {
+        return super.hasValidConfiguration()
+            && this.getAlgorithm() != null
+            && this.getWidth() >= 1
+            && this.getWidth() <= 2;
+    }
+
+    /**
+     * Sets the configuration of the planner.
+     *
+     * @param configuration the configuration to set.
+     */
+    @Override
+    public void setConfiguration(final PlannerConfiguration configuration) {
+        super.setConfiguration(configuration);
+        if (configuration.getProperty(BFWS.ALGORITHM_SETTING) == null) {
+            this.setAlgorithm(BFWS.DEFAULT_ALGORITHM);
+        } else {
+            this.setAlgorithm(Algorithm.valueOf(configuration.getProperty(BFWS.ALGORITHM_SETTING)));
+        }
+        if (configuration.getProperty(BFWS.WIDTH_SETTING) == null) {
+            this.setWidth(BFWS.DEFAULT_WIDTH);
+        } else {
+            this.setWidth(Integer.parseInt(configuration.getProperty(BFWS.WIDTH_SETTING)));
+        }
+    }
+
+    /**
+     * Instantiates the planning problem from a parsed problem.
+     *
+     * @param problem the problem to instantiate.
+     * @return the instantiated planning problem or null if the problem cannot be instantiated.
+     */
+    @Override
+    public Problem instantiate(DefaultParsedProblem problem) {
+        final Problem pb = new DefaultProblem(problem);
+        pb.instantiate();
+        return pb;
+    }
+
+    /**
+     * Returns if a specified problem is supported by the planner.
+     *
+     * @param problem the problem to test.
+     * @return <code>true</code> if the problem is supported <code>false</code> otherwise.
+     */
+    @Override
+    public boolean isSupported(Problem problem) {
+        return (problem.getRequirements().contains(RequireKey.ACTION_COSTS)
+            || problem.getRequirements().contains(RequireKey.CONSTRAINTS)
+            || problem.getRequirements().contains(RequireKey.CONTINOUS_EFFECTS)
+            || problem.getRequirements().contains(RequireKey.DERIVED_PREDICATES)
+            || problem.getRequirements().contains(RequireKey.DURATIVE_ACTIONS)
+            || problem.getRequirements().contains(RequireKey.DURATION_INEQUALITIES)
+            || problem.getRequirements().contains(RequireKey.FLUENTS)
+            || problem.getRequirements().contains(RequireKey.GOAL_UTILITIES)
+            || problem.getRequirements().contains(RequireKey.METHOD_CONSTRAINTS)
+            || problem.getRequirements().contains(RequireKey.NUMERIC_FLUENTS)
+            || problem.getRequirements().contains(RequireKey.OBJECT_FLUENTS)
+            || problem.getRequirements().contains(RequireKey.PREFERENCES)
+            || problem.getRequirements().contains(RequireKey.TIMED_INITIAL_LITERALS)
+            || problem.getRequirements().contains(RequireKey.HIERARCHY))
+            ? false : true;
+    }
+
+    /**
+     * Extracts a plan from a specified node.
+     *
+     * @param node    the node.
+     * @param problem the problem.
+     * @return the plan extracted from the specified node.
+     */
+    private Plan extractPlan(final Node node, final Problem problem) {
+        Node n = node;
+        final Plan plan = new SequentialPlan();
+        while (n.getAction() != -1) {
+            final Action a = problem.getActions().get(n.getAction());
+            plan.add(0, a);
+            n = n.getParent();
+        }
+        return plan;
+    }
+
+    /**
+     * Search a solution plan for a planning problem using the search algorithm of the planner.
+     *
+     * @param problem the problem to solve.
+     * @return a plan solution for the problem or null if there is no solution.
+     * @throws ProblemNotSupportedException if the problem to solve is not supported by the planner.
+     */
+    public Plan search(final Problem problem) throws ProblemNotSupportedException {
+        // Check if the problem is supported by the planner
+        if (!this.isSupported(problem)) {
+            throw new ProblemNotSupportedException("Problem not supported");
+        }
+        final long deadline = System.currentTimeMillis() + this.getTimeout() * 1000L;
+        final ActionIndex index = new ActionIndex(problem);
+        if (this.getAlgorithm() == Algorithm.BFWS) {
+            return this.bestFirstWidthSearch(problem, index, deadline);
+        }
+        // We run IW(1), IW(2), ... until a plan is found since IW(k) is not complete
+        Plan plan = null;
+        for (int k = 1; k <= this.getWidth() && plan == null && System.currentTimeMillis() < deadline
+            && !Thread.currentThread().isInterrupted(); k++) {
+            plan = this.iteratedWidthSearch(problem, index, k, deadline);
+        }
+        return plan;
+    }
+
+    /**
+     * Search a solution plan for a planning problem using a breadth-first search pruning the states whose
+     * novelty is greater than a specified width, i.e., IW(width). The closed list is not needed: a state
+     * already generated has no new tuple, so its duplicates are pruned by novelty.
+     *
+     * @param problem  the problem to solve.
+     * @param index    the index of the actions of the problem.
+     * @param width    the width of the search.
+     * @param deadline the deadline of the search given by {@link System#currentTimeMillis()}.
+     * @return a plan solution for the problem or null if there is no solution of width at most
+     *     <code>width</code>.
+     */
+    private Plan iteratedWidthSearch(final Problem problem, final ActionIndex index, final int width,
+                                     final long deadline) {
+        final NoveltyTable novelty = new NoveltyTable(problem.getFluents().size(), width, 1);
+        final Node root = new Node(new State(problem.getInitialState()), null, -1, 0, 0);
+        if (root.satisfy(problem.getGoal())) {
+            return this.extractPlan(root, problem);
+        }
+        final int[] fluents = root.stream().toArray();
+        novelty.evaluate(fluents, fluents, 0);
+        final Deque<Node> open = new ArrayDeque<>();
+        open.add(root);
+        Plan plan = null;
+        final long begin = System.currentTimeMillis();
+        long expanded = 0;
+        long generated = 1;
+        long pruned = 0;
+
+        // We check the goal when the nodes are generated since the search is not optimal
+        while (!open.isEmpty() && plan == null && System.currentTimeMillis() < deadline
+            && !Thread.currentThread().isInterrupted()) {
+            final Node current = open.poll();
+            expanded++;
+            for (int i : index.getApplicableActions(current)) {
+                if (plan != null) {
+                    break;
+                }
+                final Node child = this.apply(current, i, problem.getActions().get(i));
+                generated++;
+                if (child.satisfy(problem.getGoal())) {
+                    plan = this.extractPlan(child, problem);
+                } else if (novelty.evaluate(child.stream().toArray(), this.news(child, current), 0) > width) {
+                    pruned++;
+                } else {
+                    open.add(child);
+                }
+            }
+        }
+        final long time = System.currentTimeMillis() - begin;
+        LOGGER.info("* IW(" + width + "): " + expanded + " nodes expanded, " + generated + " nodes generated ("
+            + (time > 0 ? generated * 1000 / time : generated) + " nodes/s), " + pruned + " nodes pruned by "
+            + "novelty, novelty tables " + this.memory(novelty) + "\n");
+        return plan;
+    }
+
+    /**
+     * Search a solution plan for a planning problem using a best-first width search. The nodes are ordered by
+     * novelty, then by number of unsatisfied goals, then by cost. Both first criteria are encoded in the
+     * heuristic value of the nodes, i.e., <code>novelty * (goals + 1) + unsatisfied</code>.
+     *
+     * @param problem  the problem to solve.
+     * @param index    the index of the actions of the problem.
+     * @param deadline the deadline of the search given by {@link System#currentTimeMillis()}.
+     * @return a plan solution for the problem or null if there is no solution.
+     */
+    private Plan bestFirstWidthSearch(final Problem problem, final ActionIndex index, final long deadline) {
+        final int[] positiveGoals = problem.getGoal().getPositiveFluents().stream().toArray();
+        final int[] negativeGoals = problem.getGoal().getNegativeFluents().stream().toArray();
+        final int nbGoals = positiveGoals.length + negativeGoals.length;
+        final NoveltyTable novelty = new NoveltyTable(problem.getFluents().size(), this.getWidth(), nbGoals + 1);
+        final Node root = new Node(new State(problem.getInitialState()), null, -1, 0, 0);
+        final int[] fluents = root.stream().toArray();
+        final int goals = BFWS.unsatisfied(root, positiveGoals, negativeGoals);
+        root.setHeuristic(novelty.evaluate(fluents, fluents, goals) * (nbGoals + 1) + goals);
+        final PriorityQueue<Node> open = new PriorityQueue<>(Comparator.comparingDouble(Node::getHeuristic)
+            .thenComparingDouble(Node::getCost));
+        final Set<State> close = new HashSet<>();
+        open.add(root);
+        close.add(root);
+        Plan plan = root.satisfy(problem.getGoal()) ? this.extractPlan(root, problem) : null;
+        final long begin = System.currentTimeMillis();
+        long expanded = 0;
+        long generated = 1;
+        final long[] nodes = new long[this.getWidth() + 1];
+
+        // We check the goal when the nodes are generated since the search is not optimal
+        while (!open.isEmpty() && plan == null && System.currentTimeMillis() < deadline
+            && !Thread.currentThread().isInterrupted()) {
+            final Node current = open.poll();
+            expanded++;
+            final int partition = (int) current.getHeuristic() % (nbGoals + 1);
+            for (int i : index.getApplicableActions(current)) {
+                if (plan != null) {
+                    break;
+                }
+                final Node child = this.apply(current, i, problem.getActions().get(i));
+                if (!close.add(child)) {
+                    continue;
+                }
+                generated++;
+                if (child.satisfy(problem.getGoal())) {
+                    plan = this.extractPlan(child, problem);
+                    continue;
+                }
+                // We only check the tuples with the fluents added by the action if the parent was registered
+                // in the same partition
+                final int[] state = child.stream().toArray();
+                final int unsatisfied = BFWS.unsatisfied(child, positiveGoals, negativeGoals);
+                final int value = novelty.evaluate(state, unsatisfied == partition ? this.news(child, current)
+                    : state, unsatisfied);
+                nodes[value - 1]++;
+                child.setHeuristic(value * (nbGoals + 1) + unsatisfied);
+                open.add(child);
+            }
+        }
+        final long time = System.currentTimeMillis() - begin;
+        final StringBuilder str = new StringBuilder();
+        for (int w = 0; w < nodes.length; w++) {
+            str.append(w == 0 ? "" : ", ").append(nodes[w]).append(" of novelty ")
+                .append(w < this.getWidth() ? Integer.toString(w + 1) : "> " + this.getWidth());
+        }
+        LOGGER.info("* BFWS(" + this.getWidth() + "): " + expanded + " nodes expanded, " + generated
+            + " nodes generated (" + (time > 0 ? generated * 1000 / time : generated) + " nodes/s), " + str
+            + ", novelty tables " + this.memory(novelty) + "\n");
+        return plan;
+    }
+
+    /**
+     * Applies an action to a node and returns the child node.
+     *
+     * @param node   the node.
+     * @param index  the index of the action.
+     * @param action the action, applicable in the node.
+     * @return the child node.
+     */
+    private Node apply(final Node node, final int index, final Action action) {
+        return new Node(Successors.apply(node, action), node, index, node.getCost() + 1, 0);
+    }
+
+    /**
+     * Returns the fluents true in a node and false in its parent.
+     *
+     * @param node   the node.
+     * @param parent the parent of the node.
+     * @return the fluents true in the node and false in its parent.
+     */
+    private int[] news(final Node node, final Node parent) {
+        final BitVector added = new BitVector(node);
+        added.andNot(parent);
+        return added.stream().toArray();
+    }
+
+    /**
+     * Returns the description of the memory used by novelty tables.
+     *
+     * @param novelty the novelty tables.
+     * @return the description of the memory used.
+     */
+    private String memory(final NoveltyTable novelty) {
+        return String.format("%.2f MBytes%s", novelty.getMemory() / 1048576.0,
+            novelty.isHashed() ? " (hashed pairs)" : "");
+    }
+
+    /**
+     * Returns the number of goals unsatisfied in a state.
+     *
+     * @param state         the state.
+     * @param positiveGoals the positive fluents of the goal.
+     * @param negativeGoals the negative fluents of the goal.
+     * @return the number of goals unsatisfied in the state.
+     */
+    private static int unsatisfied(final State state, final int[] positiveGoals, final int[] negativeGoals) {
+        int count = 0;
+        for (int f : positiveGoals) {
+            if (!state.get(f)) {
+                count++;
+            }
+        }
+        for (int f : negativeGoals) {
+            if (state.get(f)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Search a solution plan to a specified domain and problem using a width-based search.
+     *
+     * @param problem the problem to solve.
+     * @return the plan found or null if no plan was found.
+     */
+    @Override
+    public Plan solve(final Problem problem) {
+        LOGGER.info("* Starting " + this.getAlgorithm() + " search \n");
+        // Search a solution
+        final long begin = System.currentTimeMillis();
+        Plan plan = null;
+        try {
+            plan = this.search(problem);
+        } catch (ProblemNotSupportedException e) {
+            LOGGER.fatal(e.getMessage());
+        }
+        final long end = System.currentTimeMillis();
+        // If a plan is found update the statistics of the planner
+        // and log search information
+        if (plan != null) {
+            LOGGER.info("* " + this.getAlgorithm() + " search succeeded\n");
+            this.getStatistics().setTimeToSearch(end - begin);
+        } else {
+            LOGGER.info("* " + this.getAlgorithm() + " search failed\n");
+        }
+        // Return the plan found or null if the search fails.
+        return plan;
+    }
+
+    /**
+     * The main method of the <code>BFWS</code> planner.
+     *
+     * @param args the arguments of the command line.
+     */
+    public static void main(String[] args) {
+        try {
+            final BFWS planner = new BFWS();
+            CommandLine cmd = new CommandLine(planner);
+            cmd.execute(args);
+        } catch (IllegalArgumentException e) {
+            LOGGER.fatal(e.getMessage());
+        }
+    }
+
+    /**
+     * This class implements an index of the actions of a problem used to compute the actions applicable in a
+     * state without testing all the actions. Each action is indexed by one of the positive fluents of its
+     * precondition, the one required by the fewest actions, and is only tested in the states where this fluent
+     * is true.
+     */
+    private static final class ActionIndex {
+
+        /**
+         * The actions indexed by each fluent.
+         */
+        private final int[][] triggered;
+
+        /**
+         * The actions without positive precondition, which are tested in every state.
+         */
+        private final int[] unconditioned;
+
+        /**
+         * The actions of the problem.
+         */
+        private final List<Action> actions;
+
+        /**
+         * Creates the index of the actions of a problem.
+         *
+         * @param problem the problem.
+         */
+        ActionIndex(final Problem problem) {
+            this.actions = problem.getActions();
+            final int nbFluents = problem.getFluents().size();
+            final int[] frequency = new int[nbFluents];
+            for (Action a : this.actions) {
+                a.getPrecondition().getPositiveFluents().stream().forEach(f -> frequency[f]++);
+            }
+            final int[] trigger = new int[this.actions.size()];
+            final int[] size = new int[nbFluents];
+            int nbUnconditioned = 0;
+            for (int i = 0; i < this.actions.size(); i++) {
+                trigger[i] = -1;
+                final BitVector pre = this.actions.get(i).getPrecondition().getPositiveFluents();
+                for (int f = pre.nextSetBit(0); f >= 0; f = pre.nextSetBit(f + 1)) {
+                    if (trigger[i] == -1 || frequency[f] < frequency[trigger[i]]) {
+                        trigger[i] = f;
+                    }
+                }
+                if (trigger[i] == -1) {
+                    nbUnconditioned++;
+                } else {
+                    size[trigger[i]]++;
+                }
+            }
+            this.triggered = new int[nbFluents][];
+            for (int f = 0; f < nbFluents; f++) {
+                this.triggered[f] = new int[size[f]];
+                size[f] = 0;
+            }
+            this.unconditioned = new int[nbUnconditioned];
+            nbUnconditioned = 0;
+            for (int i = 0; i < this.actions.size(); i++) {
+                if (trigger[i] == -1) {
+                    this.unconditioned[nbUnconditioned++] = i;
+                } else {
+                    this.triggered[trigger[i]][size[trigger[i]]++] = i;
+                }
+            }
+        }
+
+        /**
+         * Returns the actions applicable in a state in increasing order of index.
+         *
+         * @param state the state.
+         * @return the actions applicable in the state.
+         */
+        int[] getApplicableActions(final State state) {
+            int[] applicable = new int[16];
+            int size = 0;
+            for (int i : this.unconditioned) {
+                if (this.actions.get(i).isApplicable(state)) {
+                    applicable = ActionIndex.add(applicable, size++, i);
+                }
+            }
+            for (int f = state.nextSetBit(0); f >= 0; f = state.nextSetBit(f + 1)) {
+                for (int i : this.triggered[f]) {
+                    if (this.actions.get(i).isApplicable(state)) {
+                        applicable = ActionIndex.add(applicable, size++, i);
+                    }
+                }
+            }
+            applicable = Arrays.copyOf(applicable, size);
+            Arrays.sort(applicable);
+            return applicable;
+        }
+
+        /**
+         * Adds an action to an array of actions, growing it if needed.
+         *
+         * @param array  the array.
+         * @param size   the number of actions in the array.
+         * @param action the action to add.
+         * @return the array containing the action.
+         */
+        private static int[] add(int[] array, final int size, final int action) {
+            if (size == array.length) {
+                array = Arrays.copyOf(array, size * 2);
+            }
+            array[size] = action;
+            return array;
+        }
+    }
+}
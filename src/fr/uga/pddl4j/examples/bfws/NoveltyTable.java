@@ -0,0 +1,235 @@
+package fr.uga.pddl4j.examples.bfws;
+
+import fr.uga.pddl4j.examples.StateHash;
+
+import java.util.Arrays;
+
+/**
+ * This class implements the novelty tables of the width-based searches. The novelty of a state is the size of
+ * the smallest tuple of fluents true in the state that is true in no state registered before, i.e., 1 if the
+ * state makes a fluent true for the first time, 2 if it makes a pair of fluents true for the first time, and
+ * <code>width + 1</code> otherwise. Evaluating a state registers its tuples.
+ * <p>
+ * The states are registered in partitions: the novelty of a state is only computed with respect to the states
+ * of the same partition, e.g., the states with the same number of unsatisfied goals. The fluents of each
+ * partition are stored in a bitset of one bit per fluent. The pairs are stored in a bitset of one bit per pair
+ * of fluents when it fits in {@link #MAX_PAIR_BITS} bits, and in an open-addressing hash set of pair indices
+ * otherwise. The tables of a partition are allocated when the partition is first used.
+ * </p>
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+public final class NoveltyTable {
+
+    /**
+     * The maximum number of bits of the bitsets of pairs of all the partitions (128 MBytes).
+     */
+    private static final long MAX_PAIR_BITS = 1L << 30;
+
+    /**
+     * The number of fluents of the problem.
+     */
+    private final int nbFluents;
+
+    /**
+     * The maximum size of the tuples considered, i.e., 1 or 2.
+     */
+    private final int width;
+
+    /**
+     * The number of pairs of fluents.
+     */
+    private final long nbPairs;
+
+    /**
+     * The bitset of the fluents registered in each partition.
+     */
+    private final long[][] fluents;
+
+    /**
+     * The bitset of the pairs registered in each partition or <code>null</code> if the pairs are hashed.
+     */
+    private final long[][] pairs;
+
+    /**
+     * The hash set of the pairs registered, i.e., <code>partition * nbPairs + pair + 1</code>, or
+     * <code>null</code> if the pairs are stored in bitsets. The empty slots contain 0.
+     */
+    private long[] table;
+
+    /**
+     * The number of pairs in the hash set.
+     */
+    private int size;
+
+    /**
+     * Creates a new empty novelty table.
+     *
+     * @param nbFluents  the number of fluents of the problem.
+     * @param width      the maximum size of the tuples considered, i.e., 1 or 2.
+     * @param partitions the number of partitions.
+     * @throws IllegalArgumentException if the width is not 1 or 2 or if the number of partitions is less
+     *                                  than 1.
+     */
+    public NoveltyTable(final int nbFluents, final int width, final int partitions) {
+        if (width < 1 || width > 2) {
+            throw new IllegalArgumentException("Width not in [1, 2]");
+        }
+        if (partitions < 1) {
+            throw new IllegalArgumentException("Partitions < 1");
+        }
+        this.nbFluents = nbFluents;
+        this.width = width;
+        this.nbPairs = (long) nbFluents * (nbFluents - 1) / 2;
+        this.fluents = new long[partitions][];
+        if (width == 2 && this.nbPairs * partitions <= NoveltyTable.MAX_PAIR_BITS) {
+            this.pairs = new long[partitions][];
+        } else {
+            this.pairs = null;
+            this.table = width == 2 ? new long[1024] : null;
+        }
+    }
+
+    /**
+     * Returns the maximum size of the tuples considered.
+     *
+     * @return the maximum size of the tuples considered.
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * Returns if the pairs of fluents are stored in a hash set rather than in bitsets.
+     *
+     * @return <code>true</code> if the pairs are stored in a hash set, <code>false</code> otherwise.
+     */
+    public boolean isHashed() {
+        return this.width == 2 && this.pairs == null;
+    }
+
+    /**
+     * Returns the memory used by the tables in bytes.
+     *
+     * @return the memory used by the tables in bytes.
+     */
+    public long getMemory() {
+        long memory = 0;
+        for (int p = 0; p < this.fluents.length; p++) {
+            memory += this.fluents[p] != null ? (long) this.fluents[p].length * Long.BYTES : 0;
+            memory += this.pairs != null && this.pairs[p] != null ? (long) this.pairs[p].length * Long.BYTES : 0;
+        }
+        return memory + (this.table != null ? (long) this.table.length * Long.BYTES : 0);
+    }
+
+    /**
+     * Computes the novelty of a state in a partition and registers its tuples. Only the tuples containing at
+     * least one of the new fluents are considered: the other tuples must have been registered in the same
+     * partition before, e.g., with the parent of the state.
+     *
+     * @param state     the fluents true in the state.
+     * @param news      the new fluents of the state, i.e., a subset of <code>state</code>.
+     * @param partition the partition.
+     * @return the novelty of the state, i.e., 1, 2 or <code>width + 1</code> if no tuple is new.
+     */
+    public int evaluate(final int[] state, final int[] news, final int partition) {
+        int novelty = this.width + 1;
+        if (this.fluents[partition] == null) {
+            this.fluents[partition] = new long[(this.nbFluents + 63) >>> 6];
+        }
+        final long[] single = this.fluents[partition];
+        for (int f : news) {
+            if ((single[f >>> 6] & (1L << f)) == 0) {
+                single[f >>> 6] |= 1L << f;
+                novelty = 1;
+            }
+        }
+        if (this.width < 2) {
+            return novelty;
+        }
+        final long offset = partition * this.nbPairs;
+        if (this.pairs != null && this.pairs[partition] == null) {
+            this.pairs[partition] = new long[(int) ((this.nbPairs + 63) >>> 6)];
+        }
+        final long[] bits = this.pairs != null ? this.pairs[partition] : null;
+        for (int f : news) {
+            for (int g : state) {
+                if (f == g) {
+                    continue;
+                }
+                final long pair = f < g ? this.index(f, g) : this.index(g, f);
+                final boolean added;
+                if (bits != null) {
+                    added = (bits[(int) (pair >>> 6)] & (1L << pair)) == 0;
+                    bits[(int) (pair >>> 6)] |= 1L << pair;
+                } else {
+                    added = this.add(offset + pair + 1);
+                }
+                if (added && novelty > 2) {
+                    novelty = 2;
+                }
+            }
+        }
+        return novelty;
+    }
+
+    /**
+     * Removes all the tuples registered.
+     */
+    public void clear() {
+        Arrays.fill(this.fluents, null);
+        if (this.pairs != null) {
+            Arrays.fill(this.pairs, null);
+        }
+        if (this.table != null) {
+            this.table = new long[1024];
+            this.size = 0;
+        }
+    }
+
+    /**
+     * Returns the index of a pair of fluents.
+     *
+     * @param f the first fluent.
+     * @param g the second fluent such that <code>f &lt; g</code>.
+     * @return the index of the pair in <code>[0, nbPairs[</code>.
+     */
+    private long index(final int f, final int g) {
+        return (long) f * this.nbFluents - (long) f * (f + 1) / 2 + (g - f - 1);
+    }
+
+    /**
+     * Adds a key to the hash set of the pairs.
+     *
+     * @param key the non-zero key.
+     * @return <code>true</code> if the key was not in the set, <code>false</code> otherwise.
+     */
+    private boolean add(final long key) {
+        int mask = this.table.length - 1;
+        int slot = (int) StateHash.mix(key) & mask;
+        while (this.table[slot] != 0) {
+            if (this.table[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        this.table[slot] = key;
+        this.size++;
+        if (2 * this.size > this.table.length) {
+            final long[] old = this.table;
+            this.table = new long[old.length * 2];
+            mask = this.table.length - 1;
+            for (long k : old) {
+                if (k != 0) {
+                    slot = (int) StateHash.mix(k) & mask;
+                    while (this.table[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    this.table[slot] = k;
+                }
+            }
+        }
+        return true;
+    }
+}
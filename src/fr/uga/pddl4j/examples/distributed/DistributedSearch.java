@@ -0,0 +1,1092 @@
+package fr.uga.pddl4j.examples.distributed;
+
+import fr.uga.pddl4j.examples.Node;
+import fr.uga.pddl4j.examples.ProblemFingerprint;
+import fr.uga.pddl4j.examples.Successors;
+import fr.uga.pddl4j.examples.heuristics.Heuristics;
+import fr.uga.pddl4j.parser.DefaultParsedProblem;
+import fr.uga.pddl4j.parser.RequireKey;
+import fr.uga.pddl4j.plan.Plan;
+import fr.uga.pddl4j.plan.SequentialPlan;
+import fr.uga.pddl4j.planners.AbstractPlanner;
+import fr.uga.pddl4j.planners.Planner;
+import fr.uga.pddl4j.planners.PlannerConfiguration;
+import fr.uga.pddl4j.planners.ProblemNotSupportedException;
+import fr.uga.pddl4j.problem.DefaultProblem;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import picocli.CommandLine;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The class implements a distributed A* search over several processes, in the manner of hash distributed A*.
+ * The coordinator waits for the workers on a TCP port. Each worker is a separate JVM that loads and instantiates
+ * the problem itself, joins the coordinator with the fingerprint of its problem and owns the states mapped to it
+ * by a hash of the state. A worker expands its states in A* order and sends the successors it does not own to
+ * their owner in batches (see {@link Worker}).
+ * <p>
+ * The coordinator detects the termination of a search without solution with the four counter method: it
+ * periodically probes the workers, which answer if they are idle and the number of states they sent to and
+ * received from the other workers. The search is over when all the workers were idle in two consecutive waves
+ * with the same counters and as many states received as sent. When a worker pops a goal state, the coordinator
+ * broadcasts its cost as a bound, and a worker is idle once none of its open states can improve the bound. At
+ * the end of the search, the coordinator halts the workers and rebuilds the path of the best goal by following
+ * the parents of the states from worker to worker. The plan is replayed from the initial state to be checked
+ * before being returned.
+ * </p>
+ * <p>
+ * By default, the coordinator spawns the workers as local processes. With <code>--spawn false</code>, it waits
+ * for workers started on other hosts with the option <code>--connect host:port</code>.
+ * </p>
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+@CommandLine.Command(name = "DistributedSearch",
+    version = "DistributedSearch 1.0",
+    description = "Solves a specified planning problem using an A* search distributed over several processes.",
+    sortOptions = false,
+    mixinStandardHelpOptions = true,
+    headerHeading = "Usage:%n",
+    synopsisHeading = "%n",
+    descriptionHeading = "%nDescription:%n%n",
+    parameterListHeading = "%nParameters:%n",
+    optionListHeading = "%nOptions:%n")
+public class DistributedSearch extends AbstractPlanner {
+
+    /**
+     * The class logger.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(DistributedSearch.class.getName());
+
+    /**
+     * The name of the heuristic used by the workers.
+     */
+    private Heuristics.Name heuristic;
+
+    /**
+     * The weight of the heuristic.
+     */
+    private double heuristicWeight;
+
+    /**
+     * The number of workers.
+     */
+    private int workers;
+
+    /**
+     * The flag used to spawn the workers as local processes.
+     */
+    private boolean spawn;
+
+    /**
+     * The port of the coordinator.
+     */
+    private int port;
+
+    /**
+     * The maximum number of states of a batch.
+     */
+    private int batchSize;
+
+    /**
+     * The address of the coordinator to join in worker mode or <code>null</code> in coordinator mode.
+     */
+    private String connect;
+
+    /**
+     * The HEURISTIC property used for planner configuration.
+     */
+    public static final String HEURISTIC_SETTING = "HEURISTIC";
+
+    /**
+     * The default value of the HEURISTIC property used for planner configuration.
+     */
+    public static final Heuristics.Name DEFAULT_HEURISTIC = Heuristics.Name.FAST_FORWARD;
+
+    /**
+     * The WEIGHT_HEURISTIC property used for planner configuration.
+     */
+    public static final String WEIGHT_HEURISTIC_SETTING = "WEIGHT_HEURISTIC";
+
+    /**
+     * The default value of the WEIGHT_HEURISTIC property used for planner configuration.
+     */
+    public static final double DEFAULT_WEIGHT_HEURISTIC = 1.0;
+
+    /**
+     * The WORKERS property used for planner configuration.
+     */
+    public static final String WORKERS_SETTING = "WORKERS";
+
+    /**
+     * The default value of the WORKERS property used for planner configuration.
+     */
+    public static final int DEFAULT_WORKERS = 2;
+
+    /**
+     * The SPAWN property used for planner configuration.
+     */
+    public static final String SPAWN_SETTING = "SPAWN";
+
+    /**
+     * The default value of the SPAWN property used for planner configuration.
+     */
+    public static final boolean DEFAULT_SPAWN = true;
+
+    /**
+     * The PORT property used for planner configuration.
+     */
+    public static final String PORT_SETTING = "PORT";
+
+    /**
+     * The default value of the PORT property used for planner configuration: any free port.
+     */
+    public static final int DEFAULT_PORT = 0;
+
+    /**
+     * The BATCH_SIZE property used for planner configuration.
+     */
+    public static final String BATCH_SIZE_SETTING = "BATCH_SIZE";
+
+    /**
+     * The default value of the BATCH_SIZE property used for planner configuration.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    /**
+     * The delay in ms between two waves of probes.
+     */
+    private static final long PROBE_INTERVAL = 5;
+
+    /**
+     * The time in ms given to the workers to stop.
+     */
+    private static final long STOP_DELAY = 5000;
+
+    /**
+     * Creates a new distributed search planner with the default configuration.
+     */
+    public DistributedSearch() {
+        this(DistributedSearch.getDefaultConfiguration());
+    }
+
+    /**
+     * Creates a new distributed search planner with a specified configuration.
+     *
+     * @param configuration the configuration of the planner.
+     */
+    public DistributedSearch(final PlannerConfiguration configuration) {
+        super();
+        this.setConfiguration(configuration);
+    }
+
+    /**
+     * Set the name of heuristic used by the workers to solve a planning problem.
+     *
+     * @param heuristic the name of the heuristic.
+     * @throws IllegalArgumentException if the heuristic is AUTO.
+     */
+    @CommandLine.Option(names = {"-e", "--heuristic"}, defaultValue = "FAST_FORWARD",
+        description = "Set the heuristic : AJUSTED_SUM, AJUSTED_SUM2, AJUSTED_SUM2M, COMBO, "
+            + "MAX, FAST_FORWARD SET_LEVEL, SUM, SUM_MUTEX, PATTERN_DATABASE, "
+            + "LANDMARK_COUNT, GOAL_COUNT (preset: FAST_FORWARD)")
+    public void setHeuristic(final Heuristics.Name heuristic) {
+        if (heuristic == Heuristics.Name.AUTO) {
+            throw new IllegalArgumentException("AUTO heuristic not supported by the distributed search");
+        }
+        this.heuristic = heuristic;
+    }
+
+    /**
+     * Returns the name of the heuristic used by the workers.
+     *
+     * @return the name of the heuristic.
+     */
+    public final Heuristics.Name getHeuristic() {
+        return this.heuristic;
+    }
+
+    /**
+     * Sets the weight of the heuristic.
+     *
+     * @param weight the weight of the heuristic. The weight must be greater than 0.
+     * @throws IllegalArgumentException if the weight is strictly less than 0.
+     */
+    @CommandLine.Option(names = {"-w", "--weight"}, defaultValue = "1.0",
+        paramLabel = "<weight>", description = "Set the weight of the heuristic (preset 1.0).")
+    public void setHeuristicWeight(final double weight) {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("Weight <= 0");
+        }
+        this.heuristicWeight = weight;
+    }
+
+    /**
+     * Returns the weight of the heuristic.
+     *
+     * @return the weight of the heuristic.
+     */
+    public final double getHeuristicWeight() {
+        return this.heuristicWeight;
+    }
+
+    /**
+     * Sets the number of workers.
+     *
+     * @param workers the number of workers.
+     * @throws IllegalArgumentException if the number of workers is not strictly positive.
+     */
+    @CommandLine.Option(names = {"-n", "--workers"}, defaultValue = "2", paramLabel = "<workers>",
+        description = "Set the number of worker processes (preset 2).")
+    public void setWorkers(final int workers) {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("Number of workers <= 0");
+        }
+        this.workers = workers;
+    }
+
+    /**
+     * Returns the number of workers.
+     *
+     * @return the number of workers.
+     */
+    public final int getWorkers() {
+        return this.workers;
+    }
+
+    /**
+     * Enables or disables the spawning of the workers as local processes. When disabled, the coordinator waits
+     * for workers started with the option <code>--connect</code>.
+     *
+     * @param spawn <code>true</code> to spawn the workers.
+     */
+    @CommandLine.Option(names = {"-sp", "--spawn"}, defaultValue = "true", arity = "0..1",
+        description = "Spawn the workers as local processes (preset true).")
+    public void setSpawn(final boolean spawn) {
+        this.spawn = spawn;
+    }
+
+    /**
+     * Returns if the workers are spawned as local processes.
+     *
+     * @return <code>true</code> if the workers are spawned as local processes.
+     */
+    public final boolean isSpawn() {
+        return this.spawn;
+    }
+
+    /**
+     * Sets the port of the coordinator.
+     *
+     * @param port the port, 0 for any free port.
+     * @throws IllegalArgumentException if the port is not a valid port.
+     */
+    @CommandLine.Option(names = {"-pt", "--port"}, defaultValue = "0", paramLabel = "<port>",
+        description = "Set the port of the coordinator, 0 for any free port (preset 0).")
+    public void setPort(final int port) {
+        if (port < 0 || port > 65535) {
+            throw new IllegalArgumentException("Invalid port " + port);
+        }
+        this.port = port;
+    }
+
+    /**
+     * Returns the port of the coordinator.
+     *
+     * @return the port of the coordinator.
+     */
+    public final int getPort() {
+        return this.port;
+    }
+
+    /**
+     * Sets the maximum number of states of the batches sent by a worker to another worker.
+     *
+     * @param batchSize the maximum number of states of a batch.
+     * @throws IllegalArgumentException if the batch size is not strictly positive.
+     */
+    @CommandLine.Option(names = {"-bs", "--batch-size"}, defaultValue = "256", paramLabel = "<states>",
+        description = "Set the maximum number of states of a batch sent to a worker (preset 256).")
+    public void setBatchSize(final int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size <= 0");
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Returns the maximum number of states of the batches sent by a worker to another worker.
+     *
+     * @return the maximum number of states of a batch.
+     */
+    public final int getBatchSize() {
+        return this.batchSize;
+    }
+
+    /**
+     * Sets the address of the coordinator to join. The planner then runs as a worker: the search options are
+     * sent by the coordinator.
+     *
+     * @param connect the address of the coordinator as <code>host:port</code>.
+     * @throws IllegalArgumentException if the address is not of the form <code>host:port</code>.
+     */
+    @CommandLine.Option(names = {"-cn", "--connect"}, paramLabel = "<host:port>",
+        description = "Run as a worker of the coordinator listening at the specified address.")
+    public void setConnect(final String connect) {
+        if (connect != null && !connect.matches(".+:\\d+")) {
+            throw new IllegalArgumentException("Invalid coordinator address " + connect);
+        }
+        this.connect = connect;
+    }
+
+    /**
+     * Returns the address of the coordinator joined in worker mode.
+     *
+     * @return the address of the coordinator or <code>null</code> in coordinator mode.
+     */
+    public final String getConnect() {
+        return this.connect;
+    }
+
+    /**
+     * Returns the default configuration of the planner.
+     *
+     * @return the default configuration of the planner.
+     * @see PlannerConfiguration
+     */
+    public static PlannerConfiguration getDefaultConfiguration() {
+        PlannerConfiguration config = Planner.getDefaultConfiguration();
+        config.setProperty(DistributedSearch.HEURISTIC_SETTING, DistributedSearch.DEFAULT_HEURISTIC.toString());
+        config.setProperty(DistributedSearch.WEIGHT_HEURISTIC_SETTING,
+            Double.toString(DistributedSearch.DEFAULT_WEIGHT_HEURISTIC));
+        config.setProperty(DistributedSearch.WORKERS_SETTING, Integer.toString(DistributedSearch.DEFAULT_WORKERS));
+        config.setProperty(DistributedSearch.SPAWN_SETTING, Boolean.toString(DistributedSearch.DEFAULT_SPAWN));
+        config.setProperty(DistributedSearch.PORT_SETTING, Integer.toString(DistributedSearch.DEFAULT_PORT));
+        config.setProperty(DistributedSearch.BATCH_SIZE_SETTING,
+            Integer.toString(DistributedSearch.DEFAULT_BATCH_SIZE));
+        return config;
+    }
+
+    /**
+     * Checks the planner configuration and returns if the configuration is valid.
+     *
+     * @return <code>true</code> if the configuration is valid <code>false</code> otherwise.
+     */
+    public boolean hasValidConfiguration() {
+        return super.hasValidConfiguration()
+            && this.getHeuristic() != null
+            && this.getHeuristic() != Heuristics.Name.AUTO
+            && this.getHeuristicWeight() > 0.0
+            && this.getWorkers() > 0
+            && this.getPort() >= 0
+            && this.getBatchSize() > 0;
+    }
+
+    /**
+     * Sets the configuration of the planner.
+     *
+     * @param configuration the configuration to set.
+     */
+    @Override
+    public void setConfiguration(final PlannerConfiguration configuration) {
+        super.setConfiguration(configuration);
+        if (configuration.getProperty(DistributedSearch.HEURISTIC_SETTING) == null) {
+            this.setHeuristic(DistributedSearch.DEFAULT_HEURISTIC);
+        } else {
+            this.setHeuristic(Heuristics.Name.valueOf(
+                configuration.getProperty(DistributedSearch.HEURISTIC_SETTING)));
+        }
+        if (configuration.getProperty(DistributedSearch.WEIGHT_HEURISTIC_SETTING) == null) {
+            this.setHeuristicWeight(DistributedSearch.DEFAULT_WEIGHT_HEURISTIC);
+        } else {
+            this.setHeuristicWeight(Double.parseDouble(
+                configuration.getProperty(DistributedSearch.WEIGHT_HEURISTIC_SETTING)));
+        }
+        if (configuration.getProperty(DistributedSearch.WORKERS_SETTING) == null) {
+            this.setWorkers(DistributedSearch.DEFAULT_WORKERS);
+        } else {
+            this.setWorkers(Integer.parseInt(configuration.getProperty(DistributedSearch.WORKERS_SETTING)));
+        }
+        if (configuration.getProperty(DistributedSearch.SPAWN_SETTING) == null) {
+            this.setSpawn(DistributedSearch.DEFAULT_SPAWN);
+        } else {
+            this.setSpawn(Boolean.parseBoolean(configuration.getProperty(DistributedSearch.SPAWN_SETTING)));
+        }
+        if (configuration.getProperty(DistributedSearch.PORT_SETTING) == null) {
+            this.setPort(DistributedSearch.DEFAULT_PORT);
+        } else {
+            this.setPort(Integer.parseInt(configuration.getProperty(DistributedSearch.PORT_SETTING)));
+        }
+        if (configuration.getProperty(DistributedSearch.BATCH_SIZE_SETTING) == null) {
+            this.setBatchSize(DistributedSearch.DEFAULT_BATCH_SIZE);
+        } else {
+            this.setBatchSize(Integer.parseInt(configuration.getProperty(DistributedSearch.BATCH_SIZE_SETTING)));
+        }
+    }
+
+    /**
+     * Instantiates the planning problem from a parsed problem.
+     *
+     * @param problem the problem to instantiate.
+     * @return the instantiated planning problem or null if the problem cannot be instantiated.
+     */
+    @Override
+    public Problem instantiate(DefaultParsedProblem problem) {
+        final Problem pb = new DefaultProblem(problem);
+        pb.instantiate();
+        return pb;
+    }
+
+    /**
+     * Returns if a specified problem is supported by the planner.
+     *
+     * @param problem the problem to test.
+     * @return <code>true</code> if the problem is supported <code>false</code> otherwise.
+     */
+    @Override
+    public boolean isSupported(Problem problem) {
+        return (problem.getRequirements().contains(RequireKey.ACTION_COSTS)
+            || problem.getRequirements().contains(RequireKey.CONSTRAINTS)
+            || problem.getRequirements().contains(RequireKey.CONTINOUS_EFFECTS)
+            || problem.getRequirements().contains(RequireKey.DERIVED_PREDICATES)
+            || problem.getRequirements().contains(RequireKey.DURATIVE_ACTIONS)
+            || problem.getRequirements().contains(RequireKey.DURATION_INEQUALITIES)
+            || problem.getRequirements().contains(RequireKey.FLUENTS)
+            || problem.getRequirements().contains(RequireKey.GOAL_UTILITIES)
+            || problem.getRequirements().contains(RequireKey.METHOD_CONSTRAINTS)
+            || problem.getRequirements().contains(RequireKey.NUMERIC_FLUENTS)
+            || problem.getRequirements().contains(RequireKey.OBJECT_FLUENTS)
+            || problem.getRequirements().contains(RequireKey.PREFERENCES)
+            || problem.getRequirements().contains(RequireKey.TIMED_INITIAL_LITERALS)
+            || problem.getRequirements().contains(RequireKey.HIERARCHY))
+            ? false : true;
+    }
+
+    /**
+     * Search a solution plan for a planning problem with the workers of the coordinator.
+     *
+     * @param problem the problem to solve.
+     * @return a plan solution for the problem or null if no solution was found.
+     * @throws ProblemNotSupportedException if the problem to solve is not supported by the planner.
+     */
+    public Plan distributedSearch(final Problem problem) throws ProblemNotSupportedException {
+        // Check if the problem is supported by the planner
+        if (!this.isSupported(problem)) {
+            throw new ProblemNotSupportedException("Problem not supported");
+        }
+        final long begin = System.currentTimeMillis();
+        final long deadline = begin + this.getTimeout() * 1000L;
+        final String fingerprint = ProblemFingerprint.of(problem);
+        final List<Process> processes = new ArrayList<>();
+        final Connection[] connections = new Connection[this.getWorkers()];
+        final BlockingQueue<Event> events = new LinkedBlockingQueue<>();
+        Plan plan = null;
+        try (ServerSocket server = new ServerSocket(this.getPort())) {
+            server.setSoTimeout(100);
+            LOGGER.info("* Coordinator listening on port " + server.getLocalPort() + "\n");
+            if (this.isSpawn()) {
+                for (int w = 0; w < this.getWorkers(); w++) {
+                    processes.add(this.spawn(server.getLocalPort()));
+                }
+            }
+
+            // We accept the workers whose problem has the fingerprint of the problem of the coordinator
+            int joined = 0;
+            while (joined < connections.length) {
+                if (System.currentTimeMillis() >= deadline) {
+                    LOGGER.error("* Timeout while waiting for the workers\n");
+                    return null;
+                }
+                for (Process p : processes) {
+                    if (!p.isAlive()) {
+                        LOGGER.error("* A worker process exited with code " + p.exitValue() + "\n");
+                        return null;
+                    }
+                }
+                final Socket socket;
+                try {
+                    socket = server.accept();
+                } catch (SocketTimeoutException e) {
+                    continue;
+                }
+                final Connection c = new Connection(socket);
+                final String other = c.join(fingerprint);
+                if (other.equals(fingerprint)) {
+                    connections[joined++] = c;
+                } else {
+                    LOGGER.error("* Worker " + socket.getInetAddress().getHostAddress() + " rejected: problem "
+                        + other + " instead of " + fingerprint + "\n");
+                    c.reject("fingerprint " + other + " does not match " + fingerprint);
+                }
+            }
+            for (int w = 0; w < connections.length; w++) {
+                connections[w].welcome(w, connections, this);
+            }
+            for (Connection c : connections) {
+                c.ready();
+            }
+            for (int w = 0; w < connections.length; w++) {
+                connections[w].listen(w, events);
+                connections[w].send(Protocol.START);
+            }
+            LOGGER.info(String.format("* %d workers joined in %d ms%n", connections.length,
+                System.currentTimeMillis() - begin));
+
+            // We probe the workers until no open state can improve the best goal or the timeout expires
+            final long start = System.currentTimeMillis();
+            final long[] wave = new long[3];
+            final long[] last = {-1, -1, 0};
+            int waves = 0;
+            int answers = 0;
+            boolean idle = true;
+            long next = 0;
+            int bound = Integer.MAX_VALUE;
+            int goalWorker = -1;
+            int goalId = -1;
+            while (true) {
+                final long now = System.currentTimeMillis();
+                if (now >= deadline) {
+                    LOGGER.info("* Distributed search stopped by the timeout\n");
+                    break;
+                }
+                if (answers == 0 && now >= next) {
+                    for (Connection c : connections) {
+                        c.send(Protocol.PROBE, waves);
+                    }
+                    answers = connections.length;
+                    next = now + DistributedSearch.PROBE_INTERVAL;
+                }
+                final Event e = events.poll(Math.max(1, Math.min(deadline, next) - now), TimeUnit.MILLISECONDS);
+                if (e == null) {
+                    continue;
+                } else if (e.type == Protocol.GOAL) {
+                    // We keep the cheapest goal and broadcast its cost as the bound of the workers
+                    if (e.values[1] < bound) {
+                        bound = (int) e.values[1];
+                        goalWorker = e.worker;
+                        goalId = (int) e.values[0];
+                        for (Connection c : connections) {
+                            c.send(Protocol.BOUND, bound);
+                        }
+                        // The previous wave does not account for the new bound
+                        last[2] = 0;
+                        LOGGER.info(String.format("* Worker %d found a goal state of cost %d%n", goalWorker,
+                            bound));
+                    }
+                } else if (e.type == Protocol.STATUS && e.values[0] == waves) {
+                    // A worker is idle if it is quiet and none of its open states can improve the bound
+                    idle &= e.values[1] != 0 && Double.longBitsToDouble(e.values[2]) >= bound;
+                    wave[0] += e.values[3];
+                    wave[1] += e.values[4];
+                    if (--answers == 0) {
+                        // The search is over if nothing changed since the previous wave where all were idle
+                        if (idle && wave[0] == wave[1] && last[2] != 0 && wave[0] == last[0] && wave[1] == last[1]) {
+                            LOGGER.info(goalWorker == -1 ? "* All the states explored: the problem has no "
+                                + "solution\n" : "* No open state can improve the best goal\n");
+                            break;
+                        }
+                        last[0] = wave[0];
+                        last[1] = wave[1];
+                        last[2] = idle ? 1 : 0;
+                        wave[0] = 0;
+                        wave[1] = 0;
+                        idle = true;
+                        waves++;
+                    }
+                } else if (e.type == Event.LOST) {
+                    LOGGER.error("* Connection to worker " + e.worker + " lost\n");
+                    break;
+                }
+            }
+            final long search = System.currentTimeMillis() - start;
+
+            // We rebuild the path of the goal state from worker to worker and extract the plan
+            long extraction = 0;
+            if (goalWorker != -1) {
+                for (Connection c : connections) {
+                    c.send(Protocol.HALT);
+                }
+                final long t = System.currentTimeMillis();
+                plan = this.trace(goalWorker, goalId, connections, events, problem);
+                extraction = System.currentTimeMillis() - t;
+            }
+
+            // We stop the workers and collect their statistics
+            for (Connection c : connections) {
+                c.send(Protocol.STOP);
+            }
+            final long[][] statistics = new long[connections.length][];
+            final long stop = System.currentTimeMillis() + DistributedSearch.STOP_DELAY;
+            int stopped = 0;
+            while (stopped < connections.length && System.currentTimeMillis() < stop) {
+                final Event e = events.poll(DistributedSearch.STOP_DELAY, TimeUnit.MILLISECONDS);
+                if (e != null && (e.type == Protocol.BYE || e.type == Event.LOST)
+                    && statistics[e.worker] == null) {
+                    statistics[e.worker] = e.type == Protocol.BYE ? e.values : new long[Protocol.STATISTICS];
+                    stopped++;
+                }
+            }
+            final long[] total = new long[Protocol.STATISTICS];
+            for (int w = 0; w < statistics.length; w++) {
+                if (statistics[w] != null) {
+                    final long[] s = statistics[w];
+                    LOGGER.info(String.format("* Worker %d: %d nodes expanded, %d states generated, %d sent in %d "
+                        + "batches, %d received, %d duplicates%n", w, s[0], s[1], s[2], s[5], s[3], s[4]));
+                    for (int i = 0; i < total.length; i++) {
+                        total[i] += s[i];
+                    }
+                }
+            }
+            LOGGER.info(String.format("* Distributed search: %d workers, %d nodes expanded, %d states generated, "
+                    + "%.1f%% sent to another worker, %d termination waves, search %d ms, plan extraction %d ms%n",
+                connections.length, total[0], total[1], total[1] == 0 ? 0.0 : 100.0 * total[2] / total[1], waves,
+                search, extraction));
+        } catch (IOException e) {
+            LOGGER.error("* Distributed search failed: " + e.getMessage() + "\n");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            for (Connection c : connections) {
+                if (c != null) {
+                    c.close();
+                }
+            }
+            for (Process p : processes) {
+                try {
+                    if (!p.waitFor(DistributedSearch.STOP_DELAY, TimeUnit.MILLISECONDS)) {
+                        p.destroyForcibly();
+                    }
+                } catch (InterruptedException e) {
+                    p.destroyForcibly();
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Rebuilds the path of a goal state by following the parents of the states from worker to worker, replays
+     * it from the initial state and extracts the plan.
+     *
+     * @param worker      the worker storing the goal state.
+     * @param id          the identifier of the goal state on the worker.
+     * @param connections the connections to the workers.
+     * @param events      the events received from the workers.
+     * @param problem     the problem.
+     * @return the plan or <code>null</code> if the path is not a valid plan.
+     * @throws IOException          if a connection fails or if a worker does not answer.
+     * @throws InterruptedException if the coordinator is interrupted.
+     */
+    private Plan trace(int worker, int id, final Connection[] connections, final BlockingQueue<Event> events,
+                       final Problem problem) throws IOException, InterruptedException {
+        final List<Integer> path = new ArrayList<>();
+        while (id != -1) {
+            connections[worker].send(Protocol.TRACE, id);
+            // We wait for the answer at most STOP_DELAY ms, so that a worker that stopped answering fails the search
+            final long timeout = System.currentTimeMillis() + DistributedSearch.STOP_DELAY;
+            Event e;
+            do {
+                e = events.poll(Math.max(1, timeout - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                if (e == null) {
+                    throw new IOException("No answer of worker " + worker + " to the trace");
+                }
+            } while (e.type != Protocol.NODE && e.type != Event.LOST);
+            if (e.type == Event.LOST) {
+                throw new IOException("Connection to worker " + e.worker + " lost");
+            }
+            if (e.values[3] < -1 || e.values[3] >= problem.getActions().size()
+                || e.values[2] != -1 && (e.values[1] < 0 || e.values[1] >= connections.length)) {
+                throw new IOException("Invalid node from worker " + e.worker);
+            }
+            if (e.values[3] != -1) {
+                path.add((int) e.values[3]);
+            }
+            worker = (int) e.values[1];
+            id = (int) e.values[2];
+        }
+
+        // We replay the actions from the initial state to rebuild the nodes and check the plan
+        Node node = new Node(new State(problem.getInitialState()), null, -1, 0, 0);
+        for (int k = path.size() - 1; k >= 0; k--) {
+            final Action a = problem.getActions().get(path.get(k));
+            if (!a.isApplicable(node)) {
+                LOGGER.error("* Invalid path: action " + k + " not applicable\n");
+                return null;
+            }
+            node = new Node(Successors.apply(node, a), node, path.get(k), node.getCost() + 1, 0);
+        }
+        if (!node.satisfy(problem.getGoal())) {
+            LOGGER.error("* Invalid path: goal not satisfied\n");
+            return null;
+        }
+        return this.extractPlan(node, problem);
+    }
+
+    /**
+     * Extracts a search from a specified node.
+     *
+     * @param node    the node.
+     * @param problem the problem.
+     * @return the search extracted from the specified node.
+     */
+    private Plan extractPlan(final Node node, final Problem problem) {
+        Node n = node;
+        final Plan plan = new SequentialPlan();
+        while (n.getAction() != -1) {
+            final Action a = problem.getActions().get(n.getAction());
+            plan.add(0, a);
+            n = n.getParent();
+        }
+        return plan;
+    }
+
+    /**
+     * Spawns a worker as a local process. The worker runs with the class path and the memory options of the
+     * coordinator.
+     *
+     * @param port the port of the coordinator.
+     * @return the process of the worker.
+     * @throws IOException if the process cannot be started.
+     */
+    private Process spawn(final int port) throws IOException {
+        final List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        for (String option : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (option.startsWith("-Xm") || option.startsWith("-Xss")) {
+                command.add(option);
+            }
+        }
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(DistributedSearch.class.getName());
+        command.add(this.getDomain());
+        command.add(this.getProblem());
+        command.add("--connect");
+        command.add("localhost:" + port);
+        command.add("--log");
+        command.add("ERROR");
+        return new ProcessBuilder(command).inheritIO().start();
+    }
+
+    /**
+     * Runs the planner. In worker mode, the planner parses and instantiates the problem and runs a worker until
+     * the coordinator stops it.
+     *
+     * @return 0 if the planner succeeded, 1 otherwise.
+     */
+    @Override
+    public Integer call() {
+        if (this.getConnect() == null) {
+            return super.call();
+        }
+        final int separator = this.getConnect().lastIndexOf(':');
+        try {
+            final DefaultParsedProblem parsed = this.parse();
+            if (!this.getParserErrorManager().isEmpty()) {
+                this.getParserErrorManager().printAll();
+                return 1;
+            }
+            final Problem problem = this.instantiate(parsed);
+            new Worker(problem, this.getConnect().substring(0, separator),
+                Integer.parseInt(this.getConnect().substring(separator + 1))).run();
+            return 0;
+        } catch (IOException e) {
+            LOGGER.error("* Worker failed: " + e.getMessage() + "\n");
+            return 1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 1;
+        }
+    }
+
+    /**
+     * Search a solution plan to a specified domain and problem using the distributed search.
+     *
+     * @param problem the problem to solve.
+     * @return the plan found or null if no plan was found.
+     */
+    @Override
+    public Plan solve(final Problem problem) {
+        LOGGER.info("* Starting distributed search \n");
+        // Search a solution
+        final long begin = System.currentTimeMillis();
+        Plan plan = null;
+        try {
+            plan = this.distributedSearch(problem);
+        } catch (ProblemNotSupportedException e) {
+            LOGGER.fatal(e.getMessage());
+        }
+        final long end = System.currentTimeMillis();
+        // If a plan is found update the statistics of the planner
+        // and log search information
+        if (plan != null) {
+            LOGGER.info("* Distributed search succeeded\n");
+            this.getStatistics().setTimeToSearch(end - begin);
+        } else {
+            LOGGER.info("* Distributed search failed\n");
+        }
+        // Return the plan found or null if the search fails.
+        return plan;
+    }
+
+    /**
+     * The main method of the <code>DistributedSearch</code> planner.
+     *
+     * @param args the arguments of the command line.
+     */
+    public static void main(String[] args) {
+        try {
+            final DistributedSearch planner = new DistributedSearch();
+            CommandLine cmd = new CommandLine(planner);
+            cmd.execute(args);
+        } catch (IllegalArgumentException e) {
+            LOGGER.fatal(e.getMessage());
+        }
+    }
+
+    /**
+     * This class implements the connection of the coordinator to a worker.
+     */
+    private static final class Connection {
+
+        /**
+         * The socket of the connection.
+         */
+        private final Socket socket;
+
+        /**
+         * The input stream of the connection.
+         */
+        private final DataInputStream in;
+
+        /**
+         * The output stream of the connection.
+         */
+        private final DataOutputStream out;
+
+        /**
+         * The port where the worker accepts the connections of the other workers.
+         */
+        private int port;
+
+        /**
+         * Creates a new connection.
+         *
+         * @param socket the socket of the connection.
+         * @throws IOException if the streams of the socket cannot be opened.
+         */
+        private Connection(final Socket socket) throws IOException {
+            this.socket = socket;
+            this.socket.setTcpNoDelay(true);
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        }
+
+        /**
+         * Reads the message of a worker joining the search.
+         *
+         * @param fingerprint the fingerprint of the problem of the coordinator.
+         * @return the fingerprint of the problem of the worker.
+         * @throws IOException if the message cannot be read.
+         */
+        private String join(final String fingerprint) throws IOException {
+            this.socket.setSoTimeout((int) DistributedSearch.STOP_DELAY);
+            Protocol.readHeader(this.in);
+            if (this.in.readByte() != Protocol.HELLO) {
+                throw new IOException("Unexpected message from a worker");
+            }
+            final String other = this.in.readUTF();
+            this.port = this.in.readInt();
+            Protocol.writeHeader(this.out);
+            return other;
+        }
+
+        /**
+         * Rejects the worker and closes the connection.
+         *
+         * @param reason the reason of the rejection.
+         * @throws IOException if the message cannot be sent.
+         */
+        private void reject(final String reason) throws IOException {
+            this.out.writeByte(Protocol.REJECT);
+            this.out.writeUTF(reason);
+            this.out.flush();
+            this.close();
+        }
+
+        /**
+         * Accepts the worker and sends it its identifier, the search options and the addresses of the workers.
+         *
+         * @param id          the identifier of the worker.
+         * @param connections the connections to all the workers.
+         * @param planner     the planner.
+         * @throws IOException if the message cannot be sent.
+         */
+        private void welcome(final int id, final Connection[] connections, final DistributedSearch planner)
+            throws IOException {
+            this.out.writeByte(Protocol.WELCOME);
+            this.out.writeInt(id);
+            this.out.writeInt(connections.length);
+            this.out.writeUTF(planner.getHeuristic().toString());
+            this.out.writeDouble(planner.getHeuristicWeight());
+            this.out.writeInt(planner.getBatchSize());
+            for (Connection c : connections) {
+                this.out.writeUTF(c.socket.getInetAddress().getHostAddress());
+                this.out.writeInt(c.port);
+            }
+            this.out.flush();
+        }
+
+        /**
+         * Waits until the worker is connected to the other workers.
+         *
+         * @throws IOException if the worker does not answer.
+         */
+        private void ready() throws IOException {
+            if (this.in.readByte() != Protocol.READY) {
+                throw new IOException("Unexpected message from a worker");
+            }
+        }
+
+        /**
+         * Starts a thread reading the messages of the worker and adding them to a queue of events.
+         *
+         * @param worker the identifier of the worker.
+         * @param events the queue of events.
+         * @throws IOException if the connection cannot be configured.
+         */
+        private void listen(final int worker, final BlockingQueue<Event> events) throws IOException {
+            this.socket.setSoTimeout(0);
+            final Thread thread = new Thread(() -> {
+                try {
+                    while (true) {
+                        final byte type = this.in.readByte();
+                        final long[] values;
+                        switch (type) {
+                            case Protocol.STATUS:
+                                values = new long[] {this.in.readInt(), this.in.readBoolean() ? 1 : 0,
+                                    Double.doubleToLongBits(this.in.readDouble()), this.in.readLong(),
+                                    this.in.readLong()};
+                                break;
+                            case Protocol.GOAL:
+                                values = new long[] {this.in.readInt(), this.in.readInt()};
+                                break;
+                            case Protocol.NODE:
+                                values = new long[] {this.in.readInt(), this.in.readInt(), this.in.readInt(),
+                                    this.in.readInt()};
+                                break;
+                            case Protocol.BYE:
+                                values = new long[Protocol.STATISTICS];
+                                for (int i = 0; i < values.length; i++) {
+                                    values[i] = this.in.readLong();
+                                }
+                                events.add(new Event(worker, type, values));
+                                return;
+                            default:
+                                throw new IOException("Unexpected message " + type);
+                        }
+                        events.add(new Event(worker, type, values));
+                    }
+                } catch (IOException e) {
+                    events.add(new Event(worker, Event.LOST, null));
+                }
+            }, "coordinator-" + worker);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        /**
+         * Sends a message without argument to the worker.
+         *
+         * @param type the type of the message.
+         * @throws IOException if the message cannot be sent.
+         */
+        private void send(final byte type) throws IOException {
+            this.out.writeByte(type);
+            this.out.flush();
+        }
+
+        /**
+         * Sends a message with an argument to the worker.
+         *
+         * @param type     the type of the message.
+         * @param argument the argument of the message.
+         * @throws IOException if the message cannot be sent.
+         */
+        private void send(final byte type, final int argument) throws IOException {
+            this.out.writeByte(type);
+            this.out.writeInt(argument);
+            this.out.flush();
+        }
+
+        /**
+         * Closes the connection.
+         */
+        private void close() {
+            try {
+                this.socket.close();
+            } catch (IOException e) {
+                // The connection is already closed
+            }
+        }
+    }
+
+    /**
+     * This class implements a message received from a worker.
+     */
+    private static final class Event {
+
+        /**
+         * The type of the events signaling a lost connection.
+         */
+        private static final byte LOST = -1;
+
+        /**
+         * The identifier of the worker.
+         */
+        private final int worker;
+
+        /**
+         * The type of the message.
+         */
+        private final byte type;
+
+        /**
+         * The values of the message.
+         */
+        private final long[] values;
+
+        /**
+         * Creates a new event.
+         *
+         * @param worker the identifier of the worker.
+         * @param type   the type of the message.
+         * @param values the values of the message.
+         */
+        private Event(final int worker, final byte type, final long[] values) {
+            this.worker = worker;
+            this.type = type;
+            this.values = values;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package fr.uga.pddl4j.examples.distributed;
+
+import fr.uga.pddl4j.examples.StateHash;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * This class defines the messages exchanged by the coordinator and the workers of a distributed search. All the
+ * messages are binary frames made of a type byte followed by the fields of the message, written with a
+ * {@link DataOutputStream}.
+ * <p>
+ * The coordinator and a worker exchange control messages on a single connection:
+ * </p>
+ * <ul>
+ * <li>{@link #HELLO} (worker): magic number, version, fingerprint of the problem and port of the worker;</li>
+ * <li>{@link #WELCOME} (coordinator): identifier of the worker, number of workers, heuristic, weight, batch size
+ * and addresses of all the workers, or {@link #REJECT} with the reason;</li>
+ * <li>{@link #READY} (worker) when its connections to the other workers are open, then {@link #START}
+ * (coordinator);</li>
+ * <li>{@link #PROBE} (coordinator) and {@link #STATUS} (worker) for the termination detection;</li>
+ * <li>{@link #GOAL} (worker) when a goal state is popped, and {@link #BOUND} (coordinator) with the cost of the
+ * best goal found;</li>
+ * <li>{@link #HALT}, {@link #TRACE} and {@link #NODE} to rebuild the path of the best goal on the
+ * coordinator;</li>
+ * <li>{@link #STOP} (coordinator) and {@link #BYE} (worker) with the statistics of the worker.</li>
+ * </ul>
+ * <p>
+ * The workers exchange the states they generate on one connection per ordered pair of workers, in
+ * {@link #STATES} frames of at most <code>batch size</code> states. Each state is written on the number of words
+ * of the fluents of the problem, given by {@link #words(int)}.
+ * </p>
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+final class Protocol {
+
+    /**
+     * The magic number sent at the beginning of a connection.
+     */
+    static final int MAGIC = 0x50444453;
+
+    /**
+     * The version of the protocol.
+     */
+    static final int VERSION = 4;
+
+    /**
+     * The message sent by a worker to join the search.
+     */
+    static final byte HELLO = 1;
+
+    /**
+     * The message sent by the coordinator to accept a worker.
+     */
+    static final byte WELCOME = 2;
+
+    /**
+     * The message sent by the coordinator to reject a worker.
+     */
+    static final byte REJECT = 3;
+
+    /**
+     * The message sent by a worker when it is connected to the other workers.
+     */
+    static final byte READY = 4;
+
+    /**
+     * The message sent by the coordinator to start the search.
+     */
+    static final byte START = 5;
+
+    /**
+     * The message sent by the coordinator to probe the activity of a worker.
+     */
+    static final byte PROBE = 6;
+
+    /**
+     * The answer of a worker to a probe.
+     */
+    static final byte STATUS = 7;
+
+    /**
+     * The message sent by a worker when it finds a goal state.
+     */
+    static final byte GOAL = 8;
+
+    /**
+     * The message sent by the coordinator to stop the expansions.
+     */
+    static final byte HALT = 9;
+
+    /**
+     * The message sent by the coordinator to get the parent of a node.
+     */
+    static final byte TRACE = 10;
+
+    /**
+     * The answer of a worker to a trace.
+     */
+    static final byte NODE = 11;
+
+    /**
+     * The message sent by the coordinator to stop a worker.
+     */
+    static final byte STOP = 12;
+
+    /**
+     * The last message of a worker.
+     */
+    static final byte BYE = 13;
+
+    /**
+     * The message containing a batch of states sent by a worker to another worker.
+     */
+    static final byte STATES = 14;
+
+    /**
+     * The message sent by the coordinator with the cost of the best goal found.
+     */
+    static final byte BOUND = 15;
+
+    /**
+     * The number of statistics sent in a {@link #BYE} message.
+     */
+    static final int STATISTICS = 6;
+
+    /**
+     * Creates a new protocol. This class cannot be instantiated.
+     */
+    private Protocol() {
+    }
+
+    /**
+     * Returns the worker owning a state. The states are partitioned by a hash of their words, so that the
+     * successors of a state are spread uniformly over the workers.
+     *
+     * @param words   the words of the state.
+     * @param workers the number of workers.
+     * @return the identifier of the worker owning the state.
+     */
+    static int owner(final long[] words, final int workers) {
+        return (int) ((StateHash.hash(words, StateHash.SEED) >>> 1) % workers);
+    }
+
+    /**
+     * Returns the number of words of the states sent in the batches, i.e., the number of 64-bit words needed to
+     * store the fluents of the problem.
+     *
+     * @param fluents the number of fluents of the problem.
+     * @return the number of words of the states sent.
+     */
+    static int words(final int fluents) {
+        return (fluents + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    /**
+     * Reads the header of a connection.
+     *
+     * @param in the input stream of the connection.
+     * @throws IOException if the header is not the header of the protocol.
+     */
+    static void readHeader(final DataInputStream in) throws IOException {
+        if (in.readInt() != Protocol.MAGIC) {
+            throw new IOException("Unknown protocol");
+        }
+        if (in.readInt() != Protocol.VERSION) {
+            throw new IOException("Unsupported protocol version");
+        }
+    }
+
+    /**
+     * Writes the header of a connection.
+     *
+     * @param out the output stream of the connection.
+     * @throws IOException if the header cannot be written.
+     */
+    static void writeHeader(final DataOutputStream out) throws IOException {
+        out.writeInt(Protocol.MAGIC);
+        out.writeInt(Protocol.VERSION);
+    }
+
+
+    /**
+     * This class implements a batch of states received from another worker.
+     */
+    static final class Batch {
+
+        /**
+         * The identifier of the worker that sent the batch.
+         */
+        final int sender;
+
+        /**
+         * The identifiers of the parents of the states on the sender.
+         */
+        final int[] parents;
+
+        /**
+         * The actions applied to the parents.
+         */
+        final int[] actions;
+
+        /**
+         * The costs of the states.
+         */
+        final int[] costs;
+
+        /**
+         * The words of the states.
+         */
+        final long[][] words;
+
+        /**
+         * Reads a batch from a stream. The type of the frame is assumed to be already read. The sizes read are
+         * checked before any allocation, since they come from another process.
+         *
+         * @param sender    the identifier of the worker that sent the batch.
+         * @param in        the input stream.
+         * @param batchSize the maximum number of states of a batch.
+         * @param words     the number of words of each state.
+         * @throws IOException if the batch cannot be read or if a size is invalid.
+         */
+        Batch(final int sender, final DataInputStream in, final int batchSize, final int words)
+            throws IOException {
+            this.sender = sender;
+            final int size = in.readInt();
+            if (size < 0 || size > batchSize) {
+                throw new IOException("invalid batch size " + size);
+            }
+            this.parents = new int[size];
+            this.actions = new int[size];
+            this.costs = new int[size];
+            this.words = new long[size][];
+            for (int i = 0; i < size; i++) {
+                this.parents[i] = in.readInt();
+                this.actions[i] = in.readInt();
+                this.costs[i] = in.readInt();
+                final int length = in.readInt();
+                if (length != words) {
+                    throw new IOException("invalid state length " + length);
+                }
+                final long[] w = new long[length];
+                for (int j = 0; j < w.length; j++) {
+                    w[j] = in.readLong();
+                }
+                this.words[i] = w;
+            }
+        }
+
+        /**
+         * Returns the number of states of the batch.
+         *
+         * @return the number of states of the batch.
+         */
+        int size() {
+            return this.parents.length;
+        }
+    }
+}
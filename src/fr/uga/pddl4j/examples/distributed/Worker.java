@@ -0,0 +1,820 @@
+package fr.uga.pddl4j.examples.distributed;
+
+import fr.uga.pddl4j.examples.ProblemFingerprint;
+import fr.uga.pddl4j.examples.Successors;
+import fr.uga.pddl4j.examples.heuristics.Heuristics;
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.Condition;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class implements a worker of a distributed search. The worker owns the states of the problem whose hash
+ * is mapped to its identifier by {@link Protocol#owner(long[], int)}: it stores them, evaluates them with its
+ * heuristic and expands them in A* order. The successors owned by another worker are sent to it in batches.
+ * <p>
+ * The worker goes on searching after a goal state: it reports the cost of each goal state to the coordinator,
+ * which broadcasts the cost of the best goal found, the bound. The states whose value <code>f = g + w.h</code>
+ * is not lower than the bound are neither opened nor expanded, so the worker becomes idle once all its open states
+ * reach the bound. The states reached again with a lower cost are reopened, since another worker can send a
+ * cheaper path to a state already expanded.
+ * </p>
+ * <p>
+ * Each connection to another worker is written by a dedicated thread fed by a bounded queue of batches, and each
+ * connection from another worker is read by a dedicated thread filling a bounded inbox. When a queue of batches
+ * is full, the search thread waits and meanwhile empties its inbox, so that the workers slow down to the pace
+ * of the slowest one without deadlock: a full inbox stops the reading of the connections, TCP stops the
+ * writers of the other workers and their search threads wait in turn.
+ * </p>
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+final class Worker {
+
+    /**
+     * The class logger.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(Worker.class.getName());
+
+    /**
+     * The number of batches in the queue of a connection to another worker.
+     */
+    private static final int OUTBOX_CAPACITY = 16;
+
+    /**
+     * The number of batches in the inbox.
+     */
+    private static final int INBOX_CAPACITY = 64;
+
+    /**
+     * The number of nodes expanded between two checks of the messages.
+     */
+    private static final int EXPANSIONS = 32;
+
+    /**
+     * The maximum time in ms a partial batch waits before being sent.
+     */
+    private static final long LINGER = 10;
+
+    /**
+     * The frame queued to close a connection to another worker.
+     */
+    private static final byte[] CLOSE = new byte[0];
+
+    /**
+     * The problem to solve.
+     */
+    private final Problem problem;
+
+    /**
+     * The host of the coordinator.
+     */
+    private final String host;
+
+    /**
+     * The port of the coordinator.
+     */
+    private final int port;
+
+    /**
+     * The identifier of the worker.
+     */
+    private int id;
+
+    /**
+     * The number of workers.
+     */
+    private int workers;
+
+    /**
+     * The heuristic of the search.
+     */
+    private StateHeuristic heuristic;
+
+    /**
+     * The weight of the heuristic.
+     */
+    private double weight;
+
+    /**
+     * The maximum number of states of a batch.
+     */
+    private int batchSize;
+
+    /**
+     * The number of words of the states sent in the batches.
+     */
+    private final int words;
+
+    /**
+     * The output stream of the connection to the coordinator.
+     */
+    private DataOutputStream control;
+
+    /**
+     * The control messages received from the coordinator: the type followed by the argument.
+     */
+    private final BlockingQueue<int[]> controls = new LinkedBlockingQueue<>();
+
+    /**
+     * The batches received from the other workers.
+     */
+    private final BlockingQueue<Protocol.Batch> inbox = new ArrayBlockingQueue<>(Worker.INBOX_CAPACITY);
+
+    /**
+     * The queues of the batches to send to each worker.
+     */
+    private List<BlockingQueue<byte[]>> outboxes;
+
+    /**
+     * The threads writing the connections to the other workers.
+     */
+    private List<Thread> writers;
+
+    /**
+     * The states of the next batch to send to each worker.
+     */
+    private ByteArrayOutputStream[] buffers;
+
+    /**
+     * The streams writing the states of the next batch to send to each worker.
+     */
+    private DataOutputStream[] streams;
+
+    /**
+     * The number of states of the next batch to send to each worker.
+     */
+    private int[] counts;
+
+    /**
+     * The identifiers of the states stored by the worker.
+     */
+    private final Map<State, Integer> ids = new HashMap<>();
+
+    /**
+     * The workers storing the parents of the states.
+     */
+    private int[] parentWorkers = new int[1024];
+
+    /**
+     * The identifiers of the parents of the states on their worker.
+     */
+    private int[] parentIds = new int[1024];
+
+    /**
+     * The actions applied to the parents of the states.
+     */
+    private int[] actions = new int[1024];
+
+    /**
+     * The best costs found for the states.
+     */
+    private int[] costs = new int[1024];
+
+    /**
+     * The heuristic values of the states.
+     */
+    private int[] heuristics = new int[1024];
+
+    /**
+     * The states already expanded.
+     */
+    private final BitSet closed = new BitSet();
+
+    /**
+     * The open list.
+     */
+    private PriorityQueue<Entry> open;
+
+    /**
+     * The cost of the best goal state found by the workers, known from the coordinator or from the goal states of
+     * the worker, or <code>Integer.MAX_VALUE</code>.
+     */
+    private int bound = Integer.MAX_VALUE;
+
+    /**
+     * The flag set when the coordinator halts the search to rebuild the plan.
+     */
+    private volatile boolean halted;
+
+    /**
+     * The flag set when the coordinator stops the worker.
+     */
+    private volatile boolean stopped;
+
+    /**
+     * The statistics of the worker: nodes expanded, states generated, states sent, states received, duplicates
+     * and batches sent.
+     */
+    private final long[] statistics = new long[Protocol.STATISTICS];
+
+    /**
+     * The time of the last sending of the partial batches.
+     */
+    private long flushed;
+
+    /**
+     * The error of a thread of the worker or <code>null</code>.
+     */
+    private volatile IOException failure;
+
+    /**
+     * Creates a new worker.
+     *
+     * @param problem the problem to solve.
+     * @param host    the host of the coordinator.
+     * @param port    the port of the coordinator.
+     */
+    Worker(final Problem problem, final String host, final int port) {
+        this.problem = problem;
+        this.words = Protocol.words(problem.getFluents().size());
+        this.host = host;
+        this.port = port;
+    }
+
+    /**
+     * Joins the coordinator, connects to the other workers and runs the search until the coordinator stops the
+     * worker.
+     *
+     * @throws IOException          if a connection fails or if the coordinator rejects the worker.
+     * @throws InterruptedException if the worker is interrupted.
+     */
+    void run() throws IOException, InterruptedException {
+        try (ServerSocket server = new ServerSocket(0);
+             Socket socket = new Socket(this.host, this.port)) {
+            socket.setTcpNoDelay(true);
+            this.control = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            final DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+
+            // We join the coordinator with the fingerprint of the problem and the port of the worker
+            Protocol.writeHeader(this.control);
+            this.control.writeByte(Protocol.HELLO);
+            this.control.writeUTF(ProblemFingerprint.of(this.problem));
+            this.control.writeInt(server.getLocalPort());
+            this.control.flush();
+            Protocol.readHeader(in);
+            final byte answer = in.readByte();
+            if (answer == Protocol.REJECT) {
+                throw new IOException("Rejected by the coordinator: " + in.readUTF());
+            } else if (answer != Protocol.WELCOME) {
+                throw new IOException("Unexpected message " + answer);
+            }
+            this.id = in.readInt();
+            this.workers = in.readInt();
+            final Heuristics.Name name = Heuristics.Name.valueOf(in.readUTF());
+            this.weight = in.readDouble();
+            this.batchSize = in.readInt();
+            final String[] hosts = new String[this.workers];
+            final int[] ports = new int[this.workers];
+            for (int w = 0; w < this.workers; w++) {
+                hosts[w] = in.readUTF();
+                ports[w] = in.readInt();
+            }
+            LOGGER.info("* Worker " + this.id + " of " + this.workers + " joined " + this.host + ":" + this.port
+                + "\n");
+
+            // We accept the connections of the other workers and open ours to them
+            final List<Socket> sockets = new ArrayList<>();
+            final Thread acceptor = this.daemon(() -> this.accept(server), "acceptor");
+            this.outboxes = new ArrayList<>();
+            this.writers = new ArrayList<>();
+            for (int w = 0; w < this.workers; w++) {
+                final BlockingQueue<byte[]> outbox = new ArrayBlockingQueue<>(Worker.OUTBOX_CAPACITY);
+                this.outboxes.add(outbox);
+                if (w == this.id) {
+                    this.writers.add(null);
+                } else {
+                    final Socket peer = new Socket(hosts[w], ports[w]);
+                    peer.setTcpNoDelay(true);
+                    sockets.add(peer);
+                    final DataOutputStream out = new DataOutputStream(
+                        new BufferedOutputStream(peer.getOutputStream(), 1 << 16));
+                    Protocol.writeHeader(out);
+                    out.writeInt(this.id);
+                    out.flush();
+                    this.writers.add(this.daemon(() -> this.write(outbox, out), "writer-" + w));
+                }
+            }
+            this.control.writeByte(Protocol.READY);
+            this.control.flush();
+            if (in.readByte() != Protocol.START) {
+                throw new IOException("Search not started by the coordinator");
+            }
+            this.daemon(() -> this.listen(in), "control");
+
+            // We run the search until the coordinator stops the worker
+            this.heuristic = Heuristics.getInstance(name, this.problem, null, false);
+            try {
+                this.search();
+            } finally {
+                for (int w = 0; w < this.workers; w++) {
+                    if (w != this.id) {
+                        this.outboxes.get(w).offer(Worker.CLOSE);
+                        this.writers.get(w).join(1000);
+                    }
+                }
+                acceptor.interrupt();
+                for (Socket s : sockets) {
+                    s.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Searches the states owned by the worker.
+     *
+     * @throws IOException          if a connection fails.
+     * @throws InterruptedException if the worker is interrupted.
+     */
+    private void search() throws IOException, InterruptedException {
+        final Condition goal = this.problem.getGoal();
+        this.open = new PriorityQueue<>(1024, (e1, e2) -> {
+            final int cmp = Double.compare(e1.cost + this.weight * e1.heuristic,
+                e2.cost + this.weight * e2.heuristic);
+            return cmp != 0 ? cmp : Integer.compare(e1.heuristic, e2.heuristic);
+        });
+        this.buffers = new ByteArrayOutputStream[this.workers];
+        this.streams = new DataOutputStream[this.workers];
+        this.counts = new int[this.workers];
+        for (int w = 0; w < this.workers; w++) {
+            this.buffers[w] = new ByteArrayOutputStream();
+            this.streams[w] = new DataOutputStream(this.buffers[w]);
+        }
+
+        // We store the initial state if the worker owns it
+        final State init = new State(this.problem.getInitialState());
+        if (Protocol.owner(init.toLongArray(), this.workers) == this.id) {
+            this.insert(init, -1, -1, -1, 0);
+        }
+        this.flushed = System.currentTimeMillis();
+        while (!this.stopped) {
+            this.check();
+            this.receive();
+            if (this.halted || !this.isActive()) {
+                // We send the partial batches and wait for new states
+                this.flush();
+                final Protocol.Batch batch = this.inbox.poll(1, TimeUnit.MILLISECONDS);
+                if (batch != null) {
+                    this.insert(batch);
+                }
+            } else {
+                for (int k = 0; k < Worker.EXPANSIONS && !this.halted && this.isActive(); k++) {
+                    this.expand(goal);
+                }
+                if (System.currentTimeMillis() - this.flushed >= Worker.LINGER) {
+                    this.flush();
+                }
+            }
+        }
+    }
+
+    /**
+     * Expands the best node of the open list.
+     *
+     * @param goal the goal of the problem.
+     * @throws IOException          if a connection fails.
+     * @throws InterruptedException if the worker is interrupted.
+     */
+    private void expand(final Condition goal) throws IOException, InterruptedException {
+        final Entry entry = this.open.poll();
+        if (this.closed.get(entry.id) || entry.cost > this.costs[entry.id]) {
+            return;
+        }
+        this.closed.set(entry.id);
+        final State state = entry.state;
+
+        // If the goal is satisfied, we report the node to the coordinator, which broadcasts its cost as the new
+        // bound and rebuilds the plan of the best goal at the end of the search
+        if (state.satisfy(goal)) {
+            this.control.writeByte(Protocol.GOAL);
+            this.control.writeInt(entry.id);
+            this.control.writeInt(entry.cost);
+            this.control.flush();
+            this.bound = Math.min(this.bound, entry.cost);
+            return;
+        }
+        this.statistics[0]++;
+        final List<Action> operators = this.problem.getActions();
+        for (int a = 0; a < operators.size(); a++) {
+            final Action action = operators.get(a);
+            if (action.isApplicable(state)) {
+                final State next = Successors.apply(state, action);
+                this.statistics[1]++;
+                final long[] words = next.toLongArray();
+                final int owner = Protocol.owner(words, this.workers);
+                if (owner == this.id) {
+                    this.insert(next, this.id, entry.id, a, entry.cost + 1);
+                } else {
+                    this.buffer(owner, entry.id, a, entry.cost + 1, words);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stores a state reached with a specified cost if it is new or if the cost is lower than the cost of the
+     * state stored, and inserts it in the open list if its value is lower than the bound. Unlike ASP, the states
+     * already expanded are reopened: the states are not expanded in the global order of their value.
+     *
+     * @param state        the state.
+     * @param parentWorker the worker storing the parent of the state.
+     * @param parentId     the identifier of the parent on its worker.
+     * @param action       the action applied to the parent.
+     * @param cost         the cost of the state.
+     */
+    private void insert(final State state, final int parentWorker, final int parentId, final int action,
+                        final int cost) {
+        final Integer known = this.ids.get(state);
+        final int i;
+        if (known == null) {
+            i = this.ids.size();
+            if (i == this.costs.length) {
+                final int capacity = i * 2;
+                this.parentWorkers = Arrays.copyOf(this.parentWorkers, capacity);
+                this.parentIds = Arrays.copyOf(this.parentIds, capacity);
+                this.actions = Arrays.copyOf(this.actions, capacity);
+                this.costs = Arrays.copyOf(this.costs, capacity);
+                this.heuristics = Arrays.copyOf(this.heuristics, capacity);
+            }
+            this.ids.put(state, i);
+            this.heuristics[i] = this.heuristic.estimate(state, this.problem.getGoal());
+        } else if (this.costs[known] <= cost) {
+            this.statistics[4]++;
+            return;
+        } else {
+            i = known;
+            this.closed.clear(i);
+        }
+        this.parentWorkers[i] = parentWorker;
+        this.parentIds[i] = parentId;
+        this.actions[i] = action;
+        this.costs[i] = cost;
+        // We do not open the dead ends detected by the heuristic and the states that cannot improve the bound
+        if (this.heuristics[i] != Integer.MAX_VALUE && cost + this.weight * this.heuristics[i] < this.bound) {
+            this.open.add(new Entry(state, i, cost, this.heuristics[i]));
+        }
+    }
+
+    /**
+     * Returns the lowest value of the open states or <code>Double.POSITIVE_INFINITY</code> if the open list is
+     * empty. The value of an entry made obsolete by a lower cost is counted, so the value returned is a lower
+     * bound.
+     *
+     * @return the lowest value of the open states.
+     */
+    private double getMinimumValue() {
+        final Entry first = this.open.peek();
+        return first == null ? Double.POSITIVE_INFINITY : first.cost + this.weight * first.heuristic;
+    }
+
+    /**
+     * Returns if the worker has an open state whose value is lower than the bound.
+     *
+     * @return <code>true</code> if the worker has an open state to expand.
+     */
+    private boolean isActive() {
+        return this.getMinimumValue() < this.bound;
+    }
+
+    /**
+     * Stores the states of a batch received from another worker.
+     *
+     * @param batch the batch.
+     */
+    private void insert(final Protocol.Batch batch) {
+        for (int k = 0; k < batch.size(); k++) {
+            final State state = new State();
+            final long[] words = batch.words[k];
+            for (int w = 0; w < words.length; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    state.set(w * Long.SIZE + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            this.insert(state, batch.sender, batch.parents[k], batch.actions[k], batch.costs[k]);
+        }
+        this.statistics[3] += batch.size();
+    }
+
+    /**
+     * Stores the batches received from the other workers without waiting.
+     *
+     * @throws IOException if a connection failed.
+     */
+    private void receive() throws IOException {
+        if (this.failure != null) {
+            throw this.failure;
+        }
+        Protocol.Batch batch = this.inbox.poll();
+        while (batch != null) {
+            this.insert(batch);
+            batch = this.inbox.poll();
+        }
+    }
+
+    /**
+     * Adds a state to the next batch sent to its owner and sends the batch when it is full.
+     *
+     * @param owner  the owner of the state.
+     * @param parent the identifier of the parent of the state.
+     * @param action the action applied to the parent.
+     * @param cost   the cost of the state.
+     * @param words  the words of the state.
+     * @throws IOException          if a connection fails.
+     * @throws InterruptedException if the worker is interrupted.
+     */
+    private void buffer(final int owner, final int parent, final int action, final int cost, final long[] words)
+        throws IOException, InterruptedException {
+        final DataOutputStream out = this.streams[owner];
+        out.writeInt(parent);
+        out.writeInt(action);
+        out.writeInt(cost);
+        // The states are written on a fixed number of words, checked by the receiver
+        out.writeInt(this.words);
+        for (long word : words) {
+            out.writeLong(word);
+        }
+        for (int w = words.length; w < this.words; w++) {
+            out.writeLong(0L);
+        }
+        this.statistics[2]++;
+        if (++this.counts[owner] == this.batchSize) {
+            this.send(owner);
+        }
+    }
+
+    /**
+     * Sends the partial batches.
+     *
+     * @throws IOException          if a connection fails.
+     * @throws InterruptedException if the worker is interrupted.
+     */
+    private void flush() throws IOException, InterruptedException {
+        for (int w = 0; w < this.workers; w++) {
+            if (this.counts[w] > 0) {
+                this.send(w);
+            }
+        }
+        this.flushed = System.currentTimeMillis();
+    }
+
+    /**
+     * Queues the next batch of a worker. While the queue is full, the batches received are stored so that the
+     * other workers can progress.
+     *
+     * @param owner the worker.
+     * @throws IOException          if a connection fails.
+     * @throws InterruptedException if the worker is interrupted.
+     */
+    private void send(final int owner) throws IOException, InterruptedException {
+        final ByteArrayOutputStream frame = new ByteArrayOutputStream(this.buffers[owner].size() + 5);
+        final DataOutputStream out = new DataOutputStream(frame);
+        out.writeByte(Protocol.STATES);
+        out.writeInt(this.counts[owner]);
+        this.buffers[owner].writeTo(frame);
+        this.buffers[owner].reset();
+        this.counts[owner] = 0;
+        this.statistics[5]++;
+        final byte[] bytes = frame.toByteArray();
+        while (!this.outboxes.get(owner).offer(bytes, 1, TimeUnit.MILLISECONDS)) {
+            this.receive();
+            this.check();
+            if (this.stopped) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Handles the control messages received from the coordinator without waiting.
+     *
+     * @throws IOException if the connection to the coordinator fails.
+     */
+    private void check() throws IOException {
+        int[] message = this.controls.poll();
+        while (message != null) {
+            switch (message[0]) {
+                case Protocol.PROBE:
+                    // The worker is quiet if it has no state to store or to send. The coordinator compares the
+                    // lowest value of its open states with the bound
+                    boolean quiet = this.halted || this.inbox.isEmpty();
+                    for (int w = 0; w < this.workers && quiet; w++) {
+                        quiet = this.counts[w] == 0;
+                    }
+                    this.control.writeByte(Protocol.STATUS);
+                    this.control.writeInt(message[1]);
+                    this.control.writeBoolean(quiet);
+                    this.control.writeDouble(this.halted ? Double.POSITIVE_INFINITY : this.getMinimumValue());
+                    this.control.writeLong(this.statistics[2]);
+                    this.control.writeLong(this.statistics[3]);
+                    break;
+                case Protocol.BOUND:
+                    this.bound = Math.min(this.bound, message[1]);
+                    break;
+                case Protocol.HALT:
+                    this.halted = true;
+                    break;
+                case Protocol.TRACE:
+                    final int i = message[1];
+                    this.control.writeByte(Protocol.NODE);
+                    this.control.writeInt(i);
+                    this.control.writeInt(this.parentWorkers[i]);
+                    this.control.writeInt(this.parentIds[i]);
+                    this.control.writeInt(this.actions[i]);
+                    break;
+                case Protocol.STOP:
+                    this.control.writeByte(Protocol.BYE);
+                    for (long s : this.statistics) {
+                        this.control.writeLong(s);
+                    }
+                    this.stopped = true;
+                    break;
+                default:
+                    throw new IOException("Unexpected message " + message[0]);
+            }
+            this.control.flush();
+            message = this.controls.poll();
+        }
+    }
+
+    /**
+     * Reads the control messages of the coordinator. The worker stops if the connection is closed.
+     *
+     * @param in the input stream of the connection to the coordinator.
+     */
+    private void listen(final DataInputStream in) {
+        try {
+            while (true) {
+                final byte type = in.readByte();
+                final int argument = type == Protocol.PROBE || type == Protocol.TRACE || type == Protocol.BOUND
+                    ? in.readInt() : 0;
+                this.controls.add(new int[] {type, argument});
+                if (type == Protocol.STOP) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.error("* Connection to the coordinator lost\n");
+            this.halted = true;
+            this.controls.add(new int[] {Protocol.STOP, 0});
+        }
+    }
+
+    /**
+     * Accepts the connections of the other workers and starts a thread reading each of them.
+     *
+     * @param server the server socket of the worker.
+     */
+    private void accept(final ServerSocket server) {
+        try {
+            for (int w = 1; w < this.workers; w++) {
+                final Socket peer = server.accept();
+                this.daemon(() -> this.read(peer), "reader");
+            }
+        } catch (IOException e) {
+            this.failure = e;
+        }
+    }
+
+    /**
+     * Reads the batches sent by another worker and puts them in the inbox. The reading blocks while the inbox is
+     * full.
+     *
+     * @param peer the connection from the other worker.
+     */
+    private void read(final Socket peer) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(peer.getInputStream(), 1 << 16))) {
+            Protocol.readHeader(in);
+            final int sender = in.readInt();
+            if (sender < 0 || sender >= this.workers || sender == this.id) {
+                throw new IOException("invalid sender " + sender);
+            }
+            while (true) {
+                final byte type = in.readByte();
+                if (type != Protocol.STATES) {
+                    throw new IOException("Unexpected message " + type);
+                }
+                this.inbox.put(new Protocol.Batch(sender, in, this.batchSize, this.words));
+            }
+        } catch (EOFException e) {
+            // The other worker closed the connection
+        } catch (IOException e) {
+            if (!this.stopped) {
+                this.failure = e;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes the batches queued for another worker until the connection is closed.
+     *
+     * @param outbox the queue of the batches.
+     * @param out    the output stream of the connection.
+     */
+    private void write(final BlockingQueue<byte[]> outbox, final DataOutputStream out) {
+        try {
+            while (true) {
+                final byte[] frame = outbox.take();
+                if (frame == Worker.CLOSE) {
+                    out.close();
+                    return;
+                }
+                out.write(frame);
+                // We flush only when no other batch is waiting so that the batches are merged in the buffer
+                if (outbox.isEmpty()) {
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            if (!this.stopped) {
+                this.failure = e;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Starts a daemon thread.
+     *
+     * @param task the task of the thread.
+     * @param name the name of the thread.
+     * @return the thread.
+     */
+    private Thread daemon(final Runnable task, final String name) {
+        final Thread thread = new Thread(task, "worker-" + this.id + "-" + name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * This class implements an entry of the open list.
+     */
+    private static final class Entry {
+
+        /**
+         * The state of the entry.
+         */
+        private final State state;
+
+        /**
+         * The identifier of the state.
+         */
+        private final int id;
+
+        /**
+         * The cost of the state when the entry was created.
+         */
+        private final int cost;
+
+        /**
+         * The heuristic value of the state.
+         */
+        private final int heuristic;
+
+        /**
+         * Creates a new entry.
+         *
+         * @param state     the state.
+         * @param id        the identifier of the state.
+         * @param cost      the cost of the state.
+         * @param heuristic the heuristic value of the state.
+         */
+        private Entry(final State state, final int id, final int cost, final int heuristic) {
+            this.state = state;
+            this.id = id;
+            this.cost = cost;
+            this.heuristic = heuristic;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package fr.uga.pddl4j.examples.heuristics;
+
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Condition;
+import fr.uga.pddl4j.util.BitVector;
+
+/**
+ * This class implements the goal-count heuristic: the value of a state is the number of goal fluents that are
+ * not satisfied in the state. The heuristic is very cheap but poorly informed, and is mainly useful as an
+ * additional open list of a multi-queue search. It is not admissible since an action can achieve several goals.
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+public final class GoalCountHeuristic implements StateHeuristic {
+
+    /**
+     * Creates a new goal-count heuristic.
+     */
+    public GoalCountHeuristic() {
+    }
+
+    /**
+     * Returns the number of goal fluents not satisfied in a state.
+     *
+     * @param state the state.
+     * @param goal  the goal.
+     * @return the number of goal fluents not satisfied in the state.
+     */
+    @Override
+    public int estimate(final State state, final Condition goal) {
+        final BitVector pos = new BitVector(goal.getPositiveFluents());
+        pos.andNot(state);
+        final BitVector neg = new BitVector(goal.getNegativeFluents());
+        neg.and(state);
+        return pos.cardinality() + neg.cardinality();
+    }
+
+    /**
+     * Returns the number of goal fluents not satisfied in a node of the library.
+     *
+     * @param node the node.
+     * @param goal the goal.
+     * @return the number of goal fluents not satisfied in the node.
+     */
+    @Override
+    public double estimate(final fr.uga.pddl4j.planners.statespace.search.Node node, final Condition goal) {
+        return this.estimate((State) node, goal);
+    }
+
+    /**
+     * Returns <code>false</code>: the goal-count heuristic is not admissible.
+     *
+     * @return <code>false</code>.
+     */
+    @Override
+    public boolean isAdmissible() {
+        return false;
+    }
+}
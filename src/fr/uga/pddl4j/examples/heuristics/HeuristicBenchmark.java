@@ -0,0 +1,135 @@
+package fr.uga.pddl4j.examples.heuristics;
+
+import fr.uga.pddl4j.examples.Successors;
+import fr.uga.pddl4j.examples.asp.ASP;
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.parser.DefaultParsedProblem;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * This class compares the incremental evaluation of the MAX, SUM and FAST_FORWARD heuristics with the
+ * evaluation of the library. It evaluates the states met by random walks in the order of a best-first search,
+ * i.e., all the successors of a state then the next state of the walk, checks that the values are identical and
+ * reports the average time per call of both implementations.
+ * <p>
+ * Usage: <code>java fr.uga.pddl4j.examples.heuristics.HeuristicBenchmark domain problem [states] [seed]</code>.
+ * </p>
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+public final class HeuristicBenchmark {
+
+    /**
+     * The class logger.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(HeuristicBenchmark.class.getName());
+
+    /**
+     * The length of the random walks.
+     */
+    private static final int WALK_LENGTH = 50;
+
+    /**
+     * Creates a new benchmark. This class cannot be instantiated.
+     */
+    private HeuristicBenchmark() {
+    }
+
+    /**
+     * The main method of the benchmark.
+     *
+     * @param args the domain file, the problem file, the number of states to evaluate and the seed.
+     * @throws Exception if the problem cannot be parsed.
+     */
+    public static void main(final String[] args) throws Exception {
+        if (args.length < 2) {
+            LOGGER.error("Usage: HeuristicBenchmark <domain> <problem> [states] [seed]\n");
+            return;
+        }
+        final ASP planner = new ASP();
+        final DefaultParsedProblem parsed = planner.parse(args[0], args[1]);
+        final Problem problem = planner.instantiate(parsed);
+        final int nbStates = args.length > 2 ? Integer.parseInt(args[2]) : 20000;
+        final long seed = args.length > 3 ? Long.parseLong(args[3]) : 0;
+        final List<State> states = HeuristicBenchmark.sample(problem, nbStates, new Random(seed));
+        LOGGER.info("* " + states.size() + " states sampled\n");
+        for (IncrementalRelaxedHeuristic.Type type : IncrementalRelaxedHeuristic.Type.values()) {
+            final StateHeuristic library = StateHeuristic.getInstance(StateHeuristic.Name.valueOf(type.name()),
+                problem);
+            final IncrementalRelaxedHeuristic incremental = new IncrementalRelaxedHeuristic(problem, type);
+            // We warm up both implementations before measuring them
+            for (State s : states) {
+                library.estimate(s, problem.getGoal());
+                incremental.estimate(s, problem.getGoal());
+            }
+            final long updates = incremental.getNumberOfUpdates();
+            final long recomputations = incremental.getNumberOfRecomputations();
+            final int[] expected = new int[states.size()];
+            long begin = System.nanoTime();
+            for (int i = 0; i < states.size(); i++) {
+                expected[i] = library.estimate(states.get(i), problem.getGoal());
+            }
+            final long libraryTime = System.nanoTime() - begin;
+            final int[] values = new int[states.size()];
+            begin = System.nanoTime();
+            for (int i = 0; i < states.size(); i++) {
+                values[i] = incremental.estimate(states.get(i), problem.getGoal());
+            }
+            final long incrementalTime = System.nanoTime() - begin;
+            int mismatches = 0;
+            for (int i = 0; i < states.size(); i++) {
+                if (values[i] != expected[i]) {
+                    mismatches++;
+                }
+            }
+            LOGGER.info(String.format("* %-12s library %.2f us/call, incremental %.2f us/call (x%.1f), "
+                    + "%d updates, %d recomputations, %d mismatches%n", type,
+                libraryTime / 1e3 / states.size(), incrementalTime / 1e3 / states.size(),
+                (double) libraryTime / incrementalTime, incremental.getNumberOfUpdates() - updates,
+                incremental.getNumberOfRecomputations() - recomputations, mismatches));
+        }
+    }
+
+    /**
+     * Samples the states evaluated by a best-first search along random walks: each state of a walk is
+     * followed by all its successors.
+     *
+     * @param problem  the problem.
+     * @param nbStates the number of states to sample.
+     * @param random   the random generator.
+     * @return the states sampled.
+     */
+    private static List<State> sample(final Problem problem, final int nbStates, final Random random) {
+        final List<State> states = new ArrayList<>(nbStates);
+        final State init = new State(problem.getInitialState());
+        State current = init;
+        int depth = 0;
+        while (states.size() < nbStates) {
+            states.add(current);
+            final List<State> successors = new ArrayList<>();
+            for (Action a : problem.getActions()) {
+                if (a.isApplicable(current)) {
+                    successors.add(Successors.apply(current, a));
+                }
+            }
+            states.addAll(successors);
+            depth++;
+            if (successors.isEmpty() || depth == WALK_LENGTH) {
+                current = init;
+                depth = 0;
+            } else {
+                current = successors.get(random.nextInt(successors.size()));
+            }
+        }
+        return states;
+    }
+}
@@ -0,0 +1,289 @@
+package fr.uga.pddl4j.examples.heuristics;
+
+import fr.uga.pddl4j.examples.Node;
+import fr.uga.pddl4j.examples.Successors;
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * This class implements the automatic selection of a heuristic by runtime sampling. The states of short random
+ * walks from the initial state are sampled with all their successors, and each candidate heuristic gets an
+ * equal share of a time budget. Half of the share is used to evaluate the sampled states and measure:
+ * <ul>
+ * <li>the average time of an evaluation, including the construction of the heuristic;</li>
+ * <li>the plateau rate, i.e., the fraction of the sampled states whose successors all have a heuristic value
+ * greater than or equal to the value of the state;</li>
+ * <li>the correlation between the heuristic value of the walk states and their distance from the initial
+ * state.</li>
+ * </ul>
+ * The other half runs a probe from the initial state with the search strategy of the planner, i.e., a weighted
+ * A* search or a greedy best-first search. The progress of the probe is the
+ * relative decrease of the heuristic value, i.e., 1 if the probe reached the goal. The selected heuristic
+ * minimizes the expected search time, i.e., the number of evaluations of the probe divided by its progress
+ * times the average time of an evaluation. The plateau rate
+ * breaks the ties, e.g., when no probe makes progress.
+ * <p>
+ * The measures on random states alone are misleading: on blocks, the plateau rate of MAX is lower than the one
+ * of FAST_FORWARD whereas A* with MAX expands two orders of magnitude more nodes. The probes measure the
+ * guidance on the states a search actually visits.
+ * </p>
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+public final class HeuristicSelector {
+
+    /**
+     * The class logger.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(HeuristicSelector.class.getName());
+
+    /**
+     * The candidate heuristics.
+     */
+    private static final Heuristics.Name[] CANDIDATES = {
+        Heuristics.Name.FAST_FORWARD,
+        Heuristics.Name.SUM,
+        Heuristics.Name.MAX,
+        Heuristics.Name.AJUSTED_SUM,
+        Heuristics.Name.AJUSTED_SUM2,
+        Heuristics.Name.SET_LEVEL,
+        Heuristics.Name.LANDMARK_COUNT,
+    };
+
+    /**
+     * The heuristic selected when the sampling cannot discriminate the candidates.
+     */
+    private static final Heuristics.Name FALLBACK = Heuristics.Name.FAST_FORWARD;
+
+    /**
+     * The length of the random walks.
+     */
+    private static final int WALK_LENGTH = 20;
+
+    /**
+     * The maximum number of walk states sampled.
+     */
+    private static final int MAX_SAMPLES = 500;
+
+    /**
+     * Creates a new heuristic selector. This class cannot be instantiated.
+     */
+    private HeuristicSelector() {
+    }
+
+    /**
+     * Selects the heuristic to use for a specified problem.
+     *
+     * @param problem     the problem.
+     * @param cache       the directory used to store the pattern databases or <code>null</code>.
+     * @param incremental <code>true</code> to evaluate the MAX, SUM and FAST_FORWARD heuristics incrementally.
+     * @param budget      the time budget of the selection in milliseconds.
+     * @param weight      the weight of the heuristic in the probes or {@link Double#POSITIVE_INFINITY} for
+     *                    greedy best-first probes.
+     * @return the heuristic selected.
+     */
+    public static Heuristics.Name select(final Problem problem, final File cache, final boolean incremental,
+                                         final long budget, final double weight) {
+        final long begin = System.currentTimeMillis();
+        final List<Node> samples = HeuristicSelector.sample(problem, new Random(0));
+        final List<List<Node>> children = new ArrayList<>(samples.size());
+        for (Node s : samples) {
+            children.add(HeuristicSelector.successors(s, problem));
+        }
+        final long slice = Math.max(1, budget / HeuristicSelector.CANDIDATES.length) * 1_000_000L;
+        Heuristics.Name best = HeuristicSelector.FALLBACK;
+        double bestScore = Double.POSITIVE_INFINITY;
+        double bestPlateau = Double.POSITIVE_INFINITY;
+        for (Heuristics.Name name : HeuristicSelector.CANDIDATES) {
+            long start = System.nanoTime();
+            StateHeuristic heuristic = Heuristics.getInstance(name, problem, cache, incremental);
+            long evaluations = 0;
+            int states = 0;
+            int plateaus = 0;
+            final List<double[]> points = new ArrayList<>();
+            for (int i = 0; i < samples.size() && System.nanoTime() - start <= slice / 2; i++) {
+                final Node s = samples.get(i);
+                final int h = heuristic.estimate(s, problem.getGoal());
+                evaluations++;
+                boolean improved = false;
+                for (Node child : children.get(i)) {
+                    improved |= heuristic.estimate(child, problem.getGoal()) < h;
+                    evaluations++;
+                }
+                if (h != Integer.MAX_VALUE) {
+                    points.add(new double[] {s.getDepth(), h});
+                }
+                if (!improved) {
+                    plateaus++;
+                }
+                states++;
+            }
+            final double time = (System.nanoTime() - start) / (double) Math.max(1, evaluations);
+            final double plateau = states == 0 ? 1.0 : (double) plateaus / states;
+
+            // We run the probe with a fresh instance since the heuristics are stateful. The expected
+            // search time is the number of evaluations extrapolated to a progress of 1 times the time of an
+            // evaluation on the sampled states, which is less noisy than the time of a short probe
+            heuristic = Heuristics.getInstance(name, problem, cache, incremental);
+            final double[] probe = HeuristicSelector.probe(problem, heuristic, weight,
+                System.nanoTime() + slice / 2);
+            final double score = probe[0] > 0.0 ? probe[2] / probe[0] * time : Double.POSITIVE_INFINITY;
+            LOGGER.info(String.format("* %-15s %4d states, %8.2f us/eval, plateau rate %.3f, depth correlation "
+                    + "%+.3f, probe progress %.3f in %.0f expansions, expected time %.1f ms%n", name, states,
+                time / 1e3, plateau, HeuristicSelector.correlation(points), probe[0], probe[1], score / 1e6));
+            if (score < bestScore || score == bestScore && plateau < bestPlateau) {
+                best = name;
+                bestScore = score;
+                bestPlateau = plateau;
+            }
+        }
+        LOGGER.info("* Automatic heuristic selection: " + best + " selected ("
+            + (System.currentTimeMillis() - begin) + " ms)\n");
+        return best;
+    }
+
+    /**
+     * Runs a weighted A* search from the initial state of a problem until the goal is reached, the search
+     * space is exhausted or a deadline is reached.
+     *
+     * @param problem   the problem.
+     * @param heuristic the heuristic guiding the search.
+     * @param weight    the weight of the heuristic or {@link Double#POSITIVE_INFINITY} for a greedy best-first
+     *                  search.
+     * @param deadline  the deadline of the search given by {@link System#nanoTime()}.
+     * @return the progress of the search, i.e., the relative decrease of the heuristic value (1 if the goal is
+     *     reached), the number of nodes expanded and the number of nodes evaluated.
+     */
+    private static double[] probe(final Problem problem, final StateHeuristic heuristic, final double weight,
+                                  final long deadline) {
+        final Node root = new Node(new State(problem.getInitialState()), null, -1, 0, 0, 0);
+        root.setHeuristic(heuristic.estimate(root, problem.getGoal()));
+        final double h0 = root.getHeuristic();
+        if (h0 == Integer.MAX_VALUE) {
+            return new double[] {0.0, 0.0, 1.0};
+        }
+        final Comparator<Node> greedy = Comparator.comparingDouble(Node::getHeuristic);
+        final PriorityQueue<Node> open = new PriorityQueue<>(Double.isInfinite(weight)
+            ? greedy.thenComparingDouble(Node::getCost)
+            : Comparator.comparingDouble((Node n) -> weight * n.getHeuristic() + n.getCost()));
+        final Set<State> close = new HashSet<>();
+        open.add(root);
+        double hmin = h0;
+        int expanded = 0;
+        int evaluated = 1;
+        while (!open.isEmpty() && System.nanoTime() < deadline) {
+            final Node current = open.poll();
+            if (current.satisfy(problem.getGoal())) {
+                return new double[] {1.0, expanded, evaluated};
+            }
+            if (!close.add(new State(current))) {
+                continue;
+            }
+            expanded++;
+            for (Node child : HeuristicSelector.successors(current, problem)) {
+                if (!close.contains(child)) {
+                    child.setHeuristic(heuristic.estimate(child, problem.getGoal()));
+                    evaluated++;
+                    if (child.getHeuristic() != Integer.MAX_VALUE) {
+                        hmin = Math.min(hmin, child.getHeuristic());
+                        open.add(child);
+                    }
+                }
+            }
+        }
+        return new double[] {h0 > 0 ? (h0 - hmin) / h0 : 1.0, expanded, evaluated};
+    }
+
+    /**
+     * Samples the states of random walks from the initial state of a problem. The walks stop at the goal, in
+     * the states without successors and after a fixed number of steps.
+     *
+     * @param problem the problem.
+     * @param random  the random generator.
+     * @return the states sampled.
+     */
+    private static List<Node> sample(final Problem problem, final Random random) {
+        final List<Node> samples = new ArrayList<>();
+        final Node root = new Node(new State(problem.getInitialState()), null, -1, 0, 0, 0);
+        int stalled = 0;
+        while (samples.size() < HeuristicSelector.MAX_SAMPLES && stalled < 10) {
+            Node current = root;
+            final int size = samples.size();
+            for (int i = 0; i < HeuristicSelector.WALK_LENGTH && !current.satisfy(problem.getGoal()); i++) {
+                if (current != root || samples.isEmpty()) {
+                    samples.add(current);
+                }
+                final List<Node> successors = HeuristicSelector.successors(current, problem);
+                if (successors.isEmpty()) {
+                    break;
+                }
+                current = successors.get(random.nextInt(successors.size()));
+            }
+            stalled = samples.size() == size ? stalled + 1 : 0;
+        }
+        return samples;
+    }
+
+    /**
+     * Returns the successors of a node.
+     *
+     * @param node    the node.
+     * @param problem the problem.
+     * @return the successors of the node.
+     */
+    private static List<Node> successors(final Node node, final Problem problem) {
+        final List<Node> successors = new ArrayList<>();
+        for (int i = 0; i < problem.getActions().size(); i++) {
+            final Action a = problem.getActions().get(i);
+            if (a.isApplicable(node)) {
+                successors.add(new Node(Successors.apply(node, a), node, i, node.getCost() + 1, node.getDepth() + 1,
+                    0));
+            }
+        }
+        return successors;
+    }
+
+    /**
+     * Returns the Pearson correlation of a set of points.
+     *
+     * @param points the points.
+     * @return the correlation of the points or 0 if it is undefined.
+     */
+    private static double correlation(final List<double[]> points) {
+        final int n = points.size();
+        if (n < 2) {
+            return 0.0;
+        }
+        double sx = 0.0;
+        double sy = 0.0;
+        for (double[] p : points) {
+            sx += p[0];
+            sy += p[1];
+        }
+        final double mx = sx / n;
+        final double my = sy / n;
+        double cov = 0.0;
+        double vx = 0.0;
+        double vy = 0.0;
+        for (double[] p : points) {
+            cov += (p[0] - mx) * (p[1] - my);
+            vx += (p[0] - mx) * (p[0] - mx);
+            vy += (p[1] - my) * (p[1] - my);
+        }
+        return vx == 0.0 || vy == 0.0 ? 0.0 : cov / Math.sqrt(vx * vy);
+    }
+}
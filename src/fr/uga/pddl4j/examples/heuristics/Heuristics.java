@@ -0,0 +1,141 @@
+package fr.uga.pddl4j.examples.heuristics;
+
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.problem.Problem;
+
+import java.io.File;
+
+/**
+ * This class gathers the heuristics that can be used by the planners of the examples: the state heuristics
+ * of the library and the heuristics implemented in this package.
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+public final class Heuristics {
+
+    /**
+     * The names of the heuristics.
+     */
+    public enum Name {
+        /**
+         * The adjusted sum heuristic of the library.
+         */
+        AJUSTED_SUM,
+        /**
+         * The adjusted sum 2 heuristic of the library.
+         */
+        AJUSTED_SUM2,
+        /**
+         * The adjusted sum 2M heuristic of the library.
+         */
+        AJUSTED_SUM2M,
+        /**
+         * The combo heuristic of the library.
+         */
+        COMBO,
+        /**
+         * The max heuristic of the library.
+         */
+        MAX,
+        /**
+         * The fast forward heuristic of the library.
+         */
+        FAST_FORWARD,
+        /**
+         * The set level heuristic of the library.
+         */
+        SET_LEVEL,
+        /**
+         * The sum heuristic of the library.
+         */
+        SUM,
+        /**
+         * The sum mutex heuristic of the library.
+         */
+        SUM_MUTEX,
+        /**
+         * The pattern database heuristic.
+         */
+        PATTERN_DATABASE,
+        /**
+         * The landmark-count heuristic.
+         */
+        LANDMARK_COUNT,
+        /**
+         * The goal-count heuristic.
+         */
+        GOAL_COUNT,
+        /**
+         * The heuristic selected automatically by runtime sampling (see {@link HeuristicSelector}). This name
+         * must be resolved by the planners before creating the heuristic.
+         */
+        AUTO;
+
+        /**
+         * Returns the name of the corresponding heuristic of the library.
+         *
+         * @return the name of the heuristic of the library or <code>null</code> if the heuristic is not a
+         *     heuristic of the library.
+         */
+        public StateHeuristic.Name toLibraryName() {
+            try {
+                return StateHeuristic.Name.valueOf(this.name());
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Creates a new instance of heuristics. This class cannot be instantiated.
+     */
+    private Heuristics() {
+    }
+
+    /**
+     * Creates an instance of a heuristic for a specified problem.
+     *
+     * @param name        the name of the heuristic.
+     * @param problem     the problem.
+     * @param cache       the directory used to store the pattern databases or <code>null</code> to build them
+     *                    at each run.
+     * @param incremental <code>true</code> to evaluate the MAX, SUM and FAST_FORWARD heuristics incrementally.
+     * @return the heuristic.
+     * @throws IllegalArgumentException if the name is {@link Name#AUTO}.
+     */
+    public static StateHeuristic getInstance(final Name name, final Problem problem, final File cache,
+                                             final boolean incremental) {
+        switch (name) {
+            case MAX:
+            case SUM:
+            case FAST_FORWARD:
+                return incremental
+                    ? new IncrementalRelaxedHeuristic(problem, IncrementalRelaxedHeuristic.Type.valueOf(name.name()))
+                    : StateHeuristic.getInstance(name.toLibraryName(), problem);
+            case PATTERN_DATABASE:
+                return PatternDatabaseHeuristic.getInstance(problem, cache);
+            case LANDMARK_COUNT:
+                return new LandmarkCountHeuristic(problem);
+            case GOAL_COUNT:
+                return new GoalCountHeuristic();
+            case AUTO:
+                throw new IllegalArgumentException("AUTO heuristic must be resolved by the planner");
+            default:
+                return StateHeuristic.getInstance(name.toLibraryName(), problem);
+        }
+    }
+
+    /**
+     * Returns if a single instance of a heuristic can be used by several threads at the same time. The pattern
+     * databases are immutable once built and the goal count has no state; the other heuristics store the
+     * relaxed values of the last state evaluated.
+     *
+     * @param name the name of the heuristic.
+     * @return <code>true</code> if an instance of the heuristic can be shared by several threads, <code>false</code>
+     *     otherwise.
+     */
+    public static boolean isThreadSafe(final Name name) {
+        return name == Name.PATTERN_DATABASE || name == Name.GOAL_COUNT;
+    }
+}
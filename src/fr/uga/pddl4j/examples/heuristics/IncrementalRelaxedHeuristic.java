@@ -0,0 +1,750 @@
+package fr.uga.pddl4j.examples.heuristics;
+
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.planners.statespace.search.Node;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.Condition;
+import fr.uga.pddl4j.problem.operator.ConditionalEffect;
+import fr.uga.pddl4j.util.BitVector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class implements an incremental evaluation of the MAX, SUM and FAST_FORWARD heuristics of the library.
+ * <p>
+ * The heuristics of the library expand a relaxed planning graph from scratch for each state. The level of a
+ * literal in this graph is its h<sub>max</sub> value with unit costs: MAX returns the greatest level of the goal
+ * literals, SUM the sum of their levels and FAST_FORWARD the size of the relaxed plan extracted backward from
+ * the graph. This class keeps the levels computed for the last state evaluated. The next state is compared to
+ * it and only the levels affected by the literals that changed are updated:
+ * </p>
+ * <ol>
+ * <li>the literals that became false are invalidated, together with the literals supported by an operator
+ * requiring an invalidated literal;</li>
+ * <li>the levels of the invalidated literals are recomputed from their other achievers and the decreases are
+ * propagated in increasing level order from them and from the literals that became true.</li>
+ * </ol>
+ * <p>
+ * Consecutive states of a random walk or siblings of the same node differ by a few literals, so an update
+ * visits a small part of the graph. When more than about an eighth of the fluents changed or an eighth of the
+ * literals were invalidated, the update gives up and the levels are recomputed from scratch. After an update
+ * gives up, the next states are computed from scratch without trying an update, for a number of states that
+ * doubles each time the update gives up again. The relaxed plan is extracted with the same tie-breaking rules as
+ * the library, so the values returned are identical to those of the library.
+ * </p>
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+public final class IncrementalRelaxedHeuristic implements StateHeuristic {
+
+    /**
+     * The heuristics evaluated incrementally.
+     */
+    public enum Type {
+        /**
+         * The max heuristic of the library.
+         */
+        MAX,
+        /**
+         * The sum heuristic of the library.
+         */
+        SUM,
+        /**
+         * The fast forward heuristic of the library.
+         */
+        FAST_FORWARD
+    }
+
+    /**
+     * The level of the unreachable literals and operators.
+     */
+    private static final int INFINITY = Integer.MAX_VALUE;
+
+    /**
+     * The greatest number of states computed from scratch without trying an update after updates that gave up.
+     */
+    private static final int MAX_BACKOFF = 64;
+
+    /**
+     * The heuristic evaluated.
+     */
+    private final Type type;
+
+    /**
+     * The number of fluents. The literal of the fluent <code>f</code> is <code>f</code> and the literal of its
+     * negation is <code>f + size</code>.
+     */
+    private final int size;
+
+    /**
+     * The literals of the precondition of each operator. An operator is a conditional effect of an action
+     * whose precondition includes the condition of the effect.
+     */
+    private final int[][] pre;
+
+    /**
+     * The literals of the effect of each operator.
+     */
+    private final int[][] eff;
+
+    /**
+     * The operators requiring each literal.
+     */
+    private final int[][] consumers;
+
+    /**
+     * The operators producing each literal, in increasing order.
+     */
+    private final int[][] achievers;
+
+    /**
+     * The operators without precondition.
+     */
+    private final int[] free;
+
+    /**
+     * The action of each operator.
+     */
+    private final int[] action;
+
+    /**
+     * The actions of the last relaxed plan extracted that are applicable in the state evaluated.
+     */
+    private final BitVector preferred;
+
+    /**
+     * The level of each literal.
+     */
+    private final int[] level;
+
+    /**
+     * The operator supporting the level of each literal or -1.
+     */
+    private final int[] support;
+
+    /**
+     * The level of each operator, i.e., the greatest level of its preconditions.
+     */
+    private final int[] opLevel;
+
+    /**
+     * The number of preconditions not yet reached of each operator, used by the full computation.
+     */
+    private final int[] missing;
+
+    /**
+     * The stamp of the last update that invalidated each literal.
+     */
+    private final int[] invalid;
+
+    /**
+     * The stamp of the current update.
+     */
+    private int stamp;
+
+    /**
+     * The buckets of literals used to propagate the decreases in increasing level order.
+     */
+    private final List<IntList> buckets;
+
+    /**
+     * The literals invalidated by the current update.
+     */
+    private final IntList invalidated;
+
+    /**
+     * The state whose levels are stored or <code>null</code> if no state was evaluated.
+     */
+    private BitVector current;
+
+    /**
+     * The number of states computed from scratch without trying an update after the last update that gave up.
+     * It doubles each time an update tried after the skipped states gives up again.
+     */
+    private int backoff;
+
+    /**
+     * The number of states still to compute from scratch without trying an update.
+     */
+    private int skipped;
+
+    /**
+     * The number of incremental updates.
+     */
+    private long updates;
+
+    /**
+     * The number of full computations.
+     */
+    private long recomputations;
+
+    /**
+     * Creates a new incremental heuristic for a specified problem.
+     *
+     * @param problem the problem.
+     * @param type    the heuristic evaluated.
+     */
+    public IncrementalRelaxedHeuristic(final Problem problem, final Type type) {
+        this.type = type;
+        this.size = problem.getFluents().size();
+        final List<int[]> preList = new ArrayList<>();
+        final List<int[]> effList = new ArrayList<>();
+        final IntList actionList = new IntList();
+        for (int i = 0; i < problem.getActions().size(); i++) {
+            final Action a = problem.getActions().get(i);
+            for (ConditionalEffect ce : a.getConditionalEffects()) {
+                actionList.add(i);
+                final BitVector pos = new BitVector(a.getPrecondition().getPositiveFluents());
+                pos.or(ce.getCondition().getPositiveFluents());
+                final BitVector neg = new BitVector(a.getPrecondition().getNegativeFluents());
+                neg.or(ce.getCondition().getNegativeFluents());
+                preList.add(this.literals(pos, neg));
+                effList.add(this.literals(ce.getEffect().getPositiveFluents(),
+                    ce.getEffect().getNegativeFluents()));
+            }
+        }
+        this.pre = preList.toArray(new int[0][]);
+        this.eff = effList.toArray(new int[0][]);
+        final int nbLiterals = 2 * this.size;
+        final IntList[] cons = new IntList[nbLiterals];
+        final IntList[] achs = new IntList[nbLiterals];
+        for (int l = 0; l < nbLiterals; l++) {
+            cons[l] = new IntList();
+            achs[l] = new IntList();
+        }
+        final IntList freeList = new IntList();
+        for (int u = 0; u < this.pre.length; u++) {
+            for (int l : this.pre[u]) {
+                cons[l].add(u);
+            }
+            for (int l : this.eff[u]) {
+                achs[l].add(u);
+            }
+            if (this.pre[u].length == 0) {
+                freeList.add(u);
+            }
+        }
+        this.consumers = new int[nbLiterals][];
+        this.achievers = new int[nbLiterals][];
+        for (int l = 0; l < nbLiterals; l++) {
+            this.consumers[l] = cons[l].toArray();
+            this.achievers[l] = achs[l].toArray();
+        }
+        this.free = freeList.toArray();
+        this.action = actionList.toArray();
+        this.preferred = new BitVector();
+        this.level = new int[nbLiterals];
+        this.support = new int[nbLiterals];
+        this.opLevel = new int[this.pre.length];
+        this.missing = new int[this.pre.length];
+        this.invalid = new int[nbLiterals];
+        this.buckets = new ArrayList<>();
+        this.invalidated = new IntList();
+    }
+
+    /**
+     * Returns the literals of a set of positive and negative fluents.
+     *
+     * @param pos the positive fluents.
+     * @param neg the negative fluents.
+     * @return the literals.
+     */
+    private int[] literals(final BitVector pos, final BitVector neg) {
+        final int[] literals = new int[pos.cardinality() + neg.cardinality()];
+        int i = 0;
+        for (int f = pos.nextSetBit(0); f >= 0; f = pos.nextSetBit(f + 1)) {
+            literals[i++] = f;
+        }
+        for (int f = neg.nextSetBit(0); f >= 0; f = neg.nextSetBit(f + 1)) {
+            literals[i++] = f + this.size;
+        }
+        return literals;
+    }
+
+    /**
+     * Returns the preferred actions of the last state evaluated, i.e., the actions of the relaxed plan of the
+     * state that are applicable in the state. The preferred actions are only computed by the FAST_FORWARD
+     * heuristic and are empty if the goal is not reachable.
+     *
+     * @return the preferred actions of the last state evaluated. The vector is reused by the next evaluation.
+     */
+    public BitVector getPreferredActions() {
+        return this.preferred;
+    }
+
+    /**
+     * Returns the number of incremental updates done since the creation of the heuristic.
+     *
+     * @return the number of incremental updates.
+     */
+    public long getNumberOfUpdates() {
+        return this.updates;
+    }
+
+    /**
+     * Returns the number of full computations done since the creation of the heuristic.
+     *
+     * @return the number of full computations.
+     */
+    public long getNumberOfRecomputations() {
+        return this.recomputations;
+    }
+
+    /**
+     * Returns the estimated distance to a goal from a state.
+     *
+     * @param state the state.
+     * @param goal  the goal.
+     * @return the estimated distance to the goal or <code>Integer.MAX_VALUE</code> if the goal is unreachable.
+     */
+    @Override
+    public int estimate(final State state, final Condition goal) {
+        if (this.current == null) {
+            this.recompute(state);
+        } else {
+            final BitVector delta = new BitVector(state);
+            delta.xor(this.current);
+            if (delta.isEmpty()) {
+                return this.value(goal);
+            }
+            if (this.skipped > 0) {
+                this.skipped--;
+                this.recompute(state);
+            } else if (delta.cardinality() > this.limit()) {
+                this.recompute(state);
+            } else if (this.update(state, delta)) {
+                this.backoff = 0;
+            } else {
+                // The failed update is wasted, so we skip the next updates, which are likely to fail too
+                this.backoff = Math.min(2 * this.backoff + 1, IncrementalRelaxedHeuristic.MAX_BACKOFF);
+                this.skipped = this.backoff;
+                this.recompute(state);
+            }
+        }
+        this.current = new BitVector(state);
+        return this.value(goal);
+    }
+
+    /**
+     * Returns the estimated distance to a goal from a node of the library.
+     *
+     * @param node the node.
+     * @param goal the goal.
+     * @return the estimated distance to the goal.
+     */
+    @Override
+    public double estimate(final Node node, final Condition goal) {
+        return this.estimate((State) node, goal);
+    }
+
+    /**
+     * Returns if the heuristic is admissible. Only the MAX heuristic is admissible.
+     *
+     * @return <code>true</code> if the heuristic is admissible, <code>false</code> otherwise.
+     */
+    @Override
+    public boolean isAdmissible() {
+        return this.type == Type.MAX;
+    }
+
+    /**
+     * Computes the levels of the literals from scratch.
+     *
+     * @param state the state.
+     */
+    private void recompute(final State state) {
+        this.recomputations++;
+        Arrays.fill(this.level, INFINITY);
+        Arrays.fill(this.support, -1);
+        Arrays.fill(this.opLevel, INFINITY);
+        // We use the bucket 0 as a FIFO queue: the literals are appended in increasing level order
+        final IntList queue = this.bucket(0);
+        queue.clear();
+        for (int f = 0; f < this.size; f++) {
+            final int l = state.get(f) ? f : f + this.size;
+            this.level[l] = 0;
+            queue.add(l);
+        }
+        for (int u = 0; u < this.pre.length; u++) {
+            this.missing[u] = this.pre[u].length;
+        }
+        for (int u : this.free) {
+            this.fire(u, 0, queue);
+        }
+        for (int i = 0; i < queue.size(); i++) {
+            final int l = queue.get(i);
+            for (int u : this.consumers[l]) {
+                if (--this.missing[u] == 0) {
+                    this.fire(u, this.level[l], queue);
+                }
+            }
+        }
+        queue.clear();
+    }
+
+    /**
+     * Fires an operator during the full computation.
+     *
+     * @param u     the operator.
+     * @param lvl   the level of the operator.
+     * @param queue the queue of the literals reached.
+     */
+    private void fire(final int u, final int lvl, final IntList queue) {
+        this.opLevel[u] = lvl;
+        for (int l : this.eff[u]) {
+            if (this.level[l] == INFINITY) {
+                this.level[l] = lvl + 1;
+                this.support[l] = u;
+                queue.add(l);
+            }
+        }
+    }
+
+    /**
+     * Returns the greatest number of changed fluents and of invalidated literals handled by an update. Beyond,
+     * the update would visit a large part of the graph and costs more than a full computation.
+     *
+     * @return the greatest number of changed fluents and of invalidated literals of an update.
+     */
+    private int limit() {
+        return this.size / 8 + 8;
+    }
+
+    /**
+     * Updates the levels of the literals after a change of state.
+     *
+     * @param state the new state.
+     * @param delta the fluents whose value changed.
+     * @return <code>false</code> if too many literals were invalidated and the levels must be recomputed.
+     */
+    private boolean update(final State state, final BitVector delta) {
+        this.stamp++;
+        this.invalidated.clear();
+        final int limit = this.limit();
+
+        // We invalidate the literals that became false and the literals that depend on them
+        for (int f = delta.nextSetBit(0); f >= 0; f = delta.nextSetBit(f + 1)) {
+            this.invalidate(state.get(f) ? f + this.size : f);
+        }
+        for (int i = 0; i < this.invalidated.size(); i++) {
+            if (this.invalidated.size() > limit) {
+                return false;
+            }
+            for (int u : this.consumers[this.invalidated.get(i)]) {
+                if (this.opLevel[u] != INFINITY) {
+                    this.opLevel[u] = INFINITY;
+                    for (int l : this.eff[u]) {
+                        if (this.support[l] == u) {
+                            this.invalidate(l);
+                        }
+                    }
+                }
+            }
+        }
+        this.updates++;
+
+        // We seed the propagation with the literals that became true and the invalidated literals
+        for (int f = delta.nextSetBit(0); f >= 0; f = delta.nextSetBit(f + 1)) {
+            final int l = state.get(f) ? f : f + this.size;
+            this.level[l] = 0;
+            this.support[l] = -1;
+            this.bucket(0).add(l);
+        }
+        for (int i = 0; i < this.invalidated.size(); i++) {
+            final int l = this.invalidated.get(i);
+            if (this.level[l] != INFINITY) {
+                continue;
+            }
+            int best = INFINITY;
+            int by = -1;
+            for (int u : this.achievers[l]) {
+                if (this.opLevel[u] < best) {
+                    best = this.opLevel[u];
+                    by = u;
+                }
+            }
+            if (by != -1) {
+                this.level[l] = best + 1;
+                this.support[l] = by;
+                this.bucket(best + 1).add(l);
+            }
+        }
+
+        // We propagate the decreases in increasing level order
+        for (int d = 0; d < this.buckets.size(); d++) {
+            final IntList bucket = this.buckets.get(d);
+            for (int i = 0; i < bucket.size(); i++) {
+                final int l = bucket.get(i);
+                if (this.level[l] != d) {
+                    continue;
+                }
+                for (int u : this.consumers[l]) {
+                    if (this.opLevel[u] <= d) {
+                        continue;
+                    }
+                    int m = 0;
+                    for (int p : this.pre[u]) {
+                        m = Math.max(m, this.level[p]);
+                    }
+                    if (m < this.opLevel[u]) {
+                        this.opLevel[u] = m;
+                        for (int e : this.eff[u]) {
+                            if (m + 1 < this.level[e]) {
+                                this.level[e] = m + 1;
+                                this.support[e] = u;
+                                this.bucket(m + 1).add(e);
+                            }
+                        }
+                    }
+                }
+            }
+            bucket.clear();
+        }
+        return true;
+    }
+
+    /**
+     * Invalidates a literal.
+     *
+     * @param l the literal.
+     */
+    private void invalidate(final int l) {
+        if (this.invalid[l] != this.stamp) {
+            this.invalid[l] = this.stamp;
+            this.level[l] = INFINITY;
+            this.support[l] = -1;
+            this.invalidated.add(l);
+        }
+    }
+
+    /**
+     * Returns the bucket of a level.
+     *
+     * @param d the level.
+     * @return the bucket of the level.
+     */
+    private IntList bucket(final int d) {
+        while (this.buckets.size() <= d) {
+            this.buckets.add(new IntList());
+        }
+        return this.buckets.get(d);
+    }
+
+    /**
+     * Returns the value of the heuristic for a goal from the current levels.
+     *
+     * @param goal the goal.
+     * @return the value of the heuristic.
+     */
+    private int value(final Condition goal) {
+        this.preferred.clear();
+        final BitVector pos = goal.getPositiveFluents();
+        final BitVector neg = goal.getNegativeFluents();
+        int max = 0;
+        int sum = 0;
+        for (int f = pos.nextSetBit(0); f >= 0; f = pos.nextSetBit(f + 1)) {
+            final int l = this.level[f];
+            if (l == INFINITY) {
+                return Integer.MAX_VALUE;
+            }
+            max = Math.max(max, l);
+            sum += l;
+        }
+        for (int f = neg.nextSetBit(0); f >= 0; f = neg.nextSetBit(f + 1)) {
+            final int l = this.level[f + this.size];
+            if (l == INFINITY) {
+                return Integer.MAX_VALUE;
+            }
+            max = Math.max(max, l);
+            sum += l;
+        }
+        switch (this.type) {
+            case MAX:
+                return max;
+            case SUM:
+                return sum;
+            default:
+                return this.relaxedPlanValue(pos, neg, max);
+        }
+    }
+
+    /**
+     * Returns the size of the relaxed plan extracted backward from the levels. The extraction follows the
+     * library: the goals of a level are achieved by the operator of lower level with the smallest sum of
+     * precondition levels, the first one in case of tie, and the operators without precondition are
+     * considered at the last level of the graph only.
+     *
+     * @param goalPos  the positive goal fluents.
+     * @param goalNeg  the negative goal fluents.
+     * @param top      the last level of the graph.
+     * @return the size of the relaxed plan.
+     */
+    private int relaxedPlanValue(final BitVector goalPos, final BitVector goalNeg, final int top) {
+        final BitVector[] pos = new BitVector[top + 1];
+        final BitVector[] neg = new BitVector[top + 1];
+        for (int i = 0; i <= top; i++) {
+            pos[i] = new BitVector();
+            neg[i] = new BitVector();
+        }
+        for (int f = goalPos.nextSetBit(0); f >= 0; f = goalPos.nextSetBit(f + 1)) {
+            pos[this.level[f]].set(f);
+        }
+        for (int f = goalNeg.nextSetBit(0); f >= 0; f = goalNeg.nextSetBit(f + 1)) {
+            neg[this.level[f + this.size]].set(f);
+        }
+        int value = 0;
+        for (int i = top; i > 0; i--) {
+            for (int g = pos[i].nextSetBit(0); g >= 0; g = pos[i].nextSetBit(g + 1)) {
+                final int u = this.select(g, i, top);
+                if (u != -1) {
+                    this.achieve(u, pos, neg, i);
+                    value++;
+                } else {
+                    pos[i - 1].clear(g);
+                    pos[i].clear(g);
+                }
+            }
+            for (int g = neg[i].nextSetBit(0); g >= 0; g = neg[i].nextSetBit(g + 1)) {
+                final int u = this.select(g + this.size, i, top);
+                if (u != -1) {
+                    this.achieve(u, pos, neg, i);
+                    value++;
+                } else {
+                    neg[i - 1].set(g);
+                    neg[i].clear(g);
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Adds the preconditions of an operator of the relaxed plan to the goals of their level and removes its
+     * effects from the goals of the current and previous levels. The action of the operator is preferred if
+     * the operator is applicable in the state.
+     *
+     * @param u   the operator.
+     * @param pos the positive goals of each level.
+     * @param neg the negative goals of each level.
+     * @param i   the current level.
+     */
+    private void achieve(final int u, final BitVector[] pos, final BitVector[] neg, final int i) {
+        if (this.pre[u].length == 0 || this.opLevel[u] == 0) {
+            this.preferred.set(this.action[u]);
+        }
+        for (int p : this.pre[u]) {
+            final int l = this.level[p];
+            if (p < this.size) {
+                if (l != 0 && !pos[i - 1].get(p)) {
+                    pos[l].set(p);
+                }
+            } else if (l != 0 && !neg[i - 1].get(p - this.size)) {
+                neg[l].set(p - this.size);
+            }
+        }
+        for (int e : this.eff[u]) {
+            if (e < this.size) {
+                pos[i - 1].clear(e);
+                pos[i].clear(e);
+            } else {
+                neg[i - 1].clear(e - this.size);
+                neg[i].clear(e - this.size);
+            }
+        }
+    }
+
+    /**
+     * Selects the achiever of a literal at a level.
+     *
+     * @param l   the literal.
+     * @param i   the level.
+     * @param top the last level of the graph.
+     * @return the achiever selected or -1 if the literal has no achiever of lower level.
+     */
+    private int select(final int l, final int i, final int top) {
+        int selected = -1;
+        int difficulty = INFINITY;
+        for (int u : this.achievers[l]) {
+            final int lvl = this.pre[u].length == 0 ? top - 1 : this.opLevel[u];
+            if (lvl < i) {
+                int d = 0;
+                for (int p : this.pre[u]) {
+                    d += this.level[p];
+                }
+                if (d < difficulty) {
+                    difficulty = d;
+                    selected = u;
+                }
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * A growable list of primitive integers.
+     */
+    private static final class IntList {
+
+        /**
+         * The elements of the list.
+         */
+        private int[] elements = new int[8];
+
+        /**
+         * The size of the list.
+         */
+        private int size;
+
+        /**
+         * Adds an element at the end of the list.
+         *
+         * @param e the element.
+         */
+        void add(final int e) {
+            if (this.size == this.elements.length) {
+                this.elements = Arrays.copyOf(this.elements, this.size * 2);
+            }
+            this.elements[this.size++] = e;
+        }
+
+        /**
+         * Returns the element at a specified position.
+         *
+         * @param i the position.
+         * @return the element.
+         */
+        int get(final int i) {
+            return this.elements[i];
+        }
+
+        /**
+         * Returns the size of the list.
+         *
+         * @return the size of the list.
+         */
+        int size() {
+            return this.size;
+        }
+
+        /**
+         * Removes all the elements of the list.
+         */
+        void clear() {
+            this.size = 0;
+        }
+
+        /**
+         * Returns the elements of the list as an array.
+         *
+         * @return the elements of the list.
+         */
+        int[] toArray() {
+            return Arrays.copyOf(this.elements, this.size);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package fr.uga.pddl4j.examples.heuristics;
+
+import fr.uga.pddl4j.examples.Node;
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.Condition;
+import fr.uga.pddl4j.problem.operator.ConditionalEffect;
+import fr.uga.pddl4j.util.BitVector;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+
+/**
+ * This class implements the landmark-count heuristic. The value of a state is the number of landmarks not yet
+ * accepted on the path to the state plus the number of accepted goal landmarks that are false in the state.
+ * <p>
+ * A landmark is accepted in a node when it is added by the action leading to the node and all the landmarks
+ * ordered before it are accepted in the parent node. The accepted landmarks are stored in the nodes of the
+ * examples (see {@link Node#getLandmarks()}) and computed from those of the parent node, so the evaluation of
+ * a node only looks at the landmarks the action can add and at the goal landmarks. The landmarks of a state
+ * evaluated without a parent, e.g., the root of the search, are the landmarks true in the state.
+ * </p>
+ * <p>
+ * The heuristic depends on the path to the state and is not admissible.
+ * </p>
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+public final class LandmarkCountHeuristic implements StateHeuristic {
+
+    /**
+     * The class logger.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(LandmarkCountHeuristic.class.getName());
+
+    /**
+     * The landmark graph of the problem.
+     */
+    private final LandmarkGraph graph;
+
+    /**
+     * The landmarks that each action can add.
+     */
+    private final int[][] added;
+
+    /**
+     * The goal landmarks.
+     */
+    private final int[] goals;
+
+    /**
+     * Creates a new landmark-count heuristic for a specified problem. The landmarks of the problem are
+     * extracted by the constructor.
+     *
+     * @param problem the problem.
+     */
+    public LandmarkCountHeuristic(final Problem problem) {
+        final long begin = System.currentTimeMillis();
+        this.graph = LandmarkGraph.extract(problem);
+        final List<Action> actions = problem.getActions();
+        this.added = new int[actions.size()][];
+        for (int a = 0; a < actions.size(); a++) {
+            final BitVector adds = new BitVector();
+            for (ConditionalEffect ce : actions.get(a).getConditionalEffects()) {
+                adds.or(ce.getEffect().getPositiveFluents());
+            }
+            this.added[a] = adds.stream().map(this.graph::getLandmark).filter(l -> l >= 0).toArray();
+        }
+        this.goals = problem.getGoal().getPositiveFluents().stream().map(this.graph::getLandmark).toArray();
+        LOGGER.info("* Landmarks extracted: " + this.graph.size() + " landmarks, "
+            + this.graph.getNumberOfOrderings() + " orderings (" + (System.currentTimeMillis() - begin)
+            + " ms)\n");
+    }
+
+    /**
+     * Returns the landmark graph used by the heuristic.
+     *
+     * @return the landmark graph used by the heuristic.
+     */
+    public LandmarkGraph getLandmarkGraph() {
+        return this.graph;
+    }
+
+    /**
+     * Returns the estimated distance to the goal of a state. If the state is a node of the examples, the
+     * accepted landmarks of the node are computed from those of its parent and stored in the node.
+     *
+     * @param state the state.
+     * @param goal  the goal.
+     * @return the estimated distance to the goal.
+     */
+    @Override
+    public int estimate(final State state, final Condition goal) {
+        final BitVector accepted = state instanceof Node ? this.accepted((Node) state) : this.initial(state);
+        int value = this.graph.size() - accepted.cardinality();
+        for (int l : this.goals) {
+            if (accepted.get(l) && !state.get(this.graph.getFluent(l))) {
+                value++;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Returns the estimated distance to the goal of a node of the library.
+     *
+     * @param node the node.
+     * @param goal the goal.
+     * @return the estimated distance to the goal.
+     */
+    @Override
+    public double estimate(final fr.uga.pddl4j.planners.statespace.search.Node node, final Condition goal) {
+        return this.estimate((State) node, goal);
+    }
+
+    /**
+     * Returns <code>false</code>: the landmark-count heuristic is not admissible.
+     *
+     * @return <code>false</code>.
+     */
+    @Override
+    public boolean isAdmissible() {
+        return false;
+    }
+
+    /**
+     * Returns the landmarks accepted in a node and stores them in the node.
+     *
+     * @param node the node.
+     * @return the landmarks accepted in the node.
+     */
+    private BitVector accepted(final Node node) {
+        if (node.getLandmarks() != null) {
+            return node.getLandmarks();
+        }
+        final Node parent = node.getParent();
+        final BitVector accepted;
+        if (parent == null) {
+            accepted = this.initial(node);
+        } else {
+            if (parent.getLandmarks() == null) {
+                parent.setLandmarks(this.initial(parent));
+            }
+            final BitVector before = parent.getLandmarks();
+            if (node.getAction() == -1) {
+                accepted = before;
+            } else {
+                accepted = new BitVector(before);
+                for (int l : this.added[node.getAction()]) {
+                    if (!accepted.get(l) && node.get(this.graph.getFluent(l))
+                        && this.isReady(l, before)) {
+                        accepted.set(l);
+                    }
+                }
+            }
+        }
+        node.setLandmarks(accepted);
+        return accepted;
+    }
+
+    /**
+     * Returns if all the landmarks ordered before a landmark are accepted.
+     *
+     * @param landmark the landmark.
+     * @param accepted the accepted landmarks.
+     * @return <code>true</code> if all the landmarks ordered before the landmark are accepted.
+     */
+    private boolean isReady(final int landmark, final BitVector accepted) {
+        for (int p : this.graph.getPredecessors(landmark)) {
+            if (!accepted.get(p)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the landmarks true in a state.
+     *
+     * @param state the state.
+     * @return the landmarks true in the state.
+     */
+    private BitVector initial(final State state) {
+        final BitVector accepted = new BitVector();
+        for (int l = 0; l < this.graph.size(); l++) {
+            if (state.get(this.graph.getFluent(l))) {
+                accepted.set(l);
+            }
+        }
+        return accepted;
+    }
+}
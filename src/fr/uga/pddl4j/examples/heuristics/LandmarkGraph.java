@@ -0,0 +1,271 @@
+package fr.uga.pddl4j.examples.heuristics;
+
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.ConditionalEffect;
+import fr.uga.pddl4j.util.BitVector;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * This class implements the extraction of the fact landmarks of a problem and of their greedy-necessary
+ * orderings. A fact landmark is a fluent that must be true at some point of every solution plan.
+ * <p>
+ * The extraction works backward from the goal with a relaxed planning graph: for a landmark <code>L</code>
+ * not true in the initial state, the fluents reachable in the relaxed problem without the actions adding
+ * <code>L</code> are computed, and the preconditions shared by all the actions that can first add
+ * <code>L</code> from these fluents are landmarks ordered before <code>L</code>. Only positive fluents are
+ * considered and the conditional effects are handled as separate actions whose precondition includes their
+ * condition.
+ * </p>
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+public final class LandmarkGraph {
+
+    /**
+     * The fluent of each landmark.
+     */
+    private final int[] fluents;
+
+    /**
+     * The landmarks ordered before each landmark.
+     */
+    private final int[][] predecessors;
+
+    /**
+     * The landmark of each fluent or -1 if the fluent is not a landmark.
+     */
+    private final int[] index;
+
+    /**
+     * Creates a new landmark graph.
+     *
+     * @param fluents      the fluent of each landmark.
+     * @param predecessors the landmarks ordered before each landmark.
+     * @param index        the landmark of each fluent or -1 if the fluent is not a landmark.
+     */
+    private LandmarkGraph(final int[] fluents, final int[][] predecessors, final int[] index) {
+        this.fluents = fluents;
+        this.predecessors = predecessors;
+        this.index = index;
+    }
+
+    /**
+     * Returns the number of landmarks.
+     *
+     * @return the number of landmarks.
+     */
+    public int size() {
+        return this.fluents.length;
+    }
+
+    /**
+     * Returns the number of orderings between the landmarks.
+     *
+     * @return the number of orderings between the landmarks.
+     */
+    public int getNumberOfOrderings() {
+        int orderings = 0;
+        for (int[] p : this.predecessors) {
+            orderings += p.length;
+        }
+        return orderings;
+    }
+
+    /**
+     * Returns the fluent of a landmark.
+     *
+     * @param landmark the landmark.
+     * @return the fluent of the landmark.
+     */
+    public int getFluent(final int landmark) {
+        return this.fluents[landmark];
+    }
+
+    /**
+     * Returns the landmarks ordered before a landmark.
+     *
+     * @param landmark the landmark.
+     * @return the landmarks ordered before the landmark.
+     */
+    public int[] getPredecessors(final int landmark) {
+        return this.predecessors[landmark];
+    }
+
+    /**
+     * Returns the landmark of a fluent.
+     *
+     * @param fluent the fluent.
+     * @return the landmark of the fluent or -1 if the fluent is not a landmark.
+     */
+    public int getLandmark(final int fluent) {
+        return this.index[fluent];
+    }
+
+    /**
+     * Extracts the landmarks of a problem.
+     *
+     * @param problem the problem.
+     * @return the landmark graph of the problem.
+     */
+    public static LandmarkGraph extract(final Problem problem) {
+        final int nbFluents = problem.getFluents().size();
+
+        // We split the actions into units, one per conditional effect
+        final List<BitVector> unitPre = new ArrayList<>();
+        final List<BitVector> unitAdd = new ArrayList<>();
+        for (Action a : problem.getActions()) {
+            for (ConditionalEffect ce : a.getConditionalEffects()) {
+                if (ce.getEffect().getPositiveFluents().isEmpty()) {
+                    continue;
+                }
+                final BitVector pre = new BitVector(a.getPrecondition().getPositiveFluents());
+                pre.or(ce.getCondition().getPositiveFluents());
+                unitPre.add(pre);
+                unitAdd.add(new BitVector(ce.getEffect().getPositiveFluents()));
+            }
+        }
+        final int nbUnits = unitPre.size();
+        final int[] size = new int[nbUnits];
+        final List<List<Integer>> consumers = new ArrayList<>(nbFluents);
+        for (int f = 0; f < nbFluents; f++) {
+            consumers.add(new ArrayList<>());
+        }
+        final List<List<Integer>> achievers = new ArrayList<>(nbFluents);
+        for (int f = 0; f < nbFluents; f++) {
+            achievers.add(new ArrayList<>());
+        }
+        for (int u = 0; u < nbUnits; u++) {
+            final BitVector pre = unitPre.get(u);
+            size[u] = pre.cardinality();
+            for (int f = pre.nextSetBit(0); f >= 0; f = pre.nextSetBit(f + 1)) {
+                consumers.get(f).add(u);
+            }
+            final BitVector add = unitAdd.get(u);
+            for (int f = add.nextSetBit(0); f >= 0; f = add.nextSetBit(f + 1)) {
+                achievers.get(f).add(u);
+            }
+        }
+
+        // We back-chain from the goal landmarks
+        final BitVector init = problem.getInitialState().getPositiveFluents();
+        final int[] index = new int[nbFluents];
+        Arrays.fill(index, -1);
+        final List<Integer> fluents = new ArrayList<>();
+        final List<List<Integer>> predecessors = new ArrayList<>();
+        final Deque<Integer> pending = new ArrayDeque<>();
+        final BitVector goal = problem.getGoal().getPositiveFluents();
+        for (int g = goal.nextSetBit(0); g >= 0; g = goal.nextSetBit(g + 1)) {
+            index[g] = fluents.size();
+            fluents.add(g);
+            predecessors.add(new ArrayList<>());
+            pending.add(g);
+        }
+        while (!pending.isEmpty()) {
+            final int landmark = pending.poll();
+            if (init.get(landmark)) {
+                continue;
+            }
+            final BitVector reached = LandmarkGraph.reachable(init, unitPre, unitAdd, size, consumers, landmark);
+            BitVector shared = null;
+            for (int u : achievers.get(landmark)) {
+                final BitVector pre = unitPre.get(u);
+                final BitVector missing = new BitVector(pre);
+                missing.andNot(reached);
+                if (missing.isEmpty()) {
+                    if (shared == null) {
+                        shared = new BitVector(pre);
+                    } else {
+                        shared.and(pre);
+                    }
+                }
+            }
+            if (shared == null) {
+                continue;
+            }
+            for (int p = shared.nextSetBit(0); p >= 0; p = shared.nextSetBit(p + 1)) {
+                if (init.get(p)) {
+                    continue;
+                }
+                if (index[p] == -1) {
+                    index[p] = fluents.size();
+                    fluents.add(p);
+                    predecessors.add(new ArrayList<>());
+                    pending.add(p);
+                }
+                final List<Integer> before = predecessors.get(index[landmark]);
+                if (!before.contains(index[p])) {
+                    before.add(index[p]);
+                }
+            }
+        }
+        final int[][] preds = new int[fluents.size()][];
+        for (int l = 0; l < preds.length; l++) {
+            preds[l] = predecessors.get(l).stream().mapToInt(Integer::intValue).toArray();
+        }
+        return new LandmarkGraph(fluents.stream().mapToInt(Integer::intValue).toArray(), preds, index);
+    }
+
+    /**
+     * Returns the fluents reachable in the relaxed problem without the units adding a specified fluent.
+     *
+     * @param init      the fluents of the initial state.
+     * @param unitPre   the precondition of each unit.
+     * @param unitAdd   the positive effect of each unit.
+     * @param size      the size of the precondition of each unit.
+     * @param consumers the units requiring each fluent.
+     * @param excluded  the fluent whose achievers are excluded.
+     * @return the fluents reachable.
+     */
+    private static BitVector reachable(final BitVector init, final List<BitVector> unitPre,
+                                       final List<BitVector> unitAdd, final int[] size,
+                                       final List<List<Integer>> consumers, final int excluded) {
+        final BitVector reached = new BitVector(init);
+        final int[] missing = Arrays.copyOf(size, size.length);
+        final Deque<Integer> queue = new ArrayDeque<>();
+        for (int f = init.nextSetBit(0); f >= 0; f = init.nextSetBit(f + 1)) {
+            queue.add(f);
+        }
+        for (int u = 0; u < missing.length; u++) {
+            if (missing[u] == 0) {
+                LandmarkGraph.fire(unitAdd.get(u), excluded, reached, queue);
+            }
+        }
+        while (!queue.isEmpty()) {
+            final int f = queue.poll();
+            for (int u : consumers.get(f)) {
+                if (--missing[u] == 0) {
+                    LandmarkGraph.fire(unitAdd.get(u), excluded, reached, queue);
+                }
+            }
+        }
+        return reached;
+    }
+
+    /**
+     * Adds the positive effect of a unit to the reached fluents unless the unit adds the excluded fluent.
+     *
+     * @param add      the positive effect of the unit.
+     * @param excluded the fluent whose achievers are excluded.
+     * @param reached  the fluents reached.
+     * @param queue    the fluents reached and not yet propagated.
+     */
+    private static void fire(final BitVector add, final int excluded, final BitVector reached,
+                             final Deque<Integer> queue) {
+        if (add.get(excluded)) {
+            return;
+        }
+        for (int f = add.nextSetBit(0); f >= 0; f = add.nextSetBit(f + 1)) {
+            if (!reached.get(f)) {
+                reached.set(f);
+                queue.add(f);
+            }
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package fr.uga.pddl4j.examples.heuristics;
+
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.ConditionalEffect;
+import fr.uga.pddl4j.util.BitVector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class implements the detection of the mutex groups of a problem. A mutex group is a set of fluents of
+ * which at most one is true in every reachable state; it is the domain of a multi-valued (SAS+) variable whose
+ * extra value stands for "none of the fluents".
+ * <p>
+ * The mutexes are the pairs of fluents that are not reachable together according to the h^2 heuristic, computed
+ * by a fixpoint over the pairs of fluents. Negative preconditions and the conditions of the conditional effects are
+ * ignored and only the unconditional deletes are taken into account, so that the reachable pairs are
+ * over-approximated and the mutexes are sound. The fluents are then partitioned greedily: starting from the goal
+ * fluents, each group is grown with the fluents exchanged with its members by an action, i.e., added by an action
+ * that deletes a member required by its precondition or conversely, as long as they are mutex with all the members.
+ * The fluents left alone form singleton groups, i.e., binary variables.
+ * </p>
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+public final class MutexGroups {
+
+    /**
+     * The fluents of each group.
+     */
+    private final int[][] groups;
+
+    /**
+     * The fluents reachable together with each fluent.
+     */
+    private final BitVector[] pairs;
+
+    /**
+     * Creates new mutex groups.
+     *
+     * @param groups the fluents of each group.
+     * @param pairs  the fluents reachable together with each fluent.
+     */
+    private MutexGroups(final int[][] groups, final BitVector[] pairs) {
+        this.groups = groups;
+        this.pairs = pairs;
+    }
+
+    /**
+     * Returns the fluents of each group. The groups partition the fluents of the problem and the groups containing
+     * a goal fluent come first.
+     *
+     * @return the fluents of each group.
+     */
+    public int[][] getGroups() {
+        return this.groups;
+    }
+
+    /**
+     * Returns if two distinct fluents are mutex, i.e., if they cannot be true in the same reachable state.
+     *
+     * @param p the first fluent.
+     * @param q the second fluent.
+     * @return <code>true</code> if the fluents are mutex, <code>false</code> otherwise.
+     */
+    public boolean isMutex(final int p, final int q) {
+        return !this.pairs[p].get(q);
+    }
+
+    /**
+     * Detects the mutex groups of a problem.
+     *
+     * @param problem the problem.
+     * @return the mutex groups of the problem.
+     */
+    public static MutexGroups detect(final Problem problem) {
+        final int nbFluents = problem.getFluents().size();
+        final List<Action> actions = problem.getActions();
+        final BitVector[] pairs = MutexGroups.reachablePairs(problem);
+
+        // We compute the fluents exchanged by the actions
+        final BitVector[] exchanged = new BitVector[nbFluents];
+        for (int f = 0; f < nbFluents; f++) {
+            exchanged[f] = new BitVector();
+        }
+        for (Action action : actions) {
+            final BitVector consumed = new BitVector(action.getPrecondition().getPositiveFluents());
+            consumed.and(MutexGroups.deletes(action));
+            final BitVector added = MutexGroups.adds(action);
+            for (int r = consumed.nextSetBit(0); r >= 0; r = consumed.nextSetBit(r + 1)) {
+                for (int q = added.nextSetBit(0); q >= 0; q = added.nextSetBit(q + 1)) {
+                    if (q != r) {
+                        exchanged[r].set(q);
+                        exchanged[q].set(r);
+                    }
+                }
+            }
+        }
+
+        // We grow the groups from the goal fluents first
+        final List<Integer> seeds = new ArrayList<>(nbFluents);
+        final BitVector goal = problem.getGoal().getPositiveFluents();
+        for (int f = goal.nextSetBit(0); f >= 0; f = goal.nextSetBit(f + 1)) {
+            seeds.add(f);
+        }
+        for (int f = 0; f < nbFluents; f++) {
+            if (!goal.get(f)) {
+                seeds.add(f);
+            }
+        }
+        final boolean[] covered = new boolean[nbFluents];
+        final List<int[]> groups = new ArrayList<>();
+        for (int seed : seeds) {
+            if (covered[seed]) {
+                continue;
+            }
+            final List<Integer> group = new ArrayList<>();
+            group.add(seed);
+            covered[seed] = true;
+            // The group is grown in breadth-first order of the exchanges of its members
+            for (int i = 0; i < group.size() && pairs[seed].get(seed); i++) {
+                final BitVector candidates = exchanged[group.get(i)];
+                for (int c = candidates.nextSetBit(0); c >= 0; c = candidates.nextSetBit(c + 1)) {
+                    if (!covered[c] && pairs[c].get(c) && MutexGroups.isMutexWithAll(pairs, c, group)) {
+                        group.add(c);
+                        covered[c] = true;
+                    }
+                }
+            }
+            groups.add(group.stream().mapToInt(Integer::intValue).toArray());
+        }
+        return new MutexGroups(groups.toArray(new int[0][]), pairs);
+    }
+
+    /**
+     * Returns if a fluent is mutex with all the fluents of a group.
+     *
+     * @param pairs the fluents reachable together with each fluent.
+     * @param f     the fluent.
+     * @param group the group.
+     * @return <code>true</code> if the fluent is mutex with all the fluents of the group, <code>false</code>
+     *     otherwise.
+     */
+    private static boolean isMutexWithAll(final BitVector[] pairs, final int f, final List<Integer> group) {
+        for (int g : group) {
+            if (pairs[f].get(g)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computes the pairs of fluents reachable together according to the h^2 heuristic. A fluent is reachable if it
+     * is reachable together with itself.
+     *
+     * @param problem the problem.
+     * @return the fluents reachable together with each fluent.
+     */
+    private static BitVector[] reachablePairs(final Problem problem) {
+        final int nbFluents = problem.getFluents().size();
+        final List<Action> actions = problem.getActions();
+        final BitVector[] pairs = new BitVector[nbFluents];
+        final BitVector init = problem.getInitialState().getPositiveFluents();
+        for (int f = 0; f < nbFluents; f++) {
+            pairs[f] = new BitVector();
+            if (init.get(f)) {
+                pairs[f].or(init);
+            }
+        }
+        final BitVector reached = new BitVector(init);
+        final BitVector[] adds = new BitVector[actions.size()];
+        final BitVector[] deletes = new BitVector[actions.size()];
+        for (int a = 0; a < actions.size(); a++) {
+            adds[a] = MutexGroups.adds(actions.get(a));
+            deletes[a] = MutexGroups.deletes(actions.get(a));
+        }
+
+        // We apply the actions whose preconditions are pairwise reachable until no new pair is reached
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int a = 0; a < actions.size(); a++) {
+                final BitVector pre = actions.get(a).getPrecondition().getPositiveFluents();
+                if (adds[a].isEmpty() || !reached.include(pre)) {
+                    continue;
+                }
+                // The fluents reachable with all the preconditions and not deleted stay true with the added ones
+                final BitVector persistent = new BitVector(reached);
+                for (int p = pre.nextSetBit(0); p >= 0 && !persistent.isEmpty(); p = pre.nextSetBit(p + 1)) {
+                    persistent.and(pairs[p]);
+                }
+                if (!persistent.include(pre)) {
+                    continue;
+                }
+                persistent.andNot(deletes[a]);
+                persistent.or(adds[a]);
+                final BitVector add = adds[a];
+                for (int q = add.nextSetBit(0); q >= 0; q = add.nextSetBit(q + 1)) {
+                    final BitVector fresh = new BitVector(persistent);
+                    fresh.andNot(pairs[q]);
+                    if (!fresh.isEmpty()) {
+                        changed = true;
+                        pairs[q].or(fresh);
+                        reached.set(q);
+                        for (int r = fresh.nextSetBit(0); r >= 0; r = fresh.nextSetBit(r + 1)) {
+                            pairs[r].set(q);
+                        }
+                    }
+                }
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * Returns the fluents added by an action, whatever the conditions of its effects.
+     *
+     * @param action the action.
+     * @return the fluents added by the action.
+     */
+    private static BitVector adds(final Action action) {
+        final BitVector adds = new BitVector();
+        for (ConditionalEffect ce : action.getConditionalEffects()) {
+            adds.or(ce.getEffect().getPositiveFluents());
+        }
+        return adds;
+    }
+
+    /**
+     * Returns the fluents deleted by the unconditional effects of an action.
+     *
+     * @param action the action.
+     * @return the fluents deleted by the action in every state where it is applicable.
+     */
+    private static BitVector deletes(final Action action) {
+        final BitVector deletes = new BitVector();
+        for (ConditionalEffect ce : action.getConditionalEffects()) {
+            if (ce.getCondition().isEmpty()) {
+                deletes.or(ce.getEffect().getNegativeFluents());
+            }
+        }
+        return deletes;
+    }
+}
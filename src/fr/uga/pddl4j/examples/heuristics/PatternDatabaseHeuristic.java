@@ -0,0 +1,1002 @@
+package fr.uga.pddl4j.examples.heuristics;
+
+import fr.uga.pddl4j.examples.ProblemFingerprint;
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.planners.statespace.search.Node;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.Condition;
+import fr.uga.pddl4j.problem.operator.ConditionalEffect;
+import fr.uga.pddl4j.util.BitVector;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class implements an admissible pattern database heuristic. The fluents of the problem are first grouped
+ * into multi-valued variables with {@link MutexGroups}: the value of a variable is the only fluent of its group true
+ * in the state, or none of them. A pattern is a small set of variables; the problem projected on a pattern has as
+ * many abstract states as the product of the domain sizes of its variables, and the distance of each abstract state
+ * to the abstract goal is computed once by a backward breadth-first search and stored in a compact array of shorts.
+ * <p>
+ * The patterns are selected automatically: each variable of the goal starts a new pattern, which is grown with the
+ * variables that most often appear in the preconditions of the actions modifying the pattern. Every pattern is
+ * charged the full cost of the actions, so each pattern is admissible on its own, and the heuristic is the canonical
+ * combination of the patterns: the maximum, over the maximal sets of patterns that no action modifies together, of
+ * the sum of their values. The evaluation of a state costs one table lookup per pattern.
+ * </p>
+ * <p>
+ * The pattern databases can be stored in a cache directory keyed by the fingerprint of the instantiated problem,
+ * so that repeated runs on the same problem skip the construction. A pattern database heuristic is immutable and
+ * can be shared by several threads.
+ * </p>
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+public final class PatternDatabaseHeuristic implements StateHeuristic {
+
+    /**
+     * The class logger.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(PatternDatabaseHeuristic.class.getName());
+
+    /**
+     * The maximum number of entries of a pattern database.
+     */
+    public static final int MAX_PATTERN_ENTRIES = 1 << 16;
+
+    /**
+     * The maximum number of entries of all the pattern databases.
+     */
+    public static final int MAX_ENTRIES = 1 << 22;
+
+    /**
+     * The maximum number of additive sets of patterns.
+     */
+    private static final int MAX_SUBSETS = 1024;
+
+    /**
+     * The value stored for the abstract states from which the abstract goal cannot be reached.
+     */
+    private static final short UNREACHABLE = Short.MAX_VALUE;
+
+    /**
+     * The magic number of the cache files.
+     */
+    private static final int MAGIC = 0x50444232;
+
+    /**
+     * The fluents of each variable used by the patterns.
+     */
+    private final int[][] variables;
+
+    /**
+     * The variables of each pattern.
+     */
+    private final int[][] patterns;
+
+    /**
+     * The distance to the goal of each abstract state of each pattern.
+     */
+    private final short[][] tables;
+
+    /**
+     * The patterns of each maximal additive set of patterns.
+     */
+    private final int[][] subsets;
+
+    /**
+     * The variable of each fluent or -1 if the fluent belongs to no variable used by the patterns.
+     */
+    private final int[] variableOf;
+
+    /**
+     * The value of each fluent in its variable, the value 0 standing for none of the fluents of the variable.
+     */
+    private final int[] valueOf;
+
+    /**
+     * The weight of each variable of each pattern in the index of the abstract states.
+     */
+    private final int[][] multipliers;
+
+    /**
+     * Creates a new pattern database heuristic from its patterns and tables.
+     *
+     * @param variables the fluents of each variable used by the patterns.
+     * @param patterns  the variables of each pattern.
+     * @param tables    the distance to the goal of each abstract state of each pattern.
+     * @param subsets   the patterns of each maximal additive set of patterns.
+     */
+    private PatternDatabaseHeuristic(final int[][] variables, final int[][] patterns, final short[][] tables,
+                                     final int[][] subsets) {
+        this.variables = variables;
+        this.patterns = patterns;
+        this.tables = tables;
+        this.subsets = subsets;
+        int nbFluents = 0;
+        for (int[] variable : variables) {
+            for (int f : variable) {
+                nbFluents = Math.max(nbFluents, f + 1);
+            }
+        }
+        this.variableOf = new int[nbFluents];
+        this.valueOf = new int[nbFluents];
+        Arrays.fill(this.variableOf, -1);
+        for (int v = 0; v < variables.length; v++) {
+            for (int i = 0; i < variables[v].length; i++) {
+                this.variableOf[variables[v][i]] = v;
+                this.valueOf[variables[v][i]] = i + 1;
+            }
+        }
+        this.multipliers = new int[patterns.length][];
+        for (int p = 0; p < patterns.length; p++) {
+            this.multipliers[p] = PatternDatabaseHeuristic.multipliers(variables, patterns[p]);
+        }
+    }
+
+    /**
+     * Returns the number of patterns of the heuristic.
+     *
+     * @return the number of patterns of the heuristic.
+     */
+    public int getNumberOfPatterns() {
+        return this.patterns.length;
+    }
+
+    /**
+     * Returns the pattern database heuristic of a problem. If a cache directory is specified, the pattern
+     * databases are loaded from the cache when they were already built for the same problem, and stored in
+     * the cache otherwise.
+     *
+     * @param problem the problem.
+     * @param cache   the cache directory or <code>null</code>.
+     * @return the pattern database heuristic of the problem.
+     */
+    public static PatternDatabaseHeuristic getInstance(final Problem problem, final File cache) {
+        final long begin = System.currentTimeMillis();
+        File file = null;
+        if (cache != null) {
+            file = new File(cache, "pdb-" + ProblemFingerprint.of(problem) + "-" + MAX_PATTERN_ENTRIES + ".bin");
+            if (file.isFile()) {
+                try {
+                    final PatternDatabaseHeuristic pdb = PatternDatabaseHeuristic.load(file);
+                    LOGGER.info("* Pattern databases loaded from " + file + " ("
+                        + (System.currentTimeMillis() - begin) + " ms)\n");
+                    return pdb;
+                } catch (IOException e) {
+                    LOGGER.error("* Cannot load the pattern databases from " + file + ": " + e.getMessage() + "\n");
+                }
+            }
+        }
+        final PatternDatabaseHeuristic pdb = PatternDatabaseHeuristic.build(problem);
+        int entries = 0;
+        for (short[] t : pdb.tables) {
+            entries += t.length;
+        }
+        LOGGER.info("* Pattern databases built: " + pdb.patterns.length + " patterns over " + pdb.variables.length
+            + " variables, " + pdb.subsets.length + " additive sets, " + entries + " entries ("
+            + (System.currentTimeMillis() - begin) + " ms)\n");
+        if (file != null) {
+            try {
+                cache.mkdirs();
+                pdb.save(file);
+            } catch (IOException e) {
+                LOGGER.error("* Cannot store the pattern databases in " + file + ": " + e.getMessage() + "\n");
+            }
+        }
+        return pdb;
+    }
+
+    /**
+     * Returns the estimated distance to the goal of a state. The goal is the goal of the problem the pattern
+     * databases were built for.
+     *
+     * @param state the state.
+     * @param goal  the goal.
+     * @return the estimated distance to the goal or <code>Integer.MAX_VALUE</code> if the goal is unreachable.
+     */
+    @Override
+    public int estimate(final State state, final Condition goal) {
+        final int[] values = new int[this.variables.length];
+        for (int f = state.nextSetBit(0); f >= 0 && f < this.variableOf.length; f = state.nextSetBit(f + 1)) {
+            if (this.variableOf[f] >= 0) {
+                values[this.variableOf[f]] = this.valueOf[f];
+            }
+        }
+        final int[] h = new int[this.patterns.length];
+        for (int p = 0; p < this.patterns.length; p++) {
+            final int[] pattern = this.patterns[p];
+            int index = 0;
+            for (int k = 0; k < pattern.length; k++) {
+                index += values[pattern[k]] * this.multipliers[p][k];
+            }
+            final short d = this.tables[p][index];
+            if (d == UNREACHABLE) {
+                return Integer.MAX_VALUE;
+            }
+            h[p] = d;
+        }
+        int value = 0;
+        for (int[] subset : this.subsets) {
+            int sum = 0;
+            for (int p : subset) {
+                sum += h[p];
+            }
+            value = Math.max(value, sum);
+        }
+        return value;
+    }
+
+    /**
+     * Returns the estimated distance to the goal of a node of the library.
+     *
+     * @param node the node.
+     * @param goal the goal.
+     * @return the estimated distance to the goal.
+     */
+    @Override
+    public double estimate(final Node node, final Condition goal) {
+        return this.estimate((State) node, goal);
+    }
+
+    /**
+     * Returns <code>true</code>: the pattern database heuristic is admissible.
+     *
+     * @return <code>true</code>.
+     */
+    @Override
+    public boolean isAdmissible() {
+        return true;
+    }
+
+    /**
+     * Builds the pattern databases of a problem.
+     *
+     * @param problem the problem.
+     * @return the pattern database heuristic of the problem.
+     */
+    private static PatternDatabaseHeuristic build(final Problem problem) {
+        final int nbFluents = problem.getFluents().size();
+        final List<Action> actions = problem.getActions();
+        final Condition goal = problem.getGoal();
+        final int[][] groups = MutexGroups.detect(problem).getGroups();
+        final int[] groupOf = new int[nbFluents];
+        for (int g = 0; g < groups.length; g++) {
+            for (int f : groups[g]) {
+                groupOf[f] = g;
+            }
+        }
+
+        // We compute the actions modifying each variable and the variables of the conditions of each action
+        final List<List<Integer>> modifiers = new ArrayList<>(groups.length);
+        for (int g = 0; g < groups.length; g++) {
+            modifiers.add(new ArrayList<>());
+        }
+        final BitVector[] modified = new BitVector[actions.size()];
+        final BitVector[] conditions = new BitVector[actions.size()];
+        for (int a = 0; a < actions.size(); a++) {
+            final Action action = actions.get(a);
+            modified[a] = PatternDatabaseHeuristic.variables(PatternDatabaseHeuristic.modified(action), groupOf);
+            for (int v = modified[a].nextSetBit(0); v >= 0; v = modified[a].nextSetBit(v + 1)) {
+                modifiers.get(v).add(a);
+            }
+            final BitVector fluents = new BitVector(action.getPrecondition().getPositiveFluents());
+            fluents.or(action.getPrecondition().getNegativeFluents());
+            for (ConditionalEffect ce : action.getConditionalEffects()) {
+                fluents.or(ce.getCondition().getPositiveFluents());
+                fluents.or(ce.getCondition().getNegativeFluents());
+            }
+            conditions[a] = PatternDatabaseHeuristic.variables(fluents, groupOf);
+        }
+
+        // We select the patterns: each goal variable starts a new pattern grown with the variables the most often
+        // required by the actions modifying the pattern
+        final BitVector goalFluents = new BitVector(goal.getPositiveFluents());
+        goalFluents.or(goal.getNegativeFluents());
+        final BitVector goalVariables = PatternDatabaseHeuristic.variables(goalFluents, groupOf);
+        final long limit = Math.min(MAX_PATTERN_ENTRIES, MAX_ENTRIES / Math.max(1, goalVariables.cardinality()));
+        final List<int[]> patterns = new ArrayList<>();
+        for (int g = goalVariables.nextSetBit(0); g >= 0; g = goalVariables.nextSetBit(g + 1)) {
+            final BitVector pattern = new BitVector();
+            final int[] score = new int[groups.length];
+            long entries = groups[g].length + 1;
+            int next = g;
+            while (next >= 0) {
+                pattern.set(next);
+                for (int a : modifiers.get(next)) {
+                    final BitVector c = conditions[a];
+                    for (int v = c.nextSetBit(0); v >= 0; v = c.nextSetBit(v + 1)) {
+                        score[v]++;
+                    }
+                }
+                next = -1;
+                int best = 0;
+                for (int v = 0; v < groups.length; v++) {
+                    if (!pattern.get(v) && score[v] > best && entries * (groups[v].length + 1) <= limit) {
+                        best = score[v];
+                        next = v;
+                    }
+                }
+                if (next >= 0) {
+                    entries *= groups[next].length + 1;
+                }
+            }
+            final int[] sorted = pattern.stream().toArray();
+            if (patterns.stream().noneMatch(p -> Arrays.equals(p, sorted))) {
+                patterns.add(sorted);
+            }
+        }
+
+        // We renumber the variables used by the patterns
+        final int[] used = new int[groups.length];
+        Arrays.fill(used, -1);
+        final List<int[]> variables = new ArrayList<>();
+        final int[][] pArray = new int[patterns.size()][];
+        for (int p = 0; p < pArray.length; p++) {
+            pArray[p] = patterns.get(p).clone();
+            for (int k = 0; k < pArray[p].length; k++) {
+                final int g = pArray[p][k];
+                if (used[g] < 0) {
+                    used[g] = variables.size();
+                    variables.add(groups[g]);
+                }
+                pArray[p][k] = used[g];
+            }
+        }
+        final int[][] vArray = variables.toArray(new int[0][]);
+
+        // We compute the maximal sets of patterns that no action modifies together
+        final BitVector[] additive = new BitVector[pArray.length];
+        for (int p = 0; p < pArray.length; p++) {
+            additive[p] = new BitVector();
+            additive[p].set(0, pArray.length);
+            additive[p].clear(p);
+        }
+        final List<List<Integer>> patternsOf = new ArrayList<>(groups.length);
+        for (int g = 0; g < groups.length; g++) {
+            patternsOf.add(new ArrayList<>());
+        }
+        for (int p = 0; p < pArray.length; p++) {
+            for (int g : patterns.get(p)) {
+                patternsOf.get(g).add(p);
+            }
+        }
+        for (int a = 0; a < actions.size(); a++) {
+            final BitVector touched = new BitVector();
+            for (int g = modified[a].nextSetBit(0); g >= 0; g = modified[a].nextSetBit(g + 1)) {
+                patternsOf.get(g).forEach(touched::set);
+            }
+            for (int p = touched.nextSetBit(0); p >= 0; p = touched.nextSetBit(p + 1)) {
+                additive[p].andNot(touched);
+            }
+        }
+        final List<int[]> subsets = new ArrayList<>();
+        final BitVector all = new BitVector();
+        all.set(0, pArray.length);
+        PatternDatabaseHeuristic.maximalSubsets(new BitVector(), all, new BitVector(), additive, subsets);
+
+        final short[][] tables = new short[pArray.length][];
+        for (int p = 0; p < pArray.length; p++) {
+            tables[p] = PatternDatabaseHeuristic.distances(problem, vArray, pArray[p]);
+        }
+        return new PatternDatabaseHeuristic(vArray, pArray, tables, subsets.toArray(new int[0][]));
+    }
+
+    /**
+     * Enumerates the maximal sets of pairwise additive patterns with the Bron-Kerbosch algorithm. The enumeration
+     * stops after {@link #MAX_SUBSETS} sets, which keeps the heuristic admissible since every set enumerated is
+     * additive.
+     *
+     * @param current    the patterns of the set being built.
+     * @param candidates the patterns that can extend the set.
+     * @param excluded   the patterns already used to extend the set.
+     * @param additive   the patterns additive with each pattern.
+     * @param subsets    the list where the maximal sets are added.
+     */
+    private static void maximalSubsets(final BitVector current, final BitVector candidates, final BitVector excluded,
+                                       final BitVector[] additive, final List<int[]> subsets) {
+        if (candidates.isEmpty() && excluded.isEmpty()) {
+            subsets.add(current.stream().toArray());
+            return;
+        }
+        // We branch only on the candidates that are not additive with a pivot of maximal degree
+        int pivot = -1;
+        int degree = -1;
+        final BitVector union = new BitVector(candidates);
+        union.or(excluded);
+        for (int u = union.nextSetBit(0); u >= 0; u = union.nextSetBit(u + 1)) {
+            final BitVector common = new BitVector(candidates);
+            common.and(additive[u]);
+            if (common.cardinality() > degree) {
+                degree = common.cardinality();
+                pivot = u;
+            }
+        }
+        final BitVector branches = new BitVector(candidates);
+        branches.andNot(additive[pivot]);
+        for (int v = branches.nextSetBit(0); v >= 0 && subsets.size() < MAX_SUBSETS; v = branches.nextSetBit(v + 1)) {
+            final BitVector nextCurrent = new BitVector(current);
+            nextCurrent.set(v);
+            final BitVector nextCandidates = new BitVector(candidates);
+            nextCandidates.and(additive[v]);
+            final BitVector nextExcluded = new BitVector(excluded);
+            nextExcluded.and(additive[v]);
+            PatternDatabaseHeuristic.maximalSubsets(nextCurrent, nextCandidates, nextExcluded, additive, subsets);
+            candidates.clear(v);
+            excluded.set(v);
+        }
+    }
+
+    /**
+     * Returns the fluents modified by the effects of an action.
+     *
+     * @param action the action.
+     * @return the fluents modified by the action.
+     */
+    private static BitVector modified(final Action action) {
+        final BitVector modified = new BitVector();
+        for (ConditionalEffect ce : action.getConditionalEffects()) {
+            modified.or(ce.getEffect().getPositiveFluents());
+            modified.or(ce.getEffect().getNegativeFluents());
+        }
+        return modified;
+    }
+
+    /**
+     * Returns the variables of a set of fluents.
+     *
+     * @param fluents the set of fluents.
+     * @param groupOf the variable of each fluent.
+     * @return the variables of the fluents.
+     */
+    private static BitVector variables(final BitVector fluents, final int[] groupOf) {
+        final BitVector variables = new BitVector();
+        for (int f = fluents.nextSetBit(0); f >= 0; f = fluents.nextSetBit(f + 1)) {
+            variables.set(groupOf[f]);
+        }
+        return variables;
+    }
+
+    /**
+     * Returns the weight of each variable of a pattern in the index of the abstract states. The domain of a variable
+     * has one more value than its fluents, standing for none of them.
+     *
+     * @param variables the fluents of each variable.
+     * @param pattern   the variables of the pattern.
+     * @return the weight of each variable of the pattern.
+     */
+    private static int[] multipliers(final int[][] variables, final int[] pattern) {
+        final int[] multipliers = new int[pattern.length];
+        int weight = 1;
+        for (int k = 0; k < pattern.length; k++) {
+            multipliers[k] = weight;
+            weight *= variables[pattern[k]].length + 1;
+        }
+        return multipliers;
+    }
+
+    /**
+     * Returns the number of abstract states of a pattern.
+     *
+     * @param variables the fluents of each variable.
+     * @param pattern   the variables of the pattern.
+     * @return the number of abstract states of the pattern.
+     */
+    private static long size(final int[][] variables, final int[] pattern) {
+        long size = 1;
+        for (int v : pattern) {
+            size *= variables[v].length + 1;
+        }
+        return size;
+    }
+
+    /**
+     * Returns the mask of the fluents of a set that belong to a pattern. The fluents of the pattern are numbered
+     * locally, variable after variable.
+     *
+     * @param fluents the set of fluents.
+     * @param local   the local index of each fluent in the pattern or -1 if the fluent is not in the pattern.
+     * @param words   the number of words of the mask.
+     * @return the mask of the fluents of the set in the pattern.
+     */
+    private static long[] mask(final BitVector fluents, final int[] local, final int words) {
+        final long[] mask = new long[words];
+        for (int f = fluents.nextSetBit(0); f >= 0; f = fluents.nextSetBit(f + 1)) {
+            if (local[f] >= 0) {
+                mask[local[f] >>> 6] |= 1L << local[f];
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Returns if all the fluents of a set belong to a pattern.
+     *
+     * @param fluents the set of fluents.
+     * @param local   the local index of each fluent in the pattern or -1 if the fluent is not in the pattern.
+     * @return <code>true</code> if all the fluents belong to the pattern, <code>false</code> otherwise.
+     */
+    private static boolean inPattern(final BitVector fluents, final int[] local) {
+        for (int f = fluents.nextSetBit(0); f >= 0; f = fluents.nextSetBit(f + 1)) {
+            if (local[f] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns if a mask contains all the bits of another mask.
+     *
+     * @param mask  the mask.
+     * @param other the other mask.
+     * @return <code>true</code> if the mask contains the other mask, <code>false</code> otherwise.
+     */
+    private static boolean contains(final long[] mask, final long[] other) {
+        for (int w = 0; w < mask.length; w++) {
+            if ((mask[w] & other[w]) != other[w]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns if a mask has no bit set.
+     *
+     * @param mask the mask.
+     * @return <code>true</code> if the mask has no bit set, <code>false</code> otherwise.
+     */
+    private static boolean isEmpty(final long[] mask) {
+        for (long w : mask) {
+            if (w != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns if two masks share a bit.
+     *
+     * @param mask  the mask.
+     * @param other the other mask.
+     * @return <code>true</code> if the masks share a bit, <code>false</code> otherwise.
+     */
+    private static boolean intersects(final long[] mask, final long[] other) {
+        for (int w = 0; w < mask.length; w++) {
+            if ((mask[w] & other[w]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the values a variable of a pattern can take under a condition.
+     *
+     * @param pos    the mask of the positive fluents of the condition.
+     * @param neg    the mask of the negative fluents of the condition.
+     * @param offset the local index of the first fluent of the variable.
+     * @param size   the number of fluents of the variable.
+     * @return the values allowed or <code>null</code> if the condition requires two fluents of the variable.
+     */
+    private static int[] allowed(final long[] pos, final long[] neg, final int offset, final int size) {
+        int required = 0;
+        for (int i = 0; i < size; i++) {
+            if ((pos[(offset + i) >>> 6] & 1L << (offset + i)) != 0) {
+                if (required > 0) {
+                    return null;
+                }
+                required = i + 1;
+            }
+        }
+        final IntList values = new IntList();
+        for (int value = required; value <= (required > 0 ? required : size); value++) {
+            final int i = offset + value - 1;
+            if (value == 0 || (neg[i >>> 6] & 1L << i) == 0) {
+                values.add(value);
+            }
+        }
+        return values.size() == 0 ? null : values.toArray();
+    }
+
+    /**
+     * Computes the distance to the abstract goal of each abstract state of a pattern.
+     *
+     * @param problem   the problem.
+     * @param variables the fluents of each variable.
+     * @param pattern   the variables of the pattern.
+     * @return the distance to the abstract goal of each abstract state.
+     */
+    private static short[] distances(final Problem problem, final int[][] variables, final int[] pattern) {
+        final int nbStates = (int) PatternDatabaseHeuristic.size(variables, pattern);
+        final int[] multipliers = PatternDatabaseHeuristic.multipliers(variables, pattern);
+        final int[] offset = new int[pattern.length + 1];
+        final int[] local = new int[problem.getFluents().size()];
+        Arrays.fill(local, -1);
+        for (int k = 0; k < pattern.length; k++) {
+            final int[] fluents = variables[pattern[k]];
+            for (int i = 0; i < fluents.length; i++) {
+                local[fluents[i]] = offset[k] + i;
+            }
+            offset[k + 1] = offset[k] + fluents.length;
+        }
+        final int words = (offset[pattern.length] + 63) >>> 6;
+
+        // We build the reverse transition graph of the projection of the problem on the pattern
+        final IntList from = new IntList();
+        final IntList to = new IntList();
+        final List<long[]> successors = new ArrayList<>();
+        for (Action action : problem.getActions()) {
+            final long[] modified = PatternDatabaseHeuristic.mask(PatternDatabaseHeuristic.modified(action), local,
+                words);
+            if (PatternDatabaseHeuristic.isEmpty(modified)) {
+                continue;
+            }
+            final long[] prePos = PatternDatabaseHeuristic.mask(action.getPrecondition().getPositiveFluents(), local,
+                words);
+            final long[] preNeg = PatternDatabaseHeuristic.mask(action.getPrecondition().getNegativeFluents(), local,
+                words);
+            final int[][] allowed = new int[pattern.length][];
+            boolean applicable = true;
+            for (int k = 0; k < pattern.length && applicable; k++) {
+                allowed[k] = PatternDatabaseHeuristic.allowed(prePos, preNeg, offset[k], offset[k + 1] - offset[k]);
+                applicable = allowed[k] != null;
+            }
+            if (!applicable) {
+                continue;
+            }
+            final List<ConditionalEffect> effects = action.getConditionalEffects();
+            final long[][] condPos = new long[effects.size()][];
+            final long[][] condNeg = new long[effects.size()][];
+            final long[][] add = new long[effects.size()][];
+            final long[][] del = new long[effects.size()][];
+            final boolean[] determined = new boolean[effects.size()];
+            for (int e = 0; e < effects.size(); e++) {
+                final ConditionalEffect ce = effects.get(e);
+                condPos[e] = PatternDatabaseHeuristic.mask(ce.getCondition().getPositiveFluents(), local, words);
+                condNeg[e] = PatternDatabaseHeuristic.mask(ce.getCondition().getNegativeFluents(), local, words);
+                add[e] = PatternDatabaseHeuristic.mask(ce.getEffect().getPositiveFluents(), local, words);
+                del[e] = PatternDatabaseHeuristic.mask(ce.getEffect().getNegativeFluents(), local, words);
+                determined[e] = PatternDatabaseHeuristic.inPattern(ce.getCondition().getPositiveFluents(), local)
+                    && PatternDatabaseHeuristic.inPattern(ce.getCondition().getNegativeFluents(), local);
+            }
+
+            // We enumerate the abstract states satisfying the precondition
+            final int[] touched = PatternDatabaseHeuristic.touched(modified, offset);
+            final int[] digits = new int[pattern.length];
+            final int[] values = new int[pattern.length];
+            final long[] bits = new long[words];
+            final long[] first = new long[words];
+            boolean more = true;
+            while (more) {
+                int s = 0;
+                Arrays.fill(bits, 0L);
+                for (int k = 0; k < pattern.length; k++) {
+                    values[k] = allowed[k][digits[k]];
+                    s += values[k] * multipliers[k];
+                    if (values[k] > 0) {
+                        bits[(offset[k] + values[k] - 1) >>> 6] |= 1L << (offset[k] + values[k] - 1);
+                    }
+                }
+                // The effects whose condition depends on fluents outside the pattern may or may not apply
+                successors.clear();
+                System.arraycopy(bits, 0, first, 0, words);
+                successors.add(first);
+                for (int e = 0; e < effects.size(); e++) {
+                    if (!PatternDatabaseHeuristic.contains(bits, condPos[e])
+                        || PatternDatabaseHeuristic.intersects(bits, condNeg[e])
+                        || PatternDatabaseHeuristic.isEmpty(add[e]) && PatternDatabaseHeuristic.isEmpty(del[e])) {
+                        continue;
+                    }
+                    final int n = successors.size();
+                    for (int i = 0; i < n; i++) {
+                        final long[] t = determined[e] ? successors.get(i) : successors.get(i).clone();
+                        for (int w = 0; w < words; w++) {
+                            t[w] = t[w] & ~del[e][w] | add[e][w];
+                        }
+                        if (!determined[e]) {
+                            successors.add(t);
+                        }
+                    }
+                }
+                for (long[] t : successors) {
+                    // Only the variables modified by the action can change
+                    int index = s;
+                    for (int k : touched) {
+                        final int value = PatternDatabaseHeuristic.value(t, offset[k], offset[k + 1]);
+                        if (value < 0) {
+                            // A successor with two fluents of a variable is not the image of a reachable state
+                            index = s;
+                            break;
+                        }
+                        index += (value - values[k]) * multipliers[k];
+                    }
+                    if (index != s) {
+                        from.add(s);
+                        to.add(index);
+                    }
+                }
+                more = false;
+                for (int k = 0; k < pattern.length && !more; k++) {
+                    digits[k]++;
+                    if (digits[k] < allowed[k].length) {
+                        more = true;
+                    } else {
+                        digits[k] = 0;
+                    }
+                }
+            }
+        }
+        final int[] start = new int[nbStates + 1];
+        for (int i = 0; i < to.size(); i++) {
+            start[to.get(i) + 1]++;
+        }
+        for (int s = 0; s < nbStates; s++) {
+            start[s + 1] += start[s];
+        }
+        final int[] pos = Arrays.copyOf(start, nbStates);
+        final int[] pred = new int[to.size()];
+        for (int i = 0; i < to.size(); i++) {
+            pred[pos[to.get(i)]++] = from.get(i);
+        }
+
+        // We compute the distances with a backward breadth-first search from the abstract goal states
+        final Condition goal = problem.getGoal();
+        final long[] goalPos = PatternDatabaseHeuristic.mask(goal.getPositiveFluents(), local, words);
+        final long[] goalNeg = PatternDatabaseHeuristic.mask(goal.getNegativeFluents(), local, words);
+        final int[] dist = new int[nbStates];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        final int[] queue = new int[nbStates];
+        int head = 0;
+        int tail = 0;
+        final long[] bits = new long[words];
+        for (int s = 0; s < nbStates; s++) {
+            Arrays.fill(bits, 0L);
+            for (int k = 0; k < pattern.length; k++) {
+                final int value = s / multipliers[k] % (offset[k + 1] - offset[k] + 1);
+                if (value > 0) {
+                    bits[(offset[k] + value - 1) >>> 6] |= 1L << (offset[k] + value - 1);
+                }
+            }
+            if (PatternDatabaseHeuristic.contains(bits, goalPos) && !PatternDatabaseHeuristic.intersects(bits,
+                goalNeg)) {
+                dist[s] = 0;
+                queue[tail++] = s;
+            }
+        }
+        while (head < tail) {
+            final int t = queue[head++];
+            for (int i = start[t]; i < start[t + 1]; i++) {
+                final int s = pred[i];
+                if (dist[s] == Integer.MAX_VALUE) {
+                    dist[s] = dist[t] + 1;
+                    queue[tail++] = s;
+                }
+            }
+        }
+        final short[] table = new short[nbStates];
+        for (int s = 0; s < nbStates; s++) {
+            table[s] = (short) Math.min(dist[s], UNREACHABLE);
+        }
+        return table;
+    }
+
+    /**
+     * Returns the variables of a pattern whose fluents intersect a mask.
+     *
+     * @param mask   the mask.
+     * @param offset the local index of the first fluent of each variable of the pattern.
+     * @return the variables of the pattern whose fluents intersect the mask.
+     */
+    private static int[] touched(final long[] mask, final int[] offset) {
+        final IntList touched = new IntList();
+        for (int k = 0; k + 1 < offset.length; k++) {
+            if (PatternDatabaseHeuristic.value(mask, offset[k], offset[k + 1]) != 0) {
+                touched.add(k);
+            }
+        }
+        return touched.toArray();
+    }
+
+    /**
+     * Returns the value of a variable of a pattern in a mask of true fluents.
+     *
+     * @param bits  the mask of the true fluents of the pattern.
+     * @param begin the local index of the first fluent of the variable.
+     * @param end   the local index following the last fluent of the variable.
+     * @return the value of the variable, i.e., 0 if none of its fluents is true, the rank of its true fluent
+     *     starting from 1 otherwise, or -1 if two of its fluents are true.
+     */
+    private static int value(final long[] bits, final int begin, final int end) {
+        int value = 0;
+        for (int i = begin; i < end; i++) {
+            if ((bits[i >>> 6] & 1L << i) != 0) {
+                if (value > 0) {
+                    return -1;
+                }
+                value = i - begin + 1;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Stores the pattern databases in a file.
+     *
+     * @param file the file.
+     * @throws IOException if the file cannot be written.
+     */
+    private void save(final File file) throws IOException {
+        final File tmp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            PatternDatabaseHeuristic.write(out, this.variables);
+            PatternDatabaseHeuristic.write(out, this.patterns);
+            for (short[] table : this.tables) {
+                for (short d : table) {
+                    out.writeShort(d);
+                }
+            }
+            PatternDatabaseHeuristic.write(out, this.subsets);
+        }
+        if (!tmp.renameTo(file)) {
+            throw new IOException("cannot rename " + tmp);
+        }
+    }
+
+    /**
+     * Writes an array of arrays of integers.
+     *
+     * @param out    the output stream.
+     * @param arrays the arrays.
+     * @throws IOException if the arrays cannot be written.
+     */
+    private static void write(final DataOutputStream out, final int[][] arrays) throws IOException {
+        out.writeInt(arrays.length);
+        for (int[] array : arrays) {
+            out.writeInt(array.length);
+            for (int i : array) {
+                out.writeInt(i);
+            }
+        }
+    }
+
+    /**
+     * Reads an array of arrays of integers whose elements are lower than a bound.
+     *
+     * @param in    the input stream.
+     * @param bound the bound of the elements.
+     * @return the arrays read.
+     * @throws IOException if the arrays cannot be read or an element is out of bounds.
+     */
+    private static int[][] read(final DataInputStream in, final int bound) throws IOException {
+        final int length = in.readInt();
+        if (length < 0 || length > MAX_ENTRIES) {
+            throw new IOException("invalid length " + length);
+        }
+        final int[][] arrays = new int[length][];
+        for (int a = 0; a < length; a++) {
+            final int size = in.readInt();
+            if (size < 0 || size > MAX_ENTRIES) {
+                throw new IOException("invalid length " + size);
+            }
+            arrays[a] = new int[size];
+            for (int i = 0; i < size; i++) {
+                arrays[a][i] = in.readInt();
+                if (arrays[a][i] < 0 || arrays[a][i] >= bound) {
+                    throw new IOException("invalid index " + arrays[a][i]);
+                }
+            }
+        }
+        return arrays;
+    }
+
+    /**
+     * Loads pattern databases from a file.
+     *
+     * @param file the file.
+     * @return the pattern database heuristic loaded.
+     * @throws IOException if the file cannot be read or is not a pattern database file.
+     */
+    private static PatternDatabaseHeuristic load(final File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("not a pattern database file");
+            }
+            final int[][] variables = PatternDatabaseHeuristic.read(in, Integer.MAX_VALUE);
+            final int[][] patterns = PatternDatabaseHeuristic.read(in, variables.length);
+            final short[][] tables = new short[patterns.length][];
+            for (int p = 0; p < patterns.length; p++) {
+                final long size = PatternDatabaseHeuristic.size(variables, patterns[p]);
+                if (size > MAX_PATTERN_ENTRIES) {
+                    throw new IOException("invalid pattern size " + size);
+                }
+                tables[p] = new short[(int) size];
+                for (int s = 0; s < tables[p].length; s++) {
+                    tables[p][s] = in.readShort();
+                }
+            }
+            final int[][] subsets = PatternDatabaseHeuristic.read(in, patterns.length);
+            return new PatternDatabaseHeuristic(variables, patterns, tables, subsets);
+        }
+    }
+
+    /**
+     * A growable list of primitive integers.
+     */
+    private static final class IntList {
+
+        /**
+         * The elements of the list.
+         */
+        private int[] elements = new int[16];
+
+        /**
+         * The size of the list.
+         */
+        private int size;
+
+        /**
+         * Adds an element at the end of the list.
+         *
+         * @param e the element.
+         */
+        void add(final int e) {
+            if (this.size == this.elements.length) {
+                this.elements = Arrays.copyOf(this.elements, this.size * 2);
+            }
+            this.elements[this.size++] = e;
+        }
+
+        /**
+         * Returns the element at a specified position.
+         *
+         * @param i the position.
+         * @return the element.
+         */
+        int get(final int i) {
+            return this.elements[i];
+        }
+
+        /**
+         * Returns the size of the list.
+         *
+         * @return the size of the list.
+         */
+        int size() {
+            return this.size;
+        }
+
+        /**
+         * Returns the elements of the list.
+         *
+         * @return the elements of the list.
+         */
+        int[] toArray() {
+            return Arrays.copyOf(this.elements, this.size);
+        }
+
+        /**
+         * Removes all the elements of the list.
+         */
+        void clear() {
+            this.size = 0;
+        }
+    }
+}
@@ -1,6 +1,16 @@
 package fr.uga.pddl4j.examples.mcp;
 
+import fr.uga.pddl4j.examples.CheckpointReader;
+import fr.uga.pddl4j.examples.CheckpointWriter;
+import fr.uga.pddl4j.examples.DeadEndStore;
 import fr.uga.pddl4j.examples.Node;
+import fr.uga.pddl4j.examples.PlanOptimizer;
+import fr.uga.pddl4j.examples.ProblemFingerprint;
+import fr.uga.pddl4j.examples.Successors;
+import fr.uga.pddl4j.examples.heuristics.HeuristicSelector;
+import fr.uga.pddl4j.examples.heuristics.Heuristics;
+import fr.uga.pddl4j.examples.profiling.SearchProfiler;
+import fr.uga.pddl4j.examples.symmetry.Symmetries;
 import fr.uga.pddl4j.heuristics.state.StateHeuristic;
 import fr.uga.pddl4j.parser.DefaultParsedProblem;
 import fr.uga.pddl4j.parser.RequireKey;
@@ -14,14 +24,18 @@ import fr.uga.pddl4j.problem.DefaultProblem;
 import fr.uga.pddl4j.problem.Problem;
 import fr.uga.pddl4j.problem.State;
 import fr.uga.pddl4j.problem.operator.Action;
-import fr.uga.pddl4j.problem.operator.ConditionalEffect;
+import fr.uga.pddl4j.util.BitVector;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import picocli.CommandLine;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
 
 /**
  * The class implements a Monte Carlo Random Walk planner for solving planning problems.
@@ -48,10 +62,30 @@ public class MCP extends AbstractPlanner {
      */
     private static final Logger LOGGER = LogManager.getLogger(MCP.class.getName());
 
+    /**
+     * The name of the planner written in the header of the checkpoints and in the profiling events.
+     */
+    private static final String PLANNER = "MCP";
+
     /**
      * The name of the heuristic used by the planner.
      */
-    private StateHeuristic.Name heuristic;
+    private Heuristics.Name heuristic;
+
+    /**
+     * The directory used to store the pattern databases.
+     */
+    private File patternDatabaseCache;
+
+    /**
+     * The flag used to enable the incremental evaluation of the heuristic.
+     */
+    private boolean incrementalHeuristic;
+
+    /**
+     * The fraction of the timeout used to select the heuristic when the heuristic is AUTO.
+     */
+    private double autoBudget;
 
     /**
      * Maximum number of steps before restart.
@@ -73,6 +107,61 @@ public class MCP extends AbstractPlanner {
      */
     private Random random;
 
+    /**
+     * The flag used to enable the symmetry reduction of the random walks.
+     */
+    private boolean symmetryReduction;
+
+    /**
+     * The number of symmetric successors pruned during the random walks.
+     */
+    private long symmetricPruned;
+
+    /**
+     * The number of states evaluated during the random walks.
+     */
+    private long evaluated;
+
+    /**
+     * The flag used to enable the post-optimization of the plans found.
+     */
+    private boolean postOptimization;
+
+    /**
+     * The flag used to enable the dead-end store.
+     */
+    private boolean deadEnds;
+
+    /**
+     * The dead-end store shared with other searches or <code>null</code> to create one per search.
+     */
+    private DeadEndStore deadEndStore;
+
+    /**
+     * The number of random walk steps avoided thanks to the dead-end store.
+     */
+    private long deadEndAvoided;
+
+    /**
+     * The number of actions applicable in the state from which the last random walks started.
+     */
+    private int branching;
+
+    /**
+     * The checkpoint file of the search or <code>null</code> if the checkpointing is disabled.
+     */
+    private File checkpoint;
+
+    /**
+     * The interval between two checkpoints in seconds.
+     */
+    private int checkpointInterval;
+
+    /**
+     * The flag used to resume the search from its checkpoint.
+     */
+    private boolean resume;
+
     /**
      * The HEURISTIC property used for planner configuration.
      */
@@ -81,7 +170,33 @@ public class MCP extends AbstractPlanner {
     /**
      * The default value of the HEURISTIC property.
      */
-    public static final StateHeuristic.Name DEFAULT_HEURISTIC = StateHeuristic.Name.FAST_FORWARD;
+    public static final Heuristics.Name DEFAULT_HEURISTIC = Heuristics.Name.FAST_FORWARD;
+
+    /**
+     * The PDB_CACHE property used for planner configuration. The property is not set by default, i.e., the
+     * pattern databases are built at each run.
+     */
+    public static final String PDB_CACHE_SETTING = "PDB_CACHE";
+
+    /**
+     * The INCREMENTAL_HEURISTIC property used for planner configuration.
+     */
+    public static final String INCREMENTAL_HEURISTIC_SETTING = "INCREMENTAL_HEURISTIC";
+
+    /**
+     * The default value of the INCREMENTAL_HEURISTIC property used for planner configuration.
+     */
+    public static final boolean DEFAULT_INCREMENTAL_HEURISTIC = false;
+
+    /**
+     * The AUTO_BUDGET property used for planner configuration.
+     */
+    public static final String AUTO_BUDGET_SETTING = "AUTO_BUDGET";
+
+    /**
+     * The default value of the AUTO_BUDGET property.
+     */
+    public static final double DEFAULT_AUTO_BUDGET = 0.05;
 
     /**
      * The MAX_STEPS property used for planner configuration.
@@ -113,6 +228,62 @@ public class MCP extends AbstractPlanner {
      */
     public static final int DEFAULT_LENGTH_WALK = 100;
 
+    /**
+     * The SYMMETRY_REDUCTION property used for planner configuration.
+     */
+    public static final String SYMMETRY_REDUCTION_SETTING = "SYMMETRY_REDUCTION";
+
+    /**
+     * The default value of the SYMMETRY_REDUCTION property.
+     */
+    public static final boolean DEFAULT_SYMMETRY_REDUCTION = false;
+
+    /**
+     * The POST_OPTIMIZATION property used for planner configuration.
+     */
+    public static final String POST_OPTIMIZATION_SETTING = "POST_OPTIMIZATION";
+
+    /**
+     * The default value of the POST_OPTIMIZATION property.
+     */
+    public static final boolean DEFAULT_POST_OPTIMIZATION = true;
+
+    /**
+     * The DEAD_ENDS property used for planner configuration.
+     */
+    public static final String DEAD_ENDS_SETTING = "DEAD_ENDS";
+
+    /**
+     * The default value of the DEAD_ENDS property.
+     */
+    public static final boolean DEFAULT_DEAD_ENDS = false;
+
+    /**
+     * The CHECKPOINT property used for planner configuration. The property is not set by default, i.e., the
+     * checkpointing is disabled.
+     */
+    public static final String CHECKPOINT_SETTING = "CHECKPOINT";
+
+    /**
+     * The CHECKPOINT_INTERVAL property used for planner configuration.
+     */
+    public static final String CHECKPOINT_INTERVAL_SETTING = "CHECKPOINT_INTERVAL";
+
+    /**
+     * The default value of the CHECKPOINT_INTERVAL property, i.e., 300 seconds.
+     */
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 300;
+
+    /**
+     * The RESUME property used for planner configuration.
+     */
+    public static final String RESUME_SETTING = "RESUME";
+
+    /**
+     * The default value of the RESUME property.
+     */
+    public static final boolean DEFAULT_RESUME = false;
+
     /**
      * Creates a new MCP planner with the default configuration.
      */
@@ -138,8 +309,9 @@ public class MCP extends AbstractPlanner {
      */
     @CommandLine.Option(names = {"-e", "--heuristic"}, defaultValue = "FAST_FORWARD",
         description = "Set the heuristic : AJUSTED_SUM, AJUSTED_SUM2, AJUSTED_SUM2M, COMBO, "
-            + "MAX, FAST_FORWARD SET_LEVEL, SUM, SUM_MUTEX (preset: FAST_FORWARD)")
-    public void setHeuristic(StateHeuristic.Name heuristic) {
+            + "MAX, FAST_FORWARD SET_LEVEL, SUM, SUM_MUTEX, PATTERN_DATABASE, "
+            + "LANDMARK_COUNT, AUTO (preset: FAST_FORWARD)")
+    public void setHeuristic(Heuristics.Name heuristic) {
         this.heuristic = heuristic;
     }
 
@@ -148,10 +320,78 @@ public class MCP extends AbstractPlanner {
      *
      * @return the name of the heuristic.
      */
-    public final StateHeuristic.Name getHeuristic() {
+    public final Heuristics.Name getHeuristic() {
         return this.heuristic;
     }
 
+    /**
+     * Sets the directory used to store the pattern databases. The pattern databases built for a problem are
+     * stored in this directory and reused by the next runs on the same problem.
+     *
+     * @param cache the directory or <code>null</code> to build the pattern databases at each run.
+     */
+    @CommandLine.Option(names = {"-pc", "--pdb-cache"}, paramLabel = "<dir>",
+        description = "Set the directory used to store the pattern databases (preset none).")
+    public void setPatternDatabaseCache(final File cache) {
+        this.patternDatabaseCache = cache;
+    }
+
+    /**
+     * Returns the directory used to store the pattern databases.
+     *
+     * @return the directory used to store the pattern databases or <code>null</code> if none is set.
+     */
+    public final File getPatternDatabaseCache() {
+        return this.patternDatabaseCache;
+    }
+
+    /**
+     * Enables or disables the incremental evaluation of the MAX, SUM and FAST_FORWARD heuristics. The
+     * incremental evaluation updates the relaxed planning graph of the last state evaluated instead of
+     * rebuilding it and returns the same values as the heuristics of the library.
+     *
+     * @param incremental <code>true</code> to enable the incremental evaluation.
+     */
+    @CommandLine.Option(names = {"-inc", "--incremental"}, defaultValue = "false", arity = "0..1",
+        description = "Evaluate the MAX, SUM and FAST_FORWARD heuristics incrementally (preset false).")
+    public void setIncrementalHeuristic(final boolean incremental) {
+        this.incrementalHeuristic = incremental;
+    }
+
+    /**
+     * Returns if the incremental evaluation of the heuristic is enabled.
+     *
+     * @return <code>true</code> if the incremental evaluation is enabled, <code>false</code> otherwise.
+     */
+    public final boolean isIncrementalHeuristic() {
+        return this.incrementalHeuristic;
+    }
+
+    /**
+     * Sets the fraction of the timeout used to select the heuristic when the heuristic is AUTO. The heuristic
+     * is then selected at the beginning of the search by sampling random walks (see {@link HeuristicSelector}).
+     *
+     * @param budget the fraction of the timeout. The fraction must be in ]0, 1].
+     * @throws IllegalArgumentException if the fraction is not in ]0, 1].
+     */
+    @CommandLine.Option(names = {"-ab", "--auto-budget"}, defaultValue = "0.05", paramLabel = "<fraction>",
+        description = "Set the fraction of the timeout used by the AUTO heuristic selection (preset 0.05).")
+    public void setAutoBudget(final double budget) {
+        if (budget <= 0.0 || budget > 1.0) {
+            throw new IllegalArgumentException("Budget not in ]0, 1]");
+        }
+        this.autoBudget = budget;
+    }
+
+    /**
+     * Returns the fraction of the timeout used to select the heuristic when the heuristic is AUTO.
+     *
+     * @return the fraction of the timeout used to select the heuristic.
+     */
+    public final double getAutoBudget() {
+        return this.autoBudget;
+    }
+
     /**
      * Sets the maximum number of steps before restart.
      *
@@ -221,6 +461,161 @@ public class MCP extends AbstractPlanner {
         return this.lengthWalk;
     }
 
+    /**
+     * Enables or disables the symmetry reduction. When enabled, a random walk draws its next action again when
+     * the successor is symmetric to a state already reached by the walk, so that the walk does not go back to
+     * a symmetric state. Only the drawn successors are canonicalized.
+     *
+     * @param symmetryReduction <code>true</code> to enable the symmetry reduction.
+     */
+    @CommandLine.Option(names = {"-sy", "--symmetry"}, defaultValue = "false",
+        description = "Enable the object symmetry reduction (preset false).")
+    public void setSymmetryReduction(final boolean symmetryReduction) {
+        this.symmetryReduction = symmetryReduction;
+    }
+
+    /**
+     * Returns if the symmetry reduction is enabled.
+     *
+     * @return <code>true</code> if the symmetry reduction is enabled, <code>false</code> otherwise.
+     */
+    public final boolean isSymmetryReduction() {
+        return this.symmetryReduction;
+    }
+
+    /**
+     * Enables or disables the post-optimization of the plans found. When enabled, the cycles and the useless
+     * actions of the concatenated random walks are removed from the plan.
+     *
+     * @param postOptimization <code>true</code> to enable the post-optimization.
+     */
+    @CommandLine.Option(names = {"-po", "--post-optimization"}, defaultValue = "true", arity = "0..1",
+        description = "Enable the post-optimization of the plan found (preset true).")
+    public void setPostOptimization(final boolean postOptimization) {
+        this.postOptimization = postOptimization;
+    }
+
+    /**
+     * Returns if the post-optimization of the plans found is enabled.
+     *
+     * @return <code>true</code> if the post-optimization is enabled, <code>false</code> otherwise.
+     */
+    public final boolean isPostOptimization() {
+        return this.postOptimization;
+    }
+
+    /**
+     * Enables or disables the dead-end store. When enabled, the dead ends met by the random walks, i.e., the
+     * states without applicable action, the states with an infinite heuristic value and the states whose
+     * successors are all dead ends, are recorded and the random walks never enter them again, even after a
+     * restart.
+     *
+     * @param deadEnds <code>true</code> to enable the dead-end store.
+     */
+    @CommandLine.Option(names = {"-de", "--dead-ends"}, defaultValue = "false", arity = "0..1",
+        description = "Enable the dead-end store (preset false).")
+    public void setDeadEnds(final boolean deadEnds) {
+        this.deadEnds = deadEnds;
+    }
+
+    /**
+     * Returns if the dead-end store is enabled.
+     *
+     * @return <code>true</code> if the dead-end store is enabled, <code>false</code> otherwise.
+     */
+    public final boolean isDeadEnds() {
+        return this.deadEnds;
+    }
+
+    /**
+     * Sets the dead-end store used by the searches, e.g., to share the dead ends with other planners solving
+     * the same problem. If no store is set, each search creates its own store when the dead-end store is
+     * enabled.
+     *
+     * @param store the dead-end store or <code>null</code>.
+     */
+    public void setDeadEndStore(final DeadEndStore store) {
+        this.deadEndStore = store;
+    }
+
+    /**
+     * Returns the dead-end store shared by the searches.
+     *
+     * @return the dead-end store shared by the searches or <code>null</code>.
+     */
+    public final DeadEndStore getDeadEndStore() {
+        return this.deadEndStore;
+    }
+
+    /**
+     * Sets the checkpoint file of the search. When set, the state of the search, i.e., the current state and
+     * the walks leading to it, the minimum heuristic value, the restart counter, the random generator and the
+     * statistics, is periodically written to this file between two iterations, and written one last time when
+     * the search stops on timeout. The file is deleted when the search is over. The checkpointing is not
+     * supported with the dead-end store.
+     *
+     * @param checkpoint the checkpoint file or <code>null</code> to disable the checkpointing.
+     */
+    @CommandLine.Option(names = {"-ck", "--checkpoint"}, paramLabel = "<file>",
+        description = "Set the checkpoint file of the search (preset none).")
+    public void setCheckpoint(final File checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    /**
+     * Returns the checkpoint file of the search.
+     *
+     * @return the checkpoint file or <code>null</code> if the checkpointing is disabled.
+     */
+    public final File getCheckpoint() {
+        return this.checkpoint;
+    }
+
+    /**
+     * Sets the interval between two checkpoints.
+     *
+     * @param interval the interval in seconds. The interval must be greater than 0.
+     */
+    @CommandLine.Option(names = {"-ci", "--checkpoint-interval"}, defaultValue = "300", paramLabel = "<s>",
+        description = "Set the interval between two checkpoints in seconds (preset 300).")
+    public void setCheckpointInterval(final int interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be > 0");
+        }
+        this.checkpointInterval = interval;
+    }
+
+    /**
+     * Returns the interval between two checkpoints.
+     *
+     * @return the interval between two checkpoints in seconds.
+     */
+    public final int getCheckpointInterval() {
+        return this.checkpointInterval;
+    }
+
+    /**
+     * Enables or disables the resume of the search from its checkpoint. When enabled and the checkpoint file
+     * exists, the search restarts from the state written in the checkpoint, with the same random generator, and
+     * finds the same plan as an uninterrupted search. The timeout applies to each run.
+     *
+     * @param resume <code>true</code> to resume the search from its checkpoint.
+     */
+    @CommandLine.Option(names = {"-rs", "--resume"}, defaultValue = "false", arity = "0..1",
+        description = "Resume the search from its checkpoint (preset false).")
+    public void setResume(final boolean resume) {
+        this.resume = resume;
+    }
+
+    /**
+     * Returns if the resume of the search from its checkpoint is enabled.
+     *
+     * @return <code>true</code> if the resume is enabled, <code>false</code> otherwise.
+     */
+    public final boolean isResume() {
+        return this.resume;
+    }
+
     /**
      * Returns the default configuration of the planner.
      *
@@ -233,6 +628,14 @@ public class MCP extends AbstractPlanner {
         config.setProperty(MCP.MAX_STEPS_SETTING, Integer.toString(MCP.DEFAULT_MAX_STEPS));
         config.setProperty(MCP.NUM_WALK_SETTING, Integer.toString(MCP.DEFAULT_NUM_WALK));
         config.setProperty(MCP.LENGTH_WALK_SETTING, Integer.toString(MCP.DEFAULT_LENGTH_WALK));
+        config.setProperty(MCP.INCREMENTAL_HEURISTIC_SETTING,
+            Boolean.toString(MCP.DEFAULT_INCREMENTAL_HEURISTIC));
+        config.setProperty(MCP.AUTO_BUDGET_SETTING, Double.toString(MCP.DEFAULT_AUTO_BUDGET));
+        config.setProperty(MCP.SYMMETRY_REDUCTION_SETTING, Boolean.toString(MCP.DEFAULT_SYMMETRY_REDUCTION));
+        config.setProperty(MCP.POST_OPTIMIZATION_SETTING, Boolean.toString(MCP.DEFAULT_POST_OPTIMIZATION));
+        config.setProperty(MCP.DEAD_ENDS_SETTING, Boolean.toString(MCP.DEFAULT_DEAD_ENDS));
+        config.setProperty(MCP.CHECKPOINT_INTERVAL_SETTING, Integer.toString(MCP.DEFAULT_CHECKPOINT_INTERVAL));
+        config.setProperty(MCP.RESUME_SETTING, Boolean.toString(MCP.DEFAULT_RESUME));
         return config;
     }
 
@@ -244,9 +647,11 @@ public class MCP extends AbstractPlanner {
     public boolean hasValidConfiguration() {
         return super.hasValidConfiguration()
             && this.getHeuristic() != null
+            && this.getAutoBudget() > 0.0
             && this.getMaxSteps() > 0
             && this.getNumWalk() > 0
-            && this.getLengthWalk() > 0;
+            && this.getLengthWalk() > 0
+            && this.getCheckpointInterval() > 0;
     }
 
     /**
@@ -260,9 +665,25 @@ public class MCP extends AbstractPlanner {
         if (configuration.getProperty(MCP.HEURISTIC_SETTING) == null) {
             this.setHeuristic(MCP.DEFAULT_HEURISTIC);
         } else {
-            this.setHeuristic(StateHeuristic.Name.valueOf(configuration.getProperty(
+            this.setHeuristic(Heuristics.Name.valueOf(configuration.getProperty(
                 MCP.HEURISTIC_SETTING)));
         }
+        if (configuration.getProperty(MCP.INCREMENTAL_HEURISTIC_SETTING) == null) {
+            this.setIncrementalHeuristic(MCP.DEFAULT_INCREMENTAL_HEURISTIC);
+        } else {
+            this.setIncrementalHeuristic(Boolean.parseBoolean(configuration.getProperty(
+                MCP.INCREMENTAL_HEURISTIC_SETTING)));
+        }
+        if (configuration.getProperty(MCP.AUTO_BUDGET_SETTING) == null) {
+            this.setAutoBudget(MCP.DEFAULT_AUTO_BUDGET);
+        } else {
+            this.setAutoBudget(Double.parseDouble(configuration.getProperty(MCP.AUTO_BUDGET_SETTING)));
+        }
+        if (configuration.getProperty(MCP.PDB_CACHE_SETTING) == null) {
+            this.setPatternDatabaseCache(null);
+        } else {
+            this.setPatternDatabaseCache(new File(configuration.getProperty(MCP.PDB_CACHE_SETTING)));
+        }
         if (configuration.getProperty(MCP.MAX_STEPS_SETTING) == null) {
             this.setMaxSteps(MCP.DEFAULT_MAX_STEPS);
         } else {
@@ -278,18 +699,55 @@ public class MCP extends AbstractPlanner {
         } else {
             this.setLengthWalk(Integer.parseInt(configuration.getProperty(MCP.LENGTH_WALK_SETTING)));
         }
+        if (configuration.getProperty(MCP.SYMMETRY_REDUCTION_SETTING) == null) {
+            this.setSymmetryReduction(MCP.DEFAULT_SYMMETRY_REDUCTION);
+        } else {
+            this.setSymmetryReduction(Boolean.parseBoolean(
+                configuration.getProperty(MCP.SYMMETRY_REDUCTION_SETTING)));
+        }
+        if (configuration.getProperty(MCP.POST_OPTIMIZATION_SETTING) == null) {
+            this.setPostOptimization(MCP.DEFAULT_POST_OPTIMIZATION);
+        } else {
+            this.setPostOptimization(Boolean.parseBoolean(
+                configuration.getProperty(MCP.POST_OPTIMIZATION_SETTING)));
+        }
+        if (configuration.getProperty(MCP.DEAD_ENDS_SETTING) == null) {
+            this.setDeadEnds(MCP.DEFAULT_DEAD_ENDS);
+        } else {
+            this.setDeadEnds(Boolean.parseBoolean(configuration.getProperty(MCP.DEAD_ENDS_SETTING)));
+        }
+        if (configuration.getProperty(MCP.CHECKPOINT_SETTING) == null) {
+            this.setCheckpoint(null);
+        } else {
+            this.setCheckpoint(new File(configuration.getProperty(MCP.CHECKPOINT_SETTING)));
+        }
+        if (configuration.getProperty(MCP.CHECKPOINT_INTERVAL_SETTING) == null) {
+            this.setCheckpointInterval(MCP.DEFAULT_CHECKPOINT_INTERVAL);
+        } else {
+            this.setCheckpointInterval(Integer.parseInt(configuration.getProperty(
+                MCP.CHECKPOINT_INTERVAL_SETTING)));
+        }
+        if (configuration.getProperty(MCP.RESUME_SETTING) == null) {
+            this.setResume(MCP.DEFAULT_RESUME);
+        } else {
+            this.setResume(Boolean.parseBoolean(configuration.getProperty(MCP.RESUME_SETTING)));
+        }
     }
 
     /**
-     * Instantiates the planning problem from a parsed problem.
+     * Instantiates the planning problem from a parsed problem. The parse and instantiation times are reported to
+     * the flight recorder when a recording is running.
      *
      * @param problem the problem to instantiate.
      * @return the instantiated planning problem or null if the problem cannot be instantiated.
      */
     @Override
     public Problem instantiate(DefaultParsedProblem problem) {
+        final long begin = System.nanoTime();
         final Problem pb = new DefaultProblem(problem);
         pb.instantiate();
+        SearchProfiler.phase(MCP.PLANNER, SearchProfiler.PARSE, this.getStatistics().getTimeToParse() * 1000000L);
+        SearchProfiler.phase(MCP.PLANNER, SearchProfiler.INSTANTIATE, System.nanoTime() - begin);
         return pb;
     }
 
@@ -360,15 +818,7 @@ public class MCP extends AbstractPlanner {
      * @return the resulting state after applying the action.
      */
     private State applyAction(final State state, final int actionIdx, final Problem problem) {
-        State nextState = new State(state);
-        Action action = problem.getActions().get(actionIdx);
-        final List<ConditionalEffect> effects = action.getConditionalEffects();
-        for (ConditionalEffect ce : effects) {
-            if (state.satisfy(ce.getCondition())) {
-                nextState.apply(ce.getEffect());
-            }
-        }
-        return nextState;
+        return Successors.apply(state, problem.getActions().get(actionIdx));
     }
 
     /**
@@ -379,51 +829,104 @@ public class MCP extends AbstractPlanner {
      * @param current    the current state.
      * @param problem    the problem.
      * @param heuristic  the heuristic function.
+     * @param symmetries the symmetries of the problem or <code>null</code> if the symmetry reduction is disabled.
+     * @param deadEnds   the dead-end store or <code>null</code> if the dead-end store is disabled.
+     * @param profiler   the profiler of the search.
      * @return the state with minimum heuristic found, or current state if no better state found.
      */
     private Node pureRandomWalk(final Node current, final Problem problem, 
-                                final StateHeuristic heuristic) {
+                                final StateHeuristic heuristic, final Symmetries symmetries,
+                                final DeadEndStore deadEnds, final SearchProfiler profiler) {
         double hmin = Double.POSITIVE_INFINITY;
         Node smin = null;
 
         // Perform NUM_WALK random walks
         for (int i = 0; i < this.numWalk; i++) {
             State s = new State(current);
-            Node walkPath = new Node(s, current, -1, current.getCost(), 
-                                     heuristic.estimate(s, problem.getGoal()));
+            Node walkPath = new Node(s, current, -1, current.getCost(), current.getHeuristic());
+            // The canonical representatives of the states of the walk when the symmetry reduction is enabled
+            final Set<State> visited = symmetries == null ? null : new HashSet<>();
+            if (visited != null) {
+                visited.add(symmetries.canonical(s));
+            }
 
             // Perform LENGTH_WALK steps in this walk
             for (int j = 0; j < this.lengthWalk; j++) {
                 List<Integer> applicableActions = getApplicableActions(s, problem);
-                
+                if (i == 0 && j == 0) {
+                    this.branching = applicableActions.size();
+                }
+                profiler.lap(SearchProfiler.SUCCESSORS);
+
                 // If no applicable actions, break this walk
                 if (applicableActions.isEmpty()) {
                     break;
                 }
 
-                // Select a random action uniformly
-                int randomIdx = random.nextInt(applicableActions.size());
-                int actionIdx = applicableActions.get(randomIdx);
+                // Select a random action uniformly among the actions not leading to a known dead end. With the
+                // symmetry reduction, only the drawn successor is canonicalized and the action is drawn again if
+                // the successor is symmetric to a state of the walk
+                int actionIdx = -1;
+                State nextState = null;
+                int symmetricIdx = -1;
+                State symmetric = null;
+                while (nextState == null && !applicableActions.isEmpty()) {
+                    int randomIdx = random.nextInt(applicableActions.size());
+                    actionIdx = applicableActions.get(randomIdx);
+                    // Apply the action
+                    nextState = applyAction(s, actionIdx, problem);
+                    profiler.lap(SearchProfiler.SUCCESSORS);
+                    if (deadEnds != null && deadEnds.contains(nextState)) {
+                        applicableActions.remove(randomIdx);
+                        nextState = null;
+                        this.deadEndAvoided++;
+                    } else if (visited != null && !visited.add(symmetries.canonical(nextState))) {
+                        applicableActions.remove(randomIdx);
+                        symmetricIdx = actionIdx;
+                        symmetric = nextState;
+                        nextState = null;
+                        this.symmetricPruned++;
+                    }
+                    profiler.lap(SearchProfiler.DUPLICATES);
+                }
+
+                // If all the successors are dead ends, the state is a dead end too. If the other successors are
+                // symmetric to the states of the walk, the walk goes on with the last one drawn
+                if (nextState == null && symmetric != null) {
+                    actionIdx = symmetricIdx;
+                    nextState = symmetric;
+                    this.symmetricPruned--;
+                } else if (nextState == null) {
+                    deadEnds.add(s);
+                    break;
+                }
 
-                // Apply the action
-                State nextState = applyAction(s, actionIdx, problem);
-                
                 // Create node for tracking
                 Node nextNode = new Node(nextState, walkPath, actionIdx, 
-                                        walkPath.getCost() + 1,
-                                        heuristic.estimate(nextState, problem.getGoal()));
+                                        walkPath.getCost() + 1, 0);
+                nextNode.setHeuristic(heuristic.estimate(nextNode, problem.getGoal()));
+                profiler.lap(SearchProfiler.HEURISTIC);
+                this.evaluated++;
                 
                 // Check if goal is satisfied
                 if (nextState.satisfy(problem.getGoal())) {
                     return nextNode;
                 }
 
+                // Stop the walk in a state detected as dead end by the heuristic
+                if (deadEnds != null && nextNode.getHeuristic() == Integer.MAX_VALUE) {
+                    deadEnds.add(nextState);
+                    this.deadEndAvoided += this.lengthWalk - j - 1;
+                    walkPath = nextNode;
+                    break;
+                }
+
                 s = nextState;
                 walkPath = nextNode;
             }
 
             // Check if this walk found a better state
-            double h = heuristic.estimate(s, problem.getGoal());
+            double h = walkPath.getHeuristic();
             if (h < hmin) {
                 smin = walkPath;
                 hmin = h;
@@ -439,7 +942,9 @@ public class MCP extends AbstractPlanner {
     }
 
     /**
-     * Extracts a plan from a specified node.
+     * Extracts a plan from a specified node. The plan is made of the concatenated random walks leading to
+     * the node: the first node of each walk has no action and is linked to the end of the previous walk.
+     * If the post-optimization is enabled, the cycles and the useless actions of the plan are removed.
      *
      * @param node    the node.
      * @param problem the problem.
@@ -448,12 +953,23 @@ public class MCP extends AbstractPlanner {
     private Plan extractPlan(final Node node, final Problem problem) {
         Node n = node;
         final Plan plan = new SequentialPlan();
-        while (n.getAction() != -1) {
-            final Action a = problem.getActions().get(n.getAction());
-            plan.add(0, a);
+        while (n != null) {
+            if (n.getAction() != -1) {
+                final Action a = problem.getActions().get(n.getAction());
+                plan.add(0, a);
+            }
             n = n.getParent();
         }
-        return plan;
+        if (!this.isPostOptimization()) {
+            return plan;
+        }
+        final long begin = System.nanoTime();
+        final PlanOptimizer optimizer = new PlanOptimizer(problem);
+        final Plan optimized = optimizer.optimize(plan);
+        LOGGER.info(String.format("* Plan post-optimization: %d -> %d actions (%d removed in cycles, "
+                + "%d eliminated) in %.3f ms%n", plan.size(), optimized.size(), optimizer.getCycleRemoved(),
+            optimizer.getEliminated(), (System.nanoTime() - begin) / 1e6));
+        return optimized;
     }
 
     /**
@@ -470,10 +986,59 @@ public class MCP extends AbstractPlanner {
             throw new ProblemNotSupportedException("Problem not supported");
         }
 
-        // Create an instance of the heuristic to use
-        final StateHeuristic heuristic = StateHeuristic.getInstance(this.getHeuristic(), problem);
+        // Open the checkpoint of the search if the resume is enabled and the checkpoint exists. The dead ends
+        // are not written in the checkpoints: the checkpointing is disabled with the dead-end store
+        CheckpointWriter checkpoint = null;
+        Snapshot resumed = null;
+        String fingerprint = null;
+        if (this.getCheckpoint() != null && (this.isDeadEnds() || this.getDeadEndStore() != null)) {
+            LOGGER.warn("* Checkpointing not supported with the dead-end store\n");
+        } else if (this.getCheckpoint() != null) {
+            fingerprint = ProblemFingerprint.of(problem);
+            if (this.isResume() && this.getCheckpoint().exists()) {
+                try (CheckpointReader in = new CheckpointReader(this.getCheckpoint().toPath(), MCP.PLANNER,
+                    fingerprint)) {
+                    resumed = this.readCheckpoint(in);
+                } catch (IOException | IllegalArgumentException | ClassCastException e) {
+                    LOGGER.error("* Resume failed: " + e.getMessage() + "\n");
+                    return null;
+                }
+            }
+            checkpoint = new CheckpointWriter(this.getCheckpoint().toPath());
+        }
+
+        // Create an instance of the heuristic to use. The AUTO heuristic is selected by sampling within a
+        // fraction of the timeout. The heuristic of a resumed search is the heuristic written in the checkpoint
+        final Heuristics.Name name = resumed != null ? resumed.heuristic
+            : this.getHeuristic() != Heuristics.Name.AUTO ? this.getHeuristic()
+            : HeuristicSelector.select(problem, this.getPatternDatabaseCache(), this.isIncrementalHeuristic(),
+                (long) (this.getTimeout() * 1000 * this.getAutoBudget()), Double.POSITIVE_INFINITY);
+        final StateHeuristic heuristic = Heuristics.getInstance(name, problem,
+            this.getPatternDatabaseCache(), this.isIncrementalHeuristic());
+
+        // Detect the object symmetries of the problem if the symmetry reduction is enabled
+        Symmetries symmetries = null;
+        this.symmetricPruned = 0;
+        this.evaluated = 0;
+        this.deadEndAvoided = 0;
+        if (this.isSymmetryReduction()) {
+            final long begin = System.currentTimeMillis();
+            symmetries = Symmetries.detect(problem);
+            LOGGER.info("* Symmetry detection: " + symmetries.getNumberOfClasses() + " object classes, "
+                + symmetries.getNumberOfGenerators() + " generators ("
+                + (System.currentTimeMillis() - begin) + " ms)\n");
+            if (symmetries.isEmpty()) {
+                symmetries = null;
+            }
+        }
+
+        // Get the dead-end store kept across the restarts of the search
+        final DeadEndStore deadEnds = this.getDeadEndStore() != null ? this.getDeadEndStore()
+            : this.isDeadEnds() ? new DeadEndStore(problem) : null;
 
-        // Get the initial state from the planning problem
+        // Get the initial state from the planning problem. The phases of the search are profiled if a flight
+        // recording is running
+        final SearchProfiler profiler = SearchProfiler.start(MCP.PLANNER);
         final State init = new State(problem.getInitialState());
         Node s = new Node(init, null, -1, 0, heuristic.estimate(init, problem.getGoal()));
         
@@ -482,33 +1047,103 @@ public class MCP extends AbstractPlanner {
 
         double hmin = s.getHeuristic();
         int counter = 0;
+        long elapsed = 0;
+
+        // Restore the current state, the random generator and the statistics of a resumed search
+        if (resumed != null) {
+            s = resumed.node;
+            hmin = resumed.hmin;
+            counter = resumed.counter;
+            elapsed = resumed.elapsed;
+            this.evaluated = resumed.evaluated;
+            this.symmetricPruned = resumed.symmetricPruned;
+            LOGGER.info("* Search resumed from " + this.getCheckpoint() + ": " + this.evaluated
+                + " states evaluated in " + elapsed + " ms\n");
+        }
 
-        // Set the timeout in ms allocated to the search
+        // Set the timeout in ms allocated to the search. The timeout applies to each run of a resumed search
         final int timeout = this.getTimeout() * 1000;
         final long startTime = System.currentTimeMillis();
+        long checkpointed = startTime;
+        long iterations = 0;
+        profiler.lap(SearchProfiler.SETUP);
 
         // Main search loop
         while (!s.satisfy(problem.getGoal())) {
-            // Check timeout
+            // Check timeout. The state of the search is written to its checkpoint before stopping
             long currentTime = System.currentTimeMillis();
             if (currentTime - startTime >= timeout) {
                 LOGGER.info("* Timeout reached");
+                if (checkpoint != null) {
+                    this.saveCheckpoint(checkpoint, fingerprint, name, s, hmin, counter,
+                        elapsed + currentTime - startTime, true);
+                    MCP.closeCheckpoint(checkpoint, false);
+                }
+                profiler.end();
                 return null;
             }
 
-            // Restart if counter exceeds MAX_STEPS or dead-end is reached
-            if (counter > this.maxSteps || isDeadEnd(s, problem)) {
+            // Check if the search was cancelled, e.g., by a portfolio
+            if (Thread.currentThread().isInterrupted()) {
+                LOGGER.info("* Search interrupted");
+                if (checkpoint != null) {
+                    MCP.closeCheckpoint(checkpoint, false);
+                }
+                profiler.end();
+                return null;
+            }
+
+            // Periodically write the state of the search to its checkpoint
+            if (checkpoint != null && currentTime - checkpointed >= this.getCheckpointInterval() * 1000L) {
+                checkpointed = currentTime;
+                if (!this.saveCheckpoint(checkpoint, fingerprint, name, s, hmin, counter,
+                    elapsed + currentTime - startTime, false)) {
+                    MCP.closeCheckpoint(checkpoint, false);
+                    checkpoint = null;
+                }
+            }
+
+            // Restart if counter exceeds MAX_STEPS or dead-end is reached. The dead ends are recorded so that
+            // the next random walks avoid them
+            profiler.lap(SearchProfiler.OTHER);
+            final boolean deadEnd = deadEnds != null && deadEnds.contains(s) || isDeadEnd(s, problem);
+            if (deadEnd && deadEnds != null) {
+                deadEnds.add(s);
+            }
+            profiler.lap(SearchProfiler.DUPLICATES);
+            if (counter > this.maxSteps || deadEnd) {
                 LOGGER.info("* Restarting from initial state (counter: " + counter + ")");
                 s = new Node(s0, null, -1, 0, heuristic.estimate(s0, problem.getGoal()));
                 hmin = s.getHeuristic();
                 counter = 0;
+                profiler.lap(SearchProfiler.HEURISTIC);
             }
 
             // Perform Monte Carlo random walk
-            Node nextS = pureRandomWalk(s, problem, heuristic);
+            Node nextS = pureRandomWalk(s, problem, heuristic, symmetries, deadEnds, profiler);
+            iterations++;
+            if (profiler.sample()) {
+                profiler.expansion(iterations, s.getCost(), s.getHeuristic(), s.getHeuristic(), this.branching);
+            }
 
             // Check if goal was found during random walk
             if (nextS.satisfy(problem.getGoal())) {
+                if (symmetries != null) {
+                    LOGGER.info("* " + this.symmetricPruned + " symmetric successors pruned\n");
+                }
+                if (checkpoint != null) {
+                    MCP.closeCheckpoint(checkpoint, true);
+                }
+                profiler.end();
+                final long time = System.currentTimeMillis() - startTime + elapsed;
+                LOGGER.info("* " + this.evaluated + " states evaluated ("
+                    + (time > 0 ? this.evaluated * 1000 / time : this.evaluated) + " states/s)\n");
+                if (deadEnds != null) {
+                    LOGGER.info("* Dead ends: " + deadEnds.size() + " recorded, " + deadEnds.getNumberOfNogoods()
+                        + " nogoods, " + this.deadEndAvoided + " walk steps avoided ("
+                        + deadEnds.getFingerprintHits() + " fingerprint hits, " + deadEnds.getNogoodHits()
+                        + " nogood hits)\n");
+                }
                 return extractPlan(nextS, problem);
             }
 
@@ -525,9 +1160,127 @@ public class MCP extends AbstractPlanner {
         }
 
         // Goal satisfied, extract and return the plan
+        profiler.end();
+        if (checkpoint != null) {
+            MCP.closeCheckpoint(checkpoint, true);
+        }
         return extractPlan(s, problem);
     }
 
+    /**
+     * Writes the state of the search to its checkpoint: the settings of the walks, the statistics, the minimum
+     * heuristic value, the restart counter, the random generator and the nodes from the initial state to the
+     * current state.
+     *
+     * @param checkpoint  the checkpoint writer.
+     * @param fingerprint the fingerprint of the problem.
+     * @param name        the heuristic of the search.
+     * @param s           the current node.
+     * @param hmin        the minimum heuristic value since the last restart.
+     * @param counter     the number of iterations without improvement.
+     * @param elapsed     the time spent by the search in ms.
+     * @param wait        <code>true</code> to wait for the end of the write.
+     * @return <code>true</code> if the checkpoint was written, <code>false</code> otherwise.
+     */
+    private boolean saveCheckpoint(final CheckpointWriter checkpoint, final String fingerprint,
+                                   final Heuristics.Name name, final Node s, final double hmin, final int counter,
+                                   final long elapsed, final boolean wait) {
+        final long begin = System.currentTimeMillis();
+        try {
+            checkpoint.begin(MCP.PLANNER, fingerprint);
+            checkpoint.putString(name.name());
+            checkpoint.putInt(this.numWalk);
+            checkpoint.putInt(this.lengthWalk);
+            checkpoint.putInt(this.maxSteps);
+            checkpoint.putInt(this.isSymmetryReduction() ? 1 : 0);
+            checkpoint.putLong(this.evaluated);
+            checkpoint.putLong(this.symmetricPruned);
+            checkpoint.putLong(elapsed);
+            checkpoint.putDouble(hmin);
+            checkpoint.putInt(counter);
+            checkpoint.putObject(this.random);
+            final List<Node> path = new ArrayList<>();
+            for (Node n = s; n != null; n = n.getParent()) {
+                path.add(0, n);
+            }
+            checkpoint.putInt(path.size());
+            for (Node n : path) {
+                checkpoint.putInt(n.getAction());
+                checkpoint.putDouble(n.getCost());
+                checkpoint.putDouble(n.getHeuristic());
+                checkpoint.putInt(n.getDepth());
+                checkpoint.putBits(n);
+                checkpoint.putBits(n.getLandmarks());
+            }
+            final long size = checkpoint.commit(wait);
+            LOGGER.info(String.format("* Checkpoint: %d nodes, %.1f KBytes (%d ms)%n", path.size(),
+                size / 1024.0, System.currentTimeMillis() - begin));
+            return true;
+        } catch (IOException e) {
+            LOGGER.error("* Checkpoint failed: " + e.getMessage() + ", checkpointing disabled\n");
+            return false;
+        }
+    }
+
+    /**
+     * Reads the state of the search written by {@link #saveCheckpoint}. The random generator of the planner is
+     * restored.
+     *
+     * @param in the checkpoint reader.
+     * @return the state of the search.
+     * @throws IOException if the checkpoint cannot be read or if it was written with other walk settings.
+     */
+    private Snapshot readCheckpoint(final CheckpointReader in) throws IOException {
+        final Snapshot snapshot = new Snapshot();
+        snapshot.heuristic = Heuristics.Name.valueOf(in.getString());
+        if (in.getInt() != this.numWalk || in.getInt() != this.lengthWalk || in.getInt() != this.maxSteps
+            || (in.getInt() == 1) != this.isSymmetryReduction()) {
+            throw new IOException("Checkpoint written with other walk settings");
+        }
+        snapshot.evaluated = in.getLong();
+        snapshot.symmetricPruned = in.getLong();
+        snapshot.elapsed = in.getLong();
+        snapshot.hmin = in.getDouble();
+        snapshot.counter = in.getInt();
+        this.random = (Random) in.getObject();
+        final int length = in.getInt();
+        final State empty = new State();
+        Node parent = null;
+        for (int i = 0; i < length; i++) {
+            final Node n = new Node(empty);
+            n.setParent(parent);
+            n.setAction(in.getInt());
+            n.setCost(in.getDouble());
+            n.setHeuristic(in.getDouble());
+            n.setDepth(in.getInt());
+            in.getBits(n);
+            final BitVector landmarks = new BitVector();
+            if (in.getBits(landmarks)) {
+                n.setLandmarks(landmarks);
+            }
+            parent = n;
+        }
+        snapshot.node = parent;
+        return snapshot;
+    }
+
+    /**
+     * Waits for the pending write of a checkpoint and closes it.
+     *
+     * @param checkpoint the checkpoint writer.
+     * @param delete     <code>true</code> to delete the checkpoint file, i.e., when the search is over.
+     */
+    private static void closeCheckpoint(final CheckpointWriter checkpoint, final boolean delete) {
+        try {
+            if (delete) {
+                checkpoint.delete();
+            }
+            checkpoint.close();
+        } catch (IOException e) {
+            LOGGER.error("* Checkpoint failed: " + e.getMessage() + "\n");
+        }
+    }
+
     /**
      * Search a solution plan to a specified domain and problem using Monte Carlo Random Walk.
      *
@@ -572,4 +1325,45 @@ public class MCP extends AbstractPlanner {
             LOGGER.fatal(e.getMessage());
         }
     }
+
+    /**
+     * The state of a search restored from a checkpoint.
+     */
+    private static final class Snapshot {
+
+        /**
+         * The heuristic of the search.
+         */
+        private Heuristics.Name heuristic;
+
+        /**
+         * The current node.
+         */
+        private Node node;
+
+        /**
+         * The minimum heuristic value since the last restart.
+         */
+        private double hmin;
+
+        /**
+         * The number of iterations without improvement.
+         */
+        private int counter;
+
+        /**
+         * The time spent by the search in ms.
+         */
+        private long elapsed;
+
+        /**
+         * The number of states evaluated.
+         */
+        private long evaluated;
+
+        /**
+         * The number of symmetric successors pruned.
+         */
+        private long symmetricPruned;
+    }
 }
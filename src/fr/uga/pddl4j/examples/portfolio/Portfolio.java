@@ -0,0 +1,676 @@
+package fr.uga.pddl4j.examples.portfolio;
+
+import fr.uga.pddl4j.examples.DeadEndStore;
+import fr.uga.pddl4j.examples.asp.ASP;
+import fr.uga.pddl4j.examples.beam.BeamSearch;
+import fr.uga.pddl4j.examples.bfws.BFWS;
+import fr.uga.pddl4j.examples.mcp.MCP;
+import fr.uga.pddl4j.parser.DefaultParsedProblem;
+import fr.uga.pddl4j.parser.RequireKey;
+import fr.uga.pddl4j.plan.Plan;
+import fr.uga.pddl4j.planners.AbstractPlanner;
+import fr.uga.pddl4j.planners.Planner;
+import fr.uga.pddl4j.planners.PlannerConfiguration;
+import fr.uga.pddl4j.planners.ProblemNotSupportedException;
+import fr.uga.pddl4j.problem.DefaultProblem;
+import fr.uga.pddl4j.problem.Problem;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import picocli.CommandLine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The class implements a portfolio planner. It runs a set of ASP, MCP, BFWS and beam search configurations on
+ * the same instantiated problem, either concurrently on separate threads (race) or one after the other with a
+ * static time slice each (time slicing), and returns the first plan found or the best plan found within the
+ * deadline. The configurations still running when the portfolio stops are cancelled by interrupting their
+ * threads.
+ * <p>
+ * A configuration is described by the name of the planner followed by a comma-separated list of settings,
+ * e.g., <code>ASP:heuristic=MAX,weight=1.5</code>, <code>MCP:heuristic=FAST_FORWARD,num-walk=20</code> or
+ * <code>BFWS:algorithm=IW,width=2</code> or <code>BEAM:beam-width=500,num-walk=10</code>.
+ * The setting <code>slice</code> gives the time slice in seconds of the configuration in time slicing mode.
+ * </p>
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+@CommandLine.Command(name = "Portfolio",
+    version = "Portfolio 1.0",
+    description = "Solves a specified planning problem by racing ASP, MCP, BFWS and BEAM configurations.",
+    sortOptions = false,
+    mixinStandardHelpOptions = true,
+    headerHeading = "Usage:%n",
+    synopsisHeading = "%n",
+    descriptionHeading = "%nDescription:%n%n",
+    parameterListHeading = "%nParameters:%n",
+    optionListHeading = "%nOptions:%n")
+
+public class Portfolio extends AbstractPlanner {
+
+    /**
+     * The class logger.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(Portfolio.class.getName());
+
+    /**
+     * The scheduling modes of the portfolio.
+     */
+    public enum Mode {
+        /**
+         * All the configurations run concurrently.
+         */
+        RACE,
+        /**
+         * The configurations run one after the other with a static time slice each.
+         */
+        TIME_SLICING
+    }
+
+    /**
+     * The configurations of the portfolio.
+     */
+    private List<String> configurations;
+
+    /**
+     * The scheduling mode of the portfolio.
+     */
+    private Mode mode;
+
+    /**
+     * The flag used to return the best plan found within the deadline instead of the first one.
+     */
+    private boolean best;
+
+    /**
+     * The name of the configuration that returned the plan of the last search.
+     */
+    private String winner;
+
+    /**
+     * The dead-end store shared by the configurations of the last search enabling it, or <code>null</code> if no
+     * configuration enabled it yet.
+     */
+    private DeadEndStore deadEnds;
+
+    /**
+     * The CONFIGURATIONS property used for planner configuration.
+     */
+    public static final String CONFIGURATIONS_SETTING = "CONFIGURATIONS";
+
+    /**
+     * The default value of the CONFIGURATIONS property.
+     */
+    public static final String DEFAULT_CONFIGURATIONS =
+        "ASP:heuristic=FAST_FORWARD,weight=1.0;ASP:heuristic=FAST_FORWARD,weight=3.0;MCP:heuristic=FAST_FORWARD";
+
+    /**
+     * The MODE property used for planner configuration.
+     */
+    public static final String MODE_SETTING = "MODE";
+
+    /**
+     * The default value of the MODE property.
+     */
+    public static final Mode DEFAULT_MODE = Mode.RACE;
+
+    /**
+     * The BEST_PLAN property used for planner configuration.
+     */
+    public static final String BEST_PLAN_SETTING = "BEST_PLAN";
+
+    /**
+     * The default value of the BEST_PLAN property.
+     */
+    public static final boolean DEFAULT_BEST_PLAN = false;
+
+    /**
+     * Creates a new portfolio planner with the default configuration.
+     */
+    public Portfolio() {
+        this(Portfolio.getDefaultConfiguration());
+    }
+
+    /**
+     * Creates a new portfolio planner with a specified configuration.
+     *
+     * @param configuration the configuration of the planner.
+     */
+    public Portfolio(final PlannerConfiguration configuration) {
+        super();
+        this.setConfiguration(configuration);
+    }
+
+    /**
+     * Sets the configurations run by the portfolio. An empty list of configurations is ignored.
+     *
+     * @param configurations the configurations.
+     */
+    @CommandLine.Option(names = {"-c", "--configuration"}, split = ";",
+        defaultValue = DEFAULT_CONFIGURATIONS, paramLabel = "<configuration>",
+        description = "Set the configurations of the portfolio, e.g., ASP:heuristic=MAX,weight=1.0 or "
+            + "MCP:heuristic=SUM,num-walk=10,length-walk=100,max-steps=1000 (preset ${DEFAULT-VALUE}).")
+    public void setConfigurations(final List<String> configurations) {
+        if (configurations != null && !configurations.isEmpty()) {
+            this.configurations = new ArrayList<>(configurations);
+        }
+    }
+
+    /**
+     * Returns the configurations run by the portfolio.
+     *
+     * @return the configurations run by the portfolio.
+     */
+    public final List<String> getConfigurations() {
+        return this.configurations;
+    }
+
+    /**
+     * Sets the scheduling mode of the portfolio.
+     *
+     * @param mode the scheduling mode.
+     */
+    @CommandLine.Option(names = {"-mo", "--mode"}, defaultValue = "RACE",
+        description = "Set the scheduling mode: RACE or TIME_SLICING (preset RACE).")
+    public void setMode(final Mode mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Returns the scheduling mode of the portfolio.
+     *
+     * @return the scheduling mode of the portfolio.
+     */
+    public final Mode getMode() {
+        return this.mode;
+    }
+
+    /**
+     * Sets if the portfolio returns the best plan found within the deadline instead of the first one.
+     *
+     * @param best <code>true</code> to return the best plan found within the deadline.
+     */
+    @CommandLine.Option(names = {"-b", "--best"}, defaultValue = "false",
+        description = "Return the shortest plan found within the deadline instead of the first one (preset false).")
+    public void setBestPlan(final boolean best) {
+        this.best = best;
+    }
+
+    /**
+     * Returns if the portfolio returns the best plan found within the deadline.
+     *
+     * @return <code>true</code> if the portfolio returns the best plan, <code>false</code> otherwise.
+     */
+    public final boolean isBestPlan() {
+        return this.best;
+    }
+
+    /**
+     * Returns the configuration that returned the plan of the last search.
+     *
+     * @return the configuration that returned the plan of the last search or <code>null</code> if no plan
+     *     was found.
+     */
+    public final String getWinner() {
+        return this.winner;
+    }
+
+    /**
+     * Returns the default configuration of the planner.
+     *
+     * @return the default configuration of the planner.
+     * @see PlannerConfiguration
+     */
+    public static PlannerConfiguration getDefaultConfiguration() {
+        PlannerConfiguration config = Planner.getDefaultConfiguration();
+        config.setProperty(Portfolio.CONFIGURATIONS_SETTING, Portfolio.DEFAULT_CONFIGURATIONS);
+        config.setProperty(Portfolio.MODE_SETTING, Portfolio.DEFAULT_MODE.toString());
+        config.setProperty(Portfolio.BEST_PLAN_SETTING, Boolean.toString(Portfolio.DEFAULT_BEST_PLAN));
+        return config;
+    }
+
+    /**
+     * Checks the planner configuration and returns if the configuration is valid.
+     *
+     * @return <code>true</code> if the configuration is valid <code>false</code> otherwise.
+     */
+    public boolean hasValidConfiguration() {
+        return super.hasValidConfiguration()
+            && this.getConfigurations() != null
+            && !this.getConfigurations().isEmpty()
+            && this.getMode() != null;
+    }
+
+    /**
+     * Sets the configuration of the planner.
+     *
+     * @param configuration the configuration to set.
+     */
+    @Override
+    public void setConfiguration(final PlannerConfiguration configuration) {
+        super.setConfiguration(configuration);
+        if (configuration.getProperty(Portfolio.CONFIGURATIONS_SETTING) == null) {
+            this.setConfigurations(Arrays.asList(Portfolio.DEFAULT_CONFIGURATIONS.split(";")));
+        } else {
+            this.setConfigurations(Arrays.asList(
+                configuration.getProperty(Portfolio.CONFIGURATIONS_SETTING).split(";")));
+        }
+        if (configuration.getProperty(Portfolio.MODE_SETTING) == null) {
+            this.setMode(Portfolio.DEFAULT_MODE);
+        } else {
+            this.setMode(Mode.valueOf(configuration.getProperty(Portfolio.MODE_SETTING)));
+        }
+        if (configuration.getProperty(Portfolio.BEST_PLAN_SETTING) == null) {
+            this.setBestPlan(Portfolio.DEFAULT_BEST_PLAN);
+        } else {
+            this.setBestPlan(Boolean.parseBoolean(configuration.getProperty(Portfolio.BEST_PLAN_SETTING)));
+        }
+    }
+
+    /**
+     * Instantiates the planning problem from a parsed problem.
+     *
+     * @param problem the problem to instantiate.
+     * @return the instantiated planning problem or null if the problem cannot be instantiated.
+     */
+    @Override
+    public Problem instantiate(DefaultParsedProblem problem) {
+        final Problem pb = new DefaultProblem(problem);
+        pb.instantiate();
+        return pb;
+    }
+
+    /**
+     * Returns if a specified problem is supported by the planner. The portfolio supports the problems
+     * supported by ASP, MCP, BFWS and beam search.
+     *
+     * @param problem the problem to test.
+     * @return <code>true</code> if the problem is supported <code>false</code> otherwise.
+     */
+    @Override
+    public boolean isSupported(Problem problem) {
+        return (problem.getRequirements().contains(RequireKey.ACTION_COSTS)
+            || problem.getRequirements().contains(RequireKey.CONSTRAINTS)
+            || problem.getRequirements().contains(RequireKey.CONTINOUS_EFFECTS)
+            || problem.getRequirements().contains(RequireKey.DERIVED_PREDICATES)
+            || problem.getRequirements().contains(RequireKey.DURATIVE_ACTIONS)
+            || problem.getRequirements().contains(RequireKey.DURATION_INEQUALITIES)
+            || problem.getRequirements().contains(RequireKey.FLUENTS)
+            || problem.getRequirements().contains(RequireKey.GOAL_UTILITIES)
+            || problem.getRequirements().contains(RequireKey.METHOD_CONSTRAINTS)
+            || problem.getRequirements().contains(RequireKey.NUMERIC_FLUENTS)
+            || problem.getRequirements().contains(RequireKey.OBJECT_FLUENTS)
+            || problem.getRequirements().contains(RequireKey.PREFERENCES)
+            || problem.getRequirements().contains(RequireKey.TIMED_INITIAL_LITERALS)
+            || problem.getRequirements().contains(RequireKey.HIERARCHY))
+            ? false : true;
+    }
+
+    /**
+     * Creates the search of a configuration of the portfolio.
+     *
+     * @param configuration the configuration, e.g., <code>ASP:heuristic=MAX,weight=1.0</code>.
+     * @param problem       the problem to solve.
+     * @param timeout       the timeout in seconds of the search.
+     * @return the search of the configuration.
+     * @throws IllegalArgumentException if the configuration is malformed.
+     */
+    private Entry createEntry(final String configuration, final Problem problem, final int timeout) {
+        final String[] parts = configuration.trim().split(":", 2);
+        final String planner = parts[0].trim().toUpperCase();
+        final PlannerConfiguration config;
+        if (planner.equals("ASP")) {
+            config = ASP.getDefaultConfiguration();
+        } else if (planner.equals("MCP")) {
+            config = MCP.getDefaultConfiguration();
+        } else if (planner.equals("BFWS")) {
+            config = BFWS.getDefaultConfiguration();
+        } else if (planner.equals("BEAM")) {
+            config = BeamSearch.getDefaultConfiguration();
+        } else {
+            throw new IllegalArgumentException("Unknown planner in configuration \"" + configuration + "\"");
+        }
+        int slice = 0;
+        if (parts.length > 1 && !parts[1].isBlank()) {
+            for (String setting : parts[1].split(",")) {
+                final String[] kv = setting.split("=", 2);
+                if (kv.length != 2) {
+                    throw new IllegalArgumentException("Malformed setting \"" + setting + "\"");
+                }
+                final String key = kv[0].trim().toLowerCase();
+                final String value = kv[1].trim();
+                switch (key) {
+                    case "heuristic":
+                        config.setProperty(ASP.HEURISTIC_SETTING, value.toUpperCase());
+                        break;
+                    case "auto-budget":
+                        config.setProperty(ASP.AUTO_BUDGET_SETTING, value);
+                        break;
+                    case "pdb-cache":
+                        config.setProperty(ASP.PDB_CACHE_SETTING, value);
+                        break;
+                    case "weight":
+                        config.setProperty(ASP.WEIGHT_HEURISTIC_SETTING, value);
+                        break;
+                    case "symmetry":
+                        config.setProperty(ASP.SYMMETRY_REDUCTION_SETTING, value);
+                        break;
+                    case "parallel":
+                        config.setProperty(ASP.PARALLEL_EVALUATION_SETTING, value);
+                        break;
+                    case "bitstate":
+                        config.setProperty(ASP.BITSTATE_MEMORY_SETTING, value);
+                        break;
+                    case "bitstate-hashes":
+                        config.setProperty(ASP.BITSTATE_HASHES_SETTING, value);
+                        break;
+                    case "queues":
+                        config.setProperty(ASP.QUEUES_SETTING, value.toUpperCase().replace('+', ','));
+                        break;
+                    case "preferred":
+                        config.setProperty(ASP.PREFERRED_OPERATORS_SETTING, value);
+                        break;
+                    case "dead-ends":
+                        config.setProperty(ASP.DEAD_ENDS_SETTING, value);
+                        break;
+                    case "max-steps":
+                        config.setProperty(MCP.MAX_STEPS_SETTING, value);
+                        break;
+                    case "num-walk":
+                        config.setProperty(MCP.NUM_WALK_SETTING, value);
+                        break;
+                    case "length-walk":
+                        config.setProperty(MCP.LENGTH_WALK_SETTING, value);
+                        break;
+                    case "algorithm":
+                        config.setProperty(BFWS.ALGORITHM_SETTING, value.toUpperCase());
+                        break;
+                    case "width":
+                        config.setProperty(BFWS.WIDTH_SETTING, value);
+                        break;
+                    case "beam-width":
+                        config.setProperty(BeamSearch.BEAM_WIDTH_SETTING, value);
+                        break;
+                    case "seed":
+                        config.setProperty(BeamSearch.SEED_SETTING, value);
+                        break;
+                    case "slice":
+                        slice = Integer.parseInt(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown setting \"" + key + "\"");
+                }
+            }
+        }
+        final int t = slice > 0 ? slice : timeout;
+        if (planner.equals("ASP")) {
+            final ASP asp = new ASP(config);
+            asp.setTimeout(t);
+            if (asp.isDeadEnds()) {
+                asp.setDeadEndStore(this.getSharedDeadEndStore(problem));
+            }
+            return new Entry(configuration, t, () -> asp.astar(problem));
+        } else if (planner.equals("BFWS")) {
+            final BFWS bfws = new BFWS(config);
+            bfws.setTimeout(t);
+            return new Entry(configuration, t, () -> bfws.search(problem));
+        } else if (planner.equals("BEAM")) {
+            final BeamSearch beam = new BeamSearch(config);
+            beam.setTimeout(t);
+            return new Entry(configuration, t, () -> beam.beamSearch(problem));
+        } else {
+            final MCP mcp = new MCP(config);
+            mcp.setTimeout(t);
+            if (mcp.isDeadEnds()) {
+                mcp.setDeadEndStore(this.getSharedDeadEndStore(problem));
+            }
+            return new Entry(configuration, t, () -> mcp.monteCarloSearch(problem));
+        }
+    }
+
+    /**
+     * Returns the dead-end store shared by the configurations enabling it. The store is built by the first
+     * configuration asking for it, so that a portfolio without dead-end store does not pay for its construction.
+     *
+     * @param problem the problem to solve.
+     * @return the shared dead-end store.
+     */
+    private DeadEndStore getSharedDeadEndStore(final Problem problem) {
+        if (this.deadEnds == null) {
+            this.deadEnds = new DeadEndStore(problem);
+        }
+        return this.deadEnds;
+    }
+
+    /**
+     * Returns if a plan is better than the best plan found so far.
+     *
+     * @param plan the plan.
+     * @param best the best plan found so far.
+     * @return <code>true</code> if the plan is better, <code>false</code> otherwise.
+     */
+    private static boolean isBetter(final Plan plan, final Plan best) {
+        return plan != null && (best == null || plan.size() < best.size());
+    }
+
+    /**
+     * Runs all the configurations concurrently on the same problem.
+     *
+     * @param entries the searches of the configurations.
+     * @return the first plan found, or the best plan found within the deadline.
+     * @throws InterruptedException if the portfolio is interrupted.
+     */
+    private Plan race(final List<Entry> entries) throws InterruptedException {
+        final ExecutorService executor = Executors.newFixedThreadPool(entries.size());
+        final CompletionService<Plan> service = new ExecutorCompletionService<>(executor);
+        final List<Future<Plan>> futures = new ArrayList<>();
+        final List<Entry> byFuture = new ArrayList<>();
+        for (Entry e : entries) {
+            futures.add(service.submit(e.search::call));
+            byFuture.add(e);
+        }
+        final long deadline = System.currentTimeMillis() + this.getTimeout() * 1000L;
+        Plan plan = null;
+        try {
+            int pending = entries.size();
+            while (pending > 0 && (plan == null || this.isBestPlan())) {
+                final long remaining = deadline - System.currentTimeMillis();
+                final Future<Plan> done = service.poll(Math.max(remaining, 0), TimeUnit.MILLISECONDS);
+                if (done == null) {
+                    break;
+                }
+                pending--;
+                final Entry entry = byFuture.get(futures.indexOf(done));
+                try {
+                    final Plan p = done.get();
+                    LOGGER.info("* Configuration " + entry.name + " finished "
+                        + (p != null ? "with a plan of " + p.size() + " actions" : "without plan") + "\n");
+                    if (Portfolio.isBetter(p, plan)) {
+                        plan = p;
+                        this.winner = entry.name;
+                    }
+                } catch (ExecutionException e) {
+                    LOGGER.error("* Configuration " + entry.name + " failed: " + e.getCause() + "\n");
+                }
+            }
+        } finally {
+            // We cancel the configurations still running and wait for them to stop
+            for (Future<Plan> f : futures) {
+                f.cancel(true);
+            }
+            executor.shutdownNow();
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        }
+        return plan;
+    }
+
+    /**
+     * Runs the configurations one after the other with their time slice.
+     *
+     * @param entries the searches of the configurations.
+     * @return the first plan found, or the best plan found within the deadline.
+     */
+    private Plan timeSlicing(final List<Entry> entries) {
+        final long deadline = System.currentTimeMillis() + this.getTimeout() * 1000L;
+        Plan plan = null;
+        for (Entry entry : entries) {
+            if (System.currentTimeMillis() >= deadline || (plan != null && !this.isBestPlan())) {
+                break;
+            }
+            LOGGER.info("* Running configuration " + entry.name + " (slice " + entry.timeout + "s)\n");
+            try {
+                final Plan p = entry.search.call();
+                LOGGER.info("* Configuration " + entry.name + " finished "
+                    + (p != null ? "with a plan of " + p.size() + " actions" : "without plan") + "\n");
+                if (Portfolio.isBetter(p, plan)) {
+                    plan = p;
+                    this.winner = entry.name;
+                }
+            } catch (Exception e) {
+                LOGGER.error("* Configuration " + entry.name + " failed: " + e + "\n");
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Search a solution plan for a planning problem with the configurations of the portfolio.
+     *
+     * @param problem the problem to solve.
+     * @return a plan solution for the problem or null if there is no solution.
+     * @throws ProblemNotSupportedException if the problem to solve is not supported by the planner.
+     */
+    public Plan portfolio(Problem problem) throws ProblemNotSupportedException {
+        // Check if the problem is supported by the planner
+        if (!this.isSupported(problem)) {
+            throw new ProblemNotSupportedException("Problem not supported");
+        }
+        this.winner = null;
+
+        // In time slicing mode, the configurations without explicit slice share the timeout equally
+        final int share = this.getMode() == Mode.TIME_SLICING
+            ? Math.max(1, this.getTimeout() / this.getConfigurations().size()) : this.getTimeout();
+        // The configurations enabling the dead-end store share the dead ends they detect
+        this.deadEnds = null;
+        final List<Entry> entries = new ArrayList<>();
+        for (String c : this.getConfigurations()) {
+            entries.add(this.createEntry(c, problem, share));
+        }
+
+        Plan plan = null;
+        try {
+            plan = this.getMode() == Mode.RACE ? this.race(entries) : this.timeSlicing(entries);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (plan != null) {
+            LOGGER.info("* Portfolio winner: " + this.winner + "\n");
+        }
+        return plan;
+    }
+
+    /**
+     * Search a solution plan to a specified domain and problem with the portfolio.
+     *
+     * @param problem the problem to solve.
+     * @return the plan found or null if no plan was found.
+     */
+    @Override
+    public Plan solve(final Problem problem) {
+        LOGGER.info("* Starting portfolio search (" + this.getMode() + ", "
+            + this.getConfigurations().size() + " configurations)\n");
+        // Search a solution
+        final long begin = System.currentTimeMillis();
+        Plan plan = null;
+        try {
+            plan = this.portfolio(problem);
+        } catch (ProblemNotSupportedException e) {
+            LOGGER.fatal(e.getMessage());
+        }
+        final long end = System.currentTimeMillis();
+        // If a plan is found update the statistics of the planner
+        // and log search information
+        if (plan != null) {
+            LOGGER.info("* Portfolio search succeeded\n");
+            this.getStatistics().setTimeToSearch(end - begin);
+        } else {
+            LOGGER.info("* Portfolio search failed\n");
+        }
+        // Return the plan found or null if the search fails.
+        return plan;
+    }
+
+    /**
+     * The main method of the <code>Portfolio</code> planner.
+     *
+     * @param args the arguments of the command line.
+     */
+    public static void main(String[] args) {
+        try {
+            final Portfolio planner = new Portfolio();
+            CommandLine cmd = new CommandLine(planner);
+            cmd.execute(args);
+        } catch (IllegalArgumentException e) {
+            LOGGER.fatal(e.getMessage());
+        }
+    }
+
+    /**
+     * This class associates a configuration of the portfolio with its search.
+     */
+    private static final class Entry {
+
+        /**
+         * The description of the configuration.
+         */
+        private final String name;
+
+        /**
+         * The timeout in seconds of the configuration.
+         */
+        private final int timeout;
+
+        /**
+         * The search of the configuration.
+         */
+        private final Search search;
+
+        /**
+         * Creates a new entry.
+         *
+         * @param name    the description of the configuration.
+         * @param timeout the timeout in seconds of the configuration.
+         * @param search  the search of the configuration.
+         */
+        Entry(final String name, final int timeout, final Search search) {
+            this.name = name;
+            this.timeout = timeout;
+            this.search = search;
+        }
+    }
+
+    /**
+     * The search run by a configuration of the portfolio.
+     */
+    @FunctionalInterface
+    private interface Search {
+
+        /**
+         * Runs the search.
+         *
+         * @return the plan found or <code>null</code> if no plan was found.
+         * @throws ProblemNotSupportedException if the problem is not supported by the planner.
+         */
+        Plan call() throws ProblemNotSupportedException;
+    }
+}
@@ -0,0 +1,73 @@
+package fr.uga.pddl4j.examples.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * This class implements the Java Flight Recorder event reporting an expansion of a search: a node expanded by
+ * ASP or an iteration of the random walks of MCP. Only one expansion out of {@link SearchProfiler#SAMPLING} is
+ * reported.
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+@Name(ExpansionEvent.NAME)
+@Label("Expansion")
+@Description("Sampled expansion of a search")
+@Category({"PDDL4J", "Search"})
+@StackTrace(false)
+public final class ExpansionEvent extends Event {
+
+    /**
+     * The name of the event.
+     */
+    public static final String NAME = "fr.uga.pddl4j.examples.Expansion";
+
+    /**
+     * The name of the planner.
+     */
+    @Label("Planner")
+    String planner;
+
+    /**
+     * The number of the expansion.
+     */
+    @Label("Node")
+    long node;
+
+    /**
+     * The cost of the node expanded.
+     */
+    @Label("G")
+    double g;
+
+    /**
+     * The heuristic value of the node expanded.
+     */
+    @Label("H")
+    double h;
+
+    /**
+     * The priority of the node expanded.
+     */
+    @Label("F")
+    double f;
+
+    /**
+     * The number of successors of the node expanded.
+     */
+    @Label("Branching Factor")
+    int branching;
+
+    /**
+     * The time spent in the heuristic during the expansion.
+     */
+    @Label("Heuristic Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long heuristicNanos;
+}
@@ -0,0 +1,141 @@
+package fr.uga.pddl4j.examples.profiling;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * This class analyzes a Java Flight Recorder recording of ASP or MCP offline. It prints, for each planner, the
+ * time spent in each phase, its share of the total time, the number of calls and the mean time per call, and it
+ * can write the sampled expansions as CSV data to plot the heuristic over time.
+ * <p>
+ * Usage:
+ * </p>
+ * <pre>
+ * java -XX:StartFlightRecording=filename=asp.jfr -cp classes:lib/pddl4j-4.0.0.jar fr.uga.pddl4j.examples.asp.ASP \
+ *     domain.pddl problem.pddl
+ * java -cp classes fr.uga.pddl4j.examples.profiling.ProfileAnalyzer asp.jfr [plot.csv]
+ * </pre>
+ * <p>
+ * The CSV file has the columns <code>planner,time_ms,node,g,h,f,branching,heuristic_ns</code>, the time being
+ * counted from the first expansion recorded.
+ * </p>
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+public final class ProfileAnalyzer {
+
+    /**
+     * Creates a new analyzer. This class cannot be instantiated.
+     */
+    private ProfileAnalyzer() {
+    }
+
+    /**
+     * The main method of the analyzer.
+     *
+     * @param args the recording and, optionally, the CSV file of the expansions.
+     * @throws IOException if the recording cannot be read or the CSV file cannot be written.
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: ProfileAnalyzer <recording.jfr> [<plot.csv>]");
+            return;
+        }
+        final Map<String, long[][]> phases = new TreeMap<>();
+        final Map<String, long[]> expansions = new TreeMap<>();
+        Instant first = null;
+        final PrintWriter plot = args.length > 1
+            ? new PrintWriter(Files.newBufferedWriter(Paths.get(args[1]), StandardCharsets.UTF_8)) : null;
+        if (plot != null) {
+            plot.println("planner,time_ms,node,g,h,f,branching,heuristic_ns");
+        }
+        try (RecordingFile recording = new RecordingFile(Path.of(args[0]))) {
+            while (recording.hasMoreEvents()) {
+                final RecordedEvent event = recording.readEvent();
+                final String type = event.getEventType().getName();
+                if (type.equals(SearchPhaseEvent.NAME)) {
+                    final long[][] p = phases.computeIfAbsent(event.getString("planner"),
+                        k -> new long[SearchProfiler.PHASES.length][2]);
+                    final int phase = ProfileAnalyzer.indexOf(event.getString("phase"));
+                    p[phase][0] += event.getLong("nanos");
+                    p[phase][1] += event.getLong("calls");
+                } else if (type.equals(ExpansionEvent.NAME)) {
+                    // We count the time from the first expansion read: the search runs in a single thread and
+                    // its events are written in order
+                    final long[] e = expansions.computeIfAbsent(event.getString("planner"), k -> new long[3]);
+                    e[0]++;
+                    e[1] += event.getLong("heuristicNanos");
+                    e[2] = Math.max(e[2], event.getInt("branching"));
+                    if (first == null) {
+                        first = event.getStartTime();
+                    }
+                    if (plot != null) {
+                        plot.printf("%s,%.3f,%d,%s,%s,%s,%d,%d%n", event.getString("planner"),
+                            Duration.between(first, event.getStartTime()).toNanos() / 1e6, event.getLong("node"),
+                            event.getDouble("g"), event.getDouble("h"), event.getDouble("f"),
+                            event.getInt("branching"), event.getLong("heuristicNanos"));
+                    }
+                }
+            }
+        } finally {
+            if (plot != null) {
+                plot.close();
+            }
+        }
+
+        // We print the time breakdown of each planner
+        for (Map.Entry<String, long[][]> entry : phases.entrySet()) {
+            final long[][] p = entry.getValue();
+            long total = 0;
+            for (long[] phase : p) {
+                total += phase[0];
+            }
+            System.out.printf("%nPlanner %s%n", entry.getKey());
+            System.out.printf("%-12s %12s %8s %12s %12s%n", "Phase", "Time (ms)", "Share", "Calls", "Mean (ns)");
+            for (int i = 0; i < p.length; i++) {
+                if (p[i][1] > 0) {
+                    System.out.printf("%-12s %12.1f %7.1f%% %12d %12.0f%n", SearchProfiler.PHASES[i],
+                        p[i][0] / 1e6, total > 0 ? 100.0 * p[i][0] / total : 0.0, p[i][1],
+                        (double) p[i][0] / p[i][1]);
+                }
+            }
+            System.out.printf("%-12s %12.1f%n", "Total", total / 1e6);
+            final long[] e = expansions.get(entry.getKey());
+            if (e != null) {
+                System.out.printf("%d expansions sampled, %.0f ns of heuristic per expansion, branching factor "
+                    + "up to %d%n", e[0], (double) e[1] / e[0], e[2]);
+            }
+        }
+        if (phases.isEmpty()) {
+            System.out.println("No search phase event in " + args[0]);
+        }
+    }
+
+    /**
+     * Returns the index of a phase.
+     *
+     * @param phase the name of the phase.
+     * @return the index of the phase.
+     * @throws IllegalArgumentException if the phase is unknown.
+     */
+    private static int indexOf(final String phase) {
+        for (int i = 0; i < SearchProfiler.PHASES.length; i++) {
+            if (SearchProfiler.PHASES[i].equals(phase)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown phase " + phase);
+    }
+}
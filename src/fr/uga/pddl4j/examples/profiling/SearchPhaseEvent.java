@@ -0,0 +1,56 @@
+package fr.uga.pddl4j.examples.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * This class implements the Java Flight Recorder event reporting the time spent by a planner in a phase. The
+ * parse and instantiation phases are reported once. The phases of the search loop are reported every second
+ * with the time and the number of calls since the previous event, so that the sum of the events of a phase is
+ * the total time of the phase.
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+@Name(SearchPhaseEvent.NAME)
+@Label("Search Phase")
+@Description("Time spent by a planner in a phase")
+@Category({"PDDL4J", "Search"})
+@StackTrace(false)
+public final class SearchPhaseEvent extends Event {
+
+    /**
+     * The name of the event.
+     */
+    public static final String NAME = "fr.uga.pddl4j.examples.SearchPhase";
+
+    /**
+     * The name of the planner.
+     */
+    @Label("Planner")
+    String planner;
+
+    /**
+     * The name of the phase.
+     */
+    @Label("Phase")
+    String phase;
+
+    /**
+     * The time spent in the phase.
+     */
+    @Label("Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long nanos;
+
+    /**
+     * The number of calls of the phase.
+     */
+    @Label("Calls")
+    long calls;
+}
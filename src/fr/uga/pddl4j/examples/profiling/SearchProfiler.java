@@ -0,0 +1,313 @@
+package fr.uga.pddl4j.examples.profiling;
+
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * This class profiles the phases of a search loop and reports them as Java Flight Recorder events. The loop
+ * calls {@link #lap(int)} at the end of each phase: the time elapsed since the previous lap is charged to the
+ * phase. The expansions are reported by {@link #sample()} and {@link #expansion(long, double, double, double,
+ * int)}.
+ * <p>
+ * The profiler is enabled only if a recording is running when the search starts, e.g., with the JVM option
+ * <code>-XX:StartFlightRecording</code>. Otherwise, {@link #lap(int)} and {@link #sample()} return immediately
+ * after a test of a final field and the search does not read the clock.
+ * </p>
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+public final class SearchProfiler {
+
+    /**
+     * The parse phase.
+     */
+    public static final int PARSE = 0;
+
+    /**
+     * The instantiation phase.
+     */
+    public static final int INSTANTIATE = 1;
+
+    /**
+     * The setup of the search: heuristic construction, symmetry detection, checkpoint loading, etc.
+     */
+    public static final int SETUP = 2;
+
+    /**
+     * The evaluation of the heuristic.
+     */
+    public static final int HEURISTIC = 3;
+
+    /**
+     * The generation of the successors: applicability tests and application of the effects.
+     */
+    public static final int SUCCESSORS = 4;
+
+    /**
+     * The duplicate checks: closed list, symmetric states and dead ends.
+     */
+    public static final int DUPLICATES = 5;
+
+    /**
+     * The operations on the open list.
+     */
+    public static final int OPEN_LIST = 6;
+
+    /**
+     * The other operations of the search loop: goal tests, checkpoints, restarts, etc.
+     */
+    public static final int OTHER = 7;
+
+    /**
+     * The names of the phases.
+     */
+    static final String[] PHASES = {"PARSE", "INSTANTIATE", "SETUP", "HEURISTIC", "SUCCESSORS", "DUPLICATES",
+        "OPEN_LIST", "OTHER"};
+
+    /**
+     * The number of expansions per expansion event.
+     */
+    public static final int SAMPLING = 16;
+
+    /**
+     * The period in ns of the phase events of the search loop.
+     */
+    private static final long PERIOD = 1_000_000_000L;
+
+    /**
+     * The profiler used when no recording is running.
+     */
+    private static final SearchProfiler DISABLED = new SearchProfiler(null, false);
+
+    /**
+     * The name of the planner.
+     */
+    private final String planner;
+
+    /**
+     * The flag set if the profiler is enabled.
+     */
+    private final boolean enabled;
+
+    /**
+     * The time spent in each phase since the last phase events.
+     */
+    private final long[] nanos;
+
+    /**
+     * The number of calls of each phase since the last phase events.
+     */
+    private final long[] calls;
+
+    /**
+     * The time of the last lap.
+     */
+    private long last;
+
+    /**
+     * The time of the last phase events.
+     */
+    private long reported;
+
+    /**
+     * The total time spent in the heuristic.
+     */
+    private long heuristicTotal;
+
+    /**
+     * The total time spent in the heuristic before the current expansion.
+     */
+    private long heuristicMark;
+
+    /**
+     * The time spent in the heuristic during the last expansion.
+     */
+    private long expansionHeuristic;
+
+    /**
+     * The number of expansions.
+     */
+    private long expansions;
+
+    /**
+     * Creates a new profiler.
+     *
+     * @param planner the name of the planner.
+     * @param enabled <code>true</code> if the profiler is enabled.
+     */
+    private SearchProfiler(final String planner, final boolean enabled) {
+        this.planner = planner;
+        this.enabled = enabled;
+        this.nanos = new long[SearchProfiler.PHASES.length];
+        this.calls = new long[SearchProfiler.PHASES.length];
+        this.last = enabled ? System.nanoTime() : 0;
+        this.reported = this.last;
+    }
+
+    /**
+     * Starts the profiling of a search. The time elapsed until the first lap is charged to the phase of this lap.
+     *
+     * @param planner the name of the planner.
+     * @return the profiler of the search, disabled if no recording is running.
+     */
+    public static SearchProfiler start(final String planner) {
+        return SearchProfiler.isRecording() ? new SearchProfiler(planner, true) : SearchProfiler.DISABLED;
+    }
+
+    /**
+     * Returns if a recording of the events of the searches is running, i.e., if the searches started now are
+     * profiled.
+     *
+     * @return <code>true</code> if a recording of the events of the searches is running.
+     */
+    public static boolean isRecording() {
+        return SearchProfiler.isRecording(SearchPhaseEvent.class) || SearchProfiler.isRecording(ExpansionEvent.class);
+    }
+
+    /**
+     * Reports the time spent in a phase outside the search loop, e.g., the parse or the instantiation.
+     *
+     * @param planner the name of the planner.
+     * @param phase   the phase.
+     * @param nanos   the time spent in the phase in ns.
+     */
+    public static void phase(final String planner, final int phase, final long nanos) {
+        if (SearchProfiler.isRecording(SearchPhaseEvent.class)) {
+            SearchProfiler.commit(planner, phase, nanos, 1);
+        }
+    }
+
+    /**
+     * Returns if the profiler is enabled.
+     *
+     * @return <code>true</code> if the profiler is enabled.
+     */
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Charges the time elapsed since the previous lap to a phase.
+     *
+     * @param phase the phase.
+     */
+    public void lap(final int phase) {
+        if (this.enabled) {
+            final long now = System.nanoTime();
+            this.nanos[phase] += now - this.last;
+            if (phase == SearchProfiler.HEURISTIC) {
+                this.heuristicTotal += now - this.last;
+            }
+            this.calls[phase]++;
+            this.last = now;
+            if (now - this.reported >= SearchProfiler.PERIOD) {
+                this.report(now);
+            }
+        }
+    }
+
+    /**
+     * Ends an expansion and returns if it must be reported with {@link #expansion(long, double, double, double,
+     * int)}.
+     *
+     * @return <code>true</code> if the profiler is enabled and the expansion is sampled.
+     */
+    public boolean sample() {
+        if (!this.enabled) {
+            return false;
+        }
+        this.expansionHeuristic = this.heuristicTotal - this.heuristicMark;
+        this.heuristicMark = this.heuristicTotal;
+        return ++this.expansions % SearchProfiler.SAMPLING == 0;
+    }
+
+    /**
+     * Reports the expansion ended by the last call to {@link #sample()}.
+     *
+     * @param node      the number of the expansion.
+     * @param g         the cost of the node expanded.
+     * @param h         the heuristic value of the node expanded.
+     * @param f         the priority of the node expanded.
+     * @param branching the number of successors of the node expanded.
+     */
+    public void expansion(final long node, final double g, final double h, final double f, final int branching) {
+        final ExpansionEvent event = new ExpansionEvent();
+        if (event.shouldCommit()) {
+            event.planner = this.planner;
+            event.node = node;
+            event.g = g;
+            event.h = h;
+            event.f = f;
+            event.branching = branching;
+            event.heuristicNanos = this.expansionHeuristic;
+            event.commit();
+        }
+    }
+
+    /**
+     * Ends the profiling of the search: the time elapsed since the last lap is charged to {@link #OTHER} and the
+     * last phase events are reported.
+     */
+    public void end() {
+        if (this.enabled) {
+            this.lap(SearchProfiler.OTHER);
+            this.report(this.last);
+        }
+    }
+
+    /**
+     * Reports the phase events of the search loop and resets the counters of the phases.
+     *
+     * @param now the current time.
+     */
+    private void report(final long now) {
+        for (int p = 0; p < this.nanos.length; p++) {
+            if (this.calls[p] > 0) {
+                SearchProfiler.commit(this.planner, p, this.nanos[p], this.calls[p]);
+                this.nanos[p] = 0;
+                this.calls[p] = 0;
+            }
+        }
+        this.reported = now;
+    }
+
+    /**
+     * Commits a phase event.
+     *
+     * @param planner the name of the planner.
+     * @param phase   the phase.
+     * @param nanos   the time spent in the phase in ns.
+     * @param calls   the number of calls of the phase.
+     */
+    private static void commit(final String planner, final int phase, final long nanos, final long calls) {
+        final SearchPhaseEvent event = new SearchPhaseEvent();
+        if (event.shouldCommit()) {
+            event.planner = planner;
+            event.phase = SearchProfiler.PHASES[phase];
+            event.nanos = nanos;
+            event.calls = calls;
+            event.commit();
+        }
+    }
+
+    /**
+     * Returns if a recording of an event type is running. The flight recorder is not initialized by this test.
+     *
+     * @param event the class of the event type.
+     * @return <code>true</code> if a recording of the event type is running.
+     */
+    private static boolean isRecording(final Class<? extends jdk.jfr.Event> event) {
+        if (!FlightRecorder.isInitialized()) {
+            return false;
+        }
+        for (Recording r : FlightRecorder.getFlightRecorder().getRecordings()) {
+            if (r.getState() == RecordingState.RUNNING) {
+                return EventType.getEventType(event).isEnabled();
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,617 @@
+package fr.uga.pddl4j.examples.realtime;
+
+import fr.uga.pddl4j.examples.Node;
+import fr.uga.pddl4j.examples.Successors;
+import fr.uga.pddl4j.examples.heuristics.Heuristics;
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.parser.DefaultParsedProblem;
+import fr.uga.pddl4j.parser.RequireKey;
+import fr.uga.pddl4j.plan.Plan;
+import fr.uga.pddl4j.plan.SequentialPlan;
+import fr.uga.pddl4j.planners.AbstractPlanner;
+import fr.uga.pddl4j.planners.Planner;
+import fr.uga.pddl4j.planners.PlannerConfiguration;
+import fr.uga.pddl4j.planners.ProblemNotSupportedException;
+import fr.uga.pddl4j.problem.DefaultProblem;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import picocli.CommandLine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * The class implements a real-time planner based on LSS-LRTA*. At each step, the planner runs a bounded A*
+ * lookahead from the current state, within a number of expansions and optionally a number of milliseconds,
+ * commits to the first action of the path to the best node of the frontier, and moves to the next state. Before
+ * moving, the heuristic values of the states expanded by the lookahead are raised by a Dijkstra backup from the
+ * frontier and stored in a table, so that the planner does not get trapped in the local minima of the
+ * heuristic. The committed actions are passed to a listener as soon as they are chosen.
+ * <p>
+ * The plan returned is the sequence of the committed actions. It is not optimal and may contain cycles. The
+ * latency of the steps, i.e., the time spent to choose each action, is logged as percentiles.
+ * </p>
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+@CommandLine.Command(name = "LRTA",
+    version = "LRTA 1.0",
+    description = "Solves a specified planning problem using a real-time search strategy.",
+    sortOptions = false,
+    mixinStandardHelpOptions = true,
+    headerHeading = "Usage:%n",
+    synopsisHeading = "%n",
+    descriptionHeading = "%nDescription:%n%n",
+    parameterListHeading = "%nParameters:%n",
+    optionListHeading = "%nOptions:%n")
+public class LRTA extends AbstractPlanner {
+
+    /**
+     * The class logger.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(LRTA.class.getName());
+
+    /**
+     * The name of the heuristic used by the planner.
+     */
+    private Heuristics.Name heuristic;
+
+    /**
+     * The maximum number of nodes expanded by the lookahead of each step.
+     */
+    private int lookahead;
+
+    /**
+     * The maximum time in milliseconds of the lookahead of each step or 0 for no limit.
+     */
+    private int lookaheadTime;
+
+    /**
+     * The maximum number of actions committed.
+     */
+    private int maxSteps;
+
+    /**
+     * The listener notified of each action committed or <code>null</code>.
+     */
+    private Consumer<Action> listener;
+
+    /**
+     * The HEURISTIC property used for planner configuration.
+     */
+    public static final String HEURISTIC_SETTING = "HEURISTIC";
+
+    /**
+     * The default value of the HEURISTIC property.
+     */
+    public static final Heuristics.Name DEFAULT_HEURISTIC = Heuristics.Name.FAST_FORWARD;
+
+    /**
+     * The LOOKAHEAD property used for planner configuration.
+     */
+    public static final String LOOKAHEAD_SETTING = "LOOKAHEAD";
+
+    /**
+     * The default value of the LOOKAHEAD property.
+     */
+    public static final int DEFAULT_LOOKAHEAD = 100;
+
+    /**
+     * The LOOKAHEAD_TIME property used for planner configuration.
+     */
+    public static final String LOOKAHEAD_TIME_SETTING = "LOOKAHEAD_TIME";
+
+    /**
+     * The default value of the LOOKAHEAD_TIME property.
+     */
+    public static final int DEFAULT_LOOKAHEAD_TIME = 0;
+
+    /**
+     * The MAX_STEPS property used for planner configuration.
+     */
+    public static final String MAX_STEPS_SETTING = "MAX_STEPS";
+
+    /**
+     * The default value of the MAX_STEPS property.
+     */
+    public static final int DEFAULT_MAX_STEPS = 100000;
+
+    /**
+     * Creates a new LRTA planner with the default configuration.
+     */
+    public LRTA() {
+        this(LRTA.getDefaultConfiguration());
+    }
+
+    /**
+     * Creates a new LRTA planner with a specified configuration.
+     *
+     * @param configuration the configuration of the planner.
+     */
+    public LRTA(final PlannerConfiguration configuration) {
+        super();
+        this.setConfiguration(configuration);
+    }
+
+    /**
+     * Set the name of heuristic used by the planner to solve a planning problem.
+     *
+     * @param heuristic the name of the heuristic.
+     * @throws IllegalArgumentException if the heuristic is AUTO.
+     */
+    @CommandLine.Option(names = {"-e", "--heuristic"}, defaultValue = "FAST_FORWARD",
+        description = "Set the heuristic : AJUSTED_SUM, AJUSTED_SUM2, AJUSTED_SUM2M, COMBO, "
+            + "MAX, FAST_FORWARD SET_LEVEL, SUM, SUM_MUTEX, PATTERN_DATABASE, "
+            + "LANDMARK_COUNT, GOAL_COUNT (preset: FAST_FORWARD)")
+    public void setHeuristic(final Heuristics.Name heuristic) {
+        if (heuristic == Heuristics.Name.AUTO) {
+            throw new IllegalArgumentException("AUTO heuristic not supported in real time");
+        }
+        this.heuristic = heuristic;
+    }
+
+    /**
+     * Returns the name of the heuristic used by the planner.
+     *
+     * @return the name of the heuristic.
+     */
+    public final Heuristics.Name getHeuristic() {
+        return this.heuristic;
+    }
+
+    /**
+     * Sets the maximum number of nodes expanded by the lookahead of each step.
+     *
+     * @param lookahead the maximum number of nodes expanded.
+     * @throws IllegalArgumentException if the number of nodes is less than 1.
+     */
+    @CommandLine.Option(names = {"-la", "--lookahead"}, defaultValue = "100", paramLabel = "<nodes>",
+        description = "Set the maximum number of nodes expanded per step (preset 100).")
+    public void setLookahead(final int lookahead) {
+        if (lookahead < 1) {
+            throw new IllegalArgumentException("Lookahead < 1");
+        }
+        this.lookahead = lookahead;
+    }
+
+    /**
+     * Returns the maximum number of nodes expanded by the lookahead of each step.
+     *
+     * @return the maximum number of nodes expanded.
+     */
+    public final int getLookahead() {
+        return this.lookahead;
+    }
+
+    /**
+     * Sets the maximum time of the lookahead of each step. At least one node is expanded per step.
+     *
+     * @param time the maximum time in milliseconds or 0 for no limit.
+     * @throws IllegalArgumentException if the time is negative.
+     */
+    @CommandLine.Option(names = {"-lt", "--lookahead-time"}, defaultValue = "0", paramLabel = "<ms>",
+        description = "Set the maximum time in milliseconds of the lookahead per step, 0 for no limit "
+            + "(preset 0).")
+    public void setLookaheadTime(final int time) {
+        if (time < 0) {
+            throw new IllegalArgumentException("Lookahead time < 0");
+        }
+        this.lookaheadTime = time;
+    }
+
+    /**
+     * Returns the maximum time of the lookahead of each step.
+     *
+     * @return the maximum time in milliseconds or 0 for no limit.
+     */
+    public final int getLookaheadTime() {
+        return this.lookaheadTime;
+    }
+
+    /**
+     * Sets the maximum number of actions committed before the search fails.
+     *
+     * @param maxSteps the maximum number of actions.
+     * @throws IllegalArgumentException if the number of actions is less than 1.
+     */
+    @CommandLine.Option(names = {"-m", "--max-steps"}, defaultValue = "100000", paramLabel = "<steps>",
+        description = "Set the maximum number of actions committed (preset 100000).")
+    public void setMaxSteps(final int maxSteps) {
+        if (maxSteps < 1) {
+            throw new IllegalArgumentException("Max steps < 1");
+        }
+        this.maxSteps = maxSteps;
+    }
+
+    /**
+     * Returns the maximum number of actions committed before the search fails.
+     *
+     * @return the maximum number of actions.
+     */
+    public final int getMaxSteps() {
+        return this.maxSteps;
+    }
+
+    /**
+     * Sets the listener notified of each action as soon as it is committed, e.g., to execute it.
+     *
+     * @param listener the listener or <code>null</code> to only log the actions.
+     */
+    public void setActionListener(final Consumer<Action> listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Returns the listener notified of each action committed.
+     *
+     * @return the listener or <code>null</code>.
+     */
+    public final Consumer<Action> getActionListener() {
+        return this.listener;
+    }
+
+    /**
+     * Returns the default configuration of the planner.
+     *
+     * @return the default configuration of the planner.
+     * @see PlannerConfiguration
+     */
+    public static PlannerConfiguration getDefaultConfiguration() {
+        PlannerConfiguration config = Planner.getDefaultConfiguration();
+        config.setProperty(LRTA.HEURISTIC_SETTING, LRTA.DEFAULT_HEURISTIC.toString());
+        config.setProperty(LRTA.LOOKAHEAD_SETTING, Integer.toString(LRTA.DEFAULT_LOOKAHEAD));
+        config.setProperty(LRTA.LOOKAHEAD_TIME_SETTING, Integer.toString(LRTA.DEFAULT_LOOKAHEAD_TIME));
+        config.setProperty(LRTA.MAX_STEPS_SETTING, Integer.toString(LRTA.DEFAULT_MAX_STEPS));
+        return config;
+    }
+
+    /**
+     * Checks the planner configuration and returns if the configuration is valid.
+     *
+     * @return <code>true</code> if the configuration is valid <code>false</code> otherwise.
+     */
+    public boolean hasValidConfiguration() {
+        return super.hasValidConfiguration()
+            && this.getHeuristic() != null
+            && this.getLookahead() > 0
+            && this.getLookaheadTime() >= 0
+            && this.getMaxSteps() > 0;
+    }
+
+    /**
+     * Sets the configuration of the planner.
+     *
+     * @param configuration the configuration to set.
+     */
+    @Override
+    public void setConfiguration(final PlannerConfiguration configuration) {
+        super.setConfiguration(configuration);
+        if (configuration.getProperty(LRTA.HEURISTIC_SETTING) == null) {
+            this.setHeuristic(LRTA.DEFAULT_HEURISTIC);
+        } else {
+            this.setHeuristic(Heuristics.Name.valueOf(configuration.getProperty(LRTA.HEURISTIC_SETTING)));
+        }
+        if (configuration.getProperty(LRTA.LOOKAHEAD_SETTING) == null) {
+            this.setLookahead(LRTA.DEFAULT_LOOKAHEAD);
+        } else {
+            this.setLookahead(Integer.parseInt(configuration.getProperty(LRTA.LOOKAHEAD_SETTING)));
+        }
+        if (configuration.getProperty(LRTA.LOOKAHEAD_TIME_SETTING) == null) {
+            this.setLookaheadTime(LRTA.DEFAULT_LOOKAHEAD_TIME);
+        } else {
+            this.setLookaheadTime(Integer.parseInt(configuration.getProperty(LRTA.LOOKAHEAD_TIME_SETTING)));
+        }
+        if (configuration.getProperty(LRTA.MAX_STEPS_SETTING) == null) {
+            this.setMaxSteps(LRTA.DEFAULT_MAX_STEPS);
+        } else {
+            this.setMaxSteps(Integer.parseInt(configuration.getProperty(LRTA.MAX_STEPS_SETTING)));
+        }
+    }
+
+    /**
+     * Instantiates the planning problem from a parsed problem.
+     *
+     * @param problem the problem to instantiate.
+     * @return the instantiated planning problem or null if the problem cannot be instantiated.
+     */
+    @Override
+    public Problem instantiate(DefaultParsedProblem problem) {
+        final Problem pb = new DefaultProblem(problem);
+        pb.instantiate();
+        return pb;
+    }
+
+    /**
+     * Returns if a specified problem is supported by the planner.
+     *
+     * @param problem the problem to test.
+     * @return <code>true</code> if the problem is supported <code>false</code> otherwise.
+     */
+    @Override
+    public boolean isSupported(Problem problem) {
+        return (problem.getRequirements().contains(RequireKey.ACTION_COSTS)
+            || problem.getRequirements().contains(RequireKey.CONSTRAINTS)
+            || problem.getRequirements().contains(RequireKey.CONTINOUS_EFFECTS)
+            || problem.getRequirements().contains(RequireKey.DERIVED_PREDICATES)
+            || problem.getRequirements().contains(RequireKey.DURATIVE_ACTIONS)
+            || problem.getRequirements().contains(RequireKey.DURATION_INEQUALITIES)
+            || problem.getRequirements().contains(RequireKey.FLUENTS)
+            || problem.getRequirements().contains(RequireKey.GOAL_UTILITIES)
+            || problem.getRequirements().contains(RequireKey.METHOD_CONSTRAINTS)
+            || problem.getRequirements().contains(RequireKey.NUMERIC_FLUENTS)
+            || problem.getRequirements().contains(RequireKey.OBJECT_FLUENTS)
+            || problem.getRequirements().contains(RequireKey.PREFERENCES)
+            || problem.getRequirements().contains(RequireKey.TIMED_INITIAL_LITERALS)
+            || problem.getRequirements().contains(RequireKey.HIERARCHY))
+            ? false : true;
+    }
+
+    /**
+     * Search a solution plan for a planning problem in real time: the actions are committed one by one, each
+     * one after a bounded lookahead.
+     *
+     * @param problem the problem to solve.
+     * @return the sequence of the actions committed if they reach the goal or null otherwise.
+     * @throws ProblemNotSupportedException if the problem to solve is not supported by the planner.
+     */
+    public Plan realTimeSearch(final Problem problem) throws ProblemNotSupportedException {
+        // Check if the problem is supported by the planner
+        if (!this.isSupported(problem)) {
+            throw new ProblemNotSupportedException("Problem not supported");
+        }
+        final StateHeuristic heuristic = Heuristics.getInstance(this.getHeuristic(), problem, null, false);
+        final Map<State, Double> learned = new HashMap<>();
+        final Plan plan = new SequentialPlan();
+        final long[] latencies = new long[this.getMaxSteps()];
+        final long deadline = System.currentTimeMillis() + this.getTimeout() * 1000L;
+        State current = new State(problem.getInitialState());
+        int steps = 0;
+        long expanded = 0;
+        boolean failed = false;
+
+        // We commit one action per step until the goal is reached
+        while (!current.satisfy(problem.getGoal()) && !failed && steps < this.getMaxSteps()
+            && System.currentTimeMillis() < deadline && !Thread.currentThread().isInterrupted()) {
+            final long begin = System.nanoTime();
+            final Lookahead lookahead = this.lookahead(current, problem, heuristic, learned);
+            expanded += lookahead.expanded.size();
+            if (lookahead.best == null) {
+                LOGGER.info("* Dead end reached after " + steps + " steps\n");
+                failed = true;
+                continue;
+            }
+            this.backup(lookahead, learned);
+            // We commit to the first action of the path to the best node of the frontier
+            Node first = lookahead.best;
+            while (first.getParent().getParent() != null) {
+                first = first.getParent();
+            }
+            final Action action = problem.getActions().get(first.getAction());
+            latencies[steps++] = System.nanoTime() - begin;
+            plan.add(plan.size(), action);
+            if (this.getActionListener() != null) {
+                this.getActionListener().accept(action);
+            } else {
+                LOGGER.info(String.format("* Step %d: %s (%.3f ms)%n", steps, problem.toShortString(action),
+                    latencies[steps - 1] / 1e6));
+            }
+            current = new State(first);
+        }
+        final long[] sorted = Arrays.copyOf(latencies, steps);
+        Arrays.sort(sorted);
+        LOGGER.info(String.format("* %d steps, %d nodes expanded, %d states learned, latency per step: "
+                + "p50 %.3f ms, p90 %.3f ms, p99 %.3f ms, max %.3f ms%n", steps, expanded, learned.size(),
+            LRTA.percentile(sorted, 0.50), LRTA.percentile(sorted, 0.90), LRTA.percentile(sorted, 0.99),
+            LRTA.percentile(sorted, 1.0)));
+        return current.satisfy(problem.getGoal()) ? plan : null;
+    }
+
+    /**
+     * Runs a bounded A* search from a state. The heuristic value of a state is its learned value if it was
+     * learned, and its heuristic estimate otherwise. The search stops when the budget is exhausted or when a
+     * goal node is selected for expansion.
+     *
+     * @param state     the state.
+     * @param problem   the problem.
+     * @param heuristic the heuristic.
+     * @param learned   the learned heuristic values.
+     * @return the result of the lookahead.
+     */
+    private Lookahead lookahead(final State state, final Problem problem, final StateHeuristic heuristic,
+                                final Map<State, Double> learned) {
+        final long deadline = this.getLookaheadTime() > 0
+            ? System.nanoTime() + this.getLookaheadTime() * 1_000_000L : Long.MAX_VALUE;
+        final Lookahead result = new Lookahead();
+        final Map<State, Node> generated = new HashMap<>();
+        final PriorityQueue<Node> open = new PriorityQueue<>(Comparator.comparingDouble((Node n) -> n.getValueF(1.0))
+            .thenComparingDouble(Node::getHeuristic));
+        final Node root = new Node(state, null, -1, 0, this.value(state, problem, heuristic, learned));
+        open.add(root);
+        generated.put(root, root);
+        while (!open.isEmpty() && result.expanded.size() < this.getLookahead()
+            && (result.expanded.isEmpty() || System.nanoTime() < deadline)) {
+            final Node current = open.peek();
+            if (current.satisfy(problem.getGoal()) || current.getHeuristic() == Double.POSITIVE_INFINITY) {
+                break;
+            }
+            open.poll();
+            final List<State> successors = new ArrayList<>();
+            for (int i = 0; i < problem.getActions().size(); i++) {
+                final Action a = problem.getActions().get(i);
+                if (!a.isApplicable(current)) {
+                    continue;
+                }
+                final State next = Successors.apply(current, a);
+                successors.add(next);
+                final Node known = generated.get(next);
+                final double cost = current.getCost() + 1;
+                if (known == null) {
+                    final Node child = new Node(next, current, i, cost,
+                        this.value(next, problem, heuristic, learned));
+                    generated.put(child, child);
+                    open.add(child);
+                } else if (cost < known.getCost() && open.remove(known)) {
+                    known.setParent(current);
+                    known.setAction(i);
+                    known.setCost(cost);
+                    open.add(known);
+                }
+            }
+            result.expanded.put(new State(current), successors);
+        }
+        // We move toward the best node of the frontier, which is never the root once a node was expanded
+        final Node best = open.peek();
+        result.best = best != null && best.getParent() != null && best.getHeuristic() != Double.POSITIVE_INFINITY
+            ? best : null;
+        result.frontier = open;
+        return result;
+    }
+
+    /**
+     * Raises the learned heuristic values of the states expanded by a lookahead with a Dijkstra backup from the
+     * frontier: the value of an expanded state becomes the minimum over its successors of 1 plus the value of
+     * the successor.
+     *
+     * @param lookahead the result of the lookahead.
+     * @param learned   the learned heuristic values.
+     */
+    private void backup(final Lookahead lookahead, final Map<State, Double> learned) {
+        final Map<State, List<State>> predecessors = new HashMap<>();
+        for (Map.Entry<State, List<State>> e : lookahead.expanded.entrySet()) {
+            learned.put(e.getKey(), Double.POSITIVE_INFINITY);
+            for (State s : e.getValue()) {
+                predecessors.computeIfAbsent(s, k -> new ArrayList<>()).add(e.getKey());
+            }
+        }
+        final PriorityQueue<Map.Entry<State, Double>> queue = new PriorityQueue<>(
+            Map.Entry.comparingByValue());
+        for (Node n : lookahead.frontier) {
+            queue.add(Map.entry(new State(n), n.getHeuristic()));
+        }
+        while (!queue.isEmpty()) {
+            final Map.Entry<State, Double> e = queue.poll();
+            if (e.getValue() > learned.getOrDefault(e.getKey(), e.getValue())) {
+                continue;
+            }
+            for (State p : predecessors.getOrDefault(e.getKey(), List.of())) {
+                final double value = e.getValue() + 1;
+                if (lookahead.expanded.containsKey(p) && value < learned.get(p)) {
+                    learned.put(p, value);
+                    queue.add(Map.entry(p, value));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the heuristic value of a state: its learned value if any, otherwise its heuristic estimate, which
+     * is then stored as learned value.
+     *
+     * @param state     the state.
+     * @param problem   the problem.
+     * @param heuristic the heuristic.
+     * @param learned   the learned heuristic values.
+     * @return the heuristic value of the state.
+     */
+    private double value(final State state, final Problem problem, final StateHeuristic heuristic,
+                         final Map<State, Double> learned) {
+        Double value = learned.get(state);
+        if (value == null) {
+            final int h = heuristic.estimate(state, problem.getGoal());
+            value = h == Integer.MAX_VALUE ? Double.POSITIVE_INFINITY : h;
+            learned.put(new State(state), value);
+        }
+        return value;
+    }
+
+    /**
+     * Returns a percentile of sorted values in milliseconds.
+     *
+     * @param sorted     the values in nanoseconds sorted in increasing order.
+     * @param percentile the percentile in [0, 1].
+     * @return the percentile in milliseconds or 0 if there is no value.
+     */
+    private static double percentile(final long[] sorted, final double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        final int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    /**
+     * Search a solution plan to a specified domain and problem in real time.
+     *
+     * @param problem the problem to solve.
+     * @return the plan found or null if no plan was found.
+     */
+    @Override
+    public Plan solve(final Problem problem) {
+        LOGGER.info("* Starting real-time search \n");
+        // Search a solution
+        final long begin = System.currentTimeMillis();
+        Plan plan = null;
+        try {
+            plan = this.realTimeSearch(problem);
+        } catch (ProblemNotSupportedException e) {
+            LOGGER.fatal(e.getMessage());
+        }
+        final long end = System.currentTimeMillis();
+        // If a plan is found update the statistics of the planner
+        // and log search information
+        if (plan != null) {
+            LOGGER.info("* Real-time search succeeded\n");
+            this.getStatistics().setTimeToSearch(end - begin);
+        } else {
+            LOGGER.info("* Real-time search failed\n");
+        }
+        // Return the plan found or null if the search fails.
+        return plan;
+    }
+
+    /**
+     * The main method of the <code>LRTA</code> planner.
+     *
+     * @param args the arguments of the command line.
+     */
+    public static void main(String[] args) {
+        try {
+            final LRTA planner = new LRTA();
+            CommandLine cmd = new CommandLine(planner);
+            cmd.execute(args);
+        } catch (IllegalArgumentException e) {
+            LOGGER.fatal(e.getMessage());
+        }
+    }
+
+    /**
+     * This class gathers the result of a lookahead.
+     */
+    private static final class Lookahead {
+
+        /**
+         * The successors of each state expanded.
+         */
+        private final Map<State, List<State>> expanded = new HashMap<>();
+
+        /**
+         * The frontier, i.e., the nodes generated and not expanded.
+         */
+        private PriorityQueue<Node> frontier;
+
+        /**
+         * The best node of the frontier or <code>null</code> if the lookahead met only dead ends.
+         */
+        private Node best;
+    }
+}
@@ -0,0 +1,324 @@
+package fr.uga.pddl4j.examples.replanning;
+
+import fr.uga.pddl4j.examples.Node;
+import fr.uga.pddl4j.examples.Successors;
+import fr.uga.pddl4j.examples.asp.ASP;
+import fr.uga.pddl4j.plan.Plan;
+import fr.uga.pddl4j.plan.SequentialPlan;
+import fr.uga.pddl4j.planners.ProblemNotSupportedException;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.Condition;
+import fr.uga.pddl4j.problem.operator.ConditionalEffect;
+import fr.uga.pddl4j.util.BitVector;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * This class implements the incremental replanning of a grounded problem after a change of its initial state or
+ * of its goal, e.g., when the execution of a plan is disturbed or when a request is resubmitted with a slightly
+ * different goal.
+ * <p>
+ * The replanner first tries to repair the previous plan. The goal is regressed through the previous plan: the
+ * condition <code>R(j)</code> is the weakest condition such that the suffix of the plan starting at the step
+ * <code>j</code> reaches the goal from any state satisfying it. If the new initial state satisfies one of these
+ * conditions, the corresponding suffix is still valid and is returned. Otherwise, a bounded breadth-first search
+ * looks for a short sequence of actions reconnecting the new initial state to a state satisfying one of the
+ * conditions. The regression is only sound for unconditional effects: the repair is skipped if the previous plan
+ * contains an action with conditional effects.
+ * </p>
+ * <p>
+ * If the repair fails, the new plan is searched with the A* search of {@link ASP} from the new initial state to
+ * the new goal. The grounded problem is not instantiated again and the heuristics built by the previous searches
+ * of the planner are reused.
+ * </p>
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+public final class Replanner {
+
+    /**
+     * The class logger.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(Replanner.class.getName());
+
+    /**
+     * The default maximum number of nodes generated by the search reconnecting a state to the previous plan.
+     */
+    public static final int DEFAULT_REPAIR_BUDGET = 10000;
+
+    /**
+     * The grounded problem.
+     */
+    private final Problem problem;
+
+    /**
+     * The planner used when the plan cannot be repaired.
+     */
+    private final ASP planner;
+
+    /**
+     * The maximum number of nodes generated by the search reconnecting a state to the previous plan.
+     */
+    private int repairBudget;
+
+    /**
+     * The number of plans repaired.
+     */
+    private long repairs;
+
+    /**
+     * The number of plans searched from scratch.
+     */
+    private long searches;
+
+    /**
+     * Creates a new replanner.
+     *
+     * @param problem the grounded problem.
+     * @param planner the planner used when the plan cannot be repaired.
+     */
+    public Replanner(final Problem problem, final ASP planner) {
+        this.problem = problem;
+        this.planner = planner;
+        this.repairBudget = Replanner.DEFAULT_REPAIR_BUDGET;
+    }
+
+    /**
+     * Returns the grounded problem.
+     *
+     * @return the grounded problem.
+     */
+    public Problem getProblem() {
+        return this.problem;
+    }
+
+    /**
+     * Returns the maximum number of nodes generated by the search reconnecting a state to the previous plan.
+     *
+     * @return the maximum number of nodes generated by the repair.
+     */
+    public int getRepairBudget() {
+        return this.repairBudget;
+    }
+
+    /**
+     * Sets the maximum number of nodes generated by the search reconnecting a state to the previous plan.
+     *
+     * @param budget the maximum number of nodes. The budget must be positive or null. A budget of 0 only checks
+     *               the suffixes of the previous plan.
+     * @throws IllegalArgumentException if the budget is negative.
+     */
+    public void setRepairBudget(final int budget) {
+        if (budget < 0) {
+            throw new IllegalArgumentException("Repair budget < 0");
+        }
+        this.repairBudget = budget;
+    }
+
+    /**
+     * Returns the number of plans repaired.
+     *
+     * @return the number of plans repaired.
+     */
+    public long getNumberOfRepairs() {
+        return this.repairs;
+    }
+
+    /**
+     * Returns the number of plans searched from scratch.
+     *
+     * @return the number of plans searched from scratch.
+     */
+    public long getNumberOfSearches() {
+        return this.searches;
+    }
+
+    /**
+     * Searches a plan from a new initial state to a new goal by repairing a previous plan or, if the repair
+     * fails, by searching a new plan with the planner.
+     *
+     * @param previous the previous plan or <code>null</code> if there is no previous plan.
+     * @param init     the new initial state.
+     * @param goal     the new goal.
+     * @return the plan found or <code>null</code> if no plan was found.
+     * @throws ProblemNotSupportedException if the problem is not supported by the planner.
+     */
+    public Plan replan(final Plan previous, final State init, final Condition goal)
+        throws ProblemNotSupportedException {
+        if (previous != null) {
+            final long begin = System.currentTimeMillis();
+            final Plan repaired = this.repair(previous, init, goal);
+            if (repaired != null) {
+                this.repairs++;
+                LOGGER.info("* Plan repaired: " + repaired.size() + " actions ("
+                    + (System.currentTimeMillis() - begin) + " ms)\n");
+                return repaired;
+            }
+            LOGGER.info("* Plan repair failed (" + (System.currentTimeMillis() - begin) + " ms)\n");
+        }
+        this.searches++;
+        return this.planner.astar(this.problem, init, goal);
+    }
+
+    /**
+     * Repairs a plan for a new initial state and a new goal.
+     *
+     * @param previous the previous plan.
+     * @param init     the new initial state.
+     * @param goal     the new goal.
+     * @return the repaired plan or <code>null</code> if the plan cannot be repaired.
+     */
+    public Plan repair(final Plan previous, final State init, final Condition goal) {
+        final List<Action> actions = previous.actions();
+        final Condition[] regressions = this.regress(actions, goal);
+        if (regressions == null) {
+            return null;
+        }
+
+        // We first check the suffixes of the plan from the shortest to the longest one
+        int step = this.satisfied(init, regressions);
+        final SequentialPlan plan = new SequentialPlan();
+        if (step == -1) {
+            // We search a short sequence of actions reconnecting the initial state to a suffix of the plan
+            final Node reconnection = this.reconnect(init, regressions);
+            if (reconnection == null) {
+                return null;
+            }
+            step = this.satisfied(reconnection, regressions);
+            Node n = reconnection;
+            while (n.getParent() != null) {
+                plan.add(0, this.problem.getActions().get(n.getAction()));
+                n = n.getParent();
+            }
+            LOGGER.info("* Plan reconnected to step " + step + " with " + plan.size() + " actions\n");
+        }
+        for (int j = step; j < actions.size(); j++) {
+            plan.add(plan.size(), actions.get(j));
+        }
+        // We finally validate the repaired plan by simulating it
+        return this.isValid(plan, init, goal) ? plan : null;
+    }
+
+    /**
+     * Regresses a goal through a sequence of actions with unconditional effects. The condition at the index
+     * <code>j</code> is the weakest condition such that the actions from the index <code>j</code> reach the goal,
+     * or <code>null</code> if no state allows them to reach the goal.
+     *
+     * @param actions the sequence of actions.
+     * @param goal    the goal.
+     * @return the regressed conditions or <code>null</code> if an action has conditional effects.
+     */
+    private Condition[] regress(final List<Action> actions, final Condition goal) {
+        final Condition[] regressions = new Condition[actions.size() + 1];
+        regressions[actions.size()] = goal;
+        for (int j = actions.size() - 1; j >= 0; j--) {
+            final Action a = actions.get(j);
+            final BitVector add = new BitVector();
+            final BitVector del = new BitVector();
+            for (ConditionalEffect ce : a.getConditionalEffects()) {
+                if (!ce.getCondition().isEmpty()) {
+                    return null;
+                }
+                add.or(ce.getEffect().getPositiveFluents());
+                del.or(ce.getEffect().getNegativeFluents());
+            }
+            final Condition next = regressions[j + 1];
+            if (next == null || next.getPositiveFluents().intersects(del)
+                || next.getNegativeFluents().intersects(add)) {
+                // The action deletes a fluent required after it: no state allows the suffix to reach the goal
+                continue;
+            }
+            final BitVector positive = new BitVector(next.getPositiveFluents());
+            positive.andNot(add);
+            positive.or(a.getPrecondition().getPositiveFluents());
+            final BitVector negative = new BitVector(next.getNegativeFluents());
+            negative.andNot(del);
+            negative.or(a.getPrecondition().getNegativeFluents());
+            if (!positive.intersects(negative)) {
+                regressions[j] = new Condition(positive, negative);
+            }
+        }
+        return regressions;
+    }
+
+    /**
+     * Returns the index of the shortest suffix reaching the goal from a state.
+     *
+     * @param state       the state.
+     * @param regressions the regressed conditions of the suffixes.
+     * @return the index of the first action of the shortest suffix or -1 if no suffix reaches the goal.
+     */
+    private int satisfied(final State state, final Condition[] regressions) {
+        for (int j = regressions.length - 1; j >= 0; j--) {
+            if (regressions[j] != null && state.satisfy(regressions[j])) {
+                return j;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Searches breadth-first, within the repair budget, the closest state satisfying one of the regressed
+     * conditions.
+     *
+     * @param init        the initial state.
+     * @param regressions the regressed conditions of the suffixes.
+     * @return the node of the state found or <code>null</code> if no state was found within the budget.
+     */
+    private Node reconnect(final State init, final Condition[] regressions) {
+        final Queue<Node> open = new ArrayDeque<>();
+        final Set<State> close = new HashSet<>();
+        final Node root = new Node(init, null, -1, 0, 0);
+        open.add(root);
+        close.add(root);
+        int generated = 0;
+        while (!open.isEmpty() && generated < this.repairBudget) {
+            final Node current = open.poll();
+            for (int i = 0; i < this.problem.getActions().size() && generated < this.repairBudget; i++) {
+                final Action a = this.problem.getActions().get(i);
+                if (!a.isApplicable(current)) {
+                    continue;
+                }
+                final Node next = new Node(current, current, i, current.getCost() + 1, 0);
+                Successors.apply(current, a, next);
+                if (close.add(next)) {
+                    generated++;
+                    // We check the goal at generation since all the nodes of a layer have the same cost
+                    if (this.satisfied(next, regressions) != -1) {
+                        return next;
+                    }
+                    open.add(next);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks if a plan reaches a goal from a state.
+     *
+     * @param plan the plan.
+     * @param init the initial state.
+     * @param goal the goal.
+     * @return <code>true</code> if the plan is applicable and reaches the goal, <code>false</code> otherwise.
+     */
+    private boolean isValid(final Plan plan, final State init, final Condition goal) {
+        State state = init;
+        for (Action a : plan.actions()) {
+            if (!a.isApplicable(state)) {
+                return false;
+            }
+            state = Successors.apply(state, a);
+        }
+        return state.satisfy(goal);
+    }
+}
@@ -0,0 +1,213 @@
+package fr.uga.pddl4j.examples.replanning;
+
+import fr.uga.pddl4j.examples.Successors;
+import fr.uga.pddl4j.examples.asp.ASP;
+import fr.uga.pddl4j.parser.DefaultParsedProblem;
+import fr.uga.pddl4j.plan.Plan;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.Condition;
+import fr.uga.pddl4j.util.BitVector;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * This class compares the latency of the incremental replanning of {@link Replanner} with the latency of a fresh
+ * solving, i.e., parsing, instantiation and search, on perturbed problems. The problem is first solved with
+ * {@link ASP}. Each trial then perturbs the problem in one of three ways:
+ * <ul>
+ * <li>INIT: a few random actions are applied to the initial state;</li>
+ * <li>EXECUTION: a few random actions are applied to a state of the trajectory of the plan, as if the execution
+ * of the plan was disturbed;</li>
+ * <li>GOAL: a fluent of the goal is dropped.</li>
+ * </ul>
+ * <p>
+ * Usage: <code>java fr.uga.pddl4j.examples.replanning.ReplanningBenchmark domain problem [trials] [seed]
+ * [weight] [budget]</code>. A repair budget of 0 only checks the suffixes of the plan, so that most of the
+ * perturbed problems are searched again with the cached grounded problem and heuristics.
+ * </p>
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+public final class ReplanningBenchmark {
+
+    /**
+     * The class logger.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(ReplanningBenchmark.class.getName());
+
+    /**
+     * The maximum number of random actions applied to perturb a state.
+     */
+    private static final int MAX_PERTURBATION = 3;
+
+    /**
+     * The kinds of perturbation.
+     */
+    private enum Perturbation {
+        /**
+         * Random actions applied to the initial state.
+         */
+        INIT,
+        /**
+         * Random actions applied to a state of the trajectory of the plan.
+         */
+        EXECUTION,
+        /**
+         * A fluent of the goal dropped.
+         */
+        GOAL
+    }
+
+    /**
+     * Creates a new benchmark. This class cannot be instantiated.
+     */
+    private ReplanningBenchmark() {
+    }
+
+    /**
+     * The main method of the benchmark.
+     *
+     * @param args the domain file, the problem file, the number of trials, the seed, the weight of the
+     *             heuristic and the repair budget.
+     * @throws Exception if the problem cannot be parsed or is not supported.
+     */
+    public static void main(final String[] args) throws Exception {
+        if (args.length < 2) {
+            LOGGER.error("Usage: ReplanningBenchmark <domain> <problem> [trials] [seed] [weight] [budget]\n");
+            return;
+        }
+        final int trials = args.length > 2 ? Integer.parseInt(args[2]) : 9;
+        final Random random = new Random(args.length > 3 ? Long.parseLong(args[3]) : 0);
+        final double weight = args.length > 4 ? Double.parseDouble(args[4]) : ASP.DEFAULT_WEIGHT_HEURISTIC;
+
+        // We solve the original problem once
+        final ASP planner = new ASP();
+        planner.setHeuristicWeight(weight);
+        final DefaultParsedProblem parsed = planner.parse(args[0], args[1]);
+        final Problem problem = planner.instantiate(parsed);
+        final Plan plan = planner.astar(problem);
+        if (plan == null) {
+            LOGGER.error("* The original problem was not solved\n");
+            return;
+        }
+        final List<State> trajectory = ReplanningBenchmark.trajectory(problem, plan);
+        LOGGER.info("* Original plan: " + plan.size() + " actions\n");
+
+        final Replanner replanner = new Replanner(problem, planner);
+        replanner.setRepairBudget(args.length > 5 ? Integer.parseInt(args[5]) : Replanner.DEFAULT_REPAIR_BUDGET);
+        final long[] replanning = new long[trials];
+        final long[] fresh = new long[trials];
+        int repaired = 0;
+        int failures = 0;
+        for (int t = 0; t < trials; t++) {
+            // We perturb the problem
+            final Perturbation kind = Perturbation.values()[t % Perturbation.values().length];
+            State init = trajectory.get(0);
+            Condition goal = problem.getGoal();
+            if (kind == Perturbation.EXECUTION) {
+                init = trajectory.get(1 + random.nextInt(Math.max(1, trajectory.size() - 2)));
+            }
+            if (kind == Perturbation.GOAL) {
+                goal = ReplanningBenchmark.drop(goal, random);
+            } else {
+                init = ReplanningBenchmark.walk(problem, init, 1 + random.nextInt(MAX_PERTURBATION), random);
+            }
+
+            // We replan with the replanner
+            final long repairs = replanner.getNumberOfRepairs();
+            long begin = System.nanoTime();
+            final Plan replanned = replanner.replan(plan, init, goal);
+            replanning[t] = System.nanoTime() - begin;
+            final boolean repair = replanner.getNumberOfRepairs() > repairs;
+            repaired += repair ? 1 : 0;
+
+            // We solve the perturbed problem from scratch. The instantiation is deterministic: the fluents of the
+            // new problem have the same indices as the fluents of the original problem
+            begin = System.nanoTime();
+            final ASP other = new ASP();
+            other.setHeuristicWeight(weight);
+            final Problem instance = other.instantiate(other.parse(args[0], args[1]));
+            final Plan solved = other.astar(instance, init, goal);
+            fresh[t] = System.nanoTime() - begin;
+            if (replanned == null || solved == null) {
+                failures++;
+            }
+            LOGGER.info(String.format("* Trial %d %s: replanning %.1f ms (%s, %s actions), "
+                    + "fresh solving %.1f ms (%s actions)%n", t, kind, replanning[t] / 1e6,
+                repair ? "repair" : "search", replanned == null ? "-" : replanned.size(), fresh[t] / 1e6,
+                solved == null ? "-" : solved.size()));
+        }
+        Arrays.sort(replanning);
+        Arrays.sort(fresh);
+        LOGGER.info(String.format("* %d trials, %d repairs, %d failures: median replanning %.1f ms, "
+                + "median fresh solving %.1f ms (x%.1f)%n", trials, repaired, failures, replanning[trials / 2] / 1e6,
+            fresh[trials / 2] / 1e6, (double) fresh[trials / 2] / Math.max(1, replanning[trials / 2])));
+    }
+
+    /**
+     * Returns the states of the trajectory of a plan from the initial state of a problem.
+     *
+     * @param problem the problem.
+     * @param plan    the plan.
+     * @return the states of the trajectory including the initial state and the final state.
+     */
+    private static List<State> trajectory(final Problem problem, final Plan plan) {
+        final List<State> states = new ArrayList<>(plan.size() + 1);
+        State current = new State(problem.getInitialState());
+        states.add(current);
+        for (Action a : plan.actions()) {
+            current = Successors.apply(current, a);
+            states.add(current);
+        }
+        return states;
+    }
+
+    /**
+     * Applies random applicable actions to a state.
+     *
+     * @param problem the problem.
+     * @param state   the state.
+     * @param length  the number of actions to apply.
+     * @param random  the random generator.
+     * @return the state reached.
+     */
+    private static State walk(final Problem problem, State state, final int length, final Random random) {
+        for (int i = 0; i < length; i++) {
+            final List<Action> applicable = new ArrayList<>();
+            for (Action a : problem.getActions()) {
+                if (a.isApplicable(state)) {
+                    applicable.add(a);
+                }
+            }
+            if (applicable.isEmpty()) {
+                break;
+            }
+            state = Successors.apply(state, applicable.get(random.nextInt(applicable.size())));
+        }
+        return state;
+    }
+
+    /**
+     * Drops a random positive fluent from a goal.
+     *
+     * @param goal   the goal.
+     * @param random the random generator.
+     * @return the new goal.
+     */
+    private static Condition drop(final Condition goal, final Random random) {
+        final BitVector positive = new BitVector(goal.getPositiveFluents());
+        if (positive.cardinality() > 1) {
+            final int[] fluents = positive.stream().toArray();
+            positive.clear(fluents[random.nextInt(fluents.length)]);
+        }
+        return new Condition(positive, new BitVector(goal.getNegativeFluents()));
+    }
+}
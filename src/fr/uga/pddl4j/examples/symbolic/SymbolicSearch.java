@@ -0,0 +1,738 @@
+package fr.uga.pddl4j.examples.symbolic;
+
+import fr.uga.pddl4j.examples.bdd.BDD;
+import fr.uga.pddl4j.parser.DefaultParsedProblem;
+import fr.uga.pddl4j.parser.RequireKey;
+import fr.uga.pddl4j.plan.Plan;
+import fr.uga.pddl4j.plan.SequentialPlan;
+import fr.uga.pddl4j.planners.AbstractPlanner;
+import fr.uga.pddl4j.planners.Planner;
+import fr.uga.pddl4j.planners.PlannerConfiguration;
+import fr.uga.pddl4j.planners.ProblemNotSupportedException;
+import fr.uga.pddl4j.problem.DefaultProblem;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.Condition;
+import fr.uga.pddl4j.problem.operator.ConditionalEffect;
+import fr.uga.pddl4j.util.BitVector;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import picocli.CommandLine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The class implements a symbolic planner. The sets of states are represented by binary decision diagrams (see
+ * {@link BDD}) over one variable per fluent, and the search computes the image of a whole set of states by all
+ * the actions at once, instead of expanding the states one by one.
+ * <ul>
+ * <li>BFS: the breadth-first search computes the layers of the states reachable in 0, 1, 2, ... actions and not
+ * reached before, until a layer contains a goal state. The plan found is optimal in number of actions.</li>
+ * <li>BDDA: the BDDA* search partitions the states generated by their number of actions g and their heuristic
+ * value h, the number of goals not satisfied, and expands the bucket of minimal g + h, then of minimal h. The
+ * goal-count heuristic is not admissible, so that the plan found is not always optimal.</li>
+ * </ul>
+ * <p>
+ * The transition relation of an action is represented by three BDDs: its precondition, the set of the
+ * variables of its effects and the conjunction of its effects. The image of a set of states S by an action is
+ * computed by quantifying the variables of the effects out of the states of S satisfying the precondition, then
+ * by conjoining the effects, so that the relation does not need a second copy of the variables. The plan is
+ * extracted backward: from a goal state of the last layer, the planner looks for an action and a state of the
+ * previous layer leading to it, with the same operations on a single state.
+ * </p>
+ * <p>
+ * The conditional effects with a condition are not supported. The variables are ordered by the index of their
+ * fluent, which groups the fluents of a same predicate.
+ * </p>
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+@CommandLine.Command(name = "SymbolicSearch",
+    version = "SymbolicSearch 1.0",
+    description = "Solves a specified planning problem using a symbolic search strategy.",
+    sortOptions = false,
+    mixinStandardHelpOptions = true,
+    headerHeading = "Usage:%n",
+    synopsisHeading = "%n",
+    descriptionHeading = "%nDescription:%n%n",
+    parameterListHeading = "%nParameters:%n",
+    optionListHeading = "%nOptions:%n")
+public class SymbolicSearch extends AbstractPlanner {
+
+    /**
+     * The search algorithms of the planner.
+     */
+    public enum Algorithm {
+        /**
+         * The breadth-first search.
+         */
+        BFS,
+        /**
+         * The BDDA* search with the goal-count heuristic.
+         */
+        BDDA,
+    }
+
+    /**
+     * The class logger.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(SymbolicSearch.class.getName());
+
+    /**
+     * The search algorithm of the planner.
+     */
+    private Algorithm algorithm;
+
+    /**
+     * The maximum number of BDD nodes.
+     */
+    private int maxNodes;
+
+    /**
+     * The ALGORITHM property used for planner configuration.
+     */
+    public static final String ALGORITHM_SETTING = "ALGORITHM";
+
+    /**
+     * The default value of the ALGORITHM property.
+     */
+    public static final Algorithm DEFAULT_ALGORITHM = Algorithm.BFS;
+
+    /**
+     * The MAX_NODES property used for planner configuration.
+     */
+    public static final String MAX_NODES_SETTING = "MAX_NODES";
+
+    /**
+     * The default value of the MAX_NODES property, i.e., about 160 MBytes of nodes and cache.
+     */
+    public static final int DEFAULT_MAX_NODES = 1 << 23;
+
+    /**
+     * Creates a new symbolic planner with the default configuration.
+     */
+    public SymbolicSearch() {
+        this(SymbolicSearch.getDefaultConfiguration());
+    }
+
+    /**
+     * Creates a new symbolic planner with a specified configuration.
+     *
+     * @param configuration the configuration of the planner.
+     */
+    public SymbolicSearch(final PlannerConfiguration configuration) {
+        super();
+        this.setConfiguration(configuration);
+    }
+
+    /**
+     * Sets the search algorithm of the planner.
+     *
+     * @param algorithm the search algorithm.
+     */
+    @CommandLine.Option(names = {"-a", "--algorithm"}, defaultValue = "BFS",
+        description = "Set the search algorithm: BFS, BDDA (preset: BFS)")
+    public void setAlgorithm(final Algorithm algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * Returns the search algorithm of the planner.
+     *
+     * @return the search algorithm of the planner.
+     */
+    public final Algorithm getAlgorithm() {
+        return this.algorithm;
+    }
+
+    /**
+     * Sets the maximum number of BDD nodes. The search fails when the limit is reached.
+     *
+     * @param maxNodes the maximum number of BDD nodes, rounded up to a power of 2.
+     * @throws IllegalArgumentException if the maximum number of nodes is less than 2.
+     */
+    @CommandLine.Option(names = {"-mn", "--max-nodes"}, defaultValue = "8388608", paramLabel = "<nodes>",
+        description = "Set the maximum number of BDD nodes (preset 8388608).")
+    public void setMaxNodes(final int maxNodes) {
+        if (maxNodes < 2) {
+            throw new IllegalArgumentException("Maximum number of nodes < 2");
+        }
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * Returns the maximum number of BDD nodes.
+     *
+     * @return the maximum number of BDD nodes.
+     */
+    public final int getMaxNodes() {
+        return this.maxNodes;
+    }
+
+    /**
+     * Returns the default configuration of the planner.
+     *
+     * @return the default configuration of the planner.
+     * @see PlannerConfiguration
+     */
+    public static PlannerConfiguration getDefaultConfiguration() {
+        PlannerConfiguration config = Planner.getDefaultConfiguration();
+        config.setProperty(SymbolicSearch.ALGORITHM_SETTING, SymbolicSearch.DEFAULT_ALGORITHM.toString());
+        config.setProperty(SymbolicSearch.MAX_NODES_SETTING, Integer.toString(SymbolicSearch.DEFAULT_MAX_NODES));
+        return config;
+    }
+
+    /**
+     * Checks the planner configuration and returns if the configuration is valid.
+     *
+     * @return <code>true</code> if the configuration is valid <code>false</code> otherwise.
+     */
+    public boolean hasValidConfiguration() {
+        return super.hasValidConfiguration()
+            && this.getAlgorithm() != null
+            && this.getMaxNodes() >= 2;
+    }
+
+    /**
+     * Sets the configuration of the planner.
+     *
+     * @param configuration the configuration to set.
+     */
+    @Override
+    public void setConfiguration(final PlannerConfiguration configuration) {
+        super.setConfiguration(configuration);
+        if (configuration.getProperty(SymbolicSearch.ALGORITHM_SETTING) == null) {
+            this.setAlgorithm(SymbolicSearch.DEFAULT_ALGORITHM);
+        } else {
+            this.setAlgorithm(Algorithm.valueOf(configuration.getProperty(SymbolicSearch.ALGORITHM_SETTING)));
+        }
+        if (configuration.getProperty(SymbolicSearch.MAX_NODES_SETTING) == null) {
+            this.setMaxNodes(SymbolicSearch.DEFAULT_MAX_NODES);
+        } else {
+            this.setMaxNodes(Integer.parseInt(configuration.getProperty(SymbolicSearch.MAX_NODES_SETTING)));
+        }
+    }
+
+    /**
+     * Instantiates the planning problem from a parsed problem.
+     *
+     * @param problem the problem to instantiate.
+     * @return the instantiated planning problem or null if the problem cannot be instantiated.
+     */
+    @Override
+    public Problem instantiate(DefaultParsedProblem problem) {
+        final Problem pb = new DefaultProblem(problem);
+        pb.instantiate();
+        return pb;
+    }
+
+    /**
+     * Returns if a specified problem is supported by the planner.
+     *
+     * @param problem the problem to test.
+     * @return <code>true</code> if the problem is supported <code>false</code> otherwise.
+     */
+    @Override
+    public boolean isSupported(Problem problem) {
+        return (problem.getRequirements().contains(RequireKey.ACTION_COSTS)
+            || problem.getRequirements().contains(RequireKey.CONSTRAINTS)
+            || problem.getRequirements().contains(RequireKey.CONTINOUS_EFFECTS)
+            || problem.getRequirements().contains(RequireKey.DERIVED_PREDICATES)
+            || problem.getRequirements().contains(RequireKey.DURATIVE_ACTIONS)
+            || problem.getRequirements().contains(RequireKey.DURATION_INEQUALITIES)
+            || problem.getRequirements().contains(RequireKey.FLUENTS)
+            || problem.getRequirements().contains(RequireKey.GOAL_UTILITIES)
+            || problem.getRequirements().contains(RequireKey.METHOD_CONSTRAINTS)
+            || problem.getRequirements().contains(RequireKey.NUMERIC_FLUENTS)
+            || problem.getRequirements().contains(RequireKey.OBJECT_FLUENTS)
+            || problem.getRequirements().contains(RequireKey.PREFERENCES)
+            || problem.getRequirements().contains(RequireKey.TIMED_INITIAL_LITERALS)
+            || problem.getRequirements().contains(RequireKey.HIERARCHY))
+            ? false : true;
+    }
+
+    /**
+     * Search a solution plan for a planning problem using the symbolic search algorithm of the planner.
+     *
+     * @param problem the problem to solve.
+     * @return a plan solution for the problem or null if no solution was found.
+     * @throws ProblemNotSupportedException if the problem to solve is not supported by the planner.
+     */
+    public Plan search(final Problem problem) throws ProblemNotSupportedException {
+        // Check if the problem is supported by the planner
+        if (!this.isSupported(problem)) {
+            throw new ProblemNotSupportedException("Problem not supported");
+        }
+        final long begin = System.currentTimeMillis();
+        final long deadline = begin + this.getTimeout() * 1000L;
+        final BDD bdd = new BDD(problem.getFluents().size(), this.getMaxNodes());
+        final List<Transition> transitions = new ArrayList<>(problem.getActions().size());
+        for (int i = 0; i < problem.getActions().size(); i++) {
+            transitions.add(new Transition(i, problem.getActions().get(i), bdd));
+        }
+        final State init = new State(problem.getInitialState());
+        final Condition goal = problem.getGoal();
+        final Search search = new Search(bdd, transitions, deadline);
+        LOGGER.info(String.format("* %d BDD variables, %d transition relations encoded in %d ms%n",
+            bdd.getVariables(), transitions.size(), System.currentTimeMillis() - begin));
+        Plan plan = null;
+        try {
+            if (this.getAlgorithm() == Algorithm.BFS) {
+                plan = search.breadthFirstSearch(init, goal, problem);
+            } else {
+                plan = search.bddAStar(init, goal, problem);
+            }
+        } catch (IllegalStateException e) {
+            LOGGER.info("* " + e.getMessage() + "\n");
+        }
+        final long time = System.currentTimeMillis() - begin;
+        LOGGER.info(String.format("* Symbolic %s: %d layers, %.0f states reached, peak %d BDD nodes, "
+                + "%d garbage collections, BDD memory %.2f MBytes, image %d ms, plan extraction %d ms, "
+                + "total %d ms%n", this.getAlgorithm(), search.layers, search.reached, bdd.getPeakNodes(),
+            bdd.getCollections(), bdd.memory() / (1024.0 * 1024.0), search.imageTime, search.extractionTime,
+            time));
+        return plan;
+    }
+
+    /**
+     * Search a solution plan to a specified domain and problem using a symbolic search.
+     *
+     * @param problem the problem to solve.
+     * @return the plan found or null if no plan was found.
+     */
+    @Override
+    public Plan solve(final Problem problem) {
+        LOGGER.info("* Starting symbolic " + this.getAlgorithm() + " search \n");
+        // Search a solution
+        final long begin = System.currentTimeMillis();
+        Plan plan = null;
+        try {
+            plan = this.search(problem);
+        } catch (ProblemNotSupportedException e) {
+            LOGGER.fatal(e.getMessage());
+        }
+        final long end = System.currentTimeMillis();
+        // If a plan is found update the statistics of the planner
+        // and log search information
+        if (plan != null) {
+            LOGGER.info("* Symbolic " + this.getAlgorithm() + " search succeeded\n");
+            this.getStatistics().setTimeToSearch(end - begin);
+        } else {
+            LOGGER.info("* Symbolic " + this.getAlgorithm() + " search failed\n");
+        }
+        // Return the plan found or null if the search fails.
+        return plan;
+    }
+
+    /**
+     * The main method of the <code>SymbolicSearch</code> planner.
+     *
+     * @param args the arguments of the command line.
+     */
+    public static void main(String[] args) {
+        try {
+            final SymbolicSearch planner = new SymbolicSearch();
+            CommandLine cmd = new CommandLine(planner);
+            cmd.execute(args);
+        } catch (IllegalArgumentException e) {
+            LOGGER.fatal(e.getMessage());
+        }
+    }
+
+    /**
+     * This class implements the transition relation of an action.
+     */
+    private static final class Transition {
+
+        /**
+         * The index of the action.
+         */
+        private final int action;
+
+        /**
+         * The BDD of the precondition of the action.
+         */
+        private final int precondition;
+
+        /**
+         * The BDD of the conjunction of the variables of the effects of the action.
+         */
+        private final int variables;
+
+        /**
+         * The BDD of the conjunction of the effects of the action.
+         */
+        private final int effects;
+
+        /**
+         * The fluents made true by the action.
+         */
+        private final BitVector positive;
+
+        /**
+         * The fluents made false by the action, except the fluents also made true.
+         */
+        private final BitVector negative;
+
+        /**
+         * Encodes the transition relation of an action.
+         *
+         * @param index  the index of the action.
+         * @param action the action.
+         * @param bdd    the BDD manager.
+         * @throws ProblemNotSupportedException if the action has a conditional effect with a condition.
+         */
+        private Transition(final int index, final Action action, final BDD bdd)
+            throws ProblemNotSupportedException {
+            this.action = index;
+            this.positive = new BitVector();
+            this.negative = new BitVector();
+            for (ConditionalEffect ce : action.getConditionalEffects()) {
+                if (!ce.getCondition().getPositiveFluents().isEmpty()
+                    || !ce.getCondition().getNegativeFluents().isEmpty()) {
+                    throw new ProblemNotSupportedException("Conditional effects not supported");
+                }
+                this.positive.or(ce.getEffect().getPositiveFluents());
+                this.negative.or(ce.getEffect().getNegativeFluents());
+            }
+            // We apply the positive effects after the negative ones as State.apply does
+            this.negative.andNot(this.positive);
+            final BitVector all = new BitVector(this.positive);
+            all.or(this.negative);
+            this.precondition = bdd.keep(bdd.cube(action.getPrecondition().getPositiveFluents(),
+                action.getPrecondition().getNegativeFluents()));
+            this.variables = bdd.keep(bdd.cube(all, new BitVector()));
+            this.effects = bdd.keep(bdd.cube(this.positive, this.negative));
+        }
+
+        /**
+         * Returns if the action can lead to a state, i.e., if its effects hold in the state.
+         *
+         * @param state the state.
+         * @return <code>true</code> if the effects of the action hold in the state.
+         */
+        private boolean canLeadTo(final State state) {
+            for (int f = this.positive.nextSetBit(0); f >= 0; f = this.positive.nextSetBit(f + 1)) {
+                if (!state.get(f)) {
+                    return false;
+                }
+            }
+            for (int f = this.negative.nextSetBit(0); f >= 0; f = this.negative.nextSetBit(f + 1)) {
+                if (state.get(f)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * This class implements the symbolic searches and their statistics.
+     */
+    private static final class Search {
+
+        /**
+         * The BDD manager.
+         */
+        private final BDD bdd;
+
+        /**
+         * The transition relations of the actions.
+         */
+        private final List<Transition> transitions;
+
+        /**
+         * The deadline of the search given by {@link System#currentTimeMillis()}.
+         */
+        private final long deadline;
+
+        /**
+         * The number of layers built.
+         */
+        private int layers;
+
+        /**
+         * The number of states reached.
+         */
+        private double reached;
+
+        /**
+         * The time spent in the image computations in ms.
+         */
+        private long imageTime;
+
+        /**
+         * The time spent in the plan extraction in ms.
+         */
+        private long extractionTime;
+
+        /**
+         * Creates a new symbolic search.
+         *
+         * @param bdd         the BDD manager.
+         * @param transitions the transition relations of the actions.
+         * @param deadline    the deadline of the search given by {@link System#currentTimeMillis()}.
+         */
+        private Search(final BDD bdd, final List<Transition> transitions, final long deadline) {
+            this.bdd = bdd;
+            this.transitions = transitions;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Searches a plan with a breadth-first search.
+         *
+         * @param init    the initial state.
+         * @param goal    the goal.
+         * @param problem the problem.
+         * @return the plan found or null if no plan was found.
+         */
+        private Plan breadthFirstSearch(final State init, final Condition goal, final Problem problem) {
+            final int goals = this.bdd.keep(this.bdd.cube(goal.getPositiveFluents(), goal.getNegativeFluents()));
+            int[] layers = new int[16];
+            int depth = 0;
+            layers[0] = this.bdd.minterm(init);
+            int reachedSet = layers[0];
+            while (!this.isOver()) {
+                final int frontier = layers[depth];
+                this.layers = depth;
+                this.reached = this.bdd.satCount(reachedSet);
+                LOGGER.info(String.format("* Layer %d: %.0f states, %d BDD nodes%n", depth,
+                    this.bdd.satCount(frontier), this.bdd.nodeCount(frontier)));
+                final int solutions = this.bdd.and(frontier, goals);
+                if (solutions != BDD.FALSE) {
+                    return this.extractPlan(layers, depth, solutions, problem);
+                }
+                final int[] roots = Arrays.copyOf(layers, depth + 2);
+                roots[depth + 1] = reachedSet;
+                final int image = this.image(frontier, roots);
+                if (image == -1) {
+                    return null;
+                }
+                final int next = this.bdd.diff(image, reachedSet);
+                if (next == BDD.FALSE) {
+                    LOGGER.info("* All the reachable states explored: the problem has no solution\n");
+                    return null;
+                }
+                reachedSet = this.bdd.or(reachedSet, next);
+                if (++depth == layers.length) {
+                    layers = Arrays.copyOf(layers, layers.length * 2);
+                }
+                layers[depth] = next;
+            }
+            return null;
+        }
+
+        /**
+         * Searches a plan with a BDDA* search and the goal-count heuristic.
+         *
+         * @param init    the initial state.
+         * @param goal    the goal.
+         * @param problem the problem.
+         * @return the plan found or null if no plan was found.
+         */
+        private Plan bddAStar(final State init, final Condition goal, final Problem problem) {
+            // We build the sets of states with exactly k goals not satisfied
+            final int[] literals = new int[goal.getPositiveFluents().cardinality()
+                + goal.getNegativeFluents().cardinality()];
+            int n = 0;
+            int hinit = 0;
+            for (int f = goal.getPositiveFluents().nextSetBit(0); f >= 0;
+                 f = goal.getPositiveFluents().nextSetBit(f + 1)) {
+                literals[n++] = this.bdd.ithVar(f);
+                hinit += init.get(f) ? 0 : 1;
+            }
+            for (int f = goal.getNegativeFluents().nextSetBit(0); f >= 0;
+                 f = goal.getNegativeFluents().nextSetBit(f + 1)) {
+                literals[n++] = this.bdd.nithVar(f);
+                hinit += init.get(f) ? 1 : 0;
+            }
+            int[] count = new int[] {BDD.TRUE};
+            for (int literal : literals) {
+                final int[] c = new int[count.length + 1];
+                for (int k = 0; k < c.length; k++) {
+                    final int satisfied = k < count.length ? this.bdd.and(count[k], literal) : BDD.FALSE;
+                    final int unsatisfied = k > 0 ? this.bdd.and(count[k - 1], this.bdd.not(literal)) : BDD.FALSE;
+                    c[k] = this.bdd.or(satisfied, unsatisfied);
+                }
+                count = c;
+            }
+            for (int c : count) {
+                this.bdd.keep(c);
+            }
+
+            // We expand the bucket of minimal g + h, then of minimal h
+            final List<int[]> open = new ArrayList<>();
+            open.add(new int[count.length]);
+            open.get(0)[hinit] = this.bdd.minterm(init);
+            int[] expanded = new int[16];
+            int reachedSet = open.get(0)[hinit];
+            while (!this.isOver()) {
+                int g = -1;
+                int h = -1;
+                for (int i = 0; i < open.size(); i++) {
+                    for (int k = 0; k < count.length; k++) {
+                        if (open.get(i)[k] != BDD.FALSE && (g == -1 || i + k < g + h || i + k == g + h && k < h)) {
+                            g = i;
+                            h = k;
+                        }
+                    }
+                }
+                if (g == -1) {
+                    LOGGER.info("* All the reachable states explored: the problem has no solution\n");
+                    return null;
+                }
+                final int bucket = open.get(g)[h];
+                this.layers = Math.max(this.layers, g);
+                this.reached = this.bdd.satCount(reachedSet);
+                if (h == 0) {
+                    return this.extractPlan(expanded, g, bucket, problem);
+                }
+                open.get(g)[h] = BDD.FALSE;
+                if (g >= expanded.length) {
+                    expanded = Arrays.copyOf(expanded, expanded.length * 2);
+                }
+                expanded[g] = this.bdd.or(expanded[g], bucket);
+                final int[] roots = this.roots(open, expanded, reachedSet, bucket);
+                final int image = this.image(bucket, roots);
+                if (image == -1) {
+                    return null;
+                }
+                final int next = this.bdd.diff(image, reachedSet);
+                reachedSet = this.bdd.or(reachedSet, next);
+                if (g + 1 == open.size()) {
+                    open.add(new int[count.length]);
+                }
+                for (int k = 0; k < count.length && next != BDD.FALSE; k++) {
+                    open.get(g + 1)[k] = this.bdd.or(open.get(g + 1)[k], this.bdd.and(next, count[k]));
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Returns the roots of a BDDA* search.
+         *
+         * @param open     the buckets of the open list.
+         * @param expanded the states expanded at each depth.
+         * @param reached  the states reached.
+         * @param bucket   the bucket expanded.
+         * @return the roots.
+         */
+        private int[] roots(final List<int[]> open, final int[] expanded, final int reached, final int bucket) {
+            final List<Integer> roots = new ArrayList<>();
+            for (int[] buckets : open) {
+                for (int b : buckets) {
+                    roots.add(b);
+                }
+            }
+            for (int e : expanded) {
+                roots.add(e);
+            }
+            roots.add(reached);
+            roots.add(bucket);
+            return roots.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        /**
+         * Returns the image of a set of states by all the actions. The images by the actions are merged by a
+         * balanced tree of disjunctions, as a binary counter, rather than one after the other, so that the small
+         * images are not repeatedly merged into the large one. The nodes unreachable from the roots, the set of
+         * states and the partial images are collected between two actions if needed.
+         *
+         * @param states the set of states.
+         * @param roots  the roots of the search.
+         * @return the image or -1 if the deadline is reached.
+         */
+        private int image(final int states, final int[] roots) {
+            final long begin = System.currentTimeMillis();
+            // The partial image merging 2^k images is stored at the index k
+            final int[] partial = new int[Integer.SIZE];
+            final int[] all = Arrays.copyOf(roots, roots.length + 1 + partial.length);
+            all[roots.length] = states;
+            int merged = 0;
+            for (Transition t : this.transitions) {
+                if (this.isOver()) {
+                    this.imageTime += System.currentTimeMillis() - begin;
+                    return -1;
+                }
+                final int successors = this.bdd.andExist(states, t.precondition, t.variables);
+                if (successors == BDD.FALSE) {
+                    continue;
+                }
+                int image = this.bdd.and(successors, t.effects);
+                int k = 0;
+                for (; (merged & (1 << k)) != 0; k++) {
+                    image = this.bdd.or(image, partial[k]);
+                    partial[k] = BDD.FALSE;
+                }
+                partial[k] = image;
+                merged++;
+                if (this.bdd.isCollectionNeeded()) {
+                    System.arraycopy(partial, 0, all, roots.length + 1, partial.length);
+                    this.bdd.collect(all);
+                }
+            }
+            int image = BDD.FALSE;
+            for (int p : partial) {
+                image = this.bdd.or(image, p);
+            }
+            this.imageTime += System.currentTimeMillis() - begin;
+            return image;
+        }
+
+        /**
+         * Extracts a plan backward from the goal states of a layer. The layers are such that each state of a
+         * layer is the successor of a state of the previous layer.
+         *
+         * @param layers    the layers.
+         * @param depth     the index of the last layer.
+         * @param solutions the goal states of the last layer.
+         * @param problem   the problem.
+         * @return the plan extracted.
+         */
+        private Plan extractPlan(final int[] layers, final int depth, final int solutions, final Problem problem) {
+            final long begin = System.currentTimeMillis();
+            final Plan plan = new SequentialPlan();
+            State state = new State();
+            this.bdd.satOne(solutions, state);
+            for (int i = depth - 1; i >= 0; i--) {
+                final int target = this.bdd.minterm(state);
+                State previous = null;
+                for (int t = 0; t < this.transitions.size() && previous == null; t++) {
+                    final Transition transition = this.transitions.get(t);
+                    if (!transition.canLeadTo(state)) {
+                        continue;
+                    }
+                    // We compute the predecessors of the state by the action in the previous layer
+                    final int predecessors = this.bdd.and(layers[i], this.bdd.and(transition.precondition,
+                        this.bdd.andExist(target, transition.effects, transition.variables)));
+                    if (predecessors != BDD.FALSE) {
+                        previous = new State();
+                        this.bdd.satOne(predecessors, previous);
+                        plan.add(0, problem.getActions().get(transition.action));
+                    }
+                }
+                if (previous == null) {
+                    throw new IllegalStateException("No predecessor found in layer " + i);
+                }
+                state = previous;
+            }
+            this.extractionTime = System.currentTimeMillis() - begin;
+            return plan;
+        }
+
+        /**
+         * Returns if the deadline is reached or if the thread is interrupted.
+         *
+         * @return <code>true</code> if the search must stop.
+         */
+        private boolean isOver() {
+            return System.currentTimeMillis() >= this.deadline || Thread.currentThread().isInterrupted();
+        }
+    }
+}
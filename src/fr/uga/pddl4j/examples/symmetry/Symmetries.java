@@ -0,0 +1,485 @@
+package fr.uga.pddl4j.examples.symmetry;
+
+import fr.uga.pddl4j.parser.Symbol;
+import fr.uga.pddl4j.problem.Fluent;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.Condition;
+import fr.uga.pddl4j.problem.operator.ConditionalEffect;
+import fr.uga.pddl4j.problem.operator.Effect;
+import fr.uga.pddl4j.util.BitVector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This class implements the object symmetries of an instantiated planning problem. The symmetries are
+ * detected on the problem description graph restricted to object transpositions: two objects are
+ * interchangeable if swapping them maps the set of fluents, the set of actions and the goal onto themselves.
+ * Interchangeable objects are grouped into classes and each class is described by the transpositions of
+ * its consecutive objects, which generate all the permutations of the class.
+ * <p>
+ * The generators are used to map a state to a canonical representative of its orbit. The canonical
+ * representative is only used as a key for duplicate detection: the search keeps the real states in its
+ * nodes, so that a plan extracted from the nodes does not need any symmetry mapping to be undone.
+ * </p>
+ *
+ * @author D. Pellier (adapted)
+ * @version 1.0 - 19.10.2026
+ */
+public final class Symmetries {
+
+    /**
+     * The generators of the symmetry group. Each generator is a fluent permutation stored as the sorted
+     * array of the fluents it moves.
+     */
+    private final List<Generator> generators;
+
+    /**
+     * The number of object classes with at least two interchangeable objects.
+     */
+    private final int numberOfClasses;
+
+    /**
+     * Creates a new set of symmetries.
+     *
+     * @param generators      the generators of the symmetry group.
+     * @param numberOfClasses the number of classes of interchangeable objects.
+     */
+    private Symmetries(final List<Generator> generators, final int numberOfClasses) {
+        this.generators = generators;
+        this.numberOfClasses = numberOfClasses;
+    }
+
+    /**
+     * Returns the number of generators of the symmetry group.
+     *
+     * @return the number of generators of the symmetry group.
+     */
+    public int getNumberOfGenerators() {
+        return this.generators.size();
+    }
+
+    /**
+     * Returns the number of classes of interchangeable objects.
+     *
+     * @return the number of classes of interchangeable objects.
+     */
+    public int getNumberOfClasses() {
+        return this.numberOfClasses;
+    }
+
+    /**
+     * Returns if the problem has at least one symmetry.
+     *
+     * @return <code>true</code> if the problem has at least one symmetry, <code>false</code> otherwise.
+     */
+    public boolean isEmpty() {
+        return this.generators.isEmpty();
+    }
+
+    /**
+     * Returns the canonical representative of the orbit of a specified state. The canonical state is
+     * computed greedily: generators are applied as long as one of them produces a lexicographically
+     * greater state. Two symmetric states may have different canonical states, but the canonical state of a
+     * state is always symmetric to it, so using it for duplicate detection never prunes a non-symmetric state.
+     *
+     * @param state the state.
+     * @return the canonical representative of the state. The state itself is returned if no generator
+     *     improves it.
+     */
+    public State canonical(final State state) {
+        State canonical = state;
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (Generator g : this.generators) {
+                if (g.improves(canonical)) {
+                    if (canonical == state) {
+                        canonical = new State(state);
+                    }
+                    g.apply(canonical);
+                    improved = true;
+                }
+            }
+        }
+        return canonical;
+    }
+
+    /**
+     * Detects the object symmetries of an instantiated problem.
+     *
+     * @param problem the problem.
+     * @return the symmetries detected.
+     */
+    public static Symmetries detect(final Problem problem) {
+        return Symmetries.detect(problem, problem.getGoal());
+    }
+
+    /**
+     * Detects the object symmetries of an instantiated problem for a specified goal, e.g., the goal of a
+     * replanning. The symmetries must map this goal onto itself to preserve the plans of the search.
+     *
+     * @param problem the problem.
+     * @param goal    the goal of the search.
+     * @return the symmetries detected.
+     */
+    public static Symmetries detect(final Problem problem, final Condition goal) {
+        // The fluents are indexed by their symbol and their arguments since the fluents of the library
+        // compare their arguments by reference
+        final List<Fluent> fluents = problem.getFluents();
+        final Map<String, Integer> fluentIndex = new HashMap<>();
+        for (int i = 0; i < fluents.size(); i++) {
+            fluentIndex.put(Symmetries.key(fluents.get(i).getSymbol(), fluents.get(i).getArguments()), i);
+        }
+        final List<Action> actions = problem.getActions();
+        final Map<String, Integer> actionIndex = new HashMap<>();
+        for (int i = 0; i < actions.size(); i++) {
+            actionIndex.put(Symmetries.key(actions.get(i).getName(), actions.get(i).getInstantiations()), i);
+        }
+
+        // We count the occurrences of each object in the fluents to filter the candidate pairs cheaply
+        final int nbObjects = problem.getConstantSymbols().size();
+        final int[] occurrences = new int[nbObjects];
+        for (Fluent f : fluents) {
+            for (int arg : f.getArguments()) {
+                occurrences[arg]++;
+            }
+        }
+
+        // We build the classes of interchangeable objects by testing each object against the
+        // representative of the existing classes only since transpositions are transitive
+        final List<List<Integer>> classes = new ArrayList<>();
+        final List<Generator> generators = new ArrayList<>();
+        for (int o = 0; o < nbObjects; o++) {
+            boolean added = false;
+            for (int c = 0; c < classes.size() && !added; c++) {
+                final List<Integer> cl = classes.get(c);
+                final int rep = cl.get(0);
+                if (occurrences[rep] == occurrences[o] && Symmetries.sameTypes(problem, rep, o)) {
+                    final int[] perm = Symmetries.transposition(problem, fluentIndex, rep, o);
+                    if (perm != null && Symmetries.isSymmetry(problem, goal, actionIndex, perm, rep, o)) {
+                        // The transposition with the last object of the class is also a symmetry
+                        final int last = cl.get(cl.size() - 1);
+                        final int[] adjacent = last == rep ? perm
+                            : Symmetries.transposition(problem, fluentIndex, last, o);
+                        generators.add(new Generator(adjacent));
+                        cl.add(o);
+                        added = true;
+                    }
+                }
+            }
+            if (!added) {
+                final List<Integer> cl = new ArrayList<>();
+                cl.add(o);
+                classes.add(cl);
+            }
+        }
+        int nbClasses = 0;
+        for (List<Integer> cl : classes) {
+            if (cl.size() > 1) {
+                nbClasses++;
+            }
+        }
+        return new Symmetries(generators, nbClasses);
+    }
+
+    /**
+     * Returns the key used to index a fluent by its symbol and its arguments.
+     *
+     * @param symbol    the symbol of the fluent.
+     * @param arguments the arguments of the fluent.
+     * @return the key of the fluent.
+     */
+    private static String key(final int symbol, final int[] arguments) {
+        return symbol + Arrays.toString(arguments);
+    }
+
+    /**
+     * Returns the key used to index an action by its name and its instantiations.
+     *
+     * @param name           the name of the action.
+     * @param instantiations the instantiations of the action.
+     * @return the key of the action.
+     */
+    private static String key(final String name, final int[] instantiations) {
+        return name + Arrays.toString(instantiations);
+    }
+
+    /**
+     * Returns if two objects belong to the same types.
+     *
+     * @param problem the problem.
+     * @param o1      the first object.
+     * @param o2      the second object.
+     * @return <code>true</code> if the two objects have the same types, <code>false</code> otherwise.
+     */
+    private static boolean sameTypes(final Problem problem, final int o1, final int o2) {
+        for (Set<Symbol<Integer>> domain : problem.getDomains().values()) {
+            boolean c1 = false;
+            boolean c2 = false;
+            for (Symbol<Integer> s : domain) {
+                c1 |= s.getValue() == o1;
+                c2 |= s.getValue() == o2;
+            }
+            if (c1 != c2) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computes the fluent permutation induced by the transposition of two objects.
+     *
+     * @param problem     the problem.
+     * @param fluentIndex the index of the fluents of the problem.
+     * @param o1          the first object.
+     * @param o2          the second object.
+     * @return the fluent permutation or <code>null</code> if a fluent is mapped to a fluent that does not exist.
+     */
+    private static int[] transposition(final Problem problem, final Map<String, Integer> fluentIndex,
+                                       final int o1, final int o2) {
+        final List<Fluent> fluents = problem.getFluents();
+        final int[] perm = new int[fluents.size()];
+        for (int i = 0; i < fluents.size(); i++) {
+            final Fluent f = fluents.get(i);
+            final int[] args = f.getArguments();
+            final int[] mapped = Symmetries.swap(args, o1, o2);
+            if (mapped == args) {
+                perm[i] = i;
+            } else {
+                final Integer j = fluentIndex.get(Symmetries.key(f.getSymbol(), mapped));
+                if (j == null) {
+                    return null;
+                }
+                perm[i] = j;
+            }
+        }
+        return perm;
+    }
+
+    /**
+     * Swaps two objects in an array of arguments.
+     *
+     * @param args the arguments.
+     * @param o1   the first object.
+     * @param o2   the second object.
+     * @return the arguments swapped or the arguments themselves if they do not contain the objects.
+     */
+    private static int[] swap(final int[] args, final int o1, final int o2) {
+        int[] mapped = args;
+        for (int k = 0; k < args.length; k++) {
+            if (args[k] == o1 || args[k] == o2) {
+                if (mapped == args) {
+                    mapped = Arrays.copyOf(args, args.length);
+                }
+                mapped[k] = args[k] == o1 ? o2 : o1;
+            }
+        }
+        return mapped;
+    }
+
+    /**
+     * Checks that a fluent permutation induced by an object transposition maps the goal and the actions
+     * of the problem onto themselves.
+     *
+     * @param problem     the problem.
+     * @param goal        the goal of the search.
+     * @param actionIndex the index of the actions of the problem.
+     * @param perm        the fluent permutation.
+     * @param o1          the first object.
+     * @param o2          the second object.
+     * @return <code>true</code> if the permutation is a symmetry of the problem, <code>false</code> otherwise.
+     */
+    private static boolean isSymmetry(final Problem problem, final Condition goal,
+                                      final Map<String, Integer> actionIndex, final int[] perm, final int o1,
+                                      final int o2) {
+        final BitVector moved = new BitVector();
+        for (int i = 0; i < perm.length; i++) {
+            if (perm[i] != i) {
+                moved.set(i);
+            }
+        }
+        if (!Symmetries.permute(goal.getPositiveFluents(), perm).equals(goal.getPositiveFluents())
+            || !Symmetries.permute(goal.getNegativeFluents(), perm).equals(goal.getNegativeFluents())) {
+            return false;
+        }
+        final List<Action> actions = problem.getActions();
+        for (Action a : actions) {
+            final int[] inst = a.getInstantiations();
+            final int[] mapped = Symmetries.swap(inst, o1, o2);
+            if (mapped == inst && !Symmetries.touches(a, moved)) {
+                continue;
+            }
+            final Integer b = actionIndex.get(Symmetries.key(a.getName(), mapped));
+            if (b == null || !Symmetries.isImage(a, actions.get(b), perm)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns if an action refers to one of the specified fluents.
+     *
+     * @param action the action.
+     * @param moved  the fluents.
+     * @return <code>true</code> if the action refers to one of the fluents, <code>false</code> otherwise.
+     */
+    private static boolean touches(final Action action, final BitVector moved) {
+        if (action.getPrecondition().getPositiveFluents().intersects(moved)
+            || action.getPrecondition().getNegativeFluents().intersects(moved)) {
+            return true;
+        }
+        for (ConditionalEffect ce : action.getConditionalEffects()) {
+            if (ce.getCondition().getPositiveFluents().intersects(moved)
+                || ce.getCondition().getNegativeFluents().intersects(moved)
+                || ce.getEffect().getPositiveFluents().intersects(moved)
+                || ce.getEffect().getNegativeFluents().intersects(moved)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns if an action is the image of another action by a fluent permutation.
+     *
+     * @param a    the action.
+     * @param b    the candidate image.
+     * @param perm the fluent permutation.
+     * @return <code>true</code> if <code>b</code> is the image of <code>a</code>, <code>false</code> otherwise.
+     */
+    private static boolean isImage(final Action a, final Action b, final int[] perm) {
+        if (!Symmetries.isImage(a.getPrecondition(), b.getPrecondition(), perm)) {
+            return false;
+        }
+        final List<ConditionalEffect> ea = a.getConditionalEffects();
+        final List<ConditionalEffect> eb = b.getConditionalEffects();
+        if (ea.size() != eb.size()) {
+            return false;
+        }
+        for (int i = 0; i < ea.size(); i++) {
+            final Effect e = eb.get(i).getEffect();
+            if (!Symmetries.isImage(ea.get(i).getCondition(), eb.get(i).getCondition(), perm)
+                || !Symmetries.permute(ea.get(i).getEffect().getPositiveFluents(), perm).equals(
+                    e.getPositiveFluents())
+                || !Symmetries.permute(ea.get(i).getEffect().getNegativeFluents(), perm).equals(
+                    e.getNegativeFluents())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns if a condition is the image of another condition by a fluent permutation.
+     *
+     * @param a    the condition.
+     * @param b    the candidate image.
+     * @param perm the fluent permutation.
+     * @return <code>true</code> if <code>b</code> is the image of <code>a</code>, <code>false</code> otherwise.
+     */
+    private static boolean isImage(final Condition a, final Condition b, final int[] perm) {
+        return Symmetries.permute(a.getPositiveFluents(), perm).equals(b.getPositiveFluents())
+            && Symmetries.permute(a.getNegativeFluents(), perm).equals(b.getNegativeFluents());
+    }
+
+    /**
+     * Applies a fluent permutation to a set of fluents.
+     *
+     * @param fluents the fluents.
+     * @param perm    the permutation.
+     * @return the permuted set of fluents.
+     */
+    private static BitVector permute(final BitVector fluents, final int[] perm) {
+        final BitVector permuted = new BitVector();
+        for (int i = fluents.nextSetBit(0); i >= 0; i = fluents.nextSetBit(i + 1)) {
+            permuted.set(perm[i]);
+        }
+        return permuted;
+    }
+
+    /**
+     * This class implements a generator of the symmetry group, i.e., an involutive fluent permutation
+     * induced by the transposition of two objects.
+     */
+    private static final class Generator {
+
+        /**
+         * The fluents moved by the permutation in increasing order.
+         */
+        private final int[] moved;
+
+        /**
+         * The image of each moved fluent.
+         */
+        private final int[] images;
+
+        /**
+         * Creates a new generator from a fluent permutation.
+         *
+         * @param perm the fluent permutation.
+         */
+        Generator(final int[] perm) {
+            int n = 0;
+            for (int i = 0; i < perm.length; i++) {
+                if (perm[i] != i) {
+                    n++;
+                }
+            }
+            this.moved = new int[n];
+            this.images = new int[n];
+            n = 0;
+            for (int i = 0; i < perm.length; i++) {
+                if (perm[i] != i) {
+                    this.moved[n] = i;
+                    this.images[n] = perm[i];
+                    n++;
+                }
+            }
+        }
+
+        /**
+         * Returns if the image of a state by this generator is lexicographically greater than the state,
+         * i.e., if the first moved fluent on which they differ is true in the image.
+         *
+         * @param state the state.
+         * @return <code>true</code> if the generator improves the state, <code>false</code> otherwise.
+         */
+        boolean improves(final State state) {
+            for (int k = 0; k < this.moved.length; k++) {
+                final boolean before = state.get(this.moved[k]);
+                final boolean after = state.get(this.images[k]);
+                if (before != after) {
+                    return after;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Applies the generator to a state.
+         *
+         * @param state the state to permute.
+         */
+        void apply(final State state) {
+            for (int k = 0; k < this.moved.length; k++) {
+                final int f = this.moved[k];
+                final int g = this.images[k];
+                // The permutation is an involution: each pair is swapped once from its smallest fluent
+                if (f < g) {
+                    final boolean bf = state.get(f);
+                    state.set(f, state.get(g));
+                    state.set(g, bf);
+                }
+            }
+        }
+    }
+}